@@ -0,0 +1,28 @@
+package com.example.retroquiz.benchmarks;
+
+import com.example.retroquiz.model.Question;
+import com.example.retroquiz.service.QuestionBank;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offline question source (QuestionBank.getHardcodedQuestions).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dretroquiz.events=local")
+@State(Scope.Thread)
+public class QuestionBankBenchmark {
+
+    @Param({ "5", "10" })
+    public int count;
+
+    @Benchmark
+    public List<Question> getHardcodedQuestions() {
+        return QuestionBank.getHardcodedQuestions(count);
+    }
+}
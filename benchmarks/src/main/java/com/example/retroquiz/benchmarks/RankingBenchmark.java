@@ -0,0 +1,73 @@
+package com.example.retroquiz.benchmarks;
+
+import com.example.retroquiz.model.Player;
+import com.example.retroquiz.service.SessionRanking;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Session ranking: a full sort with Player.compareByScore (what
+ * ResultController did after every game) against the live SessionRanking,
+ * which moves one player per score change and answers top-N / rank queries.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dretroquiz.events=local")
+@State(Scope.Thread)
+public class RankingBenchmark {
+
+    @Param({ "4", "50", "1000" })
+    public int players;
+
+    private List<Player> unsorted;
+    private SessionRanking ranking;
+    private Random changes; // Score changes to replay
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        unsorted = new ArrayList<>(players);
+        for (int i = 0; i < players; i++) {
+            Player player = new Player(i + 1, "player" + i);
+            // Narrow score range so the answer-time tie-break is exercised
+            player.setCurrentScore(random.nextInt(21) * 5 - 50);
+            player.setLastAnswerTime(1_700_000_000_000L + random.nextInt(60_000));
+            unsorted.add(player);
+        }
+
+        ranking = new SessionRanking();
+        for (Player player : unsorted) {
+            ranking.put(player.getId(), player.getUsername(), player.getCurrentScore(), player.getLastAnswerTime());
+        }
+        changes = new Random(7);
+    }
+
+    @Benchmark
+    public List<Player> sortAndRank() {
+        List<Player> ranked = new ArrayList<>(unsorted);
+        ranked.sort(Player::compareByScore);
+        for (int i = 0; i < ranked.size(); i++) {
+            ranked.get(i).setRank(i + 1);
+        }
+        return ranked;
+    }
+
+    @Benchmark
+    public int scoreChange() {
+        Player player = unsorted.get(changes.nextInt(players));
+        int score = changes.nextInt(21) * 5 - 50;
+        ranking.put(player.getId(), player.getUsername(), score, 1_700_000_000_000L + changes.nextInt(60_000));
+        return ranking.getRank(player.getId());
+    }
+
+    @Benchmark
+    public List<Player> topThree() {
+        return ranking.getTop(3);
+    }
+}
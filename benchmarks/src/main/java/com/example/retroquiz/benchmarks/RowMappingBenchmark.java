@@ -0,0 +1,125 @@
+package com.example.retroquiz.benchmarks;
+
+import com.example.retroquiz.dao.PlayerDAO;
+import com.example.retroquiz.dao.QuestionDAO;
+import com.example.retroquiz.model.Player;
+import com.example.retroquiz.model.Question;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DAO row mapping (PlayerDAO / QuestionDAO mapResultSetTo...) over an
+ * in-memory H2 database in PostgreSQL mode, so the numbers are not dominated
+ * by network latency. Each invocation runs the query and maps every row.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dretroquiz.events=local")
+@State(Scope.Thread)
+public class RowMappingBenchmark {
+
+    @Param({ "10", "1000" })
+    public int rows;
+
+    private Connection conn;
+    private PreparedStatement selectPlayers;
+    private PreparedStatement selectQuestions;
+
+    @Setup
+    public void setUp() throws SQLException {
+        conn = DriverManager.getConnection(
+                "jdbc:h2:mem:rowmapping" + rows + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE", "sa", "");
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE players (" +
+                    "id SERIAL PRIMARY KEY, " +
+                    "username VARCHAR(50) UNIQUE NOT NULL, " +
+                    "total_points INT DEFAULT 0, " +
+                    "games_played INT DEFAULT 0, " +
+                    "correct_answers INT DEFAULT 0, " +
+                    "wrong_answers INT DEFAULT 0, " +
+                    "no_answers INT DEFAULT 0, " +
+                    "is_guest BOOLEAN DEFAULT FALSE)");
+            stmt.execute("CREATE TABLE questions (" +
+                    "id SERIAL PRIMARY KEY, " +
+                    "question TEXT NOT NULL, " +
+                    "optionA VARCHAR(255), optionB VARCHAR(255), optionC VARCHAR(255), optionD VARCHAR(255), " +
+                    "correct_option CHAR(1) NOT NULL, " +
+                    "category VARCHAR(50), " +
+                    "difficulty VARCHAR(20))");
+        }
+
+        try (PreparedStatement insertPlayer = conn.prepareStatement(
+                "INSERT INTO players (username, total_points, games_played, correct_answers, wrong_answers, no_answers) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)");
+                PreparedStatement insertQuestion = conn.prepareStatement(
+                        "INSERT INTO questions (question, optionA, optionB, optionC, optionD, correct_option, "
+                                + "category, difficulty) VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                insertPlayer.setString(1, "player" + i);
+                insertPlayer.setInt(2, i * 7 % 1000);
+                insertPlayer.setInt(3, i % 50);
+                insertPlayer.setInt(4, i % 40);
+                insertPlayer.setInt(5, i % 30);
+                insertPlayer.setInt(6, i % 20);
+                insertPlayer.addBatch();
+
+                insertQuestion.setString(1, "Benchmark question number " + i + "?");
+                insertQuestion.setString(2, "Option A " + i);
+                insertQuestion.setString(3, "Option B " + i);
+                insertQuestion.setString(4, "Option C " + i);
+                insertQuestion.setString(5, "Option D " + i);
+                insertQuestion.setString(6, String.valueOf("ABCD".charAt(i % 4)));
+                insertQuestion.setString(7, "Category" + (i % 8));
+                insertQuestion.setString(8, i % 3 == 0 ? "EASY" : i % 3 == 1 ? "MEDIUM" : "HARD");
+                insertQuestion.addBatch();
+            }
+            insertPlayer.executeBatch();
+            insertQuestion.executeBatch();
+        }
+
+        selectPlayers = conn.prepareStatement("SELECT * FROM players");
+        selectQuestions = conn.prepareStatement("SELECT * FROM questions");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP ALL OBJECTS");
+        }
+        conn.close();
+    }
+
+    @Benchmark
+    public List<Player> mapPlayers() throws SQLException {
+        List<Player> players = new ArrayList<>(rows);
+        try (ResultSet rs = selectPlayers.executeQuery()) {
+            while (rs.next()) {
+                players.add(PlayerDAO.mapResultSetToPlayer(rs));
+            }
+        }
+        return players;
+    }
+
+    @Benchmark
+    public List<Question> mapQuestions() throws SQLException {
+        List<Question> questions = new ArrayList<>(rows);
+        try (ResultSet rs = selectQuestions.executeQuery()) {
+            while (rs.next()) {
+                questions.add(QuestionDAO.mapResultSetToQuestion(rs));
+            }
+        }
+        return questions;
+    }
+}
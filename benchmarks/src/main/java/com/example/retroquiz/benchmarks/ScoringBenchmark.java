@@ -0,0 +1,108 @@
+package com.example.retroquiz.benchmarks;
+
+import com.example.retroquiz.model.Question;
+import com.example.retroquiz.service.QuizService;
+import com.example.retroquiz.service.ScoringStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answer scoring (QuizService.calculatePoints and each ScoringStrategy), per
+ * answer and per 10-question game. Run with {@code -prof gc} to check that the
+ * per-answer path allocates nothing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dretroquiz.events=local")
+@State(Scope.Thread)
+public class ScoringBenchmark {
+
+    private static final int ANSWERS = 1024; // Power of two for cheap index wrapping
+    private static final int GAME_LENGTH = 10;
+    private static final long LIMIT_NANOS = 15_000_000_000L;
+    private static final String[] DIFFICULTIES = { "EASY", "MEDIUM", "HARD", null };
+
+    private QuizService quizService;
+    private final boolean[] correct = new boolean[ANSWERS];
+    private final boolean[] answered = new boolean[ANSWERS];
+    private final long[] responseNanos = new long[ANSWERS];
+    private final int[] streaks = new int[ANSWERS];
+    private final Question[] questions = new Question[ANSWERS];
+    private int index;
+
+    @Setup
+    public void setUp() {
+        quizService = new QuizService();
+        // 70% correct, 20% wrong, 10% timed out; answers spread over the 15 s
+        Random random = new Random(42);
+        int streak = 0;
+        for (int i = 0; i < ANSWERS; i++) {
+            int roll = random.nextInt(10);
+            answered[i] = roll < 9;
+            correct[i] = roll < 7;
+            responseNanos[i] = answered[i] ? (long) (random.nextDouble() * LIMIT_NANOS) : LIMIT_NANOS;
+            streaks[i] = streak;
+            streak = correct[i] ? streak + 1 : 0;
+            questions[i] = new Question(i + 1, "Question " + i, "A", "B", "C", "D", 'A', "General",
+                    DIFFICULTIES[random.nextInt(DIFFICULTIES.length)]);
+        }
+    }
+
+    /**
+     * The strategy under test, as configured with RETROQUIZ_SCORING.
+     */
+    @State(Scope.Thread)
+    public static class Strategy {
+        @Param({ "fixed", "decay", "decay+streak", "decay+streak+difficulty" })
+        public String spec;
+
+        ScoringStrategy strategy;
+
+        @Setup
+        public void setUp() {
+            strategy = ScoringStrategy.parse(spec);
+        }
+    }
+
+    @Benchmark
+    public int calculatePoints() {
+        int i = index++ & (ANSWERS - 1);
+        return quizService.calculatePoints(correct[i], answered[i]);
+    }
+
+    @Benchmark
+    public int scoreGame() {
+        int start = index;
+        index += GAME_LENGTH;
+        int score = 0;
+        for (int q = 0; q < GAME_LENGTH; q++) {
+            int i = (start + q) & (ANSWERS - 1);
+            score += quizService.calculatePoints(correct[i], answered[i]);
+        }
+        return score;
+    }
+
+    @Benchmark
+    public int scoreAnswer(Strategy state) {
+        int i = index++ & (ANSWERS - 1);
+        return state.strategy.score(questions[i], answered[i], correct[i], responseNanos[i], LIMIT_NANOS,
+                streaks[i]);
+    }
+
+    @Benchmark
+    public int scoreGameWithStrategy(Strategy state) {
+        int start = index;
+        index += GAME_LENGTH;
+        int score = 0;
+        for (int q = 0; q < GAME_LENGTH; q++) {
+            int i = (start + q) & (ANSWERS - 1);
+            score += state.strategy.score(questions[i], answered[i], correct[i], responseNanos[i], LIMIT_NANOS,
+                    streaks[i]);
+        }
+        return score;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.retroquiz.benchmarks;
+
+import com.example.retroquiz.service.SessionCodeAllocator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Session code derivation (SessionCodeAllocator.codeFor): the per-session
+ * cost once a counter block is reserved.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dretroquiz.events=local")
+@State(Scope.Thread)
+public class SessionCodeBenchmark {
+
+    private long counter;
+
+    @Benchmark
+    public String codeFor() {
+        return SessionCodeAllocator.codeFor(counter++);
+    }
+}
@@ -1,6 +1,10 @@
 package com.example.retroquiz;
 
 import com.example.retroquiz.model.User; // <-- Import User
+import com.example.retroquiz.service.QuestionCache;
+import com.example.retroquiz.util.FxWatchdog;
+import com.example.retroquiz.util.Logger;
+import com.example.retroquiz.util.MetricsRegistry;
 import com.example.retroquiz.util.UserDataInitializer;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
@@ -12,12 +16,18 @@ import java.net.URL;
 
 public class HelloApplication extends Application {
 
+    private static final Logger LOG = Logger.get(HelloApplication.class);
+
     private static Stage primaryStage;
 
     @Override
     public void start(Stage stage) throws IOException {
         primaryStage = stage;
 
+        // Load the question bank while the menu is shown
+        QuestionCache.getInstance().warmUpAsync();
+        FxWatchdog.start();
+
         // Initial scene load
         Scene scene = new Scene(FXMLLoader.load(getClass().getResource("/fxml/retroquiz.fxml")), 800, 600);
 
@@ -38,10 +48,16 @@ public class HelloApplication extends Application {
      * This is the NEW method we need.
      */
     public static void setScene(String fxmlFileName, User user) throws IOException {
+        try (MetricsRegistry.Timer.Timing ignored = MetricsRegistry.getInstance().time("fx.setScene")) {
+            loadScene(fxmlFileName, user);
+        }
+    }
+
+    private static void loadScene(String fxmlFileName, User user) throws IOException {
         URL fxmlUrl = HelloApplication.class.getResource("/fxml/" + fxmlFileName);
 
         if (fxmlUrl == null) {
-            System.err.println("CRITICAL FXML ERROR: Could not find FXML file: " + fxmlFileName);
+            LOG.error("CRITICAL FXML ERROR: Could not find FXML file: {}", fxmlFileName);
             return;
         }
 
@@ -55,7 +71,7 @@ public class HelloApplication extends Application {
 
         // Check if the new controller needs initialization data (i.e., the User object)
         if (user != null && controller instanceof UserDataInitializer) {
-            System.out.println("Initializing new scene controller with User data.");
+            LOG.debug("Initializing new scene controller with User data.");
             ((UserDataInitializer) controller).initData(user);
         }
         // --------------------------
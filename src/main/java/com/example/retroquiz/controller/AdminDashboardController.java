@@ -3,35 +3,135 @@ package com.example.retroquiz.controller;
 import com.example.retroquiz.model.*;
 import com.example.retroquiz.service.*;
 import com.example.retroquiz.HelloApplication;
+import com.example.retroquiz.util.Logger;
+import com.example.retroquiz.util.MetricsRegistry;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.property.SimpleStringProperty;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TitledPane;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.util.Duration;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ResourceBundle;
 
 public class AdminDashboardController implements Initializable {
 
+    private static final Logger LOG = Logger.get(AdminDashboardController.class);
+
     @FXML
     private ImageView backgroundView;
     @FXML
     private Label welcomeLabel;
 
+    // Performance panel
+    @FXML
+    private TitledPane performancePane;
+    @FXML
+    private Label performanceSummaryLabel;
+    @FXML
+    private TableView<MetricsRegistry.TimerSnapshot> metricsTable;
+    @FXML
+    private TableColumn<MetricsRegistry.TimerSnapshot, String> metricNameColumn;
+    @FXML
+    private TableColumn<MetricsRegistry.TimerSnapshot, String> metricRateColumn;
+    @FXML
+    private TableColumn<MetricsRegistry.TimerSnapshot, String> metricP50Column;
+    @FXML
+    private TableColumn<MetricsRegistry.TimerSnapshot, String> metricP99Column;
+    @FXML
+    private TableColumn<MetricsRegistry.TimerSnapshot, String> metricCountColumn;
+
     private static final String GIF_PATH = "/images/retro-neon.gif";
+    private static final Path METRICS_FILE = Paths.get("retroquiz-metrics.csv");
+
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private Timeline performanceRefresh;
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         loadAnimatedBackground();
+        setupPerformancePanel();
+    }
+
+    private void setupPerformancePanel() {
+        metricNameColumn.setCellValueFactory(cell -> new SimpleStringProperty(cell.getValue().getName()));
+        metricRateColumn.setCellValueFactory(
+                cell -> new SimpleStringProperty(String.format("%.1f", cell.getValue().getRatePerSecond())));
+        metricP50Column.setCellValueFactory(
+                cell -> new SimpleStringProperty(String.format("%.2f", cell.getValue().getP50Millis())));
+        metricP99Column.setCellValueFactory(
+                cell -> new SimpleStringProperty(String.format("%.2f", cell.getValue().getP99Millis())));
+        metricCountColumn.setCellValueFactory(
+                cell -> new SimpleStringProperty(String.valueOf(cell.getValue().getTotalCount())));
+
+        // Only refresh while the panel is open
+        performanceRefresh = new Timeline(new KeyFrame(Duration.seconds(1), e -> refreshPerformance()));
+        performanceRefresh.setCycleCount(Animation.INDEFINITE);
+        performancePane.expandedProperty().addListener((obs, wasExpanded, expanded) -> {
+            if (expanded) {
+                refreshPerformance();
+                performanceRefresh.play();
+            } else {
+                performanceRefresh.stop();
+            }
+        });
+    }
+
+    private void refreshPerformance() {
+        metricsTable.getItems().setAll(metrics.getTimerSnapshots());
+
+        double fxDelayP99 = 0;
+        for (MetricsRegistry.TimerSnapshot snapshot : metricsTable.getItems()) {
+            if ("fx.queue.delay".equals(snapshot.getName())) {
+                fxDelayP99 = snapshot.getP99Millis();
+            }
+        }
+        performanceSummaryLabel.setText(String.format(
+                "DB pool: %s/%s busy, %s waiting   |   Live sessions: %s   |   Answer queue: %s   |   FX delay p99: %.1f ms"
+                        + "%nLatencies and calls/s over the last %d s",
+                value("db.pool.active"), value("db.pool.max"), value("db.pool.waiting"),
+                value("sessions.active"), value("answers.queue"), fxDelayP99, MetricsRegistry.WINDOW_SECONDS));
+    }
+
+    private String value(String name) {
+        long value = metrics.getValue(name);
+        return value >= 0 ? String.valueOf(value) : "-";
+    }
+
+    private void stopPerformanceRefresh() {
+        if (performanceRefresh != null) {
+            performanceRefresh.stop();
+        }
+    }
+
+    @FXML
+    private void handleSaveMetrics(ActionEvent event) {
+        metrics.dump(METRICS_FILE);
+        performancePane.setText("PERFORMANCE (saved to " + METRICS_FILE.toAbsolutePath() + ")");
+    }
+
+    @FXML
+    private void handleResetMetrics(ActionEvent event) {
+        metrics.reset();
+        refreshPerformance();
     }
 
     private void loadAnimatedBackground() {
         try {
             URL imageUrl = getClass().getResource(GIF_PATH);
             if (imageUrl == null) {
-                System.err.println("CRITICAL FILE ERROR: Could not find GIF at: " + GIF_PATH);
+                LOG.error("CRITICAL FILE ERROR: Could not find GIF at: {}", GIF_PATH);
                 return;
             }
             Image image = new Image(imageUrl.toExternalForm(), true);
@@ -44,48 +144,47 @@ public class AdminDashboardController implements Initializable {
                 }
             });
         } catch (Exception e) {
-            System.err.println("Failed to load local background image file.");
-            e.printStackTrace();
+            LOG.error("Failed to load local background image file.", e);
         }
     }
 
     @FXML
     private void handleManageQuestions(ActionEvent event) {
+        stopPerformanceRefresh();
         try {
             HelloApplication.setScene("question_management.fxml");
         } catch (IOException e) {
-            System.err.println("Failed to load question_management.fxml");
-            e.printStackTrace();
+            LOG.error("Failed to load question_management.fxml", e);
         }
     }
 
     @FXML
     private void handleManageUsers(ActionEvent event) {
+        stopPerformanceRefresh();
         try {
             HelloApplication.setScene("user_management.fxml");
         } catch (IOException e) {
-            System.err.println("Failed to load user_management.fxml");
-            e.printStackTrace();
+            LOG.error("Failed to load user_management.fxml", e);
         }
     }
 
     @FXML
     private void handleViewLeaderboard(ActionEvent event) {
+        stopPerformanceRefresh();
         try {
             HelloApplication.setScene("leaderboard.fxml");
         } catch (IOException e) {
-            System.err.println("Failed to load leaderboard.fxml");
-            e.printStackTrace();
+            LOG.error("Failed to load leaderboard.fxml", e);
         }
     }
 
     @FXML
     private void handleLogout(ActionEvent event) {
+        stopPerformanceRefresh();
         try {
             HelloApplication.setScene("retroquiz.fxml");
         } catch (IOException e) {
-            System.err.println("Failed to load retroquiz.fxml");
-            e.printStackTrace();
+            LOG.error("Failed to load retroquiz.fxml", e);
         }
     }
 }
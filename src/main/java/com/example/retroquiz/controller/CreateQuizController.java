@@ -2,6 +2,8 @@ package com.example.retroquiz.controller;
 
 import com.example.retroquiz.HelloApplication;
 import com.example.retroquiz.service.QuizService;
+import com.example.retroquiz.util.FxTasks;
+import com.example.retroquiz.util.Logger;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
@@ -19,6 +21,8 @@ import java.util.ResourceBundle;
 
 public class CreateQuizController implements Initializable {
 
+    private static final Logger LOG = Logger.get(CreateQuizController.class);
+
     @FXML
     private ImageView backgroundView;
     @FXML
@@ -68,7 +72,7 @@ public class CreateQuizController implements Initializable {
                 });
             }
         } catch (Exception e) {
-            System.err.println("Failed to load background image.");
+            LOG.error("Failed to load background image.");
         }
     }
 
@@ -94,16 +98,18 @@ public class CreateQuizController implements Initializable {
             category = "General"; // Default category
         }
 
-        boolean success = quizService.addQuestion(question, aptA, optB, optC, optD, correct.charAt(0), category, difficulty);
-
-        if (success) {
-            statusLabel.setText("✅ Question Saved Successfully!");
-            statusLabel.setStyle("-fx-text-fill: #00ffff;"); // Cyan for success
-            clearFields();
-        } else {
-            statusLabel.setText("❌ Failed to save question. Database error.");
-            statusLabel.setStyle("-fx-text-fill: #ff0000;"); // Red for error
-        }
+        String questionCategory = category;
+        FxTasks.run("questions.add", () -> quizService.addQuestion(question, aptA, optB, optC, optD,
+                correct.charAt(0), questionCategory, difficulty), success -> {
+                    if (success) {
+                        statusLabel.setText("✅ Question Saved Successfully!");
+                        statusLabel.setStyle("-fx-text-fill: #00ffff;"); // Cyan for success
+                        clearFields();
+                    } else {
+                        statusLabel.setText("❌ Failed to save question. Database error.");
+                        statusLabel.setStyle("-fx-text-fill: #ff0000;"); // Red for error
+                    }
+                });
     }
 
     @FXML
@@ -111,7 +117,7 @@ public class CreateQuizController implements Initializable {
         try {
             HelloApplication.setScene("admin_dashboard.fxml");
         } catch (IOException e) {
-            e.printStackTrace();
+            LOG.error("Failed to load admin_dashboard.fxml", e);
         }
     }
 
@@ -5,6 +5,9 @@ import com.example.retroquiz.model.*; // <-- CORRECTED IMPORT
 import com.example.retroquiz.service.*; // <-- CORRECTED IMPORT
 
 import com.example.retroquiz.HelloApplication;
+import com.example.retroquiz.util.FxTasks;
+import com.example.retroquiz.util.Logger;
+import com.example.retroquiz.util.TaskGroup;
 
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
@@ -21,6 +24,8 @@ import java.util.ResourceBundle;
 
 public class GuestRegistrationController implements Initializable {
 
+    private static final Logger LOG = Logger.get(GuestRegistrationController.class);
+
     // --- FXML UI Elements ---
 
     // Feedback Labels (Must match FXML fx:id)
@@ -72,9 +77,11 @@ public class GuestRegistrationController implements Initializable {
 
     // Instantiate the mock backend service
     private final UserService userService = new UserService();
+    private final TaskGroup tasks = new TaskGroup(); // Logins; account creation uses FxTasks
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
+        tasks.bindTo(loginFeedbackLabel);
         loadAnimatedBackground();
         // Initialize to Guest Mode (Cyan)
         applyStyle("cyan");
@@ -167,15 +174,15 @@ public class GuestRegistrationController implements Initializable {
         // NOTE: We rely on the lobby/quiz controller to actually create the DB entry
         // OR we create it here.
         // Given PlayerService modification, we should create it here to flag it properly.
-        PlayerService playerService = new PlayerService();
-        Player guestPlayer = playerService.createPlayer(guestName, true);
-        
-        if (guestPlayer != null) {
-            User currentUser = new User(guestPlayer.getUsername(), null);
-            proceedToQuizLobby(currentUser);
-        } else {
-             guestFeedbackLabel.setText("⚠️ Failed to create guest session.");
-        }
+        GameGateway gameGateway = GameGateway.getDefault();
+        FxTasks.run("guest.create", () -> gameGateway.createPlayer(guestName, true), guestPlayer -> {
+            if (guestPlayer != null) {
+                User currentUser = new User(guestPlayer.getUsername(), null);
+                proceedToQuizLobby(currentUser);
+            } else {
+                guestFeedbackLabel.setText("⚠️ Failed to create guest session.");
+            }
+        });
     }
 
     @FXML
@@ -190,13 +197,15 @@ public class GuestRegistrationController implements Initializable {
             return;
         }
 
-        if (userService.loginUser(username, password)) {
-            // SUCCESS: Create logged-in user and proceed
-            User currentUser = new User(username, null);
-            proceedToQuizLobby(currentUser);
-        } else {
-            loginFeedbackLabel.setText("❌ Login failed. Check username and password.");
-        }
+        tasks.run("user.login", () -> userService.loginUser(username, password), loggedIn -> {
+            if (loggedIn) {
+                // SUCCESS: Create logged-in user and proceed
+                User currentUser = new User(username, null);
+                proceedToQuizLobby(currentUser);
+            } else {
+                loginFeedbackLabel.setText("❌ Login failed. Check username and password.");
+            }
+        });
     }
 
     @FXML
@@ -211,14 +220,16 @@ public class GuestRegistrationController implements Initializable {
             return;
         }
 
-        if (userService.registerUser(username, password)) {
-            // SUCCESS: Create user and proceed
-            User currentUser = new User(username, null);
-            registerFeedbackLabel.setText("✅ Registration successful! Starting game...");
-            proceedToQuizLobby(currentUser);
-        } else {
-            registerFeedbackLabel.setText("❌ Registration failed. Username already taken.");
-        }
+        FxTasks.run("user.register", () -> userService.registerUser(username, password), registered -> {
+            if (registered) {
+                // SUCCESS: Create user and proceed
+                User currentUser = new User(username, null);
+                registerFeedbackLabel.setText("✅ Registration successful! Starting game...");
+                proceedToQuizLobby(currentUser);
+            } else {
+                registerFeedbackLabel.setText("❌ Registration failed. Username already taken.");
+            }
+        });
     }
 
     // --- Navigation and Data Passing ---
@@ -236,8 +247,7 @@ public class GuestRegistrationController implements Initializable {
             HelloApplication.setScene("main-lobby.fxml", user);
 
         } catch (IOException e) {
-            System.err.println("Failed to load main-lobby.fxml.");
-            e.printStackTrace();
+            LOG.error("Failed to load main-lobby.fxml.", e);
         }
     }
 
@@ -246,8 +256,7 @@ public class GuestRegistrationController implements Initializable {
         try {
             HelloApplication.setScene("retroquiz.fxml");
         } catch (IOException e) {
-            System.err.println("Failed to load retroquiz.fxml");
-            e.printStackTrace();
+            LOG.error("Failed to load retroquiz.fxml", e);
         }
     }
 
@@ -256,8 +265,7 @@ public class GuestRegistrationController implements Initializable {
         try {
             HelloApplication.setScene("leaderboard.fxml");
         } catch (IOException e) {
-            System.err.println("Failed to load leaderboard.fxml");
-            e.printStackTrace();
+            LOG.error("Failed to load leaderboard.fxml", e);
         }
     }
 
@@ -267,7 +275,7 @@ public class GuestRegistrationController implements Initializable {
         try {
             URL imageUrl = getClass().getResource(GIF_PATH);
             if (imageUrl == null) {
-                System.err.println("CRITICAL FILE ERROR: Could not find GIF at: " + GIF_PATH);
+                LOG.error("CRITICAL FILE ERROR: Could not find GIF at: {}", GIF_PATH);
                 return;
             }
             Image image = new Image(imageUrl.toExternalForm(), true);
@@ -280,8 +288,7 @@ public class GuestRegistrationController implements Initializable {
                 }
             });
         } catch (Exception e) {
-            System.err.println("Failed to load local background image file.");
-            e.printStackTrace();
+            LOG.error("Failed to load local background image file.", e);
         }
     }
 }
@@ -3,6 +3,8 @@ package com.example.retroquiz.controller;
 import com.example.retroquiz.model.*;
 import com.example.retroquiz.service.*;
 import com.example.retroquiz.HelloApplication;
+import com.example.retroquiz.util.Logger;
+import com.example.retroquiz.util.TaskGroup;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.Button;
@@ -19,6 +21,8 @@ import java.util.ResourceBundle;
 
 public class HostLoginController implements Initializable {
 
+    private static final Logger LOG = Logger.get(HostLoginController.class);
+
     // --- FXML ELEMENTS ---
     @FXML
     private ImageView backgroundView;
@@ -37,9 +41,11 @@ public class HostLoginController implements Initializable {
 
     // --- BACKEND INSTANCE ---
     private final TournamentService tournamentService = new TournamentService();
+    private final TaskGroup tasks = new TaskGroup();
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
+        tasks.bindTo(feedbackLabel);
         loadAnimatedBackground();
         applyStyle("cyan");
         feedbackLabel.setText("Active Tournament Code for Users: " + tournamentService.getActiveTournamentCode());
@@ -73,20 +79,21 @@ public class HostLoginController implements Initializable {
         }
 
         // Use the TournamentService for authentication
-        if (tournamentService.authenticateAdmin(username, password)) {
-            feedbackLabel.setText("✅ Login Successful! Redirecting...");
-
-            // In a real application, you might pass the Host object here
-            try {
-                // Assuming admin_dashboard.fxml is the next scene
-                HelloApplication.setScene("admin_dashboard.fxml");
-            } catch (IOException e) {
-                System.err.println("Failed to load admin_dashboard.fxml");
-                e.printStackTrace();
+        tasks.run("admin.login", () -> tournamentService.authenticateAdmin(username, password), authenticated -> {
+            if (authenticated) {
+                feedbackLabel.setText("✅ Login Successful! Redirecting...");
+
+                // In a real application, you might pass the Host object here
+                try {
+                    // Assuming admin_dashboard.fxml is the next scene
+                    HelloApplication.setScene("admin_dashboard.fxml");
+                } catch (IOException e) {
+                    LOG.error("Failed to load admin_dashboard.fxml", e);
+                }
+            } else {
+                feedbackLabel.setText("❌ Login Failed: Invalid Admin credentials.");
             }
-        } else {
-            feedbackLabel.setText("❌ Login Failed: Invalid Admin credentials.");
-        }
+        });
     }
 
     @FXML
@@ -94,8 +101,7 @@ public class HostLoginController implements Initializable {
         try {
             HelloApplication.setScene("retroquiz.fxml");
         } catch (IOException e) {
-            System.err.println("Failed to load retroquiz.fxml");
-            e.printStackTrace();
+            LOG.error("Failed to load retroquiz.fxml", e);
         }
     }
 
@@ -105,7 +111,7 @@ public class HostLoginController implements Initializable {
         try {
             URL imageUrl = getClass().getResource(GIF_PATH);
             if (imageUrl == null) {
-                System.err.println("CRITICAL FILE ERROR: Could not find GIF at: " + GIF_PATH);
+                LOG.error("CRITICAL FILE ERROR: Could not find GIF at: {}", GIF_PATH);
                 return;
             }
             Image image = new Image(imageUrl.toExternalForm(), true);
@@ -118,8 +124,7 @@ public class HostLoginController implements Initializable {
                 }
             });
         } catch (Exception e) {
-            System.err.println("Failed to load local background image file.");
-            e.printStackTrace();
+            LOG.error("Failed to load local background image file.", e);
         }
     }
 }
@@ -2,7 +2,10 @@ package com.example.retroquiz.controller;
 
 import com.example.retroquiz.service.*;
 import com.example.retroquiz.HelloApplication;
+import com.example.retroquiz.model.LeaderboardCursor;
 import com.example.retroquiz.model.Player;
+import com.example.retroquiz.util.Logger;
+import com.example.retroquiz.util.TaskGroup;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -22,13 +25,19 @@ import java.util.ResourceBundle;
  * Controller for the Leaderboard screen.
  * 
  * FEATURES:
- * - Displays top 10 players from database
+ * - Displays every (non-guest) player, best first
  * - Shows username and total points
  * - Refreshable leaderboard
  * - Navigation back to main menu
+ *
+ * Rows are loaded a page at a time (keyset paging) as the user scrolls near
+ * the end, and each row carries its rank, so rendering a cell never searches
+ * the list.
  */
 public class LeaderboardController implements Initializable {
 
+    private static final Logger LOG = Logger.get(LeaderboardController.class);
+
     @FXML
     private Label titleLabel;
     @FXML
@@ -49,17 +58,24 @@ public class LeaderboardController implements Initializable {
     private Button backButton;
 
     private final PlayerService playerService = new PlayerService();
+    private final TaskGroup tasks = new TaskGroup();
+
+    private static final int PAGE_SIZE = 100;
+    private static final int PREFETCH_ROWS = 20; // Load the next page when this close to the end
+
+    private final ObservableList<Player> rows = FXCollections.observableArrayList();
+    private LeaderboardCursor cursor = LeaderboardCursor.START;
+    private boolean loading = false;
+    private boolean endReached = false;
+    private int generation = 0; // Pages requested before a refresh are dropped
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        // Ensure database schema has is_guest column
-        playerService.ensureSchema();
+        tasks.bindTo(leaderboardTable);
 
         // Setup table columns
-        rankColumn.setCellValueFactory(cellData -> {
-            int index = leaderboardTable.getItems().indexOf(cellData.getValue()) + 1;
-            return new javafx.beans.property.SimpleIntegerProperty(index).asObject();
-        });
+        rankColumn.setCellValueFactory(
+                cellData -> new javafx.beans.property.SimpleIntegerProperty(cellData.getValue().getRank()).asObject());
 
         usernameColumn.setCellValueFactory(new PropertyValueFactory<>("username"));
         totalPointsColumn.setCellValueFactory(new PropertyValueFactory<>("totalPoints"));
@@ -83,28 +99,11 @@ public class LeaderboardController implements Initializable {
             }
         });
 
-        // Load leaderboard data
-        loadLeaderboard();
-
-        System.out.println("LeaderboardController initialized.");
-    }
-
-    /**
-     * Load top players from database and display in table.
-     */
-    private void loadLeaderboard() {
-        List<Player> topPlayers = playerService.getTopPlayers(10);
-
-        if (topPlayers.isEmpty()) {
-            System.out.println("No players found in database.");
-            titleLabel.setText("Leaderboard (No Data)");
-            return;
-        }
-
-        ObservableList<Player> playerData = FXCollections.observableArrayList(topPlayers);
-        leaderboardTable.setItems(playerData);
+        leaderboardTable.setItems(rows);
+        // Rows arrive in rank order a page at a time; sorting only the loaded ones would mislead
+        leaderboardTable.getColumns().forEach(column -> column.setSortable(false));
 
-        // Apply styling to top 3 players
+        // Apply styling to top 3 players, and fetch more rows near the end
         leaderboardTable.setRowFactory(tv -> new javafx.scene.control.TableRow<Player>() {
             @Override
             protected void updateItem(Player player, boolean empty) {
@@ -112,20 +111,66 @@ public class LeaderboardController implements Initializable {
 
                 if (empty || player == null) {
                     setStyle("");
-                } else {
-                    int rank = leaderboardTable.getItems().indexOf(player) + 1;
-                    switch (rank) {
-                        case 1 -> setStyle(
-                                "-fx-background-color: rgba(255, 215, 0, 0.4); -fx-font-weight: bold; -fx-text-fill: white;"); // Gold
-                        case 2 -> setStyle("-fx-background-color: rgba(192, 192, 192, 0.4); -fx-text-fill: white;"); // Silver
-                        case 3 -> setStyle("-fx-background-color: rgba(205, 127, 50, 0.4); -fx-text-fill: white;"); // Bronze
-                        default -> setStyle("");
-                    }
+                    return;
+                }
+                switch (player.getRank()) {
+                    case 1 -> setStyle(
+                            "-fx-background-color: rgba(255, 215, 0, 0.4); -fx-font-weight: bold; -fx-text-fill: white;"); // Gold
+                    case 2 -> setStyle("-fx-background-color: rgba(192, 192, 192, 0.4); -fx-text-fill: white;"); // Silver
+                    case 3 -> setStyle("-fx-background-color: rgba(205, 127, 50, 0.4); -fx-text-fill: white;"); // Bronze
+                    default -> setStyle("");
+                }
+                if (getIndex() >= rows.size() - PREFETCH_ROWS) {
+                    loadNextPage();
                 }
             }
         });
 
-        System.out.println("Leaderboard loaded with " + topPlayers.size() + " players.");
+        // Load leaderboard data
+        loadNextPage();
+
+        LOG.debug("LeaderboardController initialized.");
+    }
+
+    /**
+     * Load the next page from the database (in the background) and append it.
+     * Does nothing while a page is loading or once the last one was read.
+     */
+    private void loadNextPage() {
+        if (loading || endReached) {
+            return;
+        }
+        loading = true;
+        LeaderboardCursor from = cursor;
+        int requested = generation;
+        tasks.run("leaderboard.page", () -> playerService.getLeaderboardPage(from, PAGE_SIZE), page -> {
+            if (requested != generation) {
+                return; // Refreshed meanwhile
+            }
+            loading = false;
+            showPage(page == null ? List.of() : page);
+        }, error -> {
+            if (requested == generation) {
+                loading = false;
+            }
+        });
+    }
+
+    private void showPage(List<Player> page) {
+        if (page.size() < PAGE_SIZE) {
+            endReached = true;
+        }
+        if (page.isEmpty()) {
+            if (rows.isEmpty()) {
+                LOG.debug("No players found in database.");
+                titleLabel.setText("Leaderboard (No Data)");
+            }
+            return;
+        }
+
+        cursor = cursor.after(page);
+        rows.addAll(page);
+        LOG.debug("Leaderboard showing {} players.", rows.size());
     }
 
     /**
@@ -134,8 +179,15 @@ public class LeaderboardController implements Initializable {
      */
     @FXML
     private void handleRefresh() {
-        System.out.println("Refreshing leaderboard...");
-        loadLeaderboard();
+        LOG.debug("Refreshing leaderboard...");
+        playerService.refreshLeaderboard();
+        generation++;
+        cursor = LeaderboardCursor.START;
+        loading = false;
+        endReached = false;
+        rows.clear();
+        leaderboardTable.scrollTo(0);
+        loadNextPage();
     }
 
     /**
@@ -147,8 +199,7 @@ public class LeaderboardController implements Initializable {
         try {
             HelloApplication.setScene("retroquiz.fxml");
         } catch (IOException e) {
-            System.err.println("Failed to return to main menu: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Failed to return to main menu: {}", e.getMessage(), e);
         }
     }
 
@@ -163,7 +214,7 @@ public class LeaderboardController implements Initializable {
     }
 
     /**
-     * Search for a specific player in the leaderboard.
+     * Search for a specific player among the rows loaded so far.
      * 
      * @param username Username to search for
      * @return The player if found, null otherwise
@@ -1,6 +1,7 @@
 package com.example.retroquiz.controller;
 
 import com.example.retroquiz.HelloApplication;
+import com.example.retroquiz.util.Logger;
 import javafx.animation.ScaleTransition;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -17,6 +18,8 @@ import java.util.ResourceBundle;
 
 public class MainController implements Initializable {
 
+    private static final Logger LOG = Logger.get(MainController.class);
+
     @FXML
     private ImageView backgroundView;
     @FXML
@@ -40,8 +43,7 @@ public class MainController implements Initializable {
         try {
             HelloApplication.setScene("host_login.fxml");
         } catch (IOException e) {
-            System.err.println("Failed to load host_login.fxml");
-            e.printStackTrace();
+            LOG.error("Failed to load host_login.fxml", e);
         }
     }
 
@@ -50,8 +52,7 @@ public class MainController implements Initializable {
         try {
             HelloApplication.setScene("guest_registration.fxml");
         } catch (IOException e) {
-            System.err.println("Failed to load guest_registration.fxml");
-            e.printStackTrace();
+            LOG.error("Failed to load guest_registration.fxml", e);
         }
     }
 
@@ -61,7 +62,7 @@ public class MainController implements Initializable {
         try {
             URL imageUrl = getClass().getResource(GIF_PATH);
             if (imageUrl == null) {
-                System.err.println("CRITICAL FILE ERROR: Could not find GIF at: " + GIF_PATH);
+                LOG.error("CRITICAL FILE ERROR: Could not find GIF at: {}", GIF_PATH);
                 return;
             }
             Image image = new Image(imageUrl.toExternalForm(), true);
@@ -74,8 +75,7 @@ public class MainController implements Initializable {
                 }
             });
         } catch (Exception e) {
-            System.err.println("Failed to load local background image file.");
-            e.printStackTrace();
+            LOG.error("Failed to load local background image file.", e);
         }
     }
 
@@ -2,7 +2,9 @@ package com.example.retroquiz.controller;
 
 import com.example.retroquiz.HelloApplication;
 import com.example.retroquiz.model.User;
-import com.example.retroquiz.service.GameSessionService;
+import com.example.retroquiz.service.GameGateway;
+import com.example.retroquiz.util.FxTasks;
+import com.example.retroquiz.util.Logger;
 import com.example.retroquiz.util.UserDataInitializer;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
@@ -16,6 +18,7 @@ import javafx.event.ActionEvent;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.Map;
 import java.util.ResourceBundle;
 
 /**
@@ -26,6 +29,8 @@ import java.util.ResourceBundle;
  */
 public class MainLobbyController implements Initializable, UserDataInitializer {
 
+    private static final Logger LOG = Logger.get(MainLobbyController.class);
+
     @FXML
     private ImageView backgroundView;
 
@@ -65,13 +70,13 @@ public class MainLobbyController implements Initializable, UserDataInitializer {
     private static final String GIF_PATH = "/images/retro-neon.gif";
 
     private User currentUser;
-    private GameSessionService gameSessionService;
+    private GameGateway gameGateway;
     private String currentSessionCode;
     private int currentSessionId = -1;
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        gameSessionService = new GameSessionService();
+        gameGateway = GameGateway.getDefault();
         loadAnimatedBackground();
         applyStyle("cyan");
 
@@ -93,7 +98,7 @@ public class MainLobbyController implements Initializable, UserDataInitializer {
         usernameLabel.setText(displayText);
 
         feedbackLabel.setText("Welcome! Choose an option below.");
-        System.out.println("Main Lobby Loaded: User '" + user.getUsername() + "'");
+        LOG.debug("Main Lobby Loaded: User '{}'", user.getUsername());
     }
 
     /**
@@ -107,16 +112,24 @@ public class MainLobbyController implements Initializable, UserDataInitializer {
             return;
         }
 
-        // Generate session code
-        String sessionCode = gameSessionService.createGameSession(
-                currentUser.getUsername(),
-                10, // Default question count
-                15 // Default timer duration
-        );
+        feedbackLabel.setText("Creating game session...");
+        String username = currentUser.getUsername();
+        FxTasks.run("lobby.host", () -> {
+            // Generate session code
+            String sessionCode = gameGateway.createGameSession(
+                    username,
+                    10, // Default question count
+                    15 // Default timer duration
+            );
+            return sessionCode != null ? Map.entry(sessionCode, gameGateway.getSessionId(sessionCode)) : null;
+        }, this::showHostedSession);
+    }
 
-        if (sessionCode != null) {
+    private void showHostedSession(Map.Entry<String, Integer> session) {
+        if (session != null) {
+            String sessionCode = session.getKey();
             currentSessionCode = sessionCode;
-            currentSessionId = gameSessionService.getSessionId(sessionCode);
+            currentSessionId = session.getValue();
 
             // Show host section with session code
             hideAllSections();
@@ -163,18 +176,20 @@ public class MainLobbyController implements Initializable, UserDataInitializer {
         }
 
         // Try to join the session
-        int sessionId = gameSessionService.joinGameSession(code, currentUser.getUsername());
-
-        if (sessionId > 0) {
-            currentSessionCode = code;
-            currentSessionId = sessionId;
-            feedbackLabel.setText("✅ Successfully joined session: " + code);
-
-            // Navigate to quiz lobby
-            proceedToQuizLobby();
-        } else {
-            feedbackLabel.setText("❌ Failed to join session. Code may be invalid or session is full.");
-        }
+        feedbackLabel.setText("Joining session " + code + "...");
+        String username = currentUser.getUsername();
+        FxTasks.run("lobby.join", () -> gameGateway.joinGameSession(code, username), sessionId -> {
+            if (sessionId > 0) {
+                currentSessionCode = code;
+                currentSessionId = sessionId;
+                feedbackLabel.setText("✅ Successfully joined session: " + code);
+
+                // Navigate to quiz lobby
+                proceedToQuizLobby();
+            } else {
+                feedbackLabel.setText("❌ Failed to join session. Code may be invalid or session is full.");
+            }
+        });
     }
 
     /**
@@ -202,8 +217,7 @@ public class MainLobbyController implements Initializable, UserDataInitializer {
             // Navigate to quiz lobby (which should handle the session)
             HelloApplication.setScene("quiz-lobby.fxml", userWithSession);
         } catch (IOException e) {
-            System.err.println("Failed to load quiz-lobby.fxml");
-            e.printStackTrace();
+            LOG.error("Failed to load quiz-lobby.fxml", e);
             feedbackLabel.setText("❌ Error: Failed to navigate to quiz lobby.");
         }
     }
@@ -216,8 +230,7 @@ public class MainLobbyController implements Initializable, UserDataInitializer {
         try {
             HelloApplication.setScene("retroquiz.fxml");
         } catch (IOException e) {
-            System.err.println("Failed to load retroquiz.fxml");
-            e.printStackTrace();
+            LOG.error("Failed to load retroquiz.fxml", e);
         }
     }
 
@@ -267,7 +280,7 @@ public class MainLobbyController implements Initializable, UserDataInitializer {
         try {
             URL imageUrl = getClass().getResource(GIF_PATH);
             if (imageUrl == null) {
-                System.err.println("CRITICAL FILE ERROR: Could not find GIF at: " + GIF_PATH);
+                LOG.error("CRITICAL FILE ERROR: Could not find GIF at: {}", GIF_PATH);
                 return;
             }
             Image image = new Image(imageUrl.toExternalForm(), true);
@@ -280,8 +293,7 @@ public class MainLobbyController implements Initializable, UserDataInitializer {
                 }
             });
         } catch (Exception e) {
-            System.err.println("Failed to load local background image file.");
-            e.printStackTrace();
+            LOG.error("Failed to load local background image file.", e);
         }
     }
 }
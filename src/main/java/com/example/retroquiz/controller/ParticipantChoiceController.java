@@ -1,6 +1,7 @@
 package com.example.retroquiz.controller;
 
 import com.example.retroquiz.HelloApplication;
+import com.example.retroquiz.util.Logger;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.event.ActionEvent;
@@ -8,6 +9,8 @@ import java.io.IOException;
 
 public class ParticipantChoiceController {
 
+    private static final Logger LOG = Logger.get(ParticipantChoiceController.class);
+
     @FXML
     private Button userLoginButton;
 
@@ -21,13 +24,13 @@ public class ParticipantChoiceController {
 
     @FXML
     private void handleUserLogin(ActionEvent event) {
-        System.out.println("Navigating to dedicated User Login Screen...");
+        LOG.debug("Navigating to dedicated User Login Screen...");
         // TODO: Implement scene switching to user_login.fxml
     }
 
     @FXML
     private void handleGuestJoin(ActionEvent event) {
-        System.out.println("Navigating to Guest Registration Screen (Code Entry)...");
+        LOG.debug("Navigating to Guest Registration Screen (Code Entry)...");
         // TODO: Implement scene switching to registration.fxml
     }
 
@@ -36,8 +39,7 @@ public class ParticipantChoiceController {
         try {
             HelloApplication.setScene("leaderboard.fxml");
         } catch (IOException e) {
-            System.err.println("Failed to load leaderboard.fxml");
-            e.printStackTrace();
+            LOG.error("Failed to load leaderboard.fxml", e);
         }
     }
 
@@ -47,8 +49,7 @@ public class ParticipantChoiceController {
             // Logic to switch back to the main retroquiz.fxml scene
             HelloApplication.setScene("retroquiz.fxml");
         } catch (IOException e) {
-            System.err.println("Failed to load retroquiz.fxml (Back to Menu).");
-            e.printStackTrace();
+            LOG.error("Failed to load retroquiz.fxml (Back to Menu).", e);
         }
     }
 }
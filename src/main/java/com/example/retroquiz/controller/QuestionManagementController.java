@@ -2,7 +2,12 @@ package com.example.retroquiz.controller;
 
 import com.example.retroquiz.HelloApplication;
 import com.example.retroquiz.model.Question;
+import com.example.retroquiz.service.QuestionTransferService;
 import com.example.retroquiz.service.QuizService;
+import com.example.retroquiz.util.FxTasks;
+import com.example.retroquiz.util.Logger;
+import com.example.retroquiz.util.TaskGroup;
+import javafx.application.Platform;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
@@ -11,14 +16,22 @@ import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
+import javafx.scene.layout.HBox;
+import javafx.stage.FileChooser;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.ResourceBundle;
 
 public class QuestionManagementController implements Initializable {
 
+    private static final Logger LOG = Logger.get(QuestionManagementController.class);
+
     @FXML
     private TableView<QuestionRow> questionsTable;
     @FXML
@@ -49,7 +62,16 @@ public class QuestionManagementController implements Initializable {
     @FXML
     private ComboBox<String> difficultyCombo;
 
+    @FXML
+    private HBox transferBox;
+    @FXML
+    private ProgressBar transferProgress;
+    @FXML
+    private Label transferStatusLabel;
+
     private final QuizService quizService = new QuizService();
+    private final QuestionTransferService transferService = new QuestionTransferService();
+    private final TaskGroup tasks = new TaskGroup();
     private ObservableList<QuestionRow> questionList = FXCollections.observableArrayList();
 
     public static class QuestionRow {
@@ -96,6 +118,8 @@ public class QuestionManagementController implements Initializable {
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
+        tasks.bindTo(questionsTable);
+
         // Setup table columns
         idColumn.setCellValueFactory(cellData -> cellData.getValue().id.asObject());
         questionColumn.setCellValueFactory(cellData -> cellData.getValue().question);
@@ -120,10 +144,13 @@ public class QuestionManagementController implements Initializable {
     }
 
     private void loadQuestions() {
-        questionList.clear();
-        for (Question q : quizService.getAllQuestions()) {
-            questionList.add(new QuestionRow(q));
-        }
+        tasks.run("questions.load", () -> {
+            List<QuestionRow> rows = new ArrayList<>();
+            for (Question q : quizService.getAllQuestions()) {
+                rows.add(new QuestionRow(q));
+            }
+            return rows;
+        }, questionList::setAll);
     }
 
     private void populateFields(Question q) {
@@ -153,14 +180,16 @@ public class QuestionManagementController implements Initializable {
         String category = categoryField.getText();
         String difficulty = difficultyCombo.getValue();
 
-        if (quizService.addQuestion(question, optionA, optionB, optionC, optionD,
-                correctAnswer, category, difficulty)) {
-            showAlert("Success", "Question added successfully!");
-            loadQuestions();
-            handleClear(null);
-        } else {
-            showAlert("Error", "Failed to add question.");
-        }
+        FxTasks.run("questions.add", () -> quizService.addQuestion(question, optionA, optionB, optionC, optionD,
+                correctAnswer, category, difficulty), added -> {
+                    if (added) {
+                        showAlert("Success", "Question added successfully!");
+                        loadQuestions();
+                        handleClear(null);
+                    } else {
+                        showAlert("Error", "Failed to add question.");
+                    }
+                });
     }
 
     @FXML
@@ -186,14 +215,16 @@ public class QuestionManagementController implements Initializable {
         String category = categoryField.getText();
         String difficulty = difficultyCombo.getValue();
 
-        if (quizService.updateQuestion(id, question, optionA, optionB, optionC, optionD,
-                correctAnswer, category, difficulty)) {
-            showAlert("Success", "Question updated successfully!");
-            loadQuestions();
-            handleClear(null);
-        } else {
-            showAlert("Error", "Failed to update question.");
-        }
+        FxTasks.run("questions.update", () -> quizService.updateQuestion(id, question, optionA, optionB, optionC,
+                optionD, correctAnswer, category, difficulty), updated -> {
+                    if (updated) {
+                        showAlert("Success", "Question updated successfully!");
+                        loadQuestions();
+                        handleClear(null);
+                    } else {
+                        showAlert("Error", "Failed to update question.");
+                    }
+                });
     }
 
     @FXML
@@ -211,13 +242,16 @@ public class QuestionManagementController implements Initializable {
         Optional<ButtonType> result = alert.showAndWait();
 
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            if (quizService.deleteQuestion(selected.getId())) {
-                showAlert("Success", "Question deleted.");
-                loadQuestions();
-                handleClear(null);
-            } else {
-                showAlert("Error", "Failed to delete question.");
-            }
+            int id = selected.getId();
+            FxTasks.run("questions.delete", () -> quizService.deleteQuestion(id), deleted -> {
+                if (deleted) {
+                    showAlert("Success", "Question deleted.");
+                    loadQuestions();
+                    handleClear(null);
+                } else {
+                    showAlert("Error", "Failed to delete question.");
+                }
+            });
         }
     }
 
@@ -239,12 +273,109 @@ public class QuestionManagementController implements Initializable {
         loadQuestions();
     }
 
+    @FXML
+    private void handleImport(ActionEvent event) {
+        FileChooser chooser = newFileChooser("Import Questions");
+        File file = chooser.showOpenDialog(questionsTable.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        startTransfer("Importing " + file.getName() + "...");
+        FxTasks.run("questions.import", () -> {
+            try {
+                return transferService.importQuestions(file.toPath(), this::showTransferProgress);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, result -> {
+            endTransfer(result.isCommitted() ? result.describe() : "Import failed");
+            if (!result.isCommitted()) {
+                showAlert("Import Failed", result.getFailure());
+                return;
+            }
+            StringBuilder report = new StringBuilder(result.describe());
+            for (String error : result.getErrors()) {
+                report.append('\n').append(error);
+            }
+            if (result.getInvalid() > result.getErrors().size()) {
+                report.append("\n...");
+            }
+            showAlert("Import Complete", report.toString());
+            loadQuestions();
+        }, error -> {
+            endTransfer("Import failed");
+            showAlert("Import Failed", transferError(error));
+        });
+    }
+
+    @FXML
+    private void handleExport(ActionEvent event) {
+        FileChooser chooser = newFileChooser("Export Questions");
+        chooser.setInitialFileName("questions.csv");
+        File file = chooser.showSaveDialog(questionsTable.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        startTransfer("Exporting to " + file.getName() + "...");
+        FxTasks.run("questions.export", () -> {
+            try {
+                return transferService.exportQuestions(file.toPath(), this::showTransferProgress);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, count -> endTransfer(count + " questions exported to " + file.getName()), error -> {
+            endTransfer("Export failed");
+            showAlert("Export Failed", transferError(error));
+        });
+    }
+
+    private FileChooser newFileChooser(String title) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle(title);
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("CSV files", "*.csv"),
+                new FileChooser.ExtensionFilter("JSON files", "*.json"));
+        return chooser;
+    }
+
+    private void startTransfer(String status) {
+        transferBox.setDisable(true);
+        transferProgress.setProgress(0);
+        transferProgress.setVisible(true);
+        transferStatusLabel.setText(status);
+    }
+
+    private void endTransfer(String status) {
+        transferBox.setDisable(false);
+        transferProgress.setVisible(false);
+        transferStatusLabel.setText(status);
+    }
+
+    /**
+     * Progress listener; called on the transfer thread.
+     */
+    private void showTransferProgress(double fraction, String message) {
+        Platform.runLater(() -> {
+            transferProgress.setProgress(fraction < 0 ? ProgressBar.INDETERMINATE_PROGRESS : fraction);
+            transferStatusLabel.setText(message);
+        });
+    }
+
+    private static String transferError(Throwable error) {
+        Throwable cause = error instanceof UncheckedIOException && error.getCause() != null
+                ? error.getCause()
+                : error;
+        return cause.getMessage();
+    }
+
     @FXML
     private void handleBack(ActionEvent event) {
         try {
             HelloApplication.setScene("admin_dashboard.fxml");
         } catch (IOException e) {
-            e.printStackTrace();
+            LOG.error("Failed to load admin_dashboard.fxml", e);
         }
     }
 
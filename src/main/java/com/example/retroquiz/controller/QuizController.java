@@ -1,10 +1,14 @@
 package com.example.retroquiz.controller;
 
 import com.example.retroquiz.model.*;
-import com.example.retroquiz.service.GameSessionService;
-import com.example.retroquiz.service.PlayerService;
+import com.example.retroquiz.service.GameGateway;
 import com.example.retroquiz.service.QuizService;
+import com.example.retroquiz.service.ServerClock;
+import com.example.retroquiz.util.FxTasks;
+import com.example.retroquiz.util.Logger;
+import com.example.retroquiz.util.TaskGroup;
 import com.example.retroquiz.util.UserDataInitializer;
+import javafx.animation.Animation;
 import javafx.animation.KeyFrame;
 import javafx.animation.PauseTransition;
 import javafx.animation.Timeline;
@@ -22,12 +26,15 @@ import java.io.IOException;
 import java.net.URL;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller for the Quiz Gameplay screen.
  */
 public class QuizController implements Initializable, UserDataInitializer {
 
+    private static final Logger LOG = Logger.get(QuizController.class);
+
     // FXML UI Elements
     @FXML
     private Label questionNumberLabel;
@@ -39,6 +46,8 @@ public class QuizController implements Initializable, UserDataInitializer {
     private Label timerLabel;
     @FXML
     private ProgressBar timerProgressBar;
+    @FXML
+    private Label standingsLabel;
 
     @FXML
     private Button optionAButton;
@@ -51,8 +60,8 @@ public class QuizController implements Initializable, UserDataInitializer {
 
     // Services
     private final QuizService quizService = new QuizService();
-    private final PlayerService playerService = new PlayerService();
-    private final GameSessionService gameSessionService = new GameSessionService();
+    private final GameGateway gameGateway = GameGateway.getDefault();
+    private final TaskGroup tasks = new TaskGroup(); // Loads for this screen; answers use FxTasks
 
     // Game State
     private List<Question> questions;
@@ -61,56 +70,110 @@ public class QuizController implements Initializable, UserDataInitializer {
     private List<Player> allPlayers;
     private int sessionId = -1;
 
-    // Timer Configuration
+    // Timer Configuration (games without a schedule)
     private static final int TIMER_DURATION = 15;
     private Timeline countdown;
     private int timeRemaining;
+    private long questionShownNanos;
     private boolean answerSelected = false;
 
-    // Scoring Constants
-    private static final int POINTS_CORRECT = 10;
-    private static final int POINTS_WRONG = -5;
-    private static final int POINTS_NO_ANSWER = -15;
+    // Session games follow the session's schedule on the shared clock
+    private static final long TICK_MS = 100;
+    private QuestionSchedule schedule;
+    private ServerClock clock;
+    private Timeline ticker;
+    private static final int STANDINGS_TOP = 3;
+    private int standingsShownFor = -1;
+
+    // Scoring of solo games (see ScoringStrategy); session games are scored by the back end
+    private int streak = 0;
+    private CompletableFuture<?> lastSubmission = CompletableFuture.completedFuture(null);
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        System.out.println("QuizController initialized.");
+        tasks.bindTo(questionTextLabel);
+        LOG.debug("QuizController initialized.");
     }
 
     @Override
     public void initData(User user) {
-        System.out.println("Initializing Quiz Data for user: " + user.getUsername());
+        LOG.debug("Initializing Quiz Data for user: {}", user.getUsername());
+
+        questionTextLabel.setText("Loading questions...");
+        enableButtons(false);
 
-        // 1. Get Session ID
         String code = user.getTournamentCode();
-        if (code != null) {
-            this.sessionId = gameSessionService.getSessionId(code);
-        }
+        String username = user.getUsername();
+        tasks.run("quiz.init", () -> loadGameSetup(code, username), this::applyGameSetup,
+                error -> questionTextLabel.setText("Error loading game: " + error.getMessage()));
+    }
+
+    /**
+     * Everything the quiz needs from the database (background thread).
+     */
+    private GameSetup loadGameSetup(String code, String username) {
+        // 1. Get Session ID
+        int session = code != null ? gameGateway.getSessionId(code) : -1;
 
         // 2. Get/Create Player Object
-        this.currentPlayer = playerService.getPlayerByUsername(user.getUsername());
+        Player player = gameGateway.getPlayerByUsername(username);
+        if (player == null) {
+            player = gameGateway.createPlayer(username, false);
+        }
+
+        // 3. Load Session Players (Initial Snapshot)
+        // getSessionLeaderboard gives us Player objects with scores
+        List<Player> players = session != -1 ? gameGateway.getSessionLeaderboard(session) : null;
+
+        // 4. Question count of the session
+        int questionCount = session != -1 ? gameGateway.getSessionQuestionCount(session) : 10;
+
+        // 5. The session's question schedule, and the clock it runs on
+        QuestionSchedule questionSchedule = session != -1 ? gameGateway.getQuestionSchedule(session) : null;
+        ServerClock serverClock = null;
+        if (questionSchedule != null) {
+            serverClock = new ServerClock(gameGateway::getServerTimeMillis);
+            serverClock.sync();
+        }
+        return new GameSetup(session, player, players, questionCount, questionSchedule, serverClock);
+    }
+
+    private void applyGameSetup(GameSetup setup) {
+        this.sessionId = setup.sessionId;
+        this.currentPlayer = setup.player;
         if (this.currentPlayer == null) {
-            this.currentPlayer = playerService.createPlayer(user.getUsername());
+            questionTextLabel.setText("Error: Could not load player.");
+            return;
         }
         this.currentPlayer.resetSession();
+        this.allPlayers = setup.players != null ? setup.players : List.of(currentPlayer);
 
-        // 3. Load Session Players (Initial Snapshot)
-        if (this.sessionId != -1) {
-            // Initially just get usernames, but we need Player objects
-            // For now, we put strictly the current player in the list or fetch properly if
-            // possible
-            // But getSessionLeaderboard gives us Player objects with scores!
-            this.allPlayers = gameSessionService.getSessionLeaderboard(sessionId);
+        if (setup.schedule != null) {
+            startScheduledQuiz(setup.schedule, setup.clock);
+        } else if (setup.sessionId != -1) {
+            questionTextLabel.setText("Error: Could not load the game.");
         } else {
-            this.allPlayers = List.of(currentPlayer);
+            startQuiz(setup.questionCount);
         }
+    }
 
-        // 4. Start Quiz
-        int qCount = 10;
-        if (this.sessionId != -1) {
-            qCount = gameSessionService.getSessionQuestionCount(this.sessionId);
+    private static final class GameSetup {
+        private final int sessionId;
+        private final Player player;
+        private final List<Player> players;
+        private final int questionCount;
+        private final QuestionSchedule schedule;
+        private final ServerClock clock;
+
+        private GameSetup(int sessionId, Player player, List<Player> players, int questionCount,
+                QuestionSchedule schedule, ServerClock clock) {
+            this.sessionId = sessionId;
+            this.player = player;
+            this.players = players;
+            this.questionCount = questionCount;
+            this.schedule = schedule;
+            this.clock = clock;
         }
-        startQuiz(qCount);
     }
 
     public void setPlayers(List<Player> players) {
@@ -126,7 +189,7 @@ public class QuizController implements Initializable, UserDataInitializer {
 
     public void startQuiz(int questionCount) {
         if (currentPlayer == null) {
-            System.err.println("ERROR: Cannot start quiz. Player is null.");
+            LOG.error("ERROR: Cannot start quiz. Player is null.");
             return;
         }
 
@@ -135,28 +198,103 @@ public class QuizController implements Initializable, UserDataInitializer {
         enableButtons(false);
 
         // Load questions asynchronously to prevent UI lag
-        java.util.concurrent.CompletableFuture.supplyAsync(() -> {
-            return quizService.loadRandomQuestions(questionCount);
-        }).thenAccept(loadedQuestions -> {
-            // Update UI on JavaFX thread
-            javafx.application.Platform.runLater(() -> {
-                questions = loadedQuestions;
-                if (questions.isEmpty()) {
-                    questionTextLabel.setText("Error: No questions found.");
-                    return;
+        tasks.run("quiz.start", () -> gameGateway.loadRandomQuestions(questionCount), loadedQuestions -> {
+            questions = loadedQuestions;
+            if (questions.isEmpty()) {
+                questionTextLabel.setText("Error: No questions found.");
+                return;
+            }
+
+            currentQuestionIndex = 0;
+            displayQuestion();
+            LOG.debug("Quiz started with {} questions.", questions.size());
+        }, error -> questionTextLabel.setText("Error loading questions: " + error.getMessage()));
+    }
+
+    /**
+     * Play the session's schedule: every player gets the same question at the
+     * same moment, however long this screen took to come up. A ticker follows
+     * the shared clock; a player arriving late joins at the current question.
+     */
+    private void startScheduledQuiz(QuestionSchedule questionSchedule, ServerClock serverClock) {
+        schedule = questionSchedule;
+        clock = serverClock;
+        questions = schedule.getQuestions();
+        currentQuestionIndex = -1;
+
+        ticker = new Timeline(new KeyFrame(Duration.millis(TICK_MS), event -> onTick()));
+        ticker.setCycleCount(Animation.INDEFINITE);
+        ticker.play();
+        onTick();
+        LOG.debug("Scheduled quiz: {} questions, clock offset {} ms (+/- {} ms)", questions.size(),
+                clock.getOffsetMillis(), clock.getUncertaintyMillis());
+    }
+
+    private void onTick() {
+        long now = clock.currentTimeMillis();
+        int index = schedule.indexAt(now);
+
+        if (index != currentQuestionIndex) {
+            if (currentQuestionIndex >= 0 && !answerSelected) {
+                handleTimeout(); // The deadline passed between two ticks (busy UI)
+            }
+            currentQuestionIndex = index;
+            if (index >= questions.size()) {
+                ticker.stop();
+                endQuiz();
+                return;
+            }
+            if (index >= 0) {
+                if (now < schedule.getDeadline(index)) {
+                    displayQuestion();
+                } else {
+                    // Arrived while this answer is being shown: wait for the next question
+                    answerSelected = true;
+                    questionTextLabel.setText("Next question coming up...");
                 }
+            }
+        }
 
-                currentQuestionIndex = 0;
-                displayQuestion();
-                System.out.println("Quiz started with " + questions.size() + " questions.");
-            });
-        }).exceptionally(ex -> {
-            javafx.application.Platform.runLater(() -> {
-                questionTextLabel.setText("Error loading questions: " + ex.getMessage());
-                ex.printStackTrace();
-            });
-            return null;
-        });
+        if (index < 0) {
+            long wait = schedule.getStartMillis() - now;
+            questionTextLabel.setText("Get ready! First question in " + ((wait + 999) / 1000) + "s");
+        } else if (!answerSelected) {
+            long remaining = schedule.getDeadline(index) - now;
+            if (remaining <= 0) {
+                handleTimeout();
+            } else {
+                updateTimerDisplay(remaining, schedule.getQuestionMillis());
+            }
+        }
+
+        // Half-way through the answer reveal every score of this question is in
+        if (index >= 0 && index != standingsShownFor
+                && now >= schedule.getDeadline(index) + schedule.getRevealMillis() / 2) {
+            standingsShownFor = index;
+            showStandings();
+        }
+    }
+
+    /**
+     * Show the leaders and this player's place between two questions. Read from
+     * the session's live ranking, so it costs no database query.
+     */
+    private void showStandings() {
+        int session = sessionId;
+        int playerId = currentPlayer.getId();
+        tasks.run("quiz.standings", () -> {
+            List<Player> top = gameGateway.getSessionTopPlayers(session, STANDINGS_TOP);
+            int rank = gameGateway.getPlayerSessionRank(session, playerId);
+            StringBuilder text = new StringBuilder();
+            for (Player player : top) {
+                text.append(player.getRank()).append(". ").append(player.getUsername())
+                        .append(' ').append(player.getCurrentScore()).append("   ");
+            }
+            if (rank > 0) {
+                text.append("| You: #").append(rank);
+            }
+            return text.toString();
+        }, standingsLabel::setText);
     }
 
     private void displayQuestion() {
@@ -178,19 +316,22 @@ public class QuizController implements Initializable, UserDataInitializer {
 
         resetButtonStyles();
         enableButtons(true);
-        startTimer();
+        questionShownNanos = System.nanoTime();
+        if (schedule == null) {
+            startTimer();
+        }
     }
 
     private void startTimer() {
         timeRemaining = TIMER_DURATION;
-        updateTimerDisplay();
+        updateTimerDisplay(timeRemaining * 1000L, TIMER_DURATION * 1000L);
 
         if (countdown != null)
             countdown.stop();
 
         countdown = new Timeline(new KeyFrame(Duration.seconds(1), event -> {
             timeRemaining--;
-            updateTimerDisplay();
+            updateTimerDisplay(timeRemaining * 1000L, TIMER_DURATION * 1000L);
             if (timeRemaining <= 0)
                 handleTimeout();
         }));
@@ -198,43 +339,67 @@ public class QuizController implements Initializable, UserDataInitializer {
         countdown.play();
     }
 
-    private void updateTimerDisplay() {
-        timerLabel.setText("Time: " + timeRemaining + "s");
-        timerProgressBar.setProgress((double) timeRemaining / TIMER_DURATION);
+    private void updateTimerDisplay(long remainingMillis, long totalMillis) {
+        long seconds = (remainingMillis + 999) / 1000;
+        timerLabel.setText("Time: " + seconds + "s");
+        timerProgressBar.setProgress((double) remainingMillis / totalMillis);
 
-        if (timeRemaining <= 3)
+        if (seconds <= 3)
             timerLabel.setStyle("-fx-text-fill: #ff0000;");
-        else if (timeRemaining <= 7)
+        else if (seconds <= 7)
             timerLabel.setStyle("-fx-text-fill: #ffff00;");
         else
             timerLabel.setStyle("-fx-text-fill: #00ff00;");
     }
 
+    /**
+     * @return Time since the current question opened, in ns (at most the answer time)
+     */
+    private long elapsedNanos() {
+        long elapsed;
+        if (schedule != null) {
+            elapsed = clock.nanosSince(schedule.getQuestionStart(currentQuestionIndex));
+        } else {
+            elapsed = System.nanoTime() - questionShownNanos;
+        }
+        return Math.max(0, Math.min(elapsed, limitNanos()));
+    }
+
+    /**
+     * @return Time allowed for a question, in ns
+     */
+    private long limitNanos() {
+        long millis = schedule != null ? schedule.getQuestionMillis() : TIMER_DURATION * 1000L;
+        return millis * 1_000_000;
+    }
+
     private void handleTimeout() {
         if (answerSelected)
             return;
 
-        countdown.stop();
+        if (countdown != null)
+            countdown.stop();
         answerSelected = true;
-
-        int points = POINTS_NO_ANSWER;
-        ProcessScoreUpdate(points, false, 0); // 0 time taken or full duration? Logic says full.
+        enableButtons(false);
 
         Question question = questions.get(currentQuestionIndex);
         highlightCorrectAnswer(question.getCorrectOption());
 
-        // Record details
-        if (sessionId != -1) {
-            java.util.concurrent.CompletableFuture.runAsync(() -> {
-                quizService.recordAnswer(sessionId, currentPlayer.getId(), question.getId(), null, false,
-                        TIMER_DURATION,
-                        points);
-            });
+        if (schedule != null) {
+            submitAnswer(null, (int) schedule.getQuestionMillis());
+        } else {
+            long limit = limitNanos();
+            int points = quizService.scoreAnswer(question, false, false, limit, limit, streak);
+            streak = 0;
+            ProcessScoreUpdate(points, false, false);
         }
 
         timerLabel.setText("TIME'S UP!");
         timerLabel.setStyle("-fx-text-fill: #ff0000;");
-        proceedToNextQuestion();
+        timerProgressBar.setProgress(0);
+        if (schedule == null) {
+            proceedToNextQuestion(); // Scheduled games move on with the clock
+        }
     }
 
     @FXML
@@ -261,55 +426,91 @@ public class QuizController implements Initializable, UserDataInitializer {
         if (answerSelected)
             return;
 
-        countdown.stop();
+        if (schedule != null && clock.currentTimeMillis() >= schedule.getDeadline(currentQuestionIndex)) {
+            handleTimeout(); // Too late: the question has closed for everyone
+            return;
+        }
+
+        long responseNanos = elapsedNanos();
+        if (countdown != null)
+            countdown.stop();
         answerSelected = true;
         enableButtons(false);
 
         Question question = questions.get(currentQuestionIndex);
         boolean isCorrect = question.isCorrect(selectedOption);
-        int timeTaken = TIMER_DURATION - timeRemaining;
-        int points = quizService.calculatePoints(isCorrect, true);
-
-        ProcessScoreUpdate(points, isCorrect, timeTaken);
-
         if (isCorrect) {
             selectedButton.setStyle("-fx-background-color: #00ff00; -fx-text-fill: black;");
-            timerLabel.setText("CORRECT! +" + points);
-            timerLabel.setStyle("-fx-text-fill: #00ff00;");
         } else {
             selectedButton.setStyle("-fx-background-color: #ff0000; -fx-text-fill: white;");
             highlightCorrectAnswer(question.getCorrectOption());
-            timerLabel.setText("WRONG! " + points);
-            timerLabel.setStyle("-fx-text-fill: #ff0000;");
         }
 
-        if (sessionId != -1) {
-            java.util.concurrent.CompletableFuture.runAsync(() -> {
-                quizService.recordAnswer(sessionId, currentPlayer.getId(), question.getId(), selectedOption, isCorrect,
-                        timeTaken, points);
-            });
+        if (schedule != null) {
+            // The points come back from the back end, which checks and scores the answer
+            submitAnswer(selectedOption, (int) (responseNanos / 1_000_000));
+            return;
         }
 
-        currentPlayer.setLastAnswerTime(System.currentTimeMillis());
+        int points = quizService.scoreAnswer(question, true, isCorrect, responseNanos, limitNanos(), streak);
+        streak = isCorrect ? streak + 1 : 0;
+        ProcessScoreUpdate(points, true, isCorrect);
+        showVerdict(isCorrect, points);
         proceedToNextQuestion();
     }
 
-    private void ProcessScoreUpdate(int points, boolean isCorrect, int timeTaken) {
-        currentPlayer.addPoints(points);
-        if (isCorrect)
-            currentPlayer.recordCorrectAnswer();
-        else
-            currentPlayer.recordWrongAnswer(); // or recordNoAnswer called in timeout
+    /**
+     * Send a session game's answer to be checked and scored, then show the
+     * outcome. Answers are sent one after the other, so they arrive in order.
+     */
+    private void submitAnswer(Character selectedOption, int timeTakenMillis) {
+        int session = sessionId;
+        int playerId = currentPlayer.getId();
+        int index = currentQuestionIndex;
+        CompletableFuture<?> previous = lastSubmission;
+        lastSubmission = FxTasks.run("quiz.answer", () -> {
+            previous.handle((value, error) -> null).join();
+            return gameGateway.submitAnswer(session, playerId, index, selectedOption, timeTakenMillis);
+        }, result -> {
+            if (result == null) {
+                LOG.warn("Answer to question {} was not accepted", index + 1);
+                return;
+            }
+            currentPlayer.setCurrentScore(result.getScore());
+            countAnswer(selectedOption != null, result.isCorrect());
+            updateScoreDisplay();
+            if (selectedOption != null && index == currentQuestionIndex) {
+                showVerdict(result.isCorrect(), result.getPoints());
+            }
+        });
+    }
+
+    private void showVerdict(boolean isCorrect, int points) {
+        if (isCorrect) {
+            timerLabel.setText("CORRECT! +" + points);
+            timerLabel.setStyle("-fx-text-fill: #00ff00;");
+        } else {
+            timerLabel.setText("WRONG! " + points);
+            timerLabel.setStyle("-fx-text-fill: #ff0000;");
+        }
+    }
 
+    /**
+     * Score an answer of a solo game (scored on this machine).
+     */
+    private void ProcessScoreUpdate(int points, boolean answered, boolean isCorrect) {
+        currentPlayer.addPoints(points);
+        countAnswer(answered, isCorrect);
         updateScoreDisplay();
+    }
 
-        // **CRITICAL: Update Session Score in DB**
-        if (sessionId != -1) {
-            java.util.concurrent.CompletableFuture.runAsync(() -> {
-                gameSessionService.updatePlayerSessionScore(sessionId, currentPlayer.getId(),
-                        currentPlayer.getCurrentScore());
-            });
-        }
+    private void countAnswer(boolean answered, boolean isCorrect) {
+        if (!answered)
+            currentPlayer.recordNoAnswer();
+        else if (isCorrect)
+            currentPlayer.recordCorrectAnswer();
+        else
+            currentPlayer.recordWrongAnswer();
     }
 
     private void highlightCorrectAnswer(char correctOption) {
@@ -352,22 +553,25 @@ public class QuizController implements Initializable, UserDataInitializer {
     }
 
     private void endQuiz() {
-        System.out.println("Quiz ended. Final score: " + currentPlayer.getCurrentScore());
+        LOG.info("Quiz ended. Final score: {}", currentPlayer.getCurrentScore());
 
-        // Final sync of score and mark finished
-        if (sessionId != -1) {
-            java.util.concurrent.CompletableFuture.runAsync(() -> {
-                gameSessionService.updatePlayerSessionScore(sessionId, currentPlayer.getId(),
-                        currentPlayer.getCurrentScore());
-                gameSessionService.markPlayerFinished(sessionId, currentPlayer.getId());
-            });
-        }
-
-        // Update player statistics in database
         // Add current score to total points and increment games played
         currentPlayer.addToTotalPoints(currentPlayer.getCurrentScore());
         currentPlayer.incrementGamesPlayed();
-        playerService.updatePlayerStats(currentPlayer);
+
+        // Session games: the back end adds the game to the player's totals once
+        // the last answer is in. Solo games are saved from here.
+        int session = sessionId;
+        Player player = currentPlayer;
+        CompletableFuture<?> answered = lastSubmission;
+        FxTasks.run("quiz.finish", () -> {
+            if (session != -1) {
+                answered.handle((value, error) -> null).join();
+                gameGateway.markPlayerFinished(session, player.getId());
+            } else {
+                gameGateway.recordSoloGame(player);
+            }
+        });
 
         // Navigate to Waiting Screen if in a session, else go to results
         if (sessionId != -1) {
@@ -383,7 +587,7 @@ public class QuizController implements Initializable, UserDataInitializer {
                 stage.setScene(scene);
                 stage.setTitle("Waiting for Players");
             } catch (IOException e) {
-                e.printStackTrace();
+                LOG.error("Failed to load waiting-for-results.fxml", e);
             }
         } else {
             // Single player logic -> straight to results
@@ -399,7 +603,7 @@ public class QuizController implements Initializable, UserDataInitializer {
                 stage.setTitle("Quiz Results");
 
             } catch (IOException e) {
-                e.printStackTrace();
+                LOG.error("Failed to load result-screen.fxml", e);
             }
         }
     }
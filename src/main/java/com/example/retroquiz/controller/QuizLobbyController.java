@@ -5,8 +5,14 @@ package com.example.retroquiz.controller;
 import com.example.retroquiz.HelloApplication;
 import com.example.retroquiz.model.User;
 import com.example.retroquiz.model.Player;
-import com.example.retroquiz.service.GameSessionService;
-import com.example.retroquiz.service.PlayerService;
+import com.example.retroquiz.model.RosterDelta;
+import com.example.retroquiz.model.SessionEvent;
+import com.example.retroquiz.service.GameGateway;
+import com.example.retroquiz.service.SessionEventBus;
+import com.example.retroquiz.util.FxTasks;
+import com.example.retroquiz.util.Logger;
+import com.example.retroquiz.util.MetricsRegistry;
+import com.example.retroquiz.util.TaskGroup;
 import com.example.retroquiz.util.UserDataInitializer;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
@@ -23,10 +29,11 @@ import javafx.scene.input.ClipboardContent;
 import javafx.util.Duration;
 
 import java.io.IOException;
-import java.util.List;
 
 public class QuizLobbyController implements UserDataInitializer {
 
+    private static final Logger LOG = Logger.get(QuizLobbyController.class);
+
     @FXML
     private Label usernameLabel;
     @FXML
@@ -41,100 +48,172 @@ public class QuizLobbyController implements UserDataInitializer {
     private Label playerCountLabel;
 
     private User currentUser;
-    private GameSessionService gameSessionService;
-    private PlayerService playerService;
-    private Timeline pollingTimeline;
+    private GameGateway gameGateway;
+    private SessionEventBus.Subscription sessionSubscription;
     private String sessionCode;
     private int sessionId = -1;
+    private int playerId = -1;
+    private boolean gameStarted = false;
+
+    // Lobby list, kept current by applying roster deltas (FX thread only)
+    private final ObservableList<String> playerItems = FXCollections.observableArrayList();
+    private final Object rosterLock = new Object();
+    private long rosterVersion; // Guarded by rosterLock
+
+    private final TaskGroup tasks = new TaskGroup(); // Cancelled when we leave the lobby screen
 
     public QuizLobbyController() {
-        this.gameSessionService = new GameSessionService();
-        this.playerService = new PlayerService();
+        this.gameGateway = GameGateway.getDefault();
     }
 
     @Override
     public void initData(User user) {
         this.currentUser = user;
         this.sessionCode = user.getTournamentCode();
+        tasks.bindTo(usernameLabel);
 
         usernameLabel.setText(user.isGuest() ? "Guest: " + user.getUsername() : "Player: " + user.getUsername());
+        if (playerListView != null) {
+            playerListView.setItems(playerItems);
+        }
 
         if (sessionCode != null) {
             codeLabel.setText("CODE: " + sessionCode);
-            sessionId = gameSessionService.getSessionId(sessionCode);
+            startGameButton.setVisible(false);
+            startGameButton.setManaged(false); // Shown once we know we are the host
+            if (statusLabel != null)
+                statusLabel.setText("Connecting to session...");
+
+            String code = sessionCode;
+            String username = user.getUsername();
+            tasks.run("lobby.init", () -> findSeat(code, username), this::showSeat);
+        } else {
+            codeLabel.setText("CODE: ???");
+            if (statusLabel != null)
+                statusLabel.setText("Error: No Session Code");
+        }
+    }
 
-            // Check if user is host
-            Player player = playerService.getPlayerByUsername(user.getUsername());
-            boolean isHost = false;
+    /**
+     * Look up the session and our place in it (background thread).
+     */
+    private LobbySeat findSeat(String code, String username) {
+        int session = gameGateway.getSessionId(code);
 
-            if (player != null) {
-                isHost = gameSessionService.isSessionHost(sessionId, player.getId());
-            }
+        // Check if user is host (the session roster already knows our player ID)
+        int player = gameGateway.getPlayerIdInSession(session, username);
+        if (player < 0) {
+            Player found = gameGateway.getPlayerByUsername(username);
+            player = found != null ? found.getId() : -1;
+        }
+        boolean host = player >= 0 && gameGateway.isSessionHost(session, player);
+        return new LobbySeat(session, player, host);
+    }
 
-            startGameButton.setVisible(isHost);
-            startGameButton.setManaged(isHost); // Remove from layout if hidden
+    private void showSeat(LobbySeat seat) {
+        sessionId = seat.sessionId;
+        playerId = seat.playerId;
 
-            if (!isHost) {
-                if (statusLabel != null)
-                    statusLabel.setText("Waiting for host to start...");
-            } else {
-                if (statusLabel != null)
-                    statusLabel.setText("You are the Host! Waiting for players...");
-            }
+        startGameButton.setVisible(seat.host);
+        startGameButton.setManaged(seat.host); // Remove from layout if hidden
 
-            startPolling();
+        if (!seat.host) {
+            if (statusLabel != null)
+                statusLabel.setText("Waiting for host to start...");
         } else {
-            codeLabel.setText("CODE: ???");
             if (statusLabel != null)
-                statusLabel.setText("Error: No Session Code");
+                statusLabel.setText("You are the Host! Waiting for players...");
+        }
+
+        startListening();
+    }
+
+    private static final class LobbySeat {
+        private final int sessionId;
+        private final int playerId;
+        private final boolean host;
+
+        private LobbySeat(int sessionId, int playerId, boolean host) {
+            this.sessionId = sessionId;
+            this.playerId = playerId;
+            this.host = host;
         }
     }
 
-    private void startPolling() {
-        pollingTimeline = new Timeline(new KeyFrame(Duration.seconds(2), event -> {
-            updateLobbyState();
-        }));
-        pollingTimeline.setCycleCount(Timeline.INDEFINITE);
-        pollingTimeline.play();
+    /**
+     * Subscribe to session events instead of polling the database.
+     * The lobby is refreshed once now (to catch anything that happened before
+     * the subscription) and then only when a player joins or the status changes,
+     * or when the events were interrupted (RESYNC).
+     */
+    private void startListening() {
+        sessionSubscription = gameGateway.subscribe(sessionId, this::handleSessionEvent);
+        updateLobbyState();
     }
 
-    private List<String> previousPlayers = new java.util.ArrayList<>();
+    private void handleSessionEvent(SessionEvent event) {
+        switch (event.getType()) {
+            case STATUS_CHANGED -> {
+                if ("PLAYING".equals(event.getDetail())) {
+                    Platform.runLater(() -> {
+                        stopListening();
+                        proceedToGame();
+                    });
+                }
+            }
+            case PLAYER_JOINED, PLAYER_LEFT, RESYNC -> updateLobbyState();
+            default -> {
+            }
+        }
+    }
 
     private void updateLobbyState() {
         if (sessionId == -1)
             return;
 
-        // Run database queries in background thread to prevent UI lag
-        java.util.concurrent.CompletableFuture.runAsync(() -> {
+        // Run in background thread to prevent UI lag
+        tasks.run("lobby.update", () -> {
             // 1. Check Game Status
-            String status = gameSessionService.getSessionStatus(sessionId);
+            String status = gameGateway.getSessionStatus(sessionId);
             if ("PLAYING".equals(status)) {
                 Platform.runLater(() -> {
-                    stopPolling();
-                    proceedToGame();
+                    if (!tasks.isCancelled()) {
+                        stopListening();
+                        proceedToGame();
+                    }
                 });
                 return;
             }
 
-            // 2. Update Player List
-            List<String> players = gameSessionService.getPlayersInSession(sessionId);
-
-            // Only update UI if player list changed
-            if (!players.equals(previousPlayers)) {
-                previousPlayers = new java.util.ArrayList<>(players);
-                Platform.runLater(() -> {
-                    if (playerListView != null) {
-                        ObservableList<String> items = FXCollections.observableArrayList(players);
-                        playerListView.setItems(items);
-                    }
-                    if (playerCountLabel != null) {
-                        playerCountLabel.setText("Players: " + players.size());
+            // 2. Update Player List: only what changed since the last update.
+            // Deltas are taken one at a time, so they reach the FX thread in version order.
+            synchronized (rosterLock) {
+                RosterDelta delta = gameGateway.getPlayersInSessionSince(sessionId, rosterVersion);
+                if (delta.isEmpty()) {
+                    return;
+                }
+                rosterVersion = delta.getVersion();
+                Platform.runLater(MetricsRegistry.getInstance().timed("fx.lobby.roster", () -> {
+                    if (!tasks.isCancelled()) {
+                        applyRosterDelta(delta);
                     }
-                });
+                }));
             }
         });
     }
 
+    private void applyRosterDelta(RosterDelta delta) {
+        if (delta.isFull()) {
+            playerItems.setAll(delta.getAdded());
+        } else {
+            playerItems.removeAll(delta.getRemoved());
+            playerItems.addAll(delta.getAdded());
+        }
+        if (playerCountLabel != null) {
+            playerCountLabel.setText("Players: " + playerItems.size());
+        }
+    }
+
     @FXML
     private void handleCopyCode(ActionEvent event) {
         if (sessionCode != null && !sessionCode.isEmpty()) {
@@ -147,9 +226,8 @@ public class QuizLobbyController implements UserDataInitializer {
                 statusLabel.setText("✅ Code copied to clipboard!");
                 // Reset message after 2 seconds
                 new Timeline(new KeyFrame(Duration.seconds(2), e -> {
-                    if ("PLAYING".equals(gameSessionService.getSessionStatus(sessionId))) {
-                        // Don't overwrite if playing status update happened
-                    } else {
+                    // Don't overwrite if playing status update happened
+                    if (!gameStarted) {
                         statusLabel.setText("Waiting for players...");
                     }
                 })).play();
@@ -160,37 +238,57 @@ public class QuizLobbyController implements UserDataInitializer {
     @FXML
     private void handleStartGame(ActionEvent event) {
         if (sessionId != -1) {
-            gameSessionService.updateSessionStatus(sessionId, "PLAYING");
-            // The polling will catch this change and redirect, or we can redirect
-            // immediately
-            stopPolling();
-            proceedToGame();
+            int startingSession = sessionId;
+            startGameButton.setDisable(true);
+            // Fixes the questions and their timing for everyone, then sets the session PLAYING
+            tasks.run("lobby.start", () -> gameGateway.startGame(startingSession), schedule -> {
+                if (schedule == null) {
+                    if (statusLabel != null)
+                        statusLabel.setText("Could not start the game, try again.");
+                    startGameButton.setDisable(false);
+                    return;
+                }
+                // Other players are redirected by the STATUS_CHANGED event
+                stopListening();
+                proceedToGame();
+            }, error -> startGameButton.setDisable(false));
         }
     }
 
     private void proceedToGame() {
         Platform.runLater(() -> {
+            if (gameStarted) {
+                return; // Both the start button and the status event can get here
+            }
+            gameStarted = true;
             try {
                 HelloApplication.setScene("quiz-game.fxml", currentUser);
             } catch (IOException e) {
-                e.printStackTrace();
+                LOG.error("Failed to load quiz-game.fxml", e);
             }
         });
     }
 
-    private void stopPolling() {
-        if (pollingTimeline != null) {
-            pollingTimeline.stop();
+    private void stopListening() {
+        if (sessionSubscription != null) {
+            sessionSubscription.close();
+            sessionSubscription = null;
         }
     }
 
     @FXML
     private void handleExit(ActionEvent event) {
-        stopPolling();
+        tasks.cancel();
+        stopListening();
+        if (sessionId != -1 && playerId >= 0 && !gameStarted) {
+            int leavingSession = sessionId;
+            int leavingPlayer = playerId;
+            FxTasks.run("lobby.leave", () -> gameGateway.leaveSession(leavingSession, leavingPlayer));
+        }
         try {
             HelloApplication.setScene("retroquiz.fxml");
         } catch (IOException e) {
-            e.printStackTrace();
+            LOG.error("Failed to load retroquiz.fxml", e);
         }
     }
 }
@@ -2,6 +2,7 @@ package com.example.retroquiz.controller;
 
 import com.example.retroquiz.HelloApplication;
 import com.example.retroquiz.model.Player;
+import com.example.retroquiz.util.Logger;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -17,6 +18,7 @@ import javafx.stage.Stage;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
 
@@ -35,6 +37,8 @@ import java.util.ResourceBundle;
  */
 public class ResultController implements Initializable {
 
+    private static final Logger LOG = Logger.get(ResultController.class);
+
     @FXML
     private Label titleLabel;
     @FXML
@@ -63,7 +67,7 @@ public class ResultController implements Initializable {
         usernameColumn.setCellValueFactory(new PropertyValueFactory<>("username"));
         scoreColumn.setCellValueFactory(new PropertyValueFactory<>("currentScore"));
 
-        System.out.println("ResultController initialized.");
+        LOG.debug("ResultController initialized.");
     }
 
     /**
@@ -76,7 +80,7 @@ public class ResultController implements Initializable {
      */
     public void setPlayers(List<Player> players) {
         if (players == null || players.isEmpty()) {
-            System.err.println("ERROR: No players provided to results screen!");
+            LOG.error("ERROR: No players provided to results screen!");
             return;
         }
 
@@ -89,20 +93,40 @@ public class ResultController implements Initializable {
      * Calculate player rankings based on scores.
      * Higher score = better rank.
      * Ties are broken by answer time (earlier = better).
+     *
+     * Session leaderboards arrive already ranked (SessionRanking); only other
+     * lists are sorted here.
      */
     private void calculateRankings() {
-        // Sort players by score (descending), then by answer time (ascending)
-        players.sort((p1, p2) -> p1.compareByScore(p2));
+        if (!isRanked(players)) {
+            // Sort players by score (descending), then by answer time (ascending)
+            players = new ArrayList<>(players);
+            players.sort((p1, p2) -> p1.compareByScore(p2));
+
+            // Assign ranks
+            for (int i = 0; i < players.size(); i++) {
+                players.get(i).setRank(i + 1);
+            }
+        }
 
-        // Assign ranks
-        for (int i = 0; i < players.size(); i++) {
-            players.get(i).setRank(i + 1);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Rankings calculated:");
+            for (Player p : players) {
+                LOG.debug("  {}. {} - {} points", p.getRank(), p.getUsername(), p.getCurrentScore());
+            }
         }
+    }
 
-        System.out.println("Rankings calculated:");
-        for (Player p : players) {
-            System.out.println("  " + p.getRank() + ". " + p.getUsername() + " - " + p.getCurrentScore() + " points");
+    /**
+     * @return true if the players are in rank order with ranks 1..n assigned
+     */
+    private static boolean isRanked(List<Player> players) {
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).getRank() != i + 1) {
+                return false;
+            }
         }
+        return true;
     }
 
     /**
@@ -158,8 +182,7 @@ public class ResultController implements Initializable {
             stage.setTitle("Leaderboard");
 
         } catch (IOException e) {
-            System.err.println("Failed to load leaderboard: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Failed to load leaderboard: {}", e.getMessage(), e);
         }
     }
 
@@ -193,8 +216,7 @@ public class ResultController implements Initializable {
             stage.setTitle("RetroQuiz - Game");
 
         } catch (IOException e) {
-            System.err.println("Failed to restart quiz: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Failed to restart quiz: {}", e.getMessage(), e);
         }
     }
 
@@ -206,8 +228,7 @@ public class ResultController implements Initializable {
         try {
             HelloApplication.setScene("retroquiz.fxml");
         } catch (IOException e) {
-            System.err.println("Failed to return to main menu: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Failed to return to main menu: {}", e.getMessage(), e);
         }
     }
 
@@ -2,6 +2,9 @@ package com.example.retroquiz.controller;
 
 import com.example.retroquiz.HelloApplication;
 import com.example.retroquiz.service.UserService;
+import com.example.retroquiz.util.FxTasks;
+import com.example.retroquiz.util.Logger;
+import com.example.retroquiz.util.TaskGroup;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -13,11 +16,15 @@ import javafx.scene.control.cell.PropertyValueFactory;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.ResourceBundle;
 
 public class UserManagementController implements Initializable {
 
+    private static final Logger LOG = Logger.get(UserManagementController.class);
+
     @FXML
     private TableView<UserRaw> usersTable;
     @FXML
@@ -28,6 +35,7 @@ public class UserManagementController implements Initializable {
     private PasswordField passwordField;
 
     private final UserService userService = new UserService();
+    private final TaskGroup tasks = new TaskGroup();
     private ObservableList<UserRaw> userList = FXCollections.observableArrayList();
 
     public static class UserRaw {
@@ -52,6 +60,7 @@ public class UserManagementController implements Initializable {
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
+        tasks.bindTo(usersTable);
         usernameColumn.setCellValueFactory(new PropertyValueFactory<>("username"));
         usersTable.setItems(userList);
 
@@ -67,10 +76,13 @@ public class UserManagementController implements Initializable {
     }
 
     private void loadUsers() {
-        userList.clear();
-        for (String u : userService.getAllUsers()) {
-            userList.add(new UserRaw(u));
-        }
+        tasks.run("users.load", () -> {
+            List<UserRaw> rows = new ArrayList<>();
+            for (String u : userService.getAllUsers()) {
+                rows.add(new UserRaw(u));
+            }
+            return rows;
+        }, userList::setAll);
     }
 
     @FXML
@@ -95,14 +107,17 @@ public class UserManagementController implements Initializable {
             return;
         }
 
-        if (userService.updateUser(currentUsername, newUsername, newPassword)) {
-            showAlert("Success", "User updated successfully.");
-            loadUsers();
-            usernameField.clear();
-            passwordField.clear();
-        } else {
-            showAlert("Error", "Failed to update user. Username might be taken.");
-        }
+        FxTasks.run("users.update", () -> userService.updateUser(currentUsername, newUsername, newPassword),
+                updated -> {
+                    if (updated) {
+                        showAlert("Success", "User updated successfully.");
+                        loadUsers();
+                        usernameField.clear();
+                        passwordField.clear();
+                    } else {
+                        showAlert("Error", "Failed to update user. Username might be taken.");
+                    }
+                });
     }
 
     @FXML
@@ -119,14 +134,17 @@ public class UserManagementController implements Initializable {
         Optional<ButtonType> result = alert.showAndWait();
 
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            if (userService.deleteUser(selected.getUsername())) {
-                showAlert("Success", "User deleted.");
-                loadUsers();
-                usernameField.clear();
-                passwordField.clear();
-            } else {
-                showAlert("Error", "Failed to delete user.");
-            }
+            String username = selected.getUsername();
+            FxTasks.run("users.delete", () -> userService.deleteUser(username), deleted -> {
+                if (deleted) {
+                    showAlert("Success", "User deleted.");
+                    loadUsers();
+                    usernameField.clear();
+                    passwordField.clear();
+                } else {
+                    showAlert("Error", "Failed to delete user.");
+                }
+            });
         }
     }
 
@@ -135,7 +153,7 @@ public class UserManagementController implements Initializable {
         try {
             HelloApplication.setScene("admin_dashboard.fxml");
         } catch (IOException e) {
-            e.printStackTrace();
+            LOG.error("Failed to load admin_dashboard.fxml", e);
         }
     }
 
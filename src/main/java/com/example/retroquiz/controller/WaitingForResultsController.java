@@ -2,13 +2,14 @@ package com.example.retroquiz.controller;
 
 import com.example.retroquiz.HelloApplication;
 import com.example.retroquiz.model.Player;
-import com.example.retroquiz.service.GameSessionService;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import com.example.retroquiz.model.SessionEvent;
+import com.example.retroquiz.service.GameGateway;
+import com.example.retroquiz.service.SessionEventBus;
+import com.example.retroquiz.util.Logger;
+import com.example.retroquiz.util.TaskGroup;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.Label;
-import javafx.util.Duration;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 import javafx.fxml.FXMLLoader;
@@ -20,28 +21,33 @@ import java.util.ResourceBundle;
 
 public class WaitingForResultsController implements Initializable {
 
+    private static final Logger LOG = Logger.get(WaitingForResultsController.class);
+
     @FXML
     private Label statusLabel;
 
     private int sessionId;
-    private GameSessionService gameSessionService;
-    private Timeline pollingTimeline;
+    private GameGateway gameGateway;
+    private SessionEventBus.Subscription sessionSubscription;
+    private boolean resultsShown = false;
     private List<Player> currentPlayers; // We hold this to pass it forward
+    private final TaskGroup tasks = new TaskGroup();
 
     public WaitingForResultsController() {
-        this.gameSessionService = new GameSessionService();
+        this.gameGateway = GameGateway.getDefault();
     }
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         if (statusLabel != null) {
+            tasks.bindTo(statusLabel);
             statusLabel.setText("Initializing...");
         }
     }
 
     public void setSessionId(int sessionId) {
         this.sessionId = sessionId;
-        startPolling();
+        startListening();
     }
 
     // Keep reference to players to pass to result screen if needed (though we'll
@@ -50,39 +56,59 @@ public class WaitingForResultsController implements Initializable {
         this.currentPlayers = players;
     }
 
-    private void startPolling() {
-        if (pollingTimeline != null) {
-            pollingTimeline.stop();
-        }
-
-        pollingTimeline = new Timeline(new KeyFrame(Duration.seconds(2), event -> {
-            checkIfFinished();
-        }));
-        pollingTimeline.setCycleCount(Timeline.INDEFINITE);
-        pollingTimeline.play();
+    /**
+     * Wait for the session's FINISHED status event (published once the last
+     * player has finished) instead of polling the database. The database is
+     * checked once right away, in case everyone finished before we subscribed,
+     * and again on RESYNC, when that event may have been missed.
+     */
+    private void startListening() {
+        stopPolling();
+
+        sessionSubscription = gameGateway.subscribe(sessionId, event -> {
+            if (event.getType() == SessionEvent.Type.STATUS_CHANGED && "FINISHED".equals(event.getDetail())) {
+                showResults();
+            } else if (event.getType() == SessionEvent.Type.RESYNC) {
+                checkIfFinished();
+            }
+        });
+        checkIfFinished();
 
         statusLabel.setText("Syncing with other players...");
     }
 
+    /**
+     * Check in the background; safe to call from any thread (event listener or FX).
+     * The final leaderboard is loaded together with the check.
+     */
     private void checkIfFinished() {
-        if (gameSessionService.areAllPlayersFinished(sessionId)) {
-            pollingTimeline.stop();
-            proceedToResults();
-        } else {
-            // Optional: Update text to show progress?
-            // statusLabel.setText("Waiting...");
+        tasks.run("results.check", () -> gameGateway.areAllPlayersFinished(sessionId)
+                ? gameGateway.getSessionLeaderboard(sessionId)
+                : null, this::proceedOnce);
+    }
+
+    /**
+     * The session is known to be FINISHED: load the final leaderboard and show it.
+     */
+    private void showResults() {
+        tasks.run("results.show", () -> gameGateway.getSessionLeaderboard(sessionId), this::proceedOnce);
+    }
+
+    private void proceedOnce(List<Player> finalPlayers) {
+        if (finalPlayers == null || resultsShown) {
+            return;
         }
+        resultsShown = true;
+        stopPolling();
+        proceedToResults(finalPlayers);
     }
 
-    private void proceedToResults() {
+    private void proceedToResults(List<Player> finalComponentList) {
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/result-screen.fxml"));
             Scene scene = new Scene(loader.load());
 
             ResultController resultController = loader.getController();
-
-            // Get final leaderboard
-            List<Player> finalComponentList = gameSessionService.getSessionLeaderboard(sessionId);
             resultController.setPlayers(finalComponentList);
 
             Stage stage = (Stage) statusLabel.getScene().getWindow();
@@ -90,14 +116,14 @@ public class WaitingForResultsController implements Initializable {
             stage.setTitle("Quiz Results");
 
         } catch (IOException e) {
-            System.err.println("Failed to load result screen: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Failed to load result screen: {}", e.getMessage(), e);
         }
     }
 
     public void stopPolling() {
-        if (pollingTimeline != null) {
-            pollingTimeline.stop();
+        if (sessionSubscription != null) {
+            sessionSubscription.close();
+            sessionSubscription = null;
         }
     }
 }
@@ -0,0 +1,215 @@
+package com.example.retroquiz.dao;
+
+import com.example.retroquiz.model.Player;
+import com.example.retroquiz.util.OrderStatisticTree;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Ranked in-memory copy of the global (non-guest) leaderboard.
+ *
+ * Bootstrapped from the players table and kept current by PlayerDAO's writes,
+ * it answers rank lookups in O(log n) and top-k / "players around me" reads in
+ * O(log n + k) instead of scanning and sorting the table. Order is
+ * total_points descending, then player ID ascending.
+ *
+ * Writes from other machines are picked up by a periodic rebuild
+ * (REFRESH_INTERVAL_MS) or an explicit invalidate(). invalidate() takes no
+ * lock, so it returns at once even while a reload holds the monitor (it is
+ * called from the JavaFX thread).
+ */
+public class LeaderboardIndex {
+
+    private static final long REFRESH_INTERVAL_MS = 5 * 60_000;
+
+    static final Comparator<Player> ORDER = Comparator
+            .comparingInt(Player::getTotalPoints).reversed()
+            .thenComparingInt(Player::getId);
+
+    private final Supplier<List<Player>> loader;
+    private final OrderStatisticTree<Player> tree = new OrderStatisticTree<>(ORDER);
+    private final Map<Integer, Player> byId = new HashMap<>();
+    private boolean loaded = false;
+    private long loadedAt;
+    private volatile boolean stale = false; // Set by invalidate(), cleared when a reload starts
+
+    /**
+     * @param loader Reads every non-guest player; returns null on failure
+     */
+    public LeaderboardIndex(Supplier<List<Player>> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Forget the current contents; the next read reloads from the database.
+     */
+    public void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * @return The top {@code limit} players, or null if the index could not be loaded
+     */
+    public synchronized List<Player> getTop(int limit) {
+        if (!ensureLoaded()) {
+            return null;
+        }
+        return copies(tree.range(0, limit));
+    }
+
+    /**
+     * Page of the leaderboard by position.
+     *
+     * @return Up to {@code count} players from zero-based position {@code from},
+     *         or null if the index could not be loaded
+     */
+    public synchronized List<Player> getRange(int from, int count) {
+        if (!ensureLoaded()) {
+            return null;
+        }
+        return copies(tree.range(from, count));
+    }
+
+    /**
+     * Competition rank: 1 + number of players with strictly more points.
+     *
+     * @return The rank, or -1 if the player is not on the leaderboard (or not loaded)
+     */
+    public synchronized int getRank(int playerId) {
+        if (!ensureLoaded()) {
+            return -1;
+        }
+        Player player = byId.get(playerId);
+        if (player == null) {
+            return -1;
+        }
+        // Probe sorts before every player with the same points
+        Player probe = new Player(Integer.MIN_VALUE, null, player.getTotalPoints(), 0, 0, 0, 0);
+        return tree.countBefore(probe) + 1;
+    }
+
+    /**
+     * The players ranked just above and below a player, including the player.
+     *
+     * @param playerId Player ID
+     * @param radius   How many neighbours on each side
+     * @return Up to 2 * radius + 1 players, or an empty list if the player is not on the leaderboard
+     */
+    public synchronized List<Player> getAround(int playerId, int radius) {
+        if (!ensureLoaded()) {
+            return new ArrayList<>();
+        }
+        Player player = byId.get(playerId);
+        if (player == null) {
+            return new ArrayList<>();
+        }
+        int position = tree.indexOf(player);
+        int from = Math.max(0, position - radius);
+        return copies(tree.range(from, position - from + radius + 1));
+    }
+
+    /**
+     * @return Number of players on the leaderboard, or -1 if not loaded
+     */
+    public synchronized int size() {
+        return ensureLoaded() ? tree.size() : -1;
+    }
+
+    // --- Incremental updates from PlayerDAO ---
+
+    public synchronized void add(Player player) {
+        if (!loaded) {
+            return; // Picked up by the next load
+        }
+        put(copy(player));
+    }
+
+    /**
+     * Replace the stats of a player already on the leaderboard (guests are ignored).
+     */
+    public synchronized void update(Player player) {
+        if (!loaded || !byId.containsKey(player.getId())) {
+            return;
+        }
+        put(copy(player));
+    }
+
+    public synchronized void addPoints(int playerId, int points) {
+        if (!loaded) {
+            return;
+        }
+        Player current = byId.get(playerId);
+        if (current == null) {
+            return;
+        }
+        Player updated = new Player(current.getId(), current.getUsername(), current.getTotalPoints() + points,
+                current.getGamesPlayed(), current.getCorrectAnswers(), current.getWrongAnswers(),
+                current.getNoAnswers());
+        put(updated);
+    }
+
+    /**
+     * Add one finished game to a player's totals.
+     *
+     * @param game The game's points (totalPoints) and answer counts
+     */
+    public synchronized void addGame(Player game) {
+        if (!loaded) {
+            return;
+        }
+        Player current = byId.get(game.getId());
+        if (current == null) {
+            return;
+        }
+        Player updated = new Player(current.getId(), current.getUsername(),
+                current.getTotalPoints() + game.getTotalPoints(), current.getGamesPlayed() + 1,
+                current.getCorrectAnswers() + game.getCorrectAnswers(),
+                current.getWrongAnswers() + game.getWrongAnswers(), current.getNoAnswers() + game.getNoAnswers());
+        put(updated);
+    }
+
+    private void put(Player player) {
+        Player previous = byId.put(player.getId(), player);
+        if (previous != null) {
+            tree.remove(previous);
+        }
+        tree.add(player);
+    }
+
+    private boolean ensureLoaded() {
+        if (loaded && !stale && System.currentTimeMillis() - loadedAt < REFRESH_INTERVAL_MS) {
+            return true;
+        }
+        stale = false; // An invalidate() from now on asks for the next reload
+        List<Player> players = loader.get();
+        if (players == null) {
+            return loaded; // Keep serving the old data if we had some
+        }
+        tree.clear();
+        byId.clear();
+        for (Player player : players) {
+            put(player);
+        }
+        loaded = true;
+        loadedAt = System.currentTimeMillis();
+        return true;
+    }
+
+    private static List<Player> copies(List<Player> players) {
+        List<Player> result = new ArrayList<>(players.size());
+        for (Player player : players) {
+            result.add(copy(player));
+        }
+        return result;
+    }
+
+    private static Player copy(Player player) {
+        return new Player(player.getId(), player.getUsername(), player.getTotalPoints(), player.getGamesPlayed(),
+                player.getCorrectAnswers(), player.getWrongAnswers(), player.getNoAnswers());
+    }
+}
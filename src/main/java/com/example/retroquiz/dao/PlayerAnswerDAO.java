@@ -1,17 +1,31 @@
 package com.example.retroquiz.dao;
 
+import com.example.retroquiz.model.PlayerAnswer;
 import com.example.retroquiz.repository.CloudDatabaseConnection;
+import com.example.retroquiz.util.Logger;
 
 import java.sql.*;
+import java.util.List;
 
 public class PlayerAnswerDAO {
 
+    private static final Logger LOG = Logger.get(PlayerAnswerDAO.class);
+
+    /**
+     * Outcome of createBatch().
+     */
+    public enum BatchResult {
+        WRITTEN,
+        FAILED, // Connection or server trouble: the same batch may succeed later
+        REJECTED // A row breaks a constraint (SQLState class 23): retrying the batch can't help
+    }
+
     public void create(int sessionId, int playerId, int questionId,
             Character selectedOption, boolean isCorrect,
-            int timeTaken, int pointsEarned) {
+            int timeTakenMillis, int pointsEarned) {
         String sql = "INSERT INTO player_answers (session_id, player_id, question_id, " +
-                "selected_option, is_correct, time_taken, points_earned) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?)";
+                "selected_option, is_correct, time_taken, time_taken_ms, points_earned) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
 
         Connection conn = CloudDatabaseConnection.getConnection();
         if (conn == null)
@@ -29,13 +43,75 @@ public class PlayerAnswerDAO {
             }
 
             stmt.setBoolean(5, isCorrect);
-            stmt.setInt(6, timeTaken);
-            stmt.setInt(7, pointsEarned);
+            stmt.setInt(6, timeTakenMillis / 1000);
+            stmt.setInt(7, timeTakenMillis);
+            stmt.setInt(8, pointsEarned);
 
             stmt.executeUpdate();
 
         } catch (SQLException e) {
-            System.err.println("Error recording answer: " + e.getMessage());
+            LOG.error("Error recording answer: {}", e.getMessage());
+        } finally {
+            CloudDatabaseConnection.closeConnection(conn);
+        }
+    }
+
+    /**
+     * Insert many answers with one JDBC batch in a single transaction.
+     *
+     * @param answers Answers to insert
+     * @return WRITTEN if every row was written; otherwise nothing was
+     */
+    public BatchResult createBatch(List<PlayerAnswer> answers) {
+        if (answers.isEmpty())
+            return BatchResult.WRITTEN;
+
+        String sql = "INSERT INTO player_answers (session_id, player_id, question_id, " +
+                "selected_option, is_correct, time_taken, time_taken_ms, points_earned) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+        Connection conn = CloudDatabaseConnection.getConnection();
+        if (conn == null)
+            return BatchResult.FAILED;
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            conn.setAutoCommit(false);
+
+            for (PlayerAnswer answer : answers) {
+                stmt.setInt(1, answer.getSessionId());
+                stmt.setInt(2, answer.getPlayerId());
+                stmt.setInt(3, answer.getQuestionId());
+
+                if (answer.getSelectedOption() != null) {
+                    stmt.setString(4, String.valueOf(answer.getSelectedOption()));
+                } else {
+                    stmt.setNull(4, Types.CHAR);
+                }
+
+                stmt.setBoolean(5, answer.isCorrect());
+                stmt.setInt(6, answer.getTimeTaken());
+                stmt.setInt(7, answer.getTimeTakenMillis());
+                stmt.setInt(8, answer.getPointsEarned());
+                stmt.addBatch();
+            }
+
+            stmt.executeBatch();
+            conn.commit();
+            return BatchResult.WRITTEN;
+
+        } catch (SQLException e) {
+            boolean rejected = isConstraintViolation(e);
+            if (rejected) {
+                LOG.debug("Answer batch rejected: {}", e.getMessage()); // The caller isolates the bad rows
+            } else {
+                LOG.error("Error recording answer batch: {}", e.getMessage());
+            }
+            try {
+                conn.rollback();
+            } catch (SQLException ex) {
+                LOG.error("Error rolling back answer batch: {}", ex.getMessage());
+            }
+            return rejected ? BatchResult.REJECTED : BatchResult.FAILED;
         } finally {
             CloudDatabaseConnection.closeConnection(conn);
         }
@@ -48,4 +124,18 @@ public class PlayerAnswerDAO {
             stmt.executeUpdate();
         }
     }
+
+    /**
+     * @return true if the error (or one chained to it, as batches report) is an
+     *         integrity constraint violation
+     */
+    private static boolean isConstraintViolation(SQLException e) {
+        for (SQLException current = e; current != null; current = current.getNextException()) {
+            String state = current.getSQLState();
+            if (state != null && state.startsWith("23")) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -1,7 +1,9 @@
 package com.example.retroquiz.dao;
 
+import com.example.retroquiz.model.LeaderboardCursor;
 import com.example.retroquiz.model.Player;
 import com.example.retroquiz.repository.CloudDatabaseConnection;
+import com.example.retroquiz.util.Logger;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -9,6 +11,26 @@ import java.util.List;
 
 public class PlayerDAO {
 
+    private static final Logger LOG = Logger.get(PlayerDAO.class);
+
+    // Shared by every PlayerDAO instance so all writers keep it current
+    private static final LeaderboardIndex LEADERBOARD = new LeaderboardIndex(PlayerDAO::loadLeaderboardEntries);
+
+    /**
+     * Add a non-guest player created outside this DAO (e.g. by the single-statement
+     * session join) to the in-memory leaderboard.
+     */
+    public static void indexCreatedPlayer(Player player) {
+        LEADERBOARD.add(player);
+    }
+
+    /**
+     * Drop the in-memory leaderboard; the next read reloads it from the database.
+     */
+    public static void invalidateLeaderboard() {
+        LEADERBOARD.invalidate();
+    }
+
     public Player getById(int playerId) {
         String sql = "SELECT * FROM players WHERE id = ?";
         Connection conn = CloudDatabaseConnection.getConnection();
@@ -25,7 +47,7 @@ public class PlayerDAO {
             }
 
         } catch (SQLException e) {
-            System.err.println("Error loading player by ID: " + e.getMessage());
+            LOG.error("Error loading player by ID: {}", e.getMessage());
         } finally {
             CloudDatabaseConnection.closeConnection(conn);
         }
@@ -49,7 +71,7 @@ public class PlayerDAO {
             }
 
         } catch (SQLException e) {
-            System.err.println("Error loading player by username: " + e.getMessage());
+            LOG.error("Error loading player by username: {}", e.getMessage());
         } finally {
             CloudDatabaseConnection.closeConnection(conn);
         }
@@ -72,13 +94,17 @@ public class PlayerDAO {
                 try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                     if (generatedKeys.next()) {
                         int playerId = generatedKeys.getInt(1);
-                        return new Player(playerId, username);
+                        Player player = new Player(playerId, username);
+                        if (!isGuest) {
+                            LEADERBOARD.add(player);
+                        }
+                        return player;
                     }
                 }
             }
 
         } catch (SQLException e) {
-            System.err.println("Error creating player: " + e.getMessage());
+            LOG.error("Error creating player: {}", e.getMessage());
         } finally {
             CloudDatabaseConnection.closeConnection(conn);
         }
@@ -108,10 +134,49 @@ public class PlayerDAO {
             stmt.setInt(5, player.getNoAnswers());
             stmt.setInt(6, player.getId());
 
-            stmt.executeUpdate();
+            if (stmt.executeUpdate() > 0) {
+                LEADERBOARD.update(player);
+            }
+
+        } catch (SQLException e) {
+            LOG.error("Error updating player stats: {}", e.getMessage());
+        } finally {
+            CloudDatabaseConnection.closeConnection(conn);
+        }
+    }
+
+    /**
+     * Add one finished game to a player's totals, in place (no read-modify-write).
+     *
+     * @param game The game's points (totalPoints) and answer counts
+     */
+    public void addGameResult(Player game) {
+        String sql = "UPDATE players SET " +
+                "total_points = total_points + ?, " +
+                "games_played = games_played + 1, " +
+                "correct_answers = correct_answers + ?, " +
+                "wrong_answers = wrong_answers + ?, " +
+                "no_answers = no_answers + ?, " +
+                "last_played = CURRENT_TIMESTAMP " +
+                "WHERE id = ?";
+
+        Connection conn = CloudDatabaseConnection.getConnection();
+        if (conn == null)
+            return;
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, game.getTotalPoints());
+            stmt.setInt(2, game.getCorrectAnswers());
+            stmt.setInt(3, game.getWrongAnswers());
+            stmt.setInt(4, game.getNoAnswers());
+            stmt.setInt(5, game.getId());
+
+            if (stmt.executeUpdate() > 0) {
+                LEADERBOARD.addGame(game);
+            }
 
         } catch (SQLException e) {
-            System.err.println("Error updating player stats: " + e.getMessage());
+            LOG.error("Error adding game result: {}", e.getMessage());
         } finally {
             CloudDatabaseConnection.closeConnection(conn);
         }
@@ -126,32 +191,81 @@ public class PlayerDAO {
         try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, points);
             stmt.setInt(2, playerId);
-            stmt.executeUpdate();
+            if (stmt.executeUpdate() > 0) {
+                LEADERBOARD.addPoints(playerId, points);
+            }
 
         } catch (SQLException e) {
-            System.err.println("Error adding points: " + e.getMessage());
+            LOG.error("Error adding points: {}", e.getMessage());
         } finally {
             CloudDatabaseConnection.closeConnection(conn);
         }
     }
 
+    /**
+     * Top of the global leaderboard (guests excluded), served from the in-memory index.
+     *
+     * @param limit Number of players
+     * @return Players ordered by total points, then ID
+     */
     public List<Player> getTopPlayers(int limit) {
-        List<Player> players = new ArrayList<>();
-        String sql = "SELECT * FROM players WHERE is_guest = FALSE ORDER BY total_points DESC LIMIT " + limit;
+        List<Player> players = LEADERBOARD.getTop(limit);
+        return players != null ? players : new ArrayList<>();
+    }
 
+    /**
+     * One page of the global leaderboard (guests excluded), read from the
+     * database with keyset paging on idx_players_points. The plain
+     * "total_points <= ?" gives the planner the index range to start from;
+     * the OR only filters out the rows of the last page with equal points.
+     *
+     * Each player's rank is set: 1 + number of players with more points, as
+     * in getRank(), so players with equal points share a rank.
+     *
+     * @param cursor Where the previous page ended (LeaderboardCursor.START for the first)
+     * @param limit  Page size
+     * @return Players ordered by total points, then ID; empty past the end or on error
+     */
+    public List<Player> getLeaderboardPage(LeaderboardCursor cursor, int limit) {
+        String sql = cursor.isStart()
+                ? "SELECT * FROM players WHERE is_guest = FALSE " +
+                        "ORDER BY total_points DESC, id LIMIT ?"
+                : "SELECT * FROM players WHERE is_guest = FALSE " +
+                        "AND total_points <= ? AND (total_points < ? OR (total_points = ? AND id > ?)) " +
+                        "ORDER BY total_points DESC, id LIMIT ?";
+
+        List<Player> players = new ArrayList<>();
         Connection conn = CloudDatabaseConnection.getConnection();
         if (conn == null)
             return players;
 
-        try (Statement stmt = conn.createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            if (!cursor.isStart()) {
+                stmt.setInt(index++, cursor.getLastPoints());
+                stmt.setInt(index++, cursor.getLastPoints());
+                stmt.setInt(index++, cursor.getLastPoints());
+                stmt.setInt(index++, cursor.getLastId());
+            }
+            stmt.setInt(index, limit);
 
-            while (rs.next()) {
-                players.add(mapResultSetToPlayer(rs));
+            try (ResultSet rs = stmt.executeQuery()) {
+                int position = cursor.getPosition();
+                int previousPoints = cursor.getLastPoints();
+                int previousRank = cursor.getLastRank();
+                while (rs.next()) {
+                    Player player = mapResultSetToPlayer(rs);
+                    position++;
+                    boolean tied = position > 1 && player.getTotalPoints() == previousPoints;
+                    player.setRank(tied ? previousRank : position);
+                    previousPoints = player.getTotalPoints();
+                    previousRank = player.getRank();
+                    players.add(player);
+                }
             }
 
         } catch (SQLException e) {
-            System.err.println("Error loading top players: " + e.getMessage());
+            LOG.error("Error loading leaderboard page: {}", e.getMessage());
         } finally {
             CloudDatabaseConnection.closeConnection(conn);
         }
@@ -159,6 +273,17 @@ public class PlayerDAO {
         return players;
     }
 
+    /**
+     * The players ranked just above and below a player on the global leaderboard.
+     *
+     * @param playerId Player ID
+     * @param radius   Number of neighbours on each side
+     * @return The window around the player (including them), empty if they are not ranked
+     */
+    public List<Player> getPlayersAround(int playerId, int radius) {
+        return LEADERBOARD.getAround(playerId, radius);
+    }
+
     public boolean existsByUsername(String username) {
         String sql = "SELECT COUNT(*) as count FROM players WHERE username = ?";
         Connection conn = CloudDatabaseConnection.getConnection();
@@ -175,7 +300,7 @@ public class PlayerDAO {
             }
 
         } catch (SQLException e) {
-            System.err.println("Error checking username existence: " + e.getMessage());
+            LOG.error("Error checking username existence: {}", e.getMessage());
         } finally {
             CloudDatabaseConnection.closeConnection(conn);
         }
@@ -183,9 +308,21 @@ public class PlayerDAO {
         return false;
     }
 
+    /**
+     * Rank on the global leaderboard: 1 + number of players with more points.
+     * Guests are not on the leaderboard, so their rank still comes from a query.
+     *
+     * @param playerId Player ID
+     * @return Rank (1 = highest), or -1 if not found
+     */
     public int getRank(int playerId) {
+        int rank = LEADERBOARD.getRank(playerId);
+        if (rank > 0) {
+            return rank;
+        }
+
         String sql = "SELECT COUNT(*) + 1 as rank FROM players " +
-                "WHERE total_points > (SELECT total_points FROM players WHERE id = ?)";
+                "WHERE is_guest = FALSE AND total_points > (SELECT total_points FROM players WHERE id = ?)";
 
         Connection conn = CloudDatabaseConnection.getConnection();
         if (conn == null)
@@ -201,7 +338,7 @@ public class PlayerDAO {
             }
 
         } catch (SQLException e) {
-            System.err.println("Error getting player rank: " + e.getMessage());
+            LOG.error("Error getting player rank: {}", e.getMessage());
         } finally {
             CloudDatabaseConnection.closeConnection(conn);
         }
@@ -209,7 +346,39 @@ public class PlayerDAO {
         return -1;
     }
 
-    private Player mapResultSetToPlayer(ResultSet rs) throws SQLException {
+    /**
+     * Read every non-guest player for the leaderboard index.
+     *
+     * @return The players, or null if the query failed
+     */
+    private static List<Player> loadLeaderboardEntries() {
+        String sql = "SELECT * FROM players WHERE is_guest = FALSE";
+        Connection conn = CloudDatabaseConnection.getConnection();
+        if (conn == null)
+            return null;
+
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery(sql)) {
+
+            List<Player> players = new ArrayList<>();
+            while (rs.next()) {
+                players.add(mapResultSetToPlayer(rs));
+            }
+            return players;
+
+        } catch (SQLException e) {
+            LOG.error("Error loading leaderboard: {}", e.getMessage());
+            return null;
+        } finally {
+            CloudDatabaseConnection.closeConnection(conn);
+        }
+    }
+
+    /**
+     * Map the current row of a players query to a Player.
+     * Public so the row mapping can be benchmarked on its own.
+     */
+    public static Player mapResultSetToPlayer(ResultSet rs) throws SQLException {
         return new Player(
                 rs.getInt("id"),
                 rs.getString("username"),
@@ -2,56 +2,70 @@ package com.example.retroquiz.dao;
 
 import com.example.retroquiz.model.Question;
 import com.example.retroquiz.repository.CloudDatabaseConnection;
+import com.example.retroquiz.util.Logger;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Data access for the questions table.
+ *
+ * WRITES: games read questions from QuestionCache, not from this DAO, and the
+ * DAO does not know about the cache. Add, edit and delete questions through
+ * QuizService (or QuestionTransferService for imports): they update the local
+ * cache and publish QUESTIONS_CHANGED so other machines reload too. A write
+ * made here directly stays invisible to games until the cache next reloads.
+ */
 public class QuestionDAO {
 
-    public List<Question> getRandom(int count) {
-        List<Question> questions = new ArrayList<>();
-        String sql = "SELECT * FROM questions ORDER BY RANDOM() LIMIT " + count;
-
-        Connection conn = CloudDatabaseConnection.getConnection();
-        if (conn == null)
-            return questions;
+    private static final Logger LOG = Logger.get(QuestionDAO.class);
 
-        try (Statement stmt = conn.createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
+    private static final int STREAM_FETCH_SIZE = 500; // Rows per round trip when streaming
 
-            while (rs.next()) {
-                questions.add(mapResultSetToQuestion(rs));
-            }
-
-        } catch (SQLException e) {
-            System.err.println("Error loading random questions: " + e.getMessage());
-        } finally {
-            CloudDatabaseConnection.closeConnection(conn);
-        }
-
-        return questions;
-    }
-
-    public List<Question> getByCategory(String category, int count) {
+    /**
+     * Load questions by ID with a single "WHERE id = ANY(?)" query.
+     *
+     * @param ids Question IDs
+     * @return The questions, in the same order as {@code ids}
+     */
+    public List<Question> getByIds(int[] ids) {
         List<Question> questions = new ArrayList<>();
-        String sql = "SELECT * FROM questions WHERE category = ? ORDER BY RANDOM() LIMIT " + count;
+        if (ids.length == 0)
+            return questions;
 
+        String sql = "SELECT * FROM questions WHERE id = ANY(?)";
         Connection conn = CloudDatabaseConnection.getConnection();
         if (conn == null)
             return questions;
 
         try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, category);
+            Integer[] boxed = new Integer[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                boxed[i] = ids[i];
+            }
+            stmt.setArray(1, conn.createArrayOf("integer", boxed));
 
+            Map<Integer, Question> byId = new HashMap<>();
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    questions.add(mapResultSetToQuestion(rs));
+                    Question question = mapResultSetToQuestion(rs);
+                    byId.put(question.getId(), question);
+                }
+            }
+
+            for (int id : ids) {
+                Question question = byId.get(id);
+                if (question != null) {
+                    questions.add(question);
                 }
             }
 
         } catch (SQLException e) {
-            System.err.println("Error loading questions by category: " + e.getMessage());
+            LOG.error("Error loading questions by ID: {}", e.getMessage());
         } finally {
             CloudDatabaseConnection.closeConnection(conn);
         }
@@ -73,7 +87,7 @@ public class QuestionDAO {
             }
 
         } catch (SQLException e) {
-            System.err.println("Error counting questions: " + e.getMessage());
+            LOG.error("Error counting questions: {}", e.getMessage());
         } finally {
             CloudDatabaseConnection.closeConnection(conn);
         }
@@ -97,7 +111,7 @@ public class QuestionDAO {
             }
 
         } catch (SQLException e) {
-            System.err.println("Error loading categories: " + e.getMessage());
+            LOG.error("Error loading categories: {}", e.getMessage());
         } finally {
             CloudDatabaseConnection.closeConnection(conn);
         }
@@ -105,18 +119,33 @@ public class QuestionDAO {
         return categories;
     }
 
+    /**
+     * Insert a question. Use QuizService.addQuestion so QuestionCache sees it.
+     */
     public boolean create(String question, String optionA, String optionB,
             String optionC, String optionD, char correctOption,
             String category, String difficulty) {
+        return insert(question, optionA, optionB, optionC, optionD, correctOption, category, difficulty) > 0;
+    }
+
+    /**
+     * Insert a question and return its generated ID.
+     * Use QuizService.addQuestion so QuestionCache sees it.
+     *
+     * @return The new question ID, or -1 if the insert failed
+     */
+    public int insert(String question, String optionA, String optionB,
+            String optionC, String optionD, char correctOption,
+            String category, String difficulty) {
         String sql = "INSERT INTO questions (question, optionA, optionB, optionC, optionD, correct_option, category, difficulty) "
                 +
                 "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
 
         Connection conn = CloudDatabaseConnection.getConnection();
         if (conn == null)
-            return false;
+            return -1;
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setString(1, question);
             stmt.setString(2, optionA);
             stmt.setString(3, optionB);
@@ -127,16 +156,47 @@ public class QuestionDAO {
             stmt.setString(8, difficulty);
 
             int rowsAffected = stmt.executeUpdate();
-            return rowsAffected > 0;
+            if (rowsAffected > 0) {
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        return generatedKeys.getInt(1);
+                    }
+                }
+            }
+            return -1;
 
         } catch (SQLException e) {
-            System.err.println("Error adding question: " + e.getMessage());
-            return false;
+            LOG.error("Error adding question: {}", e.getMessage());
+            return -1;
         } finally {
             CloudDatabaseConnection.closeConnection(conn);
         }
     }
 
+    public Question getById(int id) {
+        String sql = "SELECT * FROM questions WHERE id = ?";
+        Connection conn = CloudDatabaseConnection.getConnection();
+        if (conn == null)
+            return null;
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, id);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToQuestion(rs);
+                }
+            }
+
+        } catch (SQLException e) {
+            LOG.error("Error loading question by ID: {}", e.getMessage());
+        } finally {
+            CloudDatabaseConnection.closeConnection(conn);
+        }
+
+        return null;
+    }
+
     public List<Question> getAll() {
         List<Question> questions = new ArrayList<>();
         String sql = "SELECT * FROM questions ORDER BY id ASC";
@@ -153,7 +213,7 @@ public class QuestionDAO {
             }
 
         } catch (SQLException e) {
-            System.err.println("Error loading all questions: " + e.getMessage());
+            LOG.error("Error loading all questions: {}", e.getMessage());
         } finally {
             CloudDatabaseConnection.closeConnection(conn);
         }
@@ -161,6 +221,67 @@ public class QuestionDAO {
         return questions;
     }
 
+    /**
+     * Stream every question, ordered by ID, without holding the table in
+     * memory: the driver fetches STREAM_FETCH_SIZE rows at a time.
+     *
+     * @param sink Called once per question (on this thread)
+     * @return false if the questions could not be read
+     */
+    public boolean forEach(Consumer<Question> sink) {
+        String sql = "SELECT * FROM questions ORDER BY id ASC";
+
+        Connection conn = CloudDatabaseConnection.getConnection();
+        if (conn == null)
+            return false;
+
+        try {
+            conn.setAutoCommit(false); // PostgreSQL only streams with a cursor inside a transaction
+            try (Statement stmt = conn.createStatement()) {
+                stmt.setFetchSize(STREAM_FETCH_SIZE);
+                try (ResultSet rs = stmt.executeQuery(sql)) {
+                    while (rs.next()) {
+                        sink.accept(mapResultSetToQuestion(rs));
+                    }
+                }
+            }
+            conn.commit();
+            return true;
+
+        } catch (SQLException e) {
+            LOG.error("Error streaming questions: {}", e.getMessage());
+            return false;
+        } finally {
+            CloudDatabaseConnection.closeConnection(conn); // The pool rolls back and restores auto-commit
+        }
+    }
+
+    /**
+     * Insert questions with one batched statement, on the caller's connection
+     * and in its transaction. Refresh QuestionCache once the transaction commits.
+     */
+    public void insertBatch(List<Question> questions, Connection conn) throws SQLException {
+        String sql = "INSERT INTO questions (question, optionA, optionB, optionC, optionD, correct_option, category, difficulty) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (Question q : questions) {
+                stmt.setString(1, q.getQuestion());
+                stmt.setString(2, q.getOptionA());
+                stmt.setString(3, q.getOptionB());
+                stmt.setString(4, q.getOptionC());
+                stmt.setString(5, q.getOptionD());
+                stmt.setString(6, String.valueOf(q.getCorrectOption()));
+                stmt.setString(7, q.getCategory());
+                stmt.setString(8, q.getDifficulty());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * Use QuizService.updateQuestion so QuestionCache sees the change.
+     */
     public boolean update(int id, String question, String optionA, String optionB,
             String optionC, String optionD, char correctOption,
             String category, String difficulty) {
@@ -187,13 +308,17 @@ public class QuestionDAO {
             return rowsAffected > 0;
 
         } catch (SQLException e) {
-            System.err.println("Error updating question: " + e.getMessage());
+            LOG.error("Error updating question: {}", e.getMessage());
             return false;
         } finally {
             CloudDatabaseConnection.closeConnection(conn);
         }
     }
 
+    /**
+     * Use QuizService.deleteQuestion: it also removes the question's answers
+     * and drops it from QuestionCache.
+     */
     public boolean delete(int id) {
         String sql = "DELETE FROM questions WHERE id = ?";
         Connection conn = CloudDatabaseConnection.getConnection();
@@ -206,14 +331,18 @@ public class QuestionDAO {
             return rowsAffected > 0;
 
         } catch (SQLException e) {
-            System.err.println("Error deleting question: " + e.getMessage());
+            LOG.error("Error deleting question: {}", e.getMessage());
             return false;
         } finally {
             CloudDatabaseConnection.closeConnection(conn);
         }
     }
 
-    private Question mapResultSetToQuestion(ResultSet rs) throws SQLException {
+    /**
+     * Map the current row of a questions query to a Question.
+     * Public so the row mapping can be benchmarked on its own.
+     */
+    public static Question mapResultSetToQuestion(ResultSet rs) throws SQLException {
         return new Question(
                 rs.getInt("id"),
                 rs.getString("question"),
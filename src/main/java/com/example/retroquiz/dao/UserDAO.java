@@ -1,6 +1,7 @@
 package com.example.retroquiz.dao;
 
 import com.example.retroquiz.repository.CloudDatabaseConnection;
+import com.example.retroquiz.util.Logger;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -8,6 +9,8 @@ import java.util.List;
 
 public class UserDAO {
 
+    private static final Logger LOG = Logger.get(UserDAO.class);
+
     public String getPasswordHashByUsername(String username) {
         String sql = "SELECT password_hash FROM users WHERE username = ?";
         Connection conn = CloudDatabaseConnection.getConnection();
@@ -24,7 +27,7 @@ public class UserDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("SQL Error getting password hash: " + e.getMessage());
+            LOG.error("SQL Error getting password hash: {}", e.getMessage());
         } finally {
             CloudDatabaseConnection.closeConnection(conn);
         }
@@ -44,7 +47,7 @@ public class UserDAO {
             int rows = stmt.executeUpdate();
             return rows > 0;
         } catch (SQLException e) {
-            System.err.println("SQL Error creating user: " + e.getMessage());
+            LOG.error("SQL Error creating user: {}", e.getMessage());
             return false;
         } finally {
             CloudDatabaseConnection.closeConnection(conn);
@@ -64,7 +67,7 @@ public class UserDAO {
             }
 
         } catch (SQLException e) {
-            System.err.println("SQL Error getting user list: " + e.getMessage());
+            LOG.error("SQL Error getting user list: {}", e.getMessage());
         }
         return users;
     }
@@ -80,7 +83,7 @@ public class UserDAO {
             return rows > 0;
 
         } catch (SQLException e) {
-            System.err.println("SQL Error deleting user: " + e.getMessage());
+            LOG.error("SQL Error deleting user: {}", e.getMessage());
             return false;
         }
     }
@@ -111,7 +114,7 @@ public class UserDAO {
             return rows > 0;
 
         } catch (SQLException e) {
-            System.err.println("SQL Error updating user: " + e.getMessage());
+            LOG.error("SQL Error updating user: {}", e.getMessage());
             return false;
         }
     }
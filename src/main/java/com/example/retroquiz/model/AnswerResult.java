@@ -0,0 +1,45 @@
+package com.example.retroquiz.model;
+
+/**
+ * Outcome of one answer in a session game, as decided by the back end from
+ * the session's question schedule. Immutable.
+ */
+public class AnswerResult {
+    private final boolean correct;
+    private final char correctOption;
+    private final int points; // Earned by this answer (negative for a penalty)
+    private final int score; // Player's session score after it
+
+    public AnswerResult(boolean correct, char correctOption, int points, int score) {
+        this.correct = correct;
+        this.correctOption = correctOption;
+        this.points = points;
+        this.score = score;
+    }
+
+    // Getters
+    public boolean isCorrect() {
+        return correct;
+    }
+
+    public char getCorrectOption() {
+        return correctOption;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return "AnswerResult{" +
+                "correct=" + correct +
+                ", points=" + points +
+                ", score=" + score +
+                '}';
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.retroquiz.model;
+
+import java.util.List;
+
+/**
+ * Position in the global leaderboard for keyset paging. Immutable.
+ *
+ * A page is read with "after (total_points, id) of the last row seen" rather
+ * than an OFFSET, so page 5000 costs the same indexed read as page 1. The
+ * cursor also carries how many rows came before and the last row's rank, so
+ * the ranks of the next page are worked out as its rows are read, without
+ * counting anything.
+ */
+public class LeaderboardCursor {
+
+    /**
+     * Cursor for the first page.
+     */
+    public static final LeaderboardCursor START = new LeaderboardCursor(0, 0, 0, 0);
+
+    private final int lastPoints;
+    private final int lastId;
+    private final int position; // Rows before the next page
+    private final int lastRank;
+
+    private LeaderboardCursor(int lastPoints, int lastId, int position, int lastRank) {
+        this.lastPoints = lastPoints;
+        this.lastId = lastId;
+        this.position = position;
+        this.lastRank = lastRank;
+    }
+
+    /**
+     * Cursor for the page after {@code page}.
+     *
+     * @param page A page read with this cursor (its players carry their rank)
+     * @return The next cursor, or this one if the page is empty
+     */
+    public LeaderboardCursor after(List<Player> page) {
+        if (page.isEmpty()) {
+            return this;
+        }
+        Player last = page.get(page.size() - 1);
+        return new LeaderboardCursor(last.getTotalPoints(), last.getId(), position + page.size(), last.getRank());
+    }
+
+    /**
+     * @return true for the first page (no row seen yet)
+     */
+    public boolean isStart() {
+        return position == 0;
+    }
+
+    // Getters
+    public int getLastPoints() {
+        return lastPoints;
+    }
+
+    public int getLastId() {
+        return lastId;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public int getLastRank() {
+        return lastRank;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.retroquiz.model;
+
+/**
+ * A player's answer to one question of a game session, as stored in the
+ * player_answers table. Immutable.
+ */
+public class PlayerAnswer {
+    private final int sessionId;
+    private final int playerId;
+    private final int questionId;
+    private final Character selectedOption; // null when the timer ran out
+    private final boolean isCorrect;
+    private final int timeTakenMillis;
+    private final int pointsEarned;
+
+    public PlayerAnswer(int sessionId, int playerId, int questionId, Character selectedOption,
+            boolean isCorrect, int timeTakenMillis, int pointsEarned) {
+        this.sessionId = sessionId;
+        this.playerId = playerId;
+        this.questionId = questionId;
+        this.selectedOption = selectedOption;
+        this.isCorrect = isCorrect;
+        this.timeTakenMillis = timeTakenMillis;
+        this.pointsEarned = pointsEarned;
+    }
+
+    // Getters
+    public int getSessionId() {
+        return sessionId;
+    }
+
+    public int getPlayerId() {
+        return playerId;
+    }
+
+    public int getQuestionId() {
+        return questionId;
+    }
+
+    public Character getSelectedOption() {
+        return selectedOption;
+    }
+
+    public boolean isCorrect() {
+        return isCorrect;
+    }
+
+    public int getTimeTakenMillis() {
+        return timeTakenMillis;
+    }
+
+    /**
+     * @return Time taken in whole seconds (the older time_taken column)
+     */
+    public int getTimeTaken() {
+        return timeTakenMillis / 1000;
+    }
+
+    public int getPointsEarned() {
+        return pointsEarned;
+    }
+}
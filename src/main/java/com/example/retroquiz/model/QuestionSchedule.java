@@ -0,0 +1,86 @@
+package com.example.retroquiz.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The questions of a started game session and when each one is asked.
+ * Computed once when the host starts the game, so every player gets the same
+ * questions in the same order at the same moments. Immutable.
+ *
+ * Times are epoch milliseconds on the game's reference clock (the database
+ * clock); see ServerClock for reading it on a client. Question i is open from
+ * getQuestionStart(i) to getDeadline(i), then its answer is shown for
+ * revealMillis before question i + 1 opens.
+ */
+public class QuestionSchedule {
+    private final int sessionId;
+    private final List<Question> questions;
+    private final long startMillis;
+    private final long questionMillis;
+    private final long revealMillis;
+
+    public QuestionSchedule(int sessionId, List<Question> questions, long startMillis, long questionMillis,
+            long revealMillis) {
+        this.sessionId = sessionId;
+        this.questions = Collections.unmodifiableList(questions);
+        this.startMillis = startMillis;
+        this.questionMillis = questionMillis;
+        this.revealMillis = revealMillis;
+    }
+
+    // Getters
+    public int getSessionId() {
+        return sessionId;
+    }
+
+    public List<Question> getQuestions() {
+        return questions;
+    }
+
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    public long getQuestionMillis() {
+        return questionMillis;
+    }
+
+    public long getRevealMillis() {
+        return revealMillis;
+    }
+
+    /**
+     * @return When question {@code index} opens
+     */
+    public long getQuestionStart(int index) {
+        return startMillis + index * (questionMillis + revealMillis);
+    }
+
+    /**
+     * @return When question {@code index} closes (answers after this are too late)
+     */
+    public long getDeadline(int index) {
+        return getQuestionStart(index) + questionMillis;
+    }
+
+    /**
+     * @return When the last answer has been shown
+     */
+    public long getEndMillis() {
+        return getQuestionStart(questions.size());
+    }
+
+    /**
+     * @param nowMillis Time on the reference clock
+     * @return The question open or being revealed at that time: -1 before
+     *         the first one, questions.size() after the last one
+     */
+    public int indexAt(long nowMillis) {
+        if (nowMillis < startMillis) {
+            return -1;
+        }
+        long index = (nowMillis - startMillis) / (questionMillis + revealMillis);
+        return (int) Math.min(index, questions.size());
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.retroquiz.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Changes to a session's player list since a roster version the caller
+ * already has. Immutable.
+ *
+ * If the caller's version is too old (or from before the session was reloaded)
+ * the delta is a full snapshot: {@link #isFull()} is true and every player is
+ * in {@link #getAdded()}.
+ */
+public class RosterDelta {
+    private final long version;
+    private final boolean full;
+    private final List<String> added; // Usernames, in join order
+    private final List<String> removed;
+
+    public RosterDelta(long version, boolean full, List<String> added, List<String> removed) {
+        this.version = version;
+        this.full = full;
+        this.added = Collections.unmodifiableList(added);
+        this.removed = Collections.unmodifiableList(removed);
+    }
+
+    /**
+     * Delta for a caller that is already up to date.
+     */
+    public static RosterDelta unchanged(long version) {
+        return new RosterDelta(version, false, List.of(), List.of());
+    }
+
+    // Getters
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public List<String> getAdded() {
+        return added;
+    }
+
+    public List<String> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * @return true if there is nothing to apply
+     */
+    public boolean isEmpty() {
+        return !full && added.isEmpty() && removed.isEmpty();
+    }
+}
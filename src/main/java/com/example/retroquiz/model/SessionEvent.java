@@ -0,0 +1,137 @@
+package com.example.retroquiz.model;
+
+/**
+ * A change to a live game session, published by GameSessionService and
+ * delivered to the lobby / waiting screens through a SessionEventBus.
+ * QUESTIONS_CHANGED reuses the same channel to tell other machines that an
+ * admin edited the question bank. RESYNC is never published: a bus delivers
+ * it to its own subscribers when events may have been lost.
+ *
+ * Events are immutable and can be encoded to a short string so they fit in a
+ * PostgreSQL NOTIFY payload.
+ */
+public class SessionEvent {
+
+    public enum Type {
+        PLAYER_JOINED,
+        PLAYER_LEFT,
+        STATUS_CHANGED,
+        PLAYER_FINISHED,
+        QUESTIONS_CHANGED, // Not tied to a session: sessionId is -1
+        SCORES_CHANGED, // Scores of several players of a session: playerId is -1
+        RESYNC // Events may have been lost: re-read the session (sessionId -1: everything) from the database
+    }
+
+    private final Type type;
+    private final int sessionId;
+    private final int playerId;
+    private final String detail; // Username for joins and leaves, new status for status changes, final score when finished,
+                                 // question ID (or null for "everything") for question changes,
+                                 // "playerId:score:lastAnswerTime,..." for score changes
+
+    public SessionEvent(Type type, int sessionId, int playerId, String detail) {
+        this.type = type;
+        this.sessionId = sessionId;
+        this.playerId = playerId;
+        this.detail = detail;
+    }
+
+    public static SessionEvent playerJoined(int sessionId, int playerId, String username) {
+        return new SessionEvent(Type.PLAYER_JOINED, sessionId, playerId, username);
+    }
+
+    public static SessionEvent playerLeft(int sessionId, int playerId, String username) {
+        return new SessionEvent(Type.PLAYER_LEFT, sessionId, playerId, username);
+    }
+
+    public static SessionEvent statusChanged(int sessionId, String status) {
+        return new SessionEvent(Type.STATUS_CHANGED, sessionId, -1, status);
+    }
+
+    public static SessionEvent playerFinished(int sessionId, int playerId, int finalScore) {
+        return new SessionEvent(Type.PLAYER_FINISHED, sessionId, playerId, String.valueOf(finalScore));
+    }
+
+    /**
+     * @param scores Comma-separated "playerId:score:lastAnswerTime" entries
+     *               (lastAnswerTime in epoch ms on the schedule clock, for tie-breaks)
+     */
+    public static SessionEvent scoresChanged(int sessionId, String scores) {
+        return new SessionEvent(Type.SCORES_CHANGED, sessionId, -1, scores);
+    }
+
+    /**
+     * @param questionId The changed question, or -1 if any question may have changed
+     */
+    public static SessionEvent questionsChanged(int questionId) {
+        return new SessionEvent(Type.QUESTIONS_CHANGED, -1, -1, questionId > 0 ? String.valueOf(questionId) : null);
+    }
+
+    /**
+     * @param sessionId The session to re-read, or -1 for everything
+     */
+    public static SessionEvent resync(int sessionId) {
+        return new SessionEvent(Type.RESYNC, sessionId, -1, null);
+    }
+
+    // Getters
+    public Type getType() {
+        return type;
+    }
+
+    public int getSessionId() {
+        return sessionId;
+    }
+
+    public int getPlayerId() {
+        return playerId;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    /**
+     * Encode as "TYPE|sessionId|playerId|detail".
+     *
+     * @return The encoded event
+     */
+    public String encode() {
+        return type.name() + "|" + sessionId + "|" + playerId + "|" + (detail == null ? "" : detail);
+    }
+
+    /**
+     * Decode an event produced by {@link #encode()}.
+     *
+     * @param payload Encoded event
+     * @return The event, or null if the payload is malformed
+     */
+    public static SessionEvent decode(String payload) {
+        if (payload == null) {
+            return null;
+        }
+        String[] parts = payload.split("\\|", 4);
+        if (parts.length < 4) {
+            return null;
+        }
+        try {
+            Type type = Type.valueOf(parts[0]);
+            int sessionId = Integer.parseInt(parts[1]);
+            int playerId = Integer.parseInt(parts[2]);
+            String detail = parts[3].isEmpty() ? null : parts[3];
+            return new SessionEvent(type, sessionId, playerId, detail);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SessionEvent{" +
+                "type=" + type +
+                ", sessionId=" + sessionId +
+                ", playerId=" + playerId +
+                ", detail='" + detail + '\'' +
+                '}';
+    }
+}
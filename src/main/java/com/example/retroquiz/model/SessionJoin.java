@@ -0,0 +1,34 @@
+package com.example.retroquiz.model;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Result of joining a game session: who joined which session, and who is
+ * in the lobby now (the joining player included). Immutable.
+ */
+public class SessionJoin {
+    private final int sessionId;
+    private final int playerId;
+    private final Map<Integer, String> roster; // playerId -> username, in join order
+
+    public SessionJoin(int sessionId, int playerId, Map<Integer, String> roster) {
+        this.sessionId = sessionId;
+        this.playerId = playerId;
+        this.roster = Collections.unmodifiableMap(new LinkedHashMap<>(roster));
+    }
+
+    // Getters
+    public int getSessionId() {
+        return sessionId;
+    }
+
+    public int getPlayerId() {
+        return playerId;
+    }
+
+    public Map<Integer, String> getRoster() {
+        return roster;
+    }
+}
@@ -0,0 +1,486 @@
+package com.example.retroquiz.net;
+
+import com.example.retroquiz.model.AnswerResult;
+import com.example.retroquiz.model.Player;
+import com.example.retroquiz.model.Question;
+import com.example.retroquiz.model.QuestionSchedule;
+import com.example.retroquiz.model.RosterDelta;
+import com.example.retroquiz.model.SessionEvent;
+import com.example.retroquiz.service.GameGateway;
+import com.example.retroquiz.service.SessionEventBus;
+import com.example.retroquiz.util.AppExecutor;
+import com.example.retroquiz.util.Logger;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * GameGateway that forwards every call to a {@link GameServer}.
+ *
+ * One TCP connection, opened on first use and reopened after a failure.
+ * Calls are pipelined: each request carries an ID and waits for its own
+ * answer, which a reader thread ("net-client-reader") hands over, so several
+ * screens and bots can share the connection.
+ *
+ * Failures (server down, timeout, server-side error) are logged and returned
+ * as null, -1, false or an empty result, like the local services.
+ *
+ * Session subscriptions and seats (the players this client created or joined
+ * a session with) outlive the connection: after a drop the client reconnects
+ * in the background, hands its seat passes back, subscribes again and sends
+ * each subscriber a RESYNC event, since events may have been lost meanwhile.
+ */
+public class GameClient implements GameGateway {
+
+    private static final Logger LOG = Logger.get(GameClient.class);
+
+    private static final long TIMEOUT_SECONDS = 10;
+    private static final long RECONNECT_DELAY_MS = 2000;
+
+    private final InetSocketAddress address;
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final Map<Integer, CompletableFuture<Protocol.In>> pending = new ConcurrentHashMap<>();
+    private final Map<Integer, Subscriber> listeners = new ConcurrentHashMap<>();
+    private final Map<Long, Long> seatPasses = new ConcurrentHashMap<>(); // Seat -> token, see Protocol
+    private final AtomicBoolean reconnecting = new AtomicBoolean();
+    private final Object writeLock = new Object();
+
+    private SocketChannel channel; // Guarded by writeLock
+    private boolean connectionLost; // Guarded by writeLock
+
+    public GameClient(InetSocketAddress address) {
+        this.address = address;
+    }
+
+    /**
+     * @param hostAndPort "host:port", or just "host" for the default port
+     */
+    public static GameClient forAddress(String hostAndPort) {
+        int colon = hostAndPort.lastIndexOf(':');
+        if (colon < 0) {
+            return new GameClient(new InetSocketAddress(hostAndPort, Protocol.DEFAULT_PORT));
+        }
+        String host = hostAndPort.substring(0, colon);
+        int port = Integer.parseInt(hostAndPort.substring(colon + 1));
+        return new GameClient(new InetSocketAddress(host.isEmpty() ? "localhost" : host, port));
+    }
+
+    // --- Sessions ---
+
+    @Override
+    public String createGameSession(String hostUsername, int questionCount, int timerDuration) {
+        return call(Protocol.CREATE_SESSION,
+                out -> out.putString(hostUsername).putInt(questionCount).putInt(timerDuration),
+                in -> {
+                    String code = in.getString();
+                    keepSeatPass(in);
+                    return code;
+                }, null);
+    }
+
+    @Override
+    public int joinGameSession(String sessionCode, String username) {
+        return call(Protocol.JOIN_SESSION, out -> out.putString(sessionCode).putString(username),
+                in -> {
+                    int sessionId = in.getInt();
+                    keepSeatPass(in);
+                    return sessionId;
+                }, -1);
+    }
+
+    @Override
+    public int getSessionId(String sessionCode) {
+        return call(Protocol.GET_SESSION_ID, out -> out.putString(sessionCode), Protocol.In::getInt, -1);
+    }
+
+    @Override
+    public int getPlayerIdInSession(int sessionId, String username) {
+        return call(Protocol.GET_PLAYER_ID_IN_SESSION, out -> out.putInt(sessionId).putString(username),
+                Protocol.In::getInt, -1);
+    }
+
+    @Override
+    public boolean isSessionHost(int sessionId, int playerId) {
+        return call(Protocol.IS_SESSION_HOST, out -> out.putInt(sessionId).putInt(playerId),
+                Protocol.In::getBoolean, false);
+    }
+
+    @Override
+    public String getSessionStatus(int sessionId) {
+        return call(Protocol.GET_SESSION_STATUS, out -> out.putInt(sessionId), Protocol.In::getString, null);
+    }
+
+    @Override
+    public RosterDelta getPlayersInSessionSince(int sessionId, long version) {
+        return call(Protocol.GET_ROSTER_SINCE, out -> out.putInt(sessionId).putLong(version),
+                Protocol.In::getRosterDelta, RosterDelta.unchanged(version));
+    }
+
+    @Override
+    public void leaveSession(int sessionId, int playerId) {
+        call(Protocol.LEAVE_SESSION, out -> out.putInt(sessionId).putInt(playerId), in -> null, null);
+        seatPasses.remove(Protocol.seat(sessionId, playerId));
+    }
+
+    @Override
+    public int getSessionQuestionCount(int sessionId) {
+        return call(Protocol.GET_QUESTION_COUNT, out -> out.putInt(sessionId), Protocol.In::getInt, 0);
+    }
+
+    @Override
+    public List<Player> getSessionLeaderboard(int sessionId) {
+        return call(Protocol.GET_LEADERBOARD, out -> out.putInt(sessionId), Protocol.In::getPlayers,
+                Collections.emptyList());
+    }
+
+    @Override
+    public List<Player> getSessionTopPlayers(int sessionId, int limit) {
+        return call(Protocol.GET_TOP_PLAYERS, out -> out.putInt(sessionId).putInt(limit), Protocol.In::getPlayers,
+                Collections.emptyList());
+    }
+
+    @Override
+    public int getPlayerSessionRank(int sessionId, int playerId) {
+        return call(Protocol.GET_RANK, out -> out.putInt(sessionId).putInt(playerId), Protocol.In::getInt, -1);
+    }
+
+    @Override
+    public AnswerResult submitAnswer(int sessionId, int playerId, int questionIndex, Character selectedOption,
+            int timeTakenMillis) {
+        return call(Protocol.SUBMIT_ANSWER, out -> out.putInt(sessionId).putInt(playerId).putInt(questionIndex)
+                .putInt(selectedOption != null ? selectedOption : -1).putInt(timeTakenMillis),
+                Protocol.In::getAnswerResult, null);
+    }
+
+    @Override
+    public void markPlayerFinished(int sessionId, int playerId) {
+        call(Protocol.MARK_FINISHED, out -> out.putInt(sessionId).putInt(playerId), in -> null, null);
+    }
+
+    @Override
+    public boolean areAllPlayersFinished(int sessionId) {
+        return call(Protocol.ALL_FINISHED, out -> out.putInt(sessionId), Protocol.In::getBoolean, false);
+    }
+
+    @Override
+    public QuestionSchedule startGame(int sessionId) {
+        return call(Protocol.START_GAME, out -> out.putInt(sessionId), Protocol.In::getSchedule, null);
+    }
+
+    @Override
+    public QuestionSchedule getQuestionSchedule(int sessionId) {
+        return call(Protocol.GET_SCHEDULE, out -> out.putInt(sessionId), Protocol.In::getSchedule, null);
+    }
+
+    @Override
+    public long getServerTimeMillis() {
+        return call(Protocol.GET_TIME, out -> {
+        }, Protocol.In::getLong, -1L);
+    }
+
+    @Override
+    public SessionEventBus.Subscription subscribe(int sessionId, Consumer<SessionEvent> listener) {
+        int subscriptionId = nextRequestId();
+        listeners.put(subscriptionId, new Subscriber(sessionId, listener));
+        // One-way, so screens can subscribe from the FX thread
+        AppExecutor.getInstance().run("net.subscribe",
+                () -> send(Protocol.SUBSCRIBE, 0, out -> out.putInt(subscriptionId).putInt(sessionId)));
+        return () -> {
+            if (listeners.remove(subscriptionId) != null) {
+                AppExecutor.getInstance().run("net.unsubscribe",
+                        () -> send(Protocol.UNSUBSCRIBE, 0, out -> out.putInt(subscriptionId)));
+            }
+        };
+    }
+
+    // --- Players ---
+
+    @Override
+    public Player getPlayerByUsername(String username) {
+        return call(Protocol.GET_PLAYER, out -> out.putString(username), Protocol.In::getPlayer, null);
+    }
+
+    @Override
+    public Player createPlayer(String username, boolean isGuest) {
+        return call(Protocol.CREATE_PLAYER, out -> out.putString(username).putBoolean(isGuest),
+                Protocol.In::getPlayer, null);
+    }
+
+    @Override
+    public void recordSoloGame(Player player) {
+        // The server only counts answers it checked itself
+        LOG.debug("Solo game of {} not counted: played against a game server", player.getUsername());
+    }
+
+    // --- Questions ---
+
+    @Override
+    public List<Question> loadRandomQuestions(int count) {
+        return call(Protocol.LOAD_QUESTIONS, out -> out.putInt(count), Protocol.In::getQuestions,
+                Collections.emptyList());
+    }
+
+    private void keepSeatPass(Protocol.In in) {
+        long seat = in.getLong();
+        long token = in.getLong();
+        if (seat != 0) {
+            seatPasses.put(seat, token);
+        }
+    }
+
+    // --- Connection ---
+
+    /**
+     * Send a request and wait for its answer.
+     *
+     * @param fallback Returned if the call fails
+     */
+    private <T> T call(byte type, Consumer<Protocol.Out> request, Function<Protocol.In, T> response, T fallback) {
+        int requestId = nextRequestId();
+        CompletableFuture<Protocol.In> answer = new CompletableFuture<>();
+        pending.put(requestId, answer);
+        try {
+            if (!send(type, requestId, request)) {
+                return fallback;
+            }
+            return response.apply(answer.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        } catch (TimeoutException e) {
+            LOG.error("❌ {} timed out after {} s", Protocol.name(type), TIMEOUT_SECONDS);
+        } catch (ExecutionException e) {
+            LOG.error("❌ {} failed: {}", Protocol.name(type), e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pending.remove(requestId);
+        }
+        return fallback;
+    }
+
+    /**
+     * Write one request frame, connecting first if needed.
+     *
+     * @return false if the server could not be reached
+     */
+    private boolean send(byte type, int requestId, Consumer<Protocol.Out> request) {
+        Protocol.Out out = new Protocol.Out(type, requestId);
+        request.accept(out);
+        ByteBuffer frame = out.frame();
+        synchronized (writeLock) {
+            try {
+                write(connect(), frame);
+                return true;
+            } catch (IOException e) {
+                LOG.error("❌ Game server {} unreachable: {}", address, e.getMessage());
+                disconnect(channel, e);
+                return false;
+            }
+        }
+    }
+
+    private SocketChannel connect() throws IOException {
+        if (channel != null && channel.isOpen()) {
+            return channel;
+        }
+        SocketChannel ch = SocketChannel.open();
+        try {
+            ch.socket().connect(address, (int) TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+            ch.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        } catch (IOException e) {
+            ch.close();
+            throw e;
+        }
+        channel = ch;
+        Thread reader = new Thread(() -> readLoop(ch), "net-client-reader");
+        reader.setDaemon(true);
+        reader.start();
+        LOG.info("🌐 Connected to game server {}", address);
+        if (connectionLost) {
+            connectionLost = false;
+            restore(ch);
+        }
+        return ch;
+    }
+
+    /**
+     * After a reconnect: claim our seats and subscriptions again (before any
+     * other request), then have every subscriber re-read its session.
+     * Caller holds writeLock.
+     */
+    private void restore(SocketChannel ch) throws IOException {
+        List<Map.Entry<Long, Long>> passes = new ArrayList<>(seatPasses.entrySet());
+        if (!passes.isEmpty()) {
+            Protocol.Out out = new Protocol.Out(Protocol.RESUME_SEATS, 0).putInt(passes.size());
+            for (Map.Entry<Long, Long> pass : passes) {
+                out.putLong(pass.getKey()).putLong(pass.getValue());
+            }
+            write(ch, out.frame());
+        }
+        List<Map.Entry<Integer, Subscriber>> subscribers = new ArrayList<>(listeners.entrySet());
+        for (Map.Entry<Integer, Subscriber> entry : subscribers) {
+            write(ch, new Protocol.Out(Protocol.SUBSCRIBE, 0)
+                    .putInt(entry.getKey()).putInt(entry.getValue().sessionId).frame());
+        }
+        LOG.info("🔄 Restored {} seats and {} subscriptions on {}", passes.size(), subscribers.size(), address);
+        AppExecutor.getInstance().run("net.resync", () -> {
+            for (Map.Entry<Integer, Subscriber> entry : subscribers) {
+                if (listeners.get(entry.getKey()) == entry.getValue()) {
+                    entry.getValue().deliver(SessionEvent.resync(entry.getValue().sessionId));
+                }
+            }
+        });
+    }
+
+    /**
+     * Reconnect in the background while someone is waiting for events or
+     * holds a seat: the screens may not make any call by themselves.
+     */
+    private void scheduleReconnect() {
+        if (!reconnecting.compareAndSet(false, true)) {
+            return;
+        }
+        AppExecutor.getInstance().run("net.reconnect", () -> {
+            try {
+                while (true) {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                    synchronized (writeLock) {
+                        // Cleared under the lock, so a drop right after this reconnect schedules another
+                        if (listeners.isEmpty() && seatPasses.isEmpty()) {
+                            reconnecting.set(false);
+                            return;
+                        }
+                        try {
+                            connect(); // A no-op if a call has reconnected meanwhile
+                            reconnecting.set(false);
+                            return;
+                        } catch (IOException e) {
+                            LOG.debug("Game server {} still unreachable: {}", address, e.getMessage());
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                reconnecting.set(false);
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    private static void write(SocketChannel ch, ByteBuffer frame) throws IOException {
+        while (frame.hasRemaining()) {
+            ch.write(frame);
+        }
+    }
+
+    private void readLoop(SocketChannel ch) {
+        ByteBuffer header = ByteBuffer.allocate(4 + Protocol.HEADER_BYTES);
+        try {
+            while (true) {
+                header.clear();
+                readFully(ch, header);
+                int length = header.getInt();
+                byte type = header.get();
+                int id = header.getInt();
+                if (length < Protocol.HEADER_BYTES || length > Protocol.MAX_FRAME_BYTES) {
+                    throw new IOException("Bad frame length " + length);
+                }
+                ByteBuffer payload = ByteBuffer.allocate(length - Protocol.HEADER_BYTES);
+                readFully(ch, payload);
+                Protocol.In in = new Protocol.In(payload);
+
+                if (type == Protocol.EVENT) {
+                    Subscriber subscriber = listeners.get(id);
+                    if (subscriber != null) {
+                        subscriber.deliver(in.getEvent());
+                    }
+                    continue;
+                }
+                CompletableFuture<Protocol.In> answer = pending.get(id);
+                if (answer == null) {
+                    continue; // Timed out meanwhile
+                }
+                if (type == Protocol.ERROR) {
+                    answer.completeExceptionally(new IOException("Server error: " + in.getString()));
+                } else {
+                    answer.complete(in);
+                }
+            }
+        } catch (IOException e) {
+            synchronized (writeLock) {
+                disconnect(ch, e);
+            }
+        }
+    }
+
+    private static void readFully(SocketChannel ch, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (ch.read(buffer) < 0) {
+                throw new IOException("Connection closed by server");
+            }
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Drop a broken connection and fail its waiting calls. The next call
+     * reconnects, or the background reconnect if subscriptions or seats
+     * are waiting. Caller holds writeLock.
+     */
+    private void disconnect(SocketChannel ch, IOException cause) {
+        if (ch == null || ch != channel) {
+            return;
+        }
+        channel = null;
+        try {
+            ch.close();
+        } catch (IOException ignored) {
+            // Already broken
+        }
+        LOG.warn("⚠️ Lost connection to game server {}: {}", address, cause.getMessage());
+        pending.values().forEach(answer -> answer.completeExceptionally(cause));
+        connectionLost = true;
+        if (!listeners.isEmpty() || !seatPasses.isEmpty()) {
+            scheduleReconnect();
+        }
+    }
+
+    private static final class Subscriber {
+        private final int sessionId;
+        private final Consumer<SessionEvent> listener;
+
+        private Subscriber(int sessionId, Consumer<SessionEvent> listener) {
+            this.sessionId = sessionId;
+            this.listener = listener;
+        }
+
+        private void deliver(SessionEvent event) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                LOG.error("Session event listener failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private int nextRequestId() {
+        int id;
+        do {
+            id = nextId.incrementAndGet();
+        } while (id == 0); // 0 means one-way
+        return id;
+    }
+}
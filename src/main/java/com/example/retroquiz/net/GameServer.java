@@ -0,0 +1,647 @@
+package com.example.retroquiz.net;
+
+import com.example.retroquiz.model.SessionEvent;
+import com.example.retroquiz.repository.CloudDatabaseConnection;
+import com.example.retroquiz.service.GameGateway;
+import com.example.retroquiz.service.LocalGameGateway;
+import com.example.retroquiz.service.ServerClock;
+import com.example.retroquiz.service.SessionEventBus;
+import com.example.retroquiz.util.AppExecutor;
+import com.example.retroquiz.util.Logger;
+import com.example.retroquiz.util.MetricsRegistry;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Headless game server: hosts game sessions for GameClients, so only this
+ * process talks to the database (and batches its writes, see
+ * GameSessionEngine and AnswerRecorder).
+ *
+ * Networking is non-blocking NIO with one selector event loop per core
+ * ("net-loop-N"); connections are spread over the loops round-robin. The
+ * loops only move bytes: each request is decoded and run on the
+ * {@link AppExecutor} (the services block on JDBC), and its answer is handed
+ * back to the connection's loop to be written. The wire format is described
+ * in {@link Protocol}.
+ *
+ * A connection may only act for the players it created or joined a session
+ * with (its "seats"): answering, finishing and leaving need the seat, and
+ * starting a game needs the host's seat. Reads are open to everyone. With
+ * each seat the client gets a token (a keyed hash of the seat, so nothing is
+ * stored) to claim it again on a new connection after a drop.
+ *
+ * USAGE:
+ * mvn -q compile exec:java -Dexec.mainClass=com.example.retroquiz.net.GameServer \
+ * -Dexec.args="--port 7777"
+ * then start clients with RETROQUIZ_SERVER=host:7777.
+ *
+ * Options:
+ * --port   TCP port (default 7777)
+ * --loops  Event loops (default: one per core)
+ */
+public class GameServer {
+
+    private static final Logger LOG = Logger.get(GameServer.class);
+
+    /** A client whose unsent answers pile up beyond this is disconnected. */
+    private static final int MAX_QUEUED_BYTES = 4 * Protocol.MAX_FRAME_BYTES;
+
+    /** The server's view of the database clock is re-measured this often. */
+    private static final long CLOCK_RESYNC_MS = 10 * 60_000;
+
+    private final GameGateway gateway = new LocalGameGateway();
+    private final ServerClock clock = new ServerClock(gateway::getServerTimeMillis);
+    private final AtomicBoolean clockSyncing = new AtomicBoolean();
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger nextLoop = new AtomicInteger();
+    private final ServerSocketChannel serverChannel;
+    private final EventLoop[] loops;
+    private final Mac seatMac;
+
+    private volatile boolean running;
+
+    /**
+     * @param port      TCP port (0 for any free port)
+     * @param loopCount Number of event loops
+     */
+    public GameServer(int port, int loopCount) throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port));
+        serverChannel.configureBlocking(false);
+
+        loops = new EventLoop[Math.max(1, loopCount)];
+        for (int i = 0; i < loops.length; i++) {
+            loops[i] = new EventLoop(i);
+        }
+        serverChannel.register(loops[0].selector, SelectionKey.OP_ACCEPT);
+
+        byte[] seatKey = new byte[32];
+        new SecureRandom().nextBytes(seatKey);
+        try {
+            seatMac = Mac.getInstance("HmacSHA256");
+            seatMac.init(new SecretKeySpec(seatKey, "HmacSHA256"));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e); // Required of every JRE
+        }
+        metrics.gauge("net.connections", connections::get);
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = Protocol.DEFAULT_PORT;
+        int loopCount = Runtime.getRuntime().availableProcessors();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--port" -> port = Integer.parseInt(value);
+                    case "--loops" -> loopCount = Integer.parseInt(value);
+                    default -> {
+                        System.err.println("Unknown option: " + args[i]);
+                        return;
+                    }
+                }
+                i++;
+            }
+        } catch (NumberFormatException | NullPointerException e) {
+            System.err.println("Invalid option value: " + e.getMessage());
+            return;
+        }
+
+        GameServer server = new GameServer(port, loopCount);
+        CountDownLatch stopped = new CountDownLatch(1);
+        // Runs in the pool's shutdown hook, before the write-behind flushes:
+        // no answer can arrive after them
+        CloudDatabaseConnection.addFirstShutdownTask(() -> {
+            server.stop();
+            stopped.countDown();
+        });
+        server.start();
+        stopped.await();
+    }
+
+    /**
+     * Start accepting clients (the event loops run on their own threads).
+     */
+    public void start() {
+        clock.sync();
+        running = true;
+        for (EventLoop loop : loops) {
+            loop.thread.start();
+        }
+        LOG.info("🌐 Game server listening on port {} with {} event loops", getPort(), loops.length);
+    }
+
+    /**
+     * Disconnect every client and stop. Pending database writes are flushed
+     * afterwards by CloudDatabaseConnection.shutdown(), which main() runs
+     * this in.
+     */
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        for (EventLoop loop : loops) {
+            loop.selector.wakeup();
+        }
+        for (EventLoop loop : loops) {
+            try {
+                loop.thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            serverChannel.close();
+        } catch (IOException e) {
+            LOG.warn("Error closing server socket: {}", e.getMessage());
+        }
+        LOG.info("Game server stopped");
+    }
+
+    /**
+     * @return The port the server listens on
+     */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    // --- Requests (AppExecutor threads) ---
+
+    private void dispatch(Peer peer, byte type, int requestId, Protocol.In in) {
+        String name = Protocol.name(type);
+        AppExecutor.getInstance().supply("net." + name, () -> handle(peer, type, requestId, in))
+                .whenComplete((answer, error) -> {
+                    Throwable failure = error != null && error.getCause() != null ? error.getCause() : error;
+                    if (failure instanceof SecurityException) {
+                        LOG.warn("⚠️ Refused {} from {}: {}", name, peer, failure.getMessage());
+                        if (requestId != 0) {
+                            peer.send(new Protocol.Out(Protocol.ERROR, requestId)
+                                    .putString(failure.getMessage()).frame());
+                        }
+                        return;
+                    }
+                    if (failure instanceof BufferUnderflowException) {
+                        // The payload didn't match the operation: drop the client rather than guess
+                        LOG.warn("⚠️ Malformed {} from {}, disconnecting", name, peer);
+                        peer.loop.execute(peer::close);
+                        return;
+                    }
+                    if (requestId == 0) {
+                        if (error != null) {
+                            LOG.warn("One-way {} failed: {}", name, error.getMessage());
+                        }
+                        return;
+                    }
+                    if (error != null) {
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        LOG.error("Request {} failed: {}", name, cause.getMessage(), cause);
+                        String message = cause.getMessage() != null ? cause.getMessage() : cause.toString();
+                        answer = new Protocol.Out(Protocol.ERROR, requestId).putString(message);
+                    }
+                    peer.send(answer.frame());
+                });
+    }
+
+    private Protocol.Out handle(Peer peer, byte type, int requestId, Protocol.In in) {
+        Protocol.Out out = new Protocol.Out(Protocol.RESULT, requestId);
+        switch (type) {
+            case Protocol.CREATE_SESSION -> {
+                String host = in.getString();
+                String code = gateway.createGameSession(host, in.getInt(), in.getInt());
+                long seat = code != null ? takeSeat(peer, gateway.getSessionId(code), host) : 0;
+                out.putString(code);
+                putSeatPass(out, seat);
+            }
+            case Protocol.JOIN_SESSION -> {
+                String code = in.getString();
+                String username = in.getString();
+                int sessionId = gateway.joinGameSession(code, username);
+                long seat = sessionId > 0 ? takeSeat(peer, sessionId, username) : 0;
+                out.putInt(sessionId);
+                putSeatPass(out, seat);
+            }
+            case Protocol.GET_SESSION_ID -> out.putInt(gateway.getSessionId(in.getString()));
+            case Protocol.GET_PLAYER_ID_IN_SESSION -> out.putInt(
+                    gateway.getPlayerIdInSession(in.getInt(), in.getString()));
+            case Protocol.IS_SESSION_HOST -> out.putBoolean(gateway.isSessionHost(in.getInt(), in.getInt()));
+            case Protocol.GET_SESSION_STATUS -> out.putString(gateway.getSessionStatus(in.getInt()));
+            case Protocol.GET_ROSTER_SINCE -> out.putRosterDelta(
+                    gateway.getPlayersInSessionSince(in.getInt(), in.getLong()));
+            case Protocol.LEAVE_SESSION -> {
+                int sessionId = in.getInt();
+                int playerId = in.getInt();
+                requireSeat(peer, sessionId, playerId);
+                gateway.leaveSession(sessionId, playerId);
+                peer.seats.remove(Protocol.seat(sessionId, playerId));
+            }
+            case Protocol.GET_QUESTION_COUNT -> out.putInt(gateway.getSessionQuestionCount(in.getInt()));
+            case Protocol.GET_LEADERBOARD -> out.putPlayers(gateway.getSessionLeaderboard(in.getInt()));
+            case Protocol.GET_TOP_PLAYERS -> out.putPlayers(gateway.getSessionTopPlayers(in.getInt(), in.getInt()));
+            case Protocol.GET_RANK -> out.putInt(gateway.getPlayerSessionRank(in.getInt(), in.getInt()));
+            case Protocol.MARK_FINISHED -> {
+                int sessionId = in.getInt();
+                int playerId = in.getInt();
+                requireSeat(peer, sessionId, playerId);
+                gateway.markPlayerFinished(sessionId, playerId);
+            }
+            case Protocol.ALL_FINISHED -> out.putBoolean(gateway.areAllPlayersFinished(in.getInt()));
+            case Protocol.GET_PLAYER -> out.putPlayer(gateway.getPlayerByUsername(in.getString()));
+            case Protocol.CREATE_PLAYER -> out.putPlayer(gateway.createPlayer(in.getString(), in.getBoolean()));
+            case Protocol.LOAD_QUESTIONS -> out.putQuestions(gateway.loadRandomQuestions(in.getInt()));
+            case Protocol.START_GAME -> {
+                int sessionId = in.getInt();
+                requireHostSeat(peer, sessionId);
+                out.putSchedule(gateway.startGame(sessionId));
+            }
+            case Protocol.GET_SCHEDULE -> out.putSchedule(gateway.getQuestionSchedule(in.getInt()));
+            case Protocol.SUBMIT_ANSWER -> {
+                int sessionId = in.getInt();
+                int playerId = in.getInt();
+                int questionIndex = in.getInt();
+                int selected = in.getInt();
+                requireSeat(peer, sessionId, playerId);
+                out.putAnswerResult(gateway.submitAnswer(sessionId, playerId, questionIndex,
+                        selected < 0 ? null : (char) selected, in.getInt()));
+            }
+            default -> throw new IllegalArgumentException("Unknown operation " + type);
+        }
+        return out;
+    }
+
+    // --- Seats ---
+
+    /**
+     * @return The seat taken, or 0 if the player is not in the session
+     */
+    private long takeSeat(Peer peer, int sessionId, String username) {
+        int playerId = gateway.getPlayerIdInSession(sessionId, username);
+        if (sessionId <= 0 || playerId <= 0) {
+            return 0;
+        }
+        long seat = Protocol.seat(sessionId, playerId);
+        peer.seats.add(seat);
+        return seat;
+    }
+
+    private void putSeatPass(Protocol.Out out, long seat) {
+        out.putLong(seat).putLong(seat != 0 ? seatToken(seat) : 0);
+    }
+
+    /**
+     * @return HMAC of the seat under this process's random key, cut to 64 bits
+     */
+    private long seatToken(long seat) {
+        byte[] digest;
+        synchronized (seatMac) {
+            digest = seatMac.doFinal(ByteBuffer.allocate(8).putLong(seat).array());
+        }
+        return ByteBuffer.wrap(digest).getLong();
+    }
+
+    private static void requireSeat(Peer peer, int sessionId, int playerId) {
+        if (!peer.seats.contains(Protocol.seat(sessionId, playerId))) {
+            throw new SecurityException("player " + playerId + " did not join session " + sessionId
+                    + " on this connection");
+        }
+    }
+
+    private void requireHostSeat(Peer peer, int sessionId) {
+        for (long seat : peer.seats) {
+            if (Protocol.seatSession(seat) == sessionId
+                    && gateway.isSessionHost(sessionId, Protocol.seatPlayer(seat))) {
+                return;
+            }
+        }
+        throw new SecurityException("only the host of session " + sessionId + " can start it");
+    }
+
+    // --- Event loops ---
+
+    private final class EventLoop implements Runnable {
+        private final Selector selector;
+        private final Thread thread;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+        private EventLoop(int index) throws IOException {
+            selector = Selector.open();
+            thread = new Thread(this, "net-loop-" + index);
+            thread.setDaemon(true);
+        }
+
+        /**
+         * Run a task on this loop's thread.
+         */
+        private void execute(Runnable task) {
+            tasks.add(task);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                try {
+                    selector.select();
+                    Runnable task;
+                    while ((task = tasks.poll()) != null) {
+                        try {
+                            task.run();
+                        } catch (RuntimeException e) {
+                            LOG.error("Event loop task failed: {}", e.getMessage(), e);
+                        }
+                    }
+
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        if (!key.isValid()) {
+                            continue;
+                        }
+                        if (key.isAcceptable()) {
+                            try {
+                                accept();
+                            } catch (IOException | RuntimeException e) {
+                                LOG.error("Error accepting a client: {}", e.getMessage(), e);
+                            }
+                            continue;
+                        }
+                        Peer peer = (Peer) key.attachment();
+                        try {
+                            if (key.isReadable()) {
+                                peer.onReadable();
+                            }
+                            if (key.isValid() && key.isWritable()) {
+                                peer.onWritable();
+                            }
+                        } catch (IOException e) {
+                            LOG.debug("Connection {} dropped: {}", peer, e.getMessage());
+                            peer.close();
+                        } catch (RuntimeException e) {
+                            // One bad peer must not take the loop (and its other clients) down
+                            LOG.warn("⚠️ Closing {} after an unexpected error: {}", peer, e.toString());
+                            peer.close();
+                        }
+                    }
+                } catch (IOException e) {
+                    LOG.error("Event loop error: {}", e.getMessage(), e);
+                }
+            }
+
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof Peer) {
+                    ((Peer) key.attachment()).close();
+                }
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                LOG.warn("Error closing selector: {}", e.getMessage());
+            }
+        }
+
+        private void accept() throws IOException {
+            SocketChannel channel;
+            while ((channel = serverChannel.accept()) != null) {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                EventLoop loop = loops[Math.floorMod(nextLoop.getAndIncrement(), loops.length)];
+                SocketChannel accepted = channel;
+                loop.execute(() -> loop.register(accepted));
+            }
+        }
+
+        private void register(SocketChannel channel) {
+            try {
+                Peer peer = new Peer(this, channel);
+                peer.key = channel.register(selector, SelectionKey.OP_READ, peer);
+                connections.incrementAndGet();
+                LOG.debug("Client connected: {}", peer);
+            } catch (IOException e) {
+                LOG.warn("Could not register client: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * One client connection. Everything belongs to the loop's thread, except
+     * send() which can be called from any thread, and the seats, which
+     * requests update from the AppExecutor.
+     */
+    private final class Peer {
+        private final EventLoop loop;
+        private final SocketChannel channel;
+        private final String address;
+        private final ArrayDeque<ByteBuffer> outbox = new ArrayDeque<>();
+        private final Map<Integer, SessionEventBus.Subscription> subscriptions = new HashMap<>();
+        private final Set<Integer> unsubscribedEarly = new HashSet<>();
+        private final Set<Long> seats = ConcurrentHashMap.newKeySet(); // seat(sessionId, playerId), see takeSeat
+        private ByteBuffer inbox = ByteBuffer.allocate(4096);
+        private SelectionKey key;
+        private int queuedBytes;
+        private volatile boolean closed;
+
+        private Peer(EventLoop loop, SocketChannel channel) throws IOException {
+            this.loop = loop;
+            this.channel = channel;
+            this.address = String.valueOf(channel.getRemoteAddress());
+        }
+
+        private void onReadable() throws IOException {
+            if (channel.read(inbox) < 0) {
+                close();
+                return;
+            }
+            inbox.flip();
+            while (inbox.remaining() >= 4) {
+                int length = inbox.getInt(inbox.position());
+                if (length < Protocol.HEADER_BYTES || length > Protocol.MAX_FRAME_BYTES) {
+                    throw new IOException("Bad frame length " + length);
+                }
+                if (inbox.remaining() < 4 + length) {
+                    if (inbox.capacity() < 4 + length) {
+                        inbox = ByteBuffer.allocate(4 + length).put(inbox); // Grow for a large frame
+                        return;
+                    }
+                    break;
+                }
+                inbox.getInt();
+                byte type = inbox.get();
+                int requestId = inbox.getInt();
+                byte[] payload = new byte[length - Protocol.HEADER_BYTES];
+                inbox.get(payload);
+                Protocol.In in = new Protocol.In(ByteBuffer.wrap(payload));
+                try {
+                    if (type == Protocol.GET_TIME) {
+                        tellTime(requestId); // Answered right away: queueing would skew the client's estimate
+                    } else if (type == Protocol.SUBSCRIBE) {
+                        subscribe(in.getInt(), in.getInt()); // In-process only: no need to leave the loop
+                    } else if (type == Protocol.UNSUBSCRIBE) {
+                        unsubscribe(in.getInt());
+                    } else if (type == Protocol.RESUME_SEATS) {
+                        resumeSeats(in);
+                    } else {
+                        dispatch(this, type, requestId, in);
+                    }
+                } catch (RuntimeException e) {
+                    // Truncated payload, negative length, ...: the stream can't be trusted any more
+                    throw new IOException("Malformed " + Protocol.name(type) + " frame: " + e, e);
+                }
+            }
+            inbox.compact();
+        }
+
+        private void onWritable() throws IOException {
+            while (!outbox.isEmpty()) {
+                ByteBuffer frame = outbox.peek();
+                int written = channel.write(frame);
+                queuedBytes -= written;
+                if (frame.hasRemaining()) {
+                    return; // Socket buffer full: wait for the next OP_WRITE
+                }
+                outbox.poll();
+            }
+            key.interestOps(SelectionKey.OP_READ);
+        }
+
+        /**
+         * Queue a frame; written by the loop's thread.
+         */
+        private void send(ByteBuffer frame) {
+            if (Thread.currentThread() != loop.thread) {
+                loop.execute(() -> send(frame));
+                return;
+            }
+            if (closed) {
+                return;
+            }
+            outbox.add(frame);
+            queuedBytes += frame.remaining();
+            if (queuedBytes > MAX_QUEUED_BYTES) {
+                LOG.warn("⚠️ Client {} is not reading, disconnecting", this);
+                close();
+                return;
+            }
+            try {
+                onWritable();
+                if (!outbox.isEmpty()) {
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                }
+            } catch (IOException e) {
+                LOG.debug("Connection {} dropped: {}", this, e.getMessage());
+                close();
+            }
+        }
+
+        private void tellTime(int requestId) {
+            if (clock.getAgeMillis() > CLOCK_RESYNC_MS && clockSyncing.compareAndSet(false, true)) {
+                AppExecutor.getInstance().run("net.clockSync", () -> {
+                    try {
+                        clock.sync();
+                    } finally {
+                        clockSyncing.set(false);
+                    }
+                });
+            }
+            send(new Protocol.Out(Protocol.RESULT, requestId).putLong(clock.currentTimeMillis()).frame());
+        }
+
+        private void subscribe(int subscriptionId, int sessionId) {
+            if (unsubscribedEarly.remove(subscriptionId)) {
+                return; // The client sends both one-way, so they can arrive swapped
+            }
+            SessionEventBus.Subscription previous = subscriptions.put(subscriptionId,
+                    gateway.subscribe(sessionId, event -> push(subscriptionId, event)));
+            if (previous != null) {
+                previous.close();
+            }
+        }
+
+        /**
+         * Give back the seats of a previous connection (only those with a valid token).
+         */
+        private void resumeSeats(Protocol.In in) {
+            int count = in.getInt();
+            if (count < 0 || count > Protocol.MAX_FRAME_BYTES / 16) {
+                throw new IllegalArgumentException("Bad seat count " + count);
+            }
+            for (int i = 0; i < count; i++) {
+                long seat = in.getLong();
+                long token = in.getLong();
+                if (seat != 0 && token == seatToken(seat)) {
+                    seats.add(seat);
+                } else {
+                    LOG.warn("⚠️ Invalid seat pass from {}", this);
+                }
+            }
+        }
+
+        private void unsubscribe(int subscriptionId) {
+            SessionEventBus.Subscription subscription = subscriptions.remove(subscriptionId);
+            if (subscription != null) {
+                subscription.close();
+            } else {
+                unsubscribedEarly.add(subscriptionId);
+            }
+        }
+
+        private void push(int subscriptionId, SessionEvent event) {
+            send(new Protocol.Out(Protocol.EVENT, subscriptionId).putEvent(event).frame());
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            connections.decrementAndGet();
+            closeSubscriptions();
+            outbox.clear();
+            if (key != null) {
+                key.cancel();
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOG.debug("Error closing {}: {}", this, e.getMessage());
+            }
+            LOG.debug("Client disconnected: {}", this);
+        }
+
+        private void closeSubscriptions() {
+            subscriptions.values().forEach(SessionEventBus.Subscription::close);
+            subscriptions.clear();
+        }
+
+        @Override
+        public String toString() {
+            return address;
+        }
+    }
+}
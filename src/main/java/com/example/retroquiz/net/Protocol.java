@@ -0,0 +1,380 @@
+package com.example.retroquiz.net;
+
+import com.example.retroquiz.model.AnswerResult;
+import com.example.retroquiz.model.Player;
+import com.example.retroquiz.model.Question;
+import com.example.retroquiz.model.QuestionSchedule;
+import com.example.retroquiz.model.RosterDelta;
+import com.example.retroquiz.model.SessionEvent;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The binary protocol between GameClient and GameServer.
+ *
+ * FRAME: int length (of the rest), byte type, int request ID, payload.
+ * All numbers are big-endian. In the payload a string is an int byte count
+ * (-1 for null) followed by UTF-8 bytes; a list is an int count followed by
+ * the elements.
+ *
+ * The client sends requests (type = one of the operation codes below) with a
+ * request ID of its choice; the server answers each with RESULT (the return
+ * value) or ERROR (a message), carrying the same ID. Requests with ID 0 are
+ * one-way: no answer (used for SUBSCRIBE / UNSUBSCRIBE / RESUME_SEATS). The server also pushes EVENT
+ * frames (ID = subscription ID) for SUBSCRIBE'd sessions.
+ *
+ * CREATE_SESSION and JOIN_SESSION answer with a seat pass after their result:
+ * long seat (see {@link #seat}) and long token, 0 / 0 if no seat was taken.
+ * After a reconnect the client hands its passes back with RESUME_SEATS
+ * (int count, then seat / token pairs).
+ *
+ * Requests are answered as they complete, not necessarily in order.
+ */
+public final class Protocol {
+
+    public static final int DEFAULT_PORT = 7777;
+
+    /** Largest frame accepted (a full leaderboard or question list fits easily). */
+    public static final int MAX_FRAME_BYTES = 1 << 20;
+    /** Bytes of the frame header after the length: type and request ID. */
+    static final int HEADER_BYTES = 5;
+
+    // Operations (client to server)
+    static final byte CREATE_SESSION = 1;
+    static final byte JOIN_SESSION = 2;
+    static final byte GET_SESSION_ID = 3;
+    static final byte GET_PLAYER_ID_IN_SESSION = 4;
+    static final byte IS_SESSION_HOST = 5;
+    static final byte GET_SESSION_STATUS = 6;
+    static final byte GET_ROSTER_SINCE = 7;
+    // 8 was UPDATE_SESSION_STATUS: a session's status only changes through START_GAME / MARK_FINISHED
+    static final byte LEAVE_SESSION = 9;
+    static final byte GET_QUESTION_COUNT = 10;
+    static final byte GET_LEADERBOARD = 11;
+    // 12 was UPDATE_SCORE: scores are computed by the server (SUBMIT_ANSWER)
+    static final byte MARK_FINISHED = 13;
+    static final byte ALL_FINISHED = 14;
+    static final byte SUBSCRIBE = 15;
+    static final byte UNSUBSCRIBE = 16;
+    static final byte GET_PLAYER = 17;
+    static final byte CREATE_PLAYER = 18;
+    // 19 was UPDATE_PLAYER_STATS: totals are kept by the server (MARK_FINISHED)
+    static final byte LOAD_QUESTIONS = 20;
+    // 21 was RECORD_ANSWER: answers are recorded by SUBMIT_ANSWER
+    static final byte START_GAME = 22;
+    static final byte GET_SCHEDULE = 23;
+    static final byte GET_TIME = 24;
+    static final byte GET_TOP_PLAYERS = 25;
+    static final byte GET_RANK = 26;
+    static final byte SUBMIT_ANSWER = 27;
+    static final byte RESUME_SEATS = 28;
+
+    // Server to client
+    static final byte RESULT = 100;
+    static final byte ERROR = 101;
+    static final byte EVENT = 102;
+
+    private static final String[] NAMES = new String[128];
+
+    static {
+        String[] names = { null, "createGameSession", "joinGameSession", "getSessionId", "getPlayerIdInSession",
+                "isSessionHost", "getSessionStatus", "getPlayersInSessionSince", null,
+                "leaveSession", "getSessionQuestionCount", "getSessionLeaderboard", null,
+                "markPlayerFinished", "areAllPlayersFinished", "subscribe", "unsubscribe", "getPlayerByUsername",
+                "createPlayer", null, "loadRandomQuestions", null, "startGame",
+                "getQuestionSchedule", "getServerTimeMillis", "getSessionTopPlayers", "getPlayerSessionRank",
+                "submitAnswer", "resumeSeats" };
+        System.arraycopy(names, 0, NAMES, 0, names.length);
+    }
+
+    private Protocol() {
+    }
+
+    /**
+     * @return The seat of a player in a session, as one number
+     */
+    static long seat(int sessionId, int playerId) {
+        return ((long) sessionId << 32) | (playerId & 0xFFFFFFFFL);
+    }
+
+    static int seatSession(long seat) {
+        return (int) (seat >>> 32);
+    }
+
+    static int seatPlayer(long seat) {
+        return (int) seat;
+    }
+
+    /**
+     * @return Name of an operation, for metrics and logs
+     */
+    static String name(byte type) {
+        String name = type >= 0 ? NAMES[type] : null;
+        return name != null ? name : "op" + type;
+    }
+
+    /**
+     * Builds one frame. The length is filled in by frame().
+     */
+    static final class Out {
+        private final int requestId;
+        private ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        Out(byte type, int requestId) {
+            this.requestId = requestId;
+            buffer.putInt(0);
+            buffer.put(type);
+            buffer.putInt(requestId);
+        }
+
+        int getRequestId() {
+            return requestId;
+        }
+
+        /**
+         * @return The finished frame, ready to write
+         */
+        ByteBuffer frame() {
+            buffer.putInt(0, buffer.position() - 4);
+            buffer.flip();
+            return buffer;
+        }
+
+        Out putInt(int value) {
+            ensure(4);
+            buffer.putInt(value);
+            return this;
+        }
+
+        Out putLong(long value) {
+            ensure(8);
+            buffer.putLong(value);
+            return this;
+        }
+
+        Out putBoolean(boolean value) {
+            ensure(1);
+            buffer.put(value ? (byte) 1 : 0);
+            return this;
+        }
+
+        Out putString(String value) {
+            if (value == null) {
+                return putInt(-1);
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            ensure(4 + bytes.length);
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+            return this;
+        }
+
+        Out putStrings(List<String> values) {
+            putInt(values.size());
+            for (String value : values) {
+                putString(value);
+            }
+            return this;
+        }
+
+        Out putPlayer(Player player) {
+            if (player == null) {
+                return putInt(-1);
+            }
+            putInt(player.getId());
+            putString(player.getUsername());
+            putInt(player.getTotalPoints());
+            putInt(player.getGamesPlayed());
+            putInt(player.getCorrectAnswers());
+            putInt(player.getWrongAnswers());
+            putInt(player.getNoAnswers());
+            putInt(player.getCurrentScore());
+            return putInt(player.getRank());
+        }
+
+        Out putPlayers(List<Player> players) {
+            putInt(players.size());
+            for (Player player : players) {
+                putPlayer(player);
+            }
+            return this;
+        }
+
+        Out putQuestions(List<Question> questions) {
+            putInt(questions.size());
+            for (Question q : questions) {
+                putInt(q.getId());
+                putString(q.getQuestion());
+                putString(q.getOptionA());
+                putString(q.getOptionB());
+                putString(q.getOptionC());
+                putString(q.getOptionD());
+                putInt(q.getCorrectOption());
+                putString(q.getCategory());
+                putString(q.getDifficulty());
+            }
+            return this;
+        }
+
+        Out putSchedule(QuestionSchedule schedule) {
+            if (schedule == null) {
+                return putInt(-1);
+            }
+            putInt(schedule.getSessionId());
+            putLong(schedule.getStartMillis());
+            putLong(schedule.getQuestionMillis());
+            putLong(schedule.getRevealMillis());
+            return putQuestions(schedule.getQuestions());
+        }
+
+        Out putAnswerResult(AnswerResult result) {
+            if (result == null) {
+                return putBoolean(false);
+            }
+            putBoolean(true);
+            putBoolean(result.isCorrect());
+            putInt(result.getCorrectOption());
+            putInt(result.getPoints());
+            return putInt(result.getScore());
+        }
+
+        Out putRosterDelta(RosterDelta delta) {
+            putLong(delta.getVersion());
+            putBoolean(delta.isFull());
+            putStrings(delta.getAdded());
+            return putStrings(delta.getRemoved());
+        }
+
+        Out putEvent(SessionEvent event) {
+            putInt(event.getType().ordinal());
+            putInt(event.getSessionId());
+            putInt(event.getPlayerId());
+            return putString(event.getDetail());
+        }
+
+        private void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                int capacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+                buffer = ByteBuffer.allocate(capacity).put(buffer.flip());
+            }
+        }
+    }
+
+    /**
+     * Reads the payload of one frame.
+     */
+    static final class In {
+        private final ByteBuffer buffer;
+
+        In(ByteBuffer payload) {
+            this.buffer = payload;
+        }
+
+        int getInt() {
+            return buffer.getInt();
+        }
+
+        long getLong() {
+            return buffer.getLong();
+        }
+
+        boolean getBoolean() {
+            return buffer.get() != 0;
+        }
+
+        /**
+         * Read an element count, checked against the bytes left so a bad
+         * frame can't make us allocate a huge list.
+         */
+        private int getCount() {
+            int count = buffer.getInt();
+            if (count < 0 || count > buffer.remaining()) {
+                throw new BufferUnderflowException();
+            }
+            return count;
+        }
+
+        String getString() {
+            int length = buffer.getInt();
+            if (length < 0) {
+                return null;
+            }
+            if (length > buffer.remaining()) {
+                throw new BufferUnderflowException(); // Checked before allocating: the length is untrusted
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        List<String> getStrings() {
+            int count = getCount();
+            List<String> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add(getString());
+            }
+            return values;
+        }
+
+        Player getPlayer() {
+            int id = buffer.getInt();
+            if (id == -1) {
+                return null;
+            }
+            Player player = new Player(id, getString(), getInt(), getInt(), getInt(), getInt(), getInt());
+            player.setCurrentScore(getInt());
+            player.setRank(getInt());
+            return player;
+        }
+
+        List<Player> getPlayers() {
+            int count = getCount();
+            List<Player> players = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                players.add(getPlayer());
+            }
+            return players;
+        }
+
+        List<Question> getQuestions() {
+            int count = getCount();
+            List<Question> questions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                questions.add(new Question(getInt(), getString(), getString(), getString(), getString(), getString(),
+                        (char) getInt(), getString(), getString()));
+            }
+            return questions;
+        }
+
+        QuestionSchedule getSchedule() {
+            int sessionId = buffer.getInt();
+            if (sessionId == -1) {
+                return null;
+            }
+            long startMillis = getLong();
+            long questionMillis = getLong();
+            long revealMillis = getLong();
+            return new QuestionSchedule(sessionId, getQuestions(), startMillis, questionMillis, revealMillis);
+        }
+
+        AnswerResult getAnswerResult() {
+            if (!getBoolean()) {
+                return null;
+            }
+            return new AnswerResult(getBoolean(), (char) getInt(), getInt(), getInt());
+        }
+
+        RosterDelta getRosterDelta() {
+            return new RosterDelta(getLong(), getBoolean(), getStrings(), getStrings());
+        }
+
+        SessionEvent getEvent() {
+            SessionEvent.Type[] types = SessionEvent.Type.values();
+            return new SessionEvent(types[getInt()], getInt(), getInt(), getString());
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.retroquiz.repository;
 
+import com.example.retroquiz.util.Logger;
+import com.example.retroquiz.util.MetricsRegistry;
+
 import java.sql.*;
 
 /**
@@ -8,52 +11,52 @@ import java.sql.*;
  * This replaces the local SQL Server connection for cloud-based multiplayer.
  * 
  * Neon.tech is simpler and more reliable than Supabase for this use case.
+ * The target database comes from {@link DatabaseConfig}, so the same code can
+ * also run against an embedded local database (db.mode=embedded).
  */
 public class CloudDatabaseConnection {
 
+    private static final Logger LOG = Logger.get(CloudDatabaseConnection.class);
+
     // ============================================
-    // CONFIGURATION - UPDATE THESE VALUES!
+    // CONFIGURATION - see DatabaseConfig / Database.properties
     // ============================================
 
-    // Neon.tech PostgreSQL Database (much simpler than Supabase!)
-    // This should work immediately without any issues
-    private static final String DB_URL = "jdbc:postgresql://ep-steep-butterfly-abeghdks-pooler.eu-west-2.aws.neon.tech/neondb?sslmode=require";
-    private static final String DB_USER = "neondb_owner";
-    private static final String DB_PASSWORD = "npg_uCy4rWoXxY8F";
+    // Pool settings (size comes from DatabaseConfig)
+    private static final long POOL_BORROW_TIMEOUT_MS = 10_000;
+    private static final long POOL_IDLE_TIMEOUT_MS = 5 * 60_000;
+    private static final long POOL_MAX_LIFETIME_MS = 30 * 60_000;
+    private static final long POOL_VALIDATION_INTERVAL_MS = 5_000;
 
     // ============================================
 
+    private static volatile ConnectionPool pool;
+    private static volatile boolean schemaInitialized = false;
+    private static final java.util.List<Runnable> SHUTDOWN_TASKS = new java.util.concurrent.CopyOnWriteArrayList<>();
+    private static final java.util.concurrent.atomic.AtomicBoolean SHUT_DOWN = new java.util.concurrent.atomic.AtomicBoolean();
+
     /**
      * Get connection to cloud database.
      * 
+     * The connection is borrowed from a shared pool: closing it (or passing it
+     * to {@link #closeConnection(Connection)}) hands it back for reuse.
+     * 
      * @return Connection object or null if failed
      */
     public static Connection getConnection() {
         try {
-            // Load PostgreSQL driver
-            Class.forName("org.postgresql.Driver");
-
-            // Create connection
-            Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-
-            if (conn != null) {
-                System.out.println("✅ Connected to Neon.tech cloud database!");
-                initializeTables(conn);
-                return conn;
+            Connection conn = getPool().borrow();
+            if (!schemaInitialized) {
+                bootstrapSchema(conn);
             }
+            return conn;
 
-        } catch (ClassNotFoundException e) {
-            System.err.println("❌ PostgreSQL driver not found!");
-            System.err.println("Make sure you added the dependency to pom.xml");
-            e.printStackTrace();
         } catch (SQLException e) {
-            System.err.println("❌ Cloud database connection failed!");
-            System.err.println("Error: " + e.getMessage());
-            System.err.println("\nCheck:");
-            System.err.println("1. DB_URL is correct");
-            System.err.println("2. DB_PASSWORD is correct");
-            System.err.println("3. Internet connection is working");
-            System.err.println("4. Neon.tech project is active");
+            LOG.error("❌ Cloud database connection failed!\nError: {}\nCheck:\n"
+                    + "1. db.url is correct ({})\n"
+                    + "2. db.password is correct\n"
+                    + "3. Internet connection is working\n"
+                    + "4. Neon.tech project is active", e.getMessage(), DatabaseConfig.get().describe());
         }
 
         return null;
@@ -61,6 +64,7 @@ public class CloudDatabaseConnection {
 
     /**
      * Close database connection.
+     * For pooled connections this returns the connection to the pool.
      * 
      * @param conn Connection to close
      */
@@ -68,32 +72,131 @@ public class CloudDatabaseConnection {
         if (conn != null) {
             try {
                 conn.close();
-                System.out.println("✅ Database connection closed.");
             } catch (SQLException e) {
-                System.err.println("Error closing connection: " + e.getMessage());
+                LOG.error("Error closing connection: {}", e.getMessage());
             }
         }
     }
 
-    private static void initializeTables(Connection conn) {
-        String createUsersTable = "CREATE TABLE IF NOT EXISTS users (" +
-                "id SERIAL PRIMARY KEY, " +
-                "username VARCHAR(50) UNIQUE NOT NULL, " +
-                "password_hash VARCHAR(255) NOT NULL, " +
-                "is_admin BOOLEAN DEFAULT FALSE, " +
-                "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
-                ");";
-        
-        // Ensure default admin exists
-        String createAdmin = "INSERT INTO users (username, password_hash, is_admin) " +
-                           "VALUES ('admin', 'admin123', TRUE) " +
-                           "ON CONFLICT (username) DO NOTHING;";
-
-        try (Statement stmt = conn.createStatement()) {
-            stmt.execute(createUsersTable);
-            stmt.execute(createAdmin);
-        } catch (SQLException e) {
-            System.err.println("Error initializing tables: " + e.getMessage());
+    /**
+     * Get the shared pool, creating it on first use.
+     * 
+     * @return The connection pool
+     */
+    public static ConnectionPool getPool() {
+        ConnectionPool result = pool;
+        if (result == null) {
+            synchronized (CloudDatabaseConnection.class) {
+                result = pool;
+                if (result == null) {
+                    DatabaseConfig config = DatabaseConfig.get();
+                    try {
+                        // Load JDBC driver (PostgreSQL, or H2 in embedded mode)
+                        Class.forName(config.getDriverClassName());
+                    } catch (ClassNotFoundException e) {
+                        LOG.error("❌ JDBC driver not found: {}. Make sure you added the dependency to pom.xml",
+                                config.getDriverClassName());
+                    }
+                    result = new ConnectionPool(config.getUrl(), config.getUser(), config.getPassword(),
+                            config.getPoolSize(),
+                            POOL_BORROW_TIMEOUT_MS, POOL_IDLE_TIMEOUT_MS, POOL_MAX_LIFETIME_MS,
+                            POOL_VALIDATION_INTERVAL_MS, config.getLeakThresholdMillis(),
+                            config.isStatementMetrics());
+                    Runtime.getRuntime().addShutdownHook(new Thread(CloudDatabaseConnection::shutdown, "db-pool-shutdown"));
+                    registerPoolGauges(result);
+                    pool = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void registerPoolGauges(ConnectionPool pool) {
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.gauge("db.pool.active", pool::getActiveCount);
+        metrics.gauge("db.pool.idle", pool::getIdleCount);
+        metrics.gauge("db.pool.max", pool::getMaxSize);
+        metrics.gauge("db.pool.waiting", pool::getWaitingCount);
+    }
+
+    /**
+     * Open a connection outside the pool, for long-lived uses such as
+     * LISTEN/NOTIFY that would otherwise pin a pool slot forever.
+     * The caller owns the connection and must close it.
+     * 
+     * @return A new physical connection
+     * @throws SQLException if the connection fails
+     */
+    public static Connection openDedicatedConnection() throws SQLException {
+        getPool(); // Makes sure the driver is loaded
+        DatabaseConfig config = DatabaseConfig.get();
+        return DriverManager.getConnection(config.getUrl(), config.getUser(), config.getPassword());
+    }
+
+    /**
+     * Register a task that must run before the pool closes on shutdown,
+     * e.g. flushing write-behind buffers.
+     * 
+     * @param task Task to run; it may still borrow connections
+     */
+    public static void addShutdownTask(Runnable task) {
+        SHUTDOWN_TASKS.add(task);
+    }
+
+    /**
+     * Register a task that runs before every other shutdown task, e.g.
+     * stopping a server so no new writes arrive while the buffers are flushed.
+     *
+     * @param task Task to run; it may still borrow connections
+     */
+    public static void addFirstShutdownTask(Runnable task) {
+        SHUTDOWN_TASKS.add(0, task);
+    }
+
+    /**
+     * Run the shutdown tasks, then close the shared pool (called automatically
+     * on JVM shutdown). Runs once: later calls, such as the JVM hook after a
+     * tool called it explicitly, return immediately.
+     */
+    public static void shutdown() {
+        if (!SHUT_DOWN.compareAndSet(false, true)) {
+            return;
+        }
+        for (Runnable task : SHUTDOWN_TASKS) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOG.error("Shutdown task failed: {}", e.getMessage(), e);
+            }
+        }
+        SHUTDOWN_TASKS.clear();
+
+        ConnectionPool current = pool;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    /**
+     * Run the schema migrations once, on the first connection handed out.
+     * After they succeed no DDL runs for the life of the process; a failed
+     * run is retried on the next connection.
+     */
+    private static void bootstrapSchema(Connection conn) {
+        synchronized (CloudDatabaseConnection.class) {
+            if (!schemaInitialized) {
+                if (DatabaseConfig.get().isEmbedded()) {
+                    LOG.info("✅ Connected to embedded database!");
+                } else {
+                    LOG.info("✅ Connected to Neon.tech cloud database!");
+                }
+                try {
+                    SchemaMigrator.migrate(conn);
+                    schemaInitialized = true;
+                } catch (SQLException e) {
+                    LOG.error("❌ {}", e.getMessage()); // Retried on the next connection
+                }
+            }
         }
     }
 
@@ -102,7 +205,7 @@ public class CloudDatabaseConnection {
      * Run this to verify your setup is correct.
      */
     public static void testConnection() {
-        System.out.println("Testing Supabase connection...");
+        LOG.info("Testing Supabase connection...");
 
         Connection conn = getConnection();
 
@@ -114,20 +217,20 @@ public class CloudDatabaseConnection {
 
                 if (rs.next()) {
                     int count = rs.getInt("count");
-                    System.out.println("✅ Connection successful!");
-                    System.out.println("✅ Found " + count + " questions in database");
+                    LOG.info("✅ Connection successful!");
+                    LOG.info("✅ Found {} questions in database", count);
                 }
 
                 rs.close();
                 stmt.close();
 
             } catch (SQLException e) {
-                System.err.println("❌ Test query failed: " + e.getMessage());
+                LOG.error("❌ Test query failed: {}", e.getMessage());
             } finally {
                 closeConnection(conn);
             }
         } else {
-            System.err.println("❌ Connection test failed!");
+            LOG.error("❌ Connection test failed!");
         }
     }
 
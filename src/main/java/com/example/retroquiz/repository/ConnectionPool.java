@@ -0,0 +1,421 @@
+package com.example.retroquiz.repository;
+
+import com.example.retroquiz.util.Logger;
+import com.example.retroquiz.util.MetricsRegistry;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Small bounded JDBC connection pool.
+ *
+ * Connections handed out by {@link #borrow()} are proxies: calling close() on
+ * them returns the physical connection to the pool instead of closing it, so
+ * the existing "get / use / close" pattern in the DAOs keeps working unchanged.
+ *
+ * FEATURES:
+ * - Bounded size with a borrow timeout
+ * - Validation on borrow (only for connections idle longer than a threshold)
+ * - Idle eviction and maximum connection lifetime
+ * - Leak detection (logs the borrower's stack if a connection is held too long)
+ * - Metrics: borrow wait time (db.pool.acquire)
+ *
+ * Two diagnostics are off unless asked for, since they run on every borrow or
+ * statement: leak detection captures the borrower's stack, and statement
+ * metrics walk the stack to time each statement under the DAO / service method
+ * that created it (db.PlayerDAO.getById, ...). With both off, borrowing is a
+ * deque poll and statements are the driver's own objects.
+ */
+public class ConnectionPool {
+
+    private static final Logger LOG = Logger.get(ConnectionPool.class);
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long maxLifetimeMillis;
+    private final long validationIntervalMillis;
+    private final long leakThresholdMillis;
+    private final boolean statementMetrics;
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed = false;
+
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private final MetricsRegistry.Timer acquireTimer = metrics.timer("db.pool.acquire");
+    private final MetricsRegistry.Counter timeoutCounter = metrics.counter("db.pool.timeouts");
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    /**
+     * Create a pool. No connection is opened until the first borrow.
+     *
+     * @param url                      JDBC URL
+     * @param user                     Database user
+     * @param password                 Database password
+     * @param maxSize                  Maximum number of physical connections
+     * @param borrowTimeoutMillis      How long borrow() waits for a free connection
+     * @param idleTimeoutMillis        Idle connections older than this are evicted
+     * @param maxLifetimeMillis        Connections older than this are retired
+     * @param validationIntervalMillis Idle time after which a connection is validated on borrow
+     * @param leakThresholdMillis      Borrow duration after which a leak is reported (0 = off)
+     * @param statementMetrics         Time every statement per calling method
+     */
+    public ConnectionPool(String url, String user, String password, int maxSize,
+            long borrowTimeoutMillis, long idleTimeoutMillis, long maxLifetimeMillis,
+            long validationIntervalMillis, long leakThresholdMillis, boolean statementMetrics) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxLifetimeMillis = maxLifetimeMillis;
+        this.validationIntervalMillis = validationIntervalMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.statementMetrics = statementMetrics;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, Math.min(idleTimeoutMillis, 30_000) / 2);
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrow a connection. Close it to give it back to the pool.
+     *
+     * @return A pooled connection
+     * @throws SQLException if no connection could be obtained within the borrow timeout
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCounter.increment();
+                throw new SQLTransientConnectionException("Timed out after " + borrowTimeoutMillis
+                        + " ms waiting for a database connection (pool size " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection");
+        }
+
+        try {
+            PooledConnection pooled;
+            // LIFO: the most recently returned connection is the warmest one
+            while ((pooled = idle.pollFirst()) != null) {
+                if (isUsable(pooled)) {
+                    break;
+                }
+                pooled.closePhysical();
+            }
+            Connection lease = lease(pooled != null ? pooled : openPhysical());
+            acquireTimer.record(System.nanoTime() - start);
+            return lease;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Close every idle connection and refuse new borrows.
+     * Borrowed connections are closed when they are returned.
+     */
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            pooled.closePhysical();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getActiveCount() {
+        return borrowed.size();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * @return Number of threads waiting in borrow() for a free connection
+     */
+    public int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+
+    public int getTotalCount() {
+        return borrowed.size() + idle.size();
+    }
+
+    private PooledConnection openPhysical() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, user, password);
+        LOG.debug("✅ Opened pooled database connection ({}/{})", getTotalCount() + 1, maxSize);
+        return new PooledConnection(physical);
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        long now = System.currentTimeMillis();
+        if (now - pooled.createdAt > maxLifetimeMillis) {
+            return false;
+        }
+        if (now - pooled.lastUsedAt < validationIntervalMillis) {
+            return true;
+        }
+        try {
+            return pooled.physical.isValid(2);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Connection lease(PooledConnection pooled) {
+        pooled.borrowedAt = System.currentTimeMillis();
+        pooled.leakReported = false;
+        pooled.borrowTrace = leakThresholdMillis > 0 ? new Throwable("Connection borrowed here") : null;
+        borrowed.add(pooled);
+        return pooled.newLease();
+    }
+
+    private void giveBack(PooledConnection pooled) {
+        borrowed.remove(pooled);
+        pooled.lastUsedAt = System.currentTimeMillis();
+        pooled.borrowTrace = null;
+
+        boolean keep = !closed && pooled.lastUsedAt - pooled.createdAt <= maxLifetimeMillis && resetState(pooled);
+        if (keep) {
+            idle.offerFirst(pooled);
+        } else {
+            pooled.closePhysical();
+        }
+        permits.release();
+    }
+
+    /**
+     * Undo anything a borrower may have left behind (open transaction, auto-commit off).
+     */
+    private boolean resetState(PooledConnection pooled) {
+        try {
+            if (pooled.physical.isClosed()) {
+                return false;
+            }
+            if (!pooled.physical.getAutoCommit()) {
+                pooled.physical.rollback();
+                pooled.physical.setAutoCommit(true);
+            }
+            pooled.physical.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+
+        // Evict from the cold end of the deque
+        for (PooledConnection pooled : idle.toArray(new PooledConnection[0])) {
+            boolean idleTooLong = now - pooled.lastUsedAt > idleTimeoutMillis;
+            boolean tooOld = now - pooled.createdAt > maxLifetimeMillis;
+            if ((idleTooLong || tooOld) && idle.remove(pooled)) {
+                pooled.closePhysical();
+            }
+        }
+
+        if (leakThresholdMillis > 0) {
+            for (PooledConnection pooled : borrowed) {
+                Throwable trace = pooled.borrowTrace;
+                if (!pooled.leakReported && trace != null && now - pooled.borrowedAt > leakThresholdMillis) {
+                    pooled.leakReported = true;
+                    LOG.warn("⚠️ Possible connection leak: connection held for {} ms", now - pooled.borrowedAt, trace);
+                }
+            }
+        }
+    }
+
+    /**
+     * A physical connection plus its bookkeeping.
+     */
+    private final class PooledConnection {
+        private final Connection physical;
+        private final long createdAt;
+        private volatile long lastUsedAt;
+        private volatile long borrowedAt;
+        private volatile Throwable borrowTrace;
+        private volatile boolean leakReported;
+
+        private PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.createdAt = System.currentTimeMillis();
+            this.lastUsedAt = createdAt;
+        }
+
+        private Connection newLease() {
+            return (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[] { Connection.class },
+                    new LeaseHandler(this));
+        }
+
+        private void closePhysical() {
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                LOG.error("Error closing pooled connection: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Forwards calls to the physical connection until the lease is closed.
+     */
+    private final class LeaseHandler implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean released = false;
+
+        private LeaseHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    synchronized (this) {
+                        if (!released) {
+                            released = true;
+                            giveBack(pooled);
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    return released || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                default:
+                    break;
+            }
+
+            if (released) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+
+            Object result;
+            try {
+                result = method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+
+            if (statementMetrics && result instanceof Statement) {
+                Class<?> type = result instanceof CallableStatement ? CallableStatement.class
+                        : result instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(), new Class<?>[] { type },
+                        new StatementHandler((Statement) result, metrics.timer(callerMetricName())));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Times the execute* calls of a statement.
+     */
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final MetricsRegistry.Timer timer;
+
+        private StatementHandler(Statement statement, MetricsRegistry.Timer timer) {
+            this.statement = statement;
+            this.timer = timer;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+
+            boolean timed = method.getName().startsWith("execute");
+            long start = timed ? System.nanoTime() : 0;
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                if (timed) {
+                    timer.record(System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+    /**
+     * Metric name for a statement: "db." + the first application class and
+     * method up the stack (outside this pool), e.g. "db.PlayerDAO.getById".
+     */
+    private static String callerMetricName() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith("com.example.retroquiz.")
+                        && !frame.getClassName().startsWith(ConnectionPool.class.getName()))
+                .findFirst()
+                .map(frame -> {
+                    String className = frame.getClassName();
+                    className = className.substring(className.lastIndexOf('.') + 1);
+                    int inner = className.indexOf('$');
+                    if (inner > 0) {
+                        className = className.substring(0, inner);
+                    }
+                    String methodName = frame.getMethodName();
+                    if (methodName.startsWith("lambda$")) {
+                        int end = methodName.indexOf('$', 7);
+                        methodName = end > 7 ? methodName.substring(7, end) : methodName;
+                    }
+                    return "db." + className + "." + methodName;
+                })
+                .orElse("db.other"));
+    }
+}
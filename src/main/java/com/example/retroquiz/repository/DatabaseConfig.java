@@ -0,0 +1,227 @@
+package com.example.retroquiz.repository;
+
+import com.example.retroquiz.util.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Database settings: which database to use and how to reach it.
+ *
+ * Each setting is looked up in this order, first match wins:
+ * 1. System property  (-Dretroquiz.db.mode=embedded)
+ * 2. Environment      (RETROQUIZ_DB_MODE=embedded)
+ * 3. Database.properties on the classpath (db.mode=embedded)
+ * 4. Built-in default (the Neon.tech cloud database)
+ *
+ * Settings: db.mode (cloud | embedded), db.url, db.user, db.password,
+ * db.pool.size, db.pool.leakms, db.metrics.statements.
+ *
+ * The last two are diagnostics and are off by default because they cost
+ * something on every borrow / statement: db.pool.leakms=30000 records where
+ * each connection is borrowed and logs it if it is held longer than that;
+ * db.metrics.statements=true times every statement under the name of the
+ * DAO method that issued it.
+ *
+ * EMBEDDED mode runs an in-process H2 database in PostgreSQL compatibility
+ * mode with the full schema created on first connection, so load tests and
+ * benchmarks run offline with local latency. The default embedded URL is
+ * in-memory; point db.url at e.g. "jdbc:h2:./data/retroquiz;MODE=PostgreSQL;
+ * DATABASE_TO_LOWER=TRUE" to keep the data between runs.
+ */
+public final class DatabaseConfig {
+
+    private static final Logger LOG = Logger.get(DatabaseConfig.class);
+
+    public enum Mode {
+        CLOUD, EMBEDDED
+    }
+
+    // Neon.tech PostgreSQL Database (default)
+    private static final String CLOUD_URL = "jdbc:postgresql://ep-steep-butterfly-abeghdks-pooler.eu-west-2.aws.neon.tech/neondb?sslmode=require";
+    private static final String CLOUD_USER = "neondb_owner";
+    private static final String CLOUD_PASSWORD = "npg_uCy4rWoXxY8F";
+
+    private static final String EMBEDDED_URL = "jdbc:h2:mem:retroquiz;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+    private static final String EMBEDDED_USER = "sa";
+    private static final String EMBEDDED_PASSWORD = "";
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    private static volatile DatabaseConfig current;
+
+    private final Mode mode;
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int poolSize;
+    private final long leakThresholdMillis;
+    private final boolean statementMetrics;
+
+    private DatabaseConfig(Mode mode, String url, String user, String password, int poolSize,
+            long leakThresholdMillis, boolean statementMetrics) {
+        this.mode = mode;
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.poolSize = poolSize;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.statementMetrics = statementMetrics;
+    }
+
+    /**
+     * Get the configuration, reading it on first use.
+     */
+    public static DatabaseConfig get() {
+        DatabaseConfig result = current;
+        if (result == null) {
+            synchronized (DatabaseConfig.class) {
+                result = current;
+                if (result == null) {
+                    result = load();
+                    current = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static DatabaseConfig load() {
+        Properties file = new Properties();
+        try (InputStream in = DatabaseConfig.class.getResourceAsStream("/Database.properties")) {
+            if (in != null) {
+                file.load(in);
+            }
+        } catch (IOException e) {
+            LOG.warn("⚠️ Could not read Database.properties: {}", e.getMessage());
+        }
+
+        String url = setting(file, "db.url");
+        String modeName = setting(file, "db.mode");
+        Mode mode;
+        if (modeName != null) {
+            mode = "embedded".equalsIgnoreCase(modeName) ? Mode.EMBEDDED : Mode.CLOUD;
+        } else {
+            mode = url != null && url.startsWith("jdbc:h2:") ? Mode.EMBEDDED : Mode.CLOUD;
+        }
+
+        boolean embedded = mode == Mode.EMBEDDED;
+        String user = setting(file, "db.user");
+        String password = setting(file, "db.password");
+        String poolSize = setting(file, "db.pool.size");
+        String leakMillis = setting(file, "db.pool.leakms");
+
+        int size = DEFAULT_POOL_SIZE;
+        if (poolSize != null) {
+            try {
+                size = Math.max(1, Integer.parseInt(poolSize.trim()));
+            } catch (NumberFormatException e) {
+                LOG.warn("⚠️ Invalid db.pool.size: {}", poolSize);
+            }
+        }
+
+        long leakThreshold = 0;
+        if (leakMillis != null) {
+            try {
+                leakThreshold = Math.max(0, Long.parseLong(leakMillis.trim()));
+            } catch (NumberFormatException e) {
+                LOG.warn("⚠️ Invalid db.pool.leakms: {}", leakMillis);
+            }
+        }
+
+        DatabaseConfig config = new DatabaseConfig(mode,
+                url != null ? url : embedded ? EMBEDDED_URL : CLOUD_URL,
+                user != null ? user : embedded ? EMBEDDED_USER : CLOUD_USER,
+                password != null ? password : embedded ? EMBEDDED_PASSWORD : CLOUD_PASSWORD,
+                size, leakThreshold, Boolean.parseBoolean(setting(file, "db.metrics.statements")));
+        LOG.info("Database mode: {} ({})", config.mode, config.describe());
+        return config;
+    }
+
+    /**
+     * Look up a setting: system property, then environment, then the properties file.
+     */
+    private static String setting(Properties file, String key) {
+        String value = System.getProperty("retroquiz." + key);
+        if (value == null) {
+            value = System.getenv("RETROQUIZ_" + key.toUpperCase().replace('.', '_'));
+        }
+        if (value == null) {
+            value = file.getProperty(key);
+        }
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * @return Borrow duration after which the pool reports a leak (0 = leak detection off)
+     */
+    public long getLeakThresholdMillis() {
+        return leakThresholdMillis;
+    }
+
+    /**
+     * @return true if every statement is timed per calling DAO method
+     */
+    public boolean isStatementMetrics() {
+        return statementMetrics;
+    }
+
+    public boolean isEmbedded() {
+        return mode == Mode.EMBEDDED;
+    }
+
+    /**
+     * @return true if the database is a real PostgreSQL server (LISTEN/NOTIFY, etc. available)
+     */
+    public boolean isPostgres() {
+        return url.startsWith("jdbc:postgresql:");
+    }
+
+    /**
+     * @return JDBC driver class for the configured URL
+     */
+    public String getDriverClassName() {
+        if (url.startsWith("jdbc:h2:")) {
+            return "org.h2.Driver";
+        }
+        if (url.startsWith("jdbc:sqlserver:")) {
+            return "com.microsoft.sqlserver.jdbc.SQLServerDriver";
+        }
+        return "org.postgresql.Driver";
+    }
+
+    /**
+     * URL without credentials or query parameters, for log messages.
+     */
+    public String describe() {
+        int end = url.length();
+        for (char c : new char[] { '?', ';' }) {
+            int index = url.indexOf(c);
+            if (index >= 0 && index < end) {
+                end = index;
+            }
+        }
+        return url.substring(0, end);
+    }
+}
@@ -0,0 +1,408 @@
+package com.example.retroquiz.repository;
+
+import com.example.retroquiz.model.Question;
+import com.example.retroquiz.service.QuestionBank;
+import com.example.retroquiz.util.Logger;
+
+import java.sql.*;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Versioned schema migrations, applied once at startup.
+ *
+ * Every schema change is a numbered migration. The versions already applied
+ * are recorded in the schema_version table, so a database that is up to date
+ * costs one query at startup and no DDL ever runs on a request path.
+ *
+ * HOW TO CHANGE THE SCHEMA:
+ * Append a migration with the next version number to MIGRATIONS. Never edit or
+ * reorder a migration that has shipped - add a new one instead.
+ *
+ * Several app instances may start at once against the cloud database: on
+ * PostgreSQL the runner holds an advisory lock, and each migration commits
+ * together with its schema_version row.
+ *
+ * INDEXES ON LIVE TABLES:
+ * A plain CREATE INDEX blocks writes to its table until the build is done,
+ * which on the cloud database means every live game. Declare those migrations
+ * with {@link #indexes}: on PostgreSQL each index is built CONCURRENTLY, outside
+ * a transaction, and only the schema_version row is written transactionally.
+ * H2 has no CONCURRENTLY and runs them as plain DDL.
+ */
+public final class SchemaMigrator {
+
+    private static final Logger LOG = Logger.get(SchemaMigrator.class);
+
+    private static final long ADVISORY_LOCK_KEY = 0x52515A4DL; // "RQZM"
+    private static final long INDEX_LOCK_KEY = 0x52515A49L; // "RQZI"
+    private static final long INDEX_LOCK_POLL_MS = 500;
+
+    private static final Pattern INDEX_NAME = Pattern.compile("IF NOT EXISTS (\\w+)");
+
+    private static final class Migration {
+        private final int version;
+        private final String description;
+        private final String[] statements;
+        private final boolean indexes;
+
+        private Migration(int version, String description, String... statements) {
+            this(version, description, false, statements);
+        }
+
+        private Migration(int version, String description, boolean indexes, String... statements) {
+            this.version = version;
+            this.description = description;
+            this.indexes = indexes;
+            this.statements = statements;
+        }
+    }
+
+    /**
+     * A migration made only of "CREATE INDEX IF NOT EXISTS name ON ..." statements,
+     * built without blocking writes on PostgreSQL.
+     */
+    private static Migration indexes(int version, String description, String... statements) {
+        return new Migration(version, description, true, statements);
+    }
+
+    private static final Migration[] MIGRATIONS = {
+            new Migration(1, "Base tables",
+                    "CREATE TABLE IF NOT EXISTS users (" +
+                            "id SERIAL PRIMARY KEY, " +
+                            "username VARCHAR(50) UNIQUE NOT NULL, " +
+                            "password_hash VARCHAR(255) NOT NULL, " +
+                            "is_admin BOOLEAN DEFAULT FALSE, " +
+                            "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)",
+                    "CREATE TABLE IF NOT EXISTS players (" +
+                            "id SERIAL PRIMARY KEY, " +
+                            "username VARCHAR(50) UNIQUE NOT NULL, " +
+                            "total_points INTEGER DEFAULT 0, " +
+                            "games_played INTEGER DEFAULT 0, " +
+                            "correct_answers INTEGER DEFAULT 0, " +
+                            "wrong_answers INTEGER DEFAULT 0, " +
+                            "no_answers INTEGER DEFAULT 0, " +
+                            "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                            "last_played TIMESTAMP)",
+                    "CREATE TABLE IF NOT EXISTS questions (" +
+                            "id SERIAL PRIMARY KEY, " +
+                            "question VARCHAR(500) NOT NULL, " +
+                            "optionA VARCHAR(200) NOT NULL, " +
+                            "optionB VARCHAR(200) NOT NULL, " +
+                            "optionC VARCHAR(200) NOT NULL, " +
+                            "optionD VARCHAR(200) NOT NULL, " +
+                            "correct_option CHAR(1) NOT NULL CHECK (correct_option IN ('A', 'B', 'C', 'D')), " +
+                            "difficulty VARCHAR(20) DEFAULT 'MEDIUM', " +
+                            "category VARCHAR(50), " +
+                            "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)",
+                    "CREATE TABLE IF NOT EXISTS game_sessions (" +
+                            "id SERIAL PRIMARY KEY, " +
+                            "session_code VARCHAR(10) UNIQUE NOT NULL, " +
+                            "host_id INTEGER REFERENCES players(id), " +
+                            "status VARCHAR(20) DEFAULT 'WAITING', " +
+                            "question_count INTEGER DEFAULT 10, " +
+                            "timer_duration INTEGER DEFAULT 15, " +
+                            "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                            "started_at TIMESTAMP, " +
+                            "ended_at TIMESTAMP)",
+                    "CREATE TABLE IF NOT EXISTS session_players (" +
+                            "id SERIAL PRIMARY KEY, " +
+                            "session_id INTEGER REFERENCES game_sessions(id), " +
+                            "player_id INTEGER REFERENCES players(id), " +
+                            "score INTEGER DEFAULT 0, " +
+                            "rank INTEGER, " +
+                            "joined_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                            "UNIQUE (session_id, player_id))",
+                    "CREATE TABLE IF NOT EXISTS player_answers (" +
+                            "id SERIAL PRIMARY KEY, " +
+                            "session_id INTEGER REFERENCES game_sessions(id), " +
+                            "player_id INTEGER REFERENCES players(id), " +
+                            "question_id INTEGER REFERENCES questions(id), " +
+                            "selected_option CHAR(1), " +
+                            "is_correct BOOLEAN, " +
+                            "time_taken INTEGER, " +
+                            "points_earned INTEGER, " +
+                            "answered_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)"),
+
+            // Was PlayerService.ensureSchema(), run on every createPlayer
+            new Migration(2, "Guest players",
+                    "ALTER TABLE players ADD COLUMN IF NOT EXISTS is_guest BOOLEAN DEFAULT FALSE",
+                    "UPDATE players SET is_guest = FALSE WHERE is_guest IS NULL"),
+
+            // Was GameSessionService.ensureSchema(), run on every createGameSession
+            new Migration(3, "Finished flag for session players",
+                    "ALTER TABLE session_players ADD COLUMN IF NOT EXISTS is_finished BOOLEAN DEFAULT FALSE"),
+
+            new Migration(4, "Default admin user",
+                    "INSERT INTO users (username, password_hash, is_admin) " +
+                            "VALUES ('admin', 'admin123', TRUE) ON CONFLICT DO NOTHING"),
+
+            indexes(5, "Indexes for the hot queries",
+                    // Leaderboard load / rank fallback / keyset paging
+                    "CREATE INDEX IF NOT EXISTS idx_players_points ON players (total_points DESC, id)",
+                    // Session rosters by player, answer history, question deletes
+                    "CREATE INDEX IF NOT EXISTS idx_session_players_player ON session_players (player_id)",
+                    "CREATE INDEX IF NOT EXISTS idx_player_answers_session ON player_answers (session_id, player_id)",
+                    "CREATE INDEX IF NOT EXISTS idx_player_answers_question ON player_answers (question_id)",
+                    // Question index load and category filters
+                    "CREATE INDEX IF NOT EXISTS idx_questions_category ON questions (category, difficulty)"),
+
+            new Migration(6, "Session code allocation",
+                    // Counter blocks for SessionCodeAllocator (INCREMENT BY = its BLOCK_SIZE)
+                    "CREATE SEQUENCE IF NOT EXISTS session_code_seq START WITH 1 INCREMENT BY 50",
+                    // FINISHED sessions give their code back; UNIQUE still holds for live ones
+                    "ALTER TABLE game_sessions ALTER COLUMN session_code DROP NOT NULL"),
+
+            new Migration(7, "Question schedule and answer times in ms",
+                    // Comma-separated question IDs, and when the first one opens (database clock, epoch ms)
+                    "ALTER TABLE game_sessions ADD COLUMN IF NOT EXISTS question_ids VARCHAR(4000)",
+                    "ALTER TABLE game_sessions ADD COLUMN IF NOT EXISTS schedule_start_ms BIGINT",
+                    "ALTER TABLE player_answers ADD COLUMN IF NOT EXISTS time_taken_ms INTEGER")
+    };
+
+    private SchemaMigrator() {
+    }
+
+    /**
+     * @return Version the schema is at once every migration has run
+     */
+    public static int getLatestVersion() {
+        return MIGRATIONS[MIGRATIONS.length - 1].version;
+    }
+
+    /**
+     * Bring the schema up to date.
+     *
+     * @param conn Connection to migrate with (left in auto-commit mode)
+     * @throws SQLException if a migration fails; later migrations are not attempted
+     */
+    public static void migrate(Connection conn) throws SQLException {
+        boolean postgres = DatabaseConfig.get().isPostgres();
+
+        // Up to date: one query, no locks, no DDL
+        if (hasVersionTable(conn) && currentVersion(conn) >= getLatestVersion()) {
+            seedEmbeddedQuestions(conn);
+            return;
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                    "version INTEGER PRIMARY KEY, " +
+                    "description VARCHAR(200), " +
+                    "applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        }
+
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            if (postgres) {
+                // Released at the end of each transaction; re-taken per migration
+                lock(conn);
+            }
+            int version = currentVersion(conn);
+            conn.commit();
+
+            for (Migration migration : MIGRATIONS) {
+                if (migration.version <= version) {
+                    continue;
+                }
+                if (postgres && migration.indexes) {
+                    applyConcurrently(conn, migration);
+                    continue;
+                }
+                if (postgres) {
+                    lock(conn);
+                    // Another instance may have applied it while we waited
+                    if (currentVersion(conn) >= migration.version) {
+                        conn.commit();
+                        continue;
+                    }
+                }
+                apply(conn, migration);
+            }
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+
+        seedEmbeddedQuestions(conn);
+    }
+
+    private static void apply(Connection conn, Migration migration) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : migration.statements) {
+                stmt.execute(sql);
+            }
+            try (PreparedStatement record = conn.prepareStatement(
+                    "INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+                record.setInt(1, migration.version);
+                record.setString(2, migration.description);
+                record.executeUpdate();
+            }
+            conn.commit();
+            LOG.info("✅ Schema migration {} applied: {}", migration.version, migration.description);
+        } catch (SQLException e) {
+            conn.rollback();
+            throw new SQLException("Schema migration " + migration.version + " (" + migration.description
+                    + ") failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Build an index migration with CREATE INDEX CONCURRENTLY. That cannot run in
+     * a transaction, and it waits for every transaction that started before it, so
+     * instances take turns through a session-level try-lock rather than blocking on
+     * the migration lock inside a transaction (the build would wait on them).
+     */
+    private static void applyConcurrently(Connection conn, Migration migration) throws SQLException {
+        conn.commit();
+        conn.setAutoCommit(true);
+        try {
+            if (!lockIndexBuilds(conn, migration.version)) {
+                conn.setAutoCommit(false);
+                return; // Another instance built and recorded it while we waited
+            }
+            try (Statement stmt = conn.createStatement()) {
+                for (String sql : migration.statements) {
+                    dropInvalidIndex(stmt, sql);
+                    stmt.execute(sql.replace("CREATE INDEX ", "CREATE INDEX CONCURRENTLY "));
+                }
+            } catch (SQLException e) {
+                throw new SQLException("Schema migration " + migration.version + " (" + migration.description
+                        + ") failed: " + e.getMessage(), e);
+            } finally {
+                unlockIndexBuilds(conn);
+            }
+
+            conn.setAutoCommit(false);
+            lock(conn);
+            try (PreparedStatement record = conn.prepareStatement(
+                    "INSERT INTO schema_version (version, description) VALUES (?, ?) ON CONFLICT DO NOTHING")) {
+                record.setInt(1, migration.version);
+                record.setString(2, migration.description);
+                record.executeUpdate();
+            }
+            conn.commit();
+            LOG.info("✅ Schema migration {} applied: {}", migration.version, migration.description);
+        } catch (SQLException e) {
+            if (!conn.getAutoCommit()) {
+                conn.rollback();
+            }
+            throw e; // migrate() restores the auto-commit mode
+        }
+    }
+
+    /**
+     * @return false if the migration was applied by another instance before the lock came free
+     */
+    private static boolean lockIndexBuilds(Connection conn, int version) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            stmt.setLong(1, INDEX_LOCK_KEY);
+            while (true) {
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next() && rs.getBoolean(1)) {
+                        break;
+                    }
+                }
+                if (currentVersion(conn) >= version) {
+                    return false;
+                }
+                try {
+                    Thread.sleep(INDEX_LOCK_POLL_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted waiting for index builds", e);
+                }
+            }
+        }
+        if (currentVersion(conn) >= version) {
+            unlockIndexBuilds(conn);
+            return false;
+        }
+        return true;
+    }
+
+    private static void unlockIndexBuilds(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            stmt.setLong(1, INDEX_LOCK_KEY);
+            stmt.execute();
+        }
+    }
+
+    /**
+     * A CONCURRENTLY build that failed leaves an INVALID index behind, which
+     * IF NOT EXISTS would then keep forever. Only called under the index lock,
+     * so nobody else is mid-build.
+     */
+    private static void dropInvalidIndex(Statement stmt, String sql) throws SQLException {
+        Matcher name = INDEX_NAME.matcher(sql);
+        if (!name.find()) {
+            return;
+        }
+        boolean invalid;
+        try (ResultSet rs = stmt.executeQuery("SELECT 1 FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid "
+                + "WHERE c.relname = '" + name.group(1) + "' AND NOT i.indisvalid")) {
+            invalid = rs.next();
+        }
+        if (invalid) {
+            LOG.warn("⚠️ Rebuilding invalid index {}", name.group(1));
+            stmt.execute("DROP INDEX CONCURRENTLY IF EXISTS " + name.group(1));
+        }
+    }
+
+    private static void lock(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT pg_advisory_xact_lock(?)")) {
+            stmt.setLong(1, ADVISORY_LOCK_KEY);
+            stmt.execute();
+        }
+    }
+
+    private static boolean hasVersionTable(Connection conn) throws SQLException {
+        try (ResultSet rs = conn.getMetaData().getTables(null, null, "schema_version", new String[] { "TABLE" })) {
+            return rs.next();
+        }
+    }
+
+    private static int currentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * The embedded database starts empty: load the offline question bank so a
+     * game can be played right away.
+     */
+    private static void seedEmbeddedQuestions(Connection conn) throws SQLException {
+        if (!DatabaseConfig.get().isEmbedded()) {
+            return;
+        }
+
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM questions")) {
+            if (rs.next() && rs.getInt(1) > 0) {
+                return;
+            }
+        }
+
+        String sql = "INSERT INTO questions (question, optionA, optionB, optionC, optionD, correct_option, category, difficulty) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        List<Question> questions = QuestionBank.getAllQuestions();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (Question q : questions) {
+                stmt.setString(1, q.getQuestion());
+                stmt.setString(2, q.getOptionA());
+                stmt.setString(3, q.getOptionB());
+                stmt.setString(4, q.getOptionC());
+                stmt.setString(5, q.getOptionD());
+                stmt.setString(6, String.valueOf(q.getCorrectOption()));
+                stmt.setString(7, q.getCategory());
+                stmt.setString(8, q.getDifficulty());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        LOG.info("✅ Embedded database seeded with {} questions", questions.size());
+    }
+}
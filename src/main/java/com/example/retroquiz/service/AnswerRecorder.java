@@ -0,0 +1,264 @@
+package com.example.retroquiz.service;
+
+import com.example.retroquiz.dao.PlayerAnswerDAO;
+import com.example.retroquiz.model.PlayerAnswer;
+import com.example.retroquiz.repository.CloudDatabaseConnection;
+import com.example.retroquiz.util.Logger;
+import com.example.retroquiz.util.MetricsRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Answer-ingest pipeline for the player_answers table.
+ *
+ * record() only puts the answer on a bounded queue. A single writer thread
+ * coalesces the answers of every player and session and inserts them with one
+ * JDBC batch when BATCH_SIZE answers are waiting or FLUSH_INTERVAL_MS has
+ * passed since the first one arrived.
+ *
+ * BACKPRESSURE: record() runs on request threads, never the JavaFX thread.
+ * When the queue is full it waits up to OFFER_TIMEOUT_MS for the writer to
+ * make room; only then is the answer dropped (and counted in getDroppedCount()).
+ * SHUTDOWN: the queue is drained before the connection pool closes. record()
+ * and shutdown() share a lock, so no answer is queued after the writer's
+ * final drain.
+ * BAD ROWS: a batch the database rejects for a constraint (e.g. an answer to a
+ * question deleted meanwhile) is split in halves until only the bad rows are
+ * left, and those are dropped; the rest is written.
+ */
+public class AnswerRecorder {
+
+    private static final Logger LOG = Logger.get(AnswerRecorder.class);
+
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final int BATCH_SIZE = 500;
+    private static final long FLUSH_INTERVAL_MS = 250;
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+    private static final long OFFER_TIMEOUT_MS = 1000;
+
+    private static final AnswerRecorder INSTANCE = new AnswerRecorder();
+
+    private final PlayerAnswerDAO playerAnswerDAO = new PlayerAnswerDAO();
+    private final BlockingQueue<PlayerAnswer> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread writer;
+    // Read lock: record() queueing; write lock: shutdown() stopping the writer
+    private final ReadWriteLock lifecycle = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+
+    // Metrics
+    private final AtomicLong recordedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+    private volatile long lastFlushNanos;
+    private volatile int maxQueueDepth;
+
+    private AnswerRecorder() {
+        writer = new Thread(this::writeLoop, "answer-writer");
+        writer.setDaemon(true);
+        writer.start();
+        CloudDatabaseConnection.addShutdownTask(this::shutdown);
+
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.gauge("answers.queue", queue::size);
+        metrics.gauge("answers.written", writtenCount::get);
+        metrics.gauge("answers.dropped", droppedCount::get);
+    }
+
+    public static AnswerRecorder getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Queue an answer for insertion, waiting up to OFFER_TIMEOUT_MS if the
+     * queue is full. Don't call it from the JavaFX thread.
+     *
+     * @param answer The answer to record
+     * @return true if queued, false if it was dropped (queue still full, or shut down)
+     */
+    public boolean record(PlayerAnswer answer) {
+        lifecycle.readLock().lock();
+        try {
+            if (!running) {
+                droppedCount.incrementAndGet();
+                return false;
+            }
+            if (!queue.offer(answer, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                droppedCount.incrementAndGet();
+                LOG.warn("⚠️ Answer queue full for {} ms, dropping answer of player {}", OFFER_TIMEOUT_MS,
+                        answer.getPlayerId());
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            droppedCount.incrementAndGet();
+            return false;
+        } finally {
+            lifecycle.readLock().unlock();
+        }
+
+        recordedCount.incrementAndGet();
+        int depth = queue.size();
+        if (depth > maxQueueDepth) {
+            maxQueueDepth = depth;
+        }
+        return true;
+    }
+
+    /**
+     * Stop accepting answers and write everything still queued.
+     */
+    public void shutdown() {
+        // No interrupt: the writer sees the flag within one flush interval, and
+        // interrupting it mid-write would fail the pool borrow and drop the batch.
+        // Waits for record() calls in progress, so the final drain sees their answers.
+        lifecycle.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            lifecycle.writeLock().unlock();
+        }
+        try {
+            writer.join(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // --- Metrics ---
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    public long getRecordedCount() {
+        return recordedCount.get();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    public double getLastFlushMillis() {
+        return lastFlushNanos / 1_000_000.0;
+    }
+
+    public double getAverageFlushMillis() {
+        long flushes = flushCount.get();
+        return flushes == 0 ? 0.0 : totalFlushNanos.get() / 1_000_000.0 / flushes;
+    }
+
+    // --- Writer thread ---
+
+    private void writeLoop() {
+        List<PlayerAnswer> batch = new ArrayList<>(BATCH_SIZE);
+
+        while (running) {
+            try {
+                PlayerAnswer first = queue.poll(FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Coalesce until the batch is full or the first answer has waited long enough
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL_MS);
+                while (batch.size() < BATCH_SIZE) {
+                    queue.drainTo(batch, BATCH_SIZE - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= BATCH_SIZE || remaining <= 0) {
+                        break;
+                    }
+                    PlayerAnswer next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                write(batch);
+                batch.clear();
+
+            } catch (InterruptedException e) {
+                // Not expected; stop and drain what is left below
+                break;
+            }
+        }
+
+        // Ordered shutdown: whatever is in flight, then whatever is still queued
+        queue.drainTo(batch);
+        while (!batch.isEmpty()) {
+            List<PlayerAnswer> chunk = new ArrayList<>(batch.subList(0, Math.min(BATCH_SIZE, batch.size())));
+            batch.subList(0, chunk.size()).clear();
+            write(chunk);
+        }
+    }
+
+    private void write(List<PlayerAnswer> batch) {
+        for (int attempt = 1; attempt <= MAX_WRITE_ATTEMPTS; attempt++) {
+            long start = System.nanoTime();
+            PlayerAnswerDAO.BatchResult result = playerAnswerDAO.createBatch(batch);
+            long elapsed = System.nanoTime() - start;
+
+            if (result == PlayerAnswerDAO.BatchResult.WRITTEN) {
+                writtenCount.addAndGet(batch.size());
+                flushCount.incrementAndGet();
+                totalFlushNanos.addAndGet(elapsed);
+                lastFlushNanos = elapsed;
+                return;
+            }
+            if (result == PlayerAnswerDAO.BatchResult.REJECTED) {
+                writeAroundBadRows(batch);
+                return;
+            }
+
+            if (attempt < MAX_WRITE_ATTEMPTS) {
+                try {
+                    Thread.sleep(200L * attempt);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        droppedCount.addAndGet(batch.size());
+        LOG.error("❌ Dropped {} answers after {} failed writes", batch.size(), MAX_WRITE_ATTEMPTS);
+    }
+
+    /**
+     * A row of the batch breaks a constraint: write each half on its own, so
+     * k bad rows cost O(k log n) extra statements and only they are dropped.
+     */
+    private void writeAroundBadRows(List<PlayerAnswer> batch) {
+        if (batch.size() == 1) {
+            PlayerAnswer answer = batch.get(0);
+            droppedCount.incrementAndGet();
+            LOG.warn("⚠️ Dropped answer rejected by the database: player {}, session {}, question {}",
+                    answer.getPlayerId(), answer.getSessionId(), answer.getQuestionId());
+            return;
+        }
+        int middle = batch.size() / 2;
+        write(new ArrayList<>(batch.subList(0, middle)));
+        write(new ArrayList<>(batch.subList(middle, batch.size())));
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.retroquiz.service;
+
+import com.example.retroquiz.model.AnswerResult;
+import com.example.retroquiz.model.Player;
+import com.example.retroquiz.model.Question;
+import com.example.retroquiz.model.QuestionSchedule;
+import com.example.retroquiz.model.RosterDelta;
+import com.example.retroquiz.model.SessionEvent;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Everything the game screens need from the back end: sessions, players,
+ * questions and answers.
+ *
+ * Two implementations:
+ * - {@link LocalGameGateway}: calls the services directly (each client talks
+ *   to the database itself)
+ * - GameClient: forwards every call to a headless GameServer over TCP, so
+ *   only the server touches the database
+ *
+ * Methods block (database or network round trip): call them off the JavaFX
+ * thread, except subscribe which only queues. Failures are logged and
+ * reported like the services do: null, -1, false or an empty result.
+ */
+public interface GameGateway {
+
+    // --- Sessions ---
+
+    /**
+     * @return The new session code, or null on failure
+     */
+    String createGameSession(String hostUsername, int questionCount, int timerDuration);
+
+    /**
+     * @return Session ID, or -1 if the code is unknown or the join failed
+     */
+    int joinGameSession(String sessionCode, String username);
+
+    int getSessionId(String sessionCode);
+
+    int getPlayerIdInSession(int sessionId, String username);
+
+    boolean isSessionHost(int sessionId, int playerId);
+
+    String getSessionStatus(int sessionId);
+
+    RosterDelta getPlayersInSessionSince(int sessionId, long version);
+
+    void leaveSession(int sessionId, int playerId);
+
+    int getSessionQuestionCount(int sessionId);
+
+    List<Player> getSessionLeaderboard(int sessionId);
+
+    /**
+     * @return The best {@code limit} players of the session, with their rank set
+     */
+    List<Player> getSessionTopPlayers(int sessionId, int limit);
+
+    /**
+     * @return The player's current position in the session (1 = leading), or -1
+     */
+    int getPlayerSessionRank(int sessionId, int playerId);
+
+    /**
+     * Answer a question of a started game. The back end checks the answer
+     * against the session's schedule, scores it and keeps the session score;
+     * the player only reports what they chose and how long it took.
+     *
+     * @param questionIndex   Position of the question in the schedule
+     * @param selectedOption  'A' to 'D', or null if the time ran out
+     * @param timeTakenMillis Time from the question opening to the answer
+     * @return The outcome, or null if the answer was rejected (late, repeated, ...)
+     */
+    AnswerResult submitAnswer(int sessionId, int playerId, int questionIndex, Character selectedOption,
+            int timeTakenMillis);
+
+    /**
+     * Finish the player's game: the back end adds it to their global totals.
+     */
+    void markPlayerFinished(int sessionId, int playerId);
+
+    /**
+     * @return true once the last player has finished and the session is
+     *         FINISHED (checked in the database, not from events)
+     */
+    boolean areAllPlayersFinished(int sessionId);
+
+    /**
+     * Start the game: fix its questions and their timing, and set it PLAYING.
+     * Only the host may call it, and only while the session is WAITING; other
+     * players read the schedule with getQuestionSchedule.
+     *
+     * @return The schedule, or null if the game could not be started (already
+     *         started, finished, or database unavailable)
+     */
+    QuestionSchedule startGame(int sessionId);
+
+    /**
+     * @return The schedule of a started game, or null if it has not started
+     */
+    QuestionSchedule getQuestionSchedule(int sessionId);
+
+    /**
+     * Read the reference clock QuestionSchedule times are on (feed a ServerClock with it).
+     *
+     * @return Current time in epoch ms, or -1 if unavailable
+     */
+    long getServerTimeMillis();
+
+    /**
+     * Receive the events of one session, on a background thread.
+     */
+    SessionEventBus.Subscription subscribe(int sessionId, Consumer<SessionEvent> listener);
+
+    // --- Players ---
+
+    Player getPlayerByUsername(String username);
+
+    Player createPlayer(String username, boolean isGuest);
+
+    /**
+     * Add a solo game (no session, scored on this machine) to the player's
+     * global totals. Only a LocalGameGateway does: a game server keeps
+     * totals from the answers it checked itself, so GameClient ignores it.
+     *
+     * @param player The player, with the game already added to their stats
+     */
+    void recordSoloGame(Player player);
+
+    // --- Questions ---
+
+    List<Question> loadRandomQuestions(int count);
+
+    /**
+     * Get the shared gateway: a GameClient when retroquiz.server (system
+     * property, or RETROQUIZ_SERVER environment variable) is set to
+     * host:port, otherwise a LocalGameGateway.
+     *
+     * @return The shared gateway
+     */
+    static GameGateway getDefault() {
+        return GameGateways.getDefault();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.retroquiz.service;
+
+import com.example.retroquiz.net.GameClient;
+import com.example.retroquiz.util.Logger;
+
+/**
+ * Holder for the shared GameGateway instance.
+ */
+final class GameGateways {
+
+    private static final Logger LOG = Logger.get(GameGateways.class);
+
+    private static volatile GameGateway defaultGateway;
+
+    private GameGateways() {
+    }
+
+    static GameGateway getDefault() {
+        GameGateway gateway = defaultGateway;
+        if (gateway == null) {
+            synchronized (GameGateways.class) {
+                gateway = defaultGateway;
+                if (gateway == null) {
+                    String server = System.getProperty("retroquiz.server");
+                    if (server == null) {
+                        server = System.getenv("RETROQUIZ_SERVER");
+                    }
+                    if (server != null && !server.isBlank()) {
+                        LOG.info("🌐 Game server: {}", server.trim());
+                        gateway = GameClient.forAddress(server.trim());
+                    } else {
+                        gateway = new LocalGameGateway();
+                    }
+                    defaultGateway = gateway;
+                }
+            }
+        }
+        return gateway;
+    }
+}
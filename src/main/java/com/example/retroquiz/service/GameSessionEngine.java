@@ -0,0 +1,877 @@
+package com.example.retroquiz.service;
+
+import com.example.retroquiz.model.AnswerResult;
+import com.example.retroquiz.model.Player;
+import com.example.retroquiz.model.Question;
+import com.example.retroquiz.model.QuestionSchedule;
+import com.example.retroquiz.model.RosterDelta;
+import com.example.retroquiz.model.SessionEvent;
+import com.example.retroquiz.repository.CloudDatabaseConnection;
+import com.example.retroquiz.util.Logger;
+import com.example.retroquiz.util.MetricsRegistry;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory state of the live game sessions, with write-behind persistence.
+ *
+ * GameSessionService serves lobby, leaderboard and "everyone finished?"
+ * queries from here. Score and finished-flag changes are only marked dirty
+ * and written to session_players in one batch every FLUSH_INTERVAL_MS, so a
+ * session produces a handful of writes per question instead of one per answer.
+ * The same batch publishes the new scores to the other machines, one
+ * SCORES_CHANGED event per session rather than one per answer.
+ *
+ * A session is loaded from the database the first time it is used in this
+ * process; after that it is kept current by local calls and by the session
+ * events of the other players' machines.
+ */
+public class GameSessionEngine {
+
+    private static final Logger LOG = Logger.get(GameSessionEngine.class);
+
+    private static final long FLUSH_INTERVAL_MS = 500;
+    private static final long IDLE_EVICTION_MS = 30 * 60_000;
+    private static final int MAX_ROSTER_CHANGES = 256;
+    // Keeps a SCORES_CHANGED event well inside PostgreSQL's 8000-byte NOTIFY payload
+    private static final int MAX_SCORES_PER_EVENT = 150;
+
+    // Roster versions are unique across all sessions and reloads, so a version
+    // from a previous copy of a session can never be mistaken for a current one
+    private static final AtomicLong ROSTER_VERSIONS = new AtomicLong();
+
+    private static final GameSessionEngine INSTANCE = new GameSessionEngine();
+
+    private final Map<Integer, LiveSession> sessions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+
+    private GameSessionEngine() {
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "session-write-behind");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flushSafely, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        flusher.scheduleWithFixedDelay(this::evictIdleSessions, 60, 60, TimeUnit.SECONDS);
+
+        SessionEventBus.getDefault().subscribeAll(this::applyEvent);
+        CloudDatabaseConnection.addShutdownTask(this::shutdown);
+        MetricsRegistry.getInstance().gauge("sessions.active", sessions::size);
+    }
+
+    public static GameSessionEngine getInstance() {
+        return INSTANCE;
+    }
+
+    // --- Session lifecycle ---
+
+    /**
+     * Register a session that was just created by this process
+     * (no need to load it from the database).
+     */
+    public void registerSession(int sessionId, int hostId, String status, int questionCount) {
+        LiveSession session = new LiveSession(sessionId);
+        session.hostId = hostId;
+        session.status = status;
+        session.questionCount = questionCount;
+        session.found = true;
+        session.ready.complete(null);
+        sessions.put(sessionId, session);
+    }
+
+    /**
+     * Seed a session from the result of a join (no need to load it from the
+     * database). If the session is already in memory the roster is merged in.
+     *
+     * @param roster Players in the session, playerId -> username, in join order
+     */
+    public void sessionJoined(int sessionId, int hostId, String status, int questionCount,
+            Map<Integer, String> roster) {
+        LiveSession session = sessions.get(sessionId);
+        if (session == null) {
+            LiveSession created = new LiveSession(sessionId);
+            created.hostId = hostId;
+            created.status = status;
+            created.questionCount = questionCount;
+            created.found = true;
+            created.ready.complete(null);
+            session = sessions.putIfAbsent(sessionId, created);
+            if (session == null) {
+                session = created;
+            }
+        }
+        session.ready.join();
+        if (!session.found) {
+            // A concurrent load failed and has dropped its entry: seed a fresh one
+            sessionJoined(sessionId, hostId, status, questionCount, roster);
+            return;
+        }
+        synchronized (session) {
+            for (Map.Entry<Integer, String> entry : roster.entrySet()) {
+                session.addPlayer(entry.getKey(), entry.getValue());
+            }
+        }
+        session.lastAccess = System.currentTimeMillis();
+    }
+
+    /**
+     * Get a live session, loading it from the database on first use.
+     *
+     * @param sessionId Session ID
+     * @return The session, or null if it does not exist or the database is unavailable
+     */
+    private LiveSession getSession(int sessionId) {
+        LiveSession session = sessions.get(sessionId);
+        if (session == null) {
+            LiveSession created = new LiveSession(sessionId);
+            session = sessions.putIfAbsent(sessionId, created);
+            if (session == null) {
+                session = created;
+                try {
+                    created.found = load(created, false);
+                } finally {
+                    if (!created.found) {
+                        sessions.remove(sessionId, created); // Before waking waiters, so a retry loads afresh
+                    }
+                    created.ready.complete(null);
+                }
+            }
+        }
+        session.ready.join();
+        if (!session.found) {
+            return null; // Missing, or the load failed for every thread that waited on it
+        }
+        session.lastAccess = System.currentTimeMillis();
+        return session;
+    }
+
+    // --- Writes ---
+
+    public void playerJoined(int sessionId, int playerId, String username) {
+        LiveSession session = getSession(sessionId);
+        if (session != null) {
+            synchronized (session) {
+                session.addPlayer(playerId, username);
+            }
+        }
+    }
+
+    public void playerLeft(int sessionId, int playerId) {
+        LiveSession session = getSession(sessionId);
+        if (session != null) {
+            synchronized (session) {
+                session.removePlayer(playerId);
+            }
+        }
+    }
+
+    public void setStatus(int sessionId, String status) {
+        LiveSession session = getSession(sessionId);
+        if (session != null) {
+            session.status = status;
+        }
+    }
+
+    /**
+     * Keep a started game's question schedule (it never changes afterwards).
+     */
+    public void setSchedule(int sessionId, QuestionSchedule schedule) {
+        LiveSession session = getSession(sessionId);
+        if (session != null) {
+            session.schedule = schedule;
+        }
+    }
+
+    /**
+     * Score one answer of a scheduled game and add it to the player's session
+     * score (persisted on the next flush). Each question counts once per
+     * player: a repeated or out-of-order answer is rejected. Questions skipped
+     * since the player's previous answer (or since the first question, for a
+     * first answer) count as not answered.
+     *
+     * @param selectedOption  The option chosen, or null if the time ran out
+     * @param timeTakenMillis Answer time from the question opening, already checked by the caller
+     * @return The outcome, or null if the answer was rejected
+     */
+    public AnswerResult answer(int sessionId, int playerId, QuestionSchedule schedule, int questionIndex,
+            Character selectedOption, int timeTakenMillis, ScoringStrategy scoring) {
+        LiveSession session = getSession(sessionId);
+        if (session == null) {
+            return null;
+        }
+        Question question = schedule.getQuestions().get(questionIndex);
+        boolean answered = selectedOption != null;
+        boolean correct = answered && question.isCorrect(selectedOption);
+        synchronized (session) {
+            LivePlayer player = session.players.get(playerId);
+            if (player == null || player.finished || questionIndex <= player.lastQuestion) {
+                return null;
+            }
+            player.skip(schedule, questionIndex, scoring);
+            int points = player.score(schedule, questionIndex, answered, correct, timeTakenMillis, scoring);
+            player.lastAnswerTime = schedule.getQuestionStart(questionIndex) + timeTakenMillis;
+            player.dirty = true;
+            player.scoreUnpublished = true;
+            session.dirty = true;
+            session.rank(player);
+            return new AnswerResult(correct, question.getCorrectOption(), points, player.score);
+        }
+    }
+
+    /**
+     * Mark a player finished (persisted on the next flush). Questions left
+     * unanswered after the player's last answer count as not answered (all of
+     * them if the player never answered).
+     *
+     * @return The player's game: session score in currentScore, and this
+     *         game's correct / wrong / unanswered counts; null if the player
+     *         is not in the session or had already finished
+     */
+    public Player markFinished(int sessionId, int playerId, ScoringStrategy scoring) {
+        LiveSession session = getSession(sessionId);
+        if (session == null) {
+            return null;
+        }
+        synchronized (session) {
+            LivePlayer player = session.players.get(playerId);
+            if (player == null || player.finished) {
+                return null;
+            }
+            QuestionSchedule schedule = session.schedule;
+            if (schedule != null) {
+                player.skip(schedule, schedule.getQuestions().size(), scoring);
+                session.rank(player);
+            }
+            player.finished = true;
+            player.dirty = true;
+            session.dirty = true;
+
+            Player game = new Player(player.playerId, player.username, player.score, 1, player.correctAnswers,
+                    player.wrongAnswers, player.noAnswers);
+            game.setCurrentScore(player.score);
+            return game;
+        }
+    }
+
+    // --- Reads ---
+
+    public List<String> getUsernames(int sessionId) {
+        List<String> usernames = new ArrayList<>();
+        LiveSession session = getSession(sessionId);
+        if (session != null) {
+            synchronized (session) {
+                for (LivePlayer player : session.players.values()) {
+                    usernames.add(player.username);
+                }
+            }
+        }
+        return usernames;
+    }
+
+    /**
+     * Get the changes to the player list since a version the caller already has.
+     *
+     * @param sinceVersion Version from the previous delta, or 0 the first time
+     * @return Players added / removed since then (a full snapshot if that
+     *         version is no longer known), and the version to ask from next time
+     */
+    public RosterDelta getRosterSince(int sessionId, long sinceVersion) {
+        LiveSession session = getSession(sessionId);
+        if (session == null) {
+            return RosterDelta.unchanged(sinceVersion);
+        }
+        synchronized (session) {
+            if (sinceVersion == session.rosterVersion) {
+                return RosterDelta.unchanged(sinceVersion);
+            }
+
+            if (sinceVersion < session.rosterBaseVersion || sinceVersion > session.rosterVersion) {
+                List<String> everyone = new ArrayList<>(session.players.size());
+                for (LivePlayer player : session.players.values()) {
+                    everyone.add(player.username);
+                }
+                return new RosterDelta(session.rosterVersion, true, everyone, new ArrayList<>());
+            }
+
+            // Net effect per username: a join and a leave inside the window cancel out
+            Map<String, Boolean> net = new LinkedHashMap<>();
+            for (RosterChange change : session.rosterChanges) {
+                if (change.version <= sinceVersion) {
+                    continue;
+                }
+                Boolean previous = net.get(change.username);
+                if (previous != null && previous != change.added) {
+                    net.remove(change.username);
+                } else {
+                    net.put(change.username, change.added);
+                }
+            }
+            List<String> added = new ArrayList<>();
+            List<String> removed = new ArrayList<>();
+            for (Map.Entry<String, Boolean> entry : net.entrySet()) {
+                (entry.getValue() ? added : removed).add(entry.getKey());
+            }
+            return new RosterDelta(session.rosterVersion, false, added, removed);
+        }
+    }
+
+    /**
+     * @return playerId -> username of everyone in the session, in join order
+     */
+    public Map<Integer, String> getRoster(int sessionId) {
+        Map<Integer, String> roster = new LinkedHashMap<>();
+        LiveSession session = getSession(sessionId);
+        if (session != null) {
+            synchronized (session) {
+                for (LivePlayer player : session.players.values()) {
+                    roster.put(player.playerId, player.username);
+                }
+            }
+        }
+        return roster;
+    }
+
+    /**
+     * Get the session leaderboard, best score first.
+     */
+    public List<Player> getLeaderboard(int sessionId) {
+        LiveSession session = getSession(sessionId);
+        if (session == null) {
+            return new ArrayList<>();
+        }
+        synchronized (session) {
+            return session.ranking.getAll();
+        }
+    }
+
+    /**
+     * @return The best {@code limit} players of the session, with their rank set
+     */
+    public List<Player> getTopPlayers(int sessionId, int limit) {
+        LiveSession session = getSession(sessionId);
+        if (session == null) {
+            return new ArrayList<>();
+        }
+        synchronized (session) {
+            return session.ranking.getTop(limit);
+        }
+    }
+
+    /**
+     * @return The player's current position in the session (1 = leading), or -1 if not in it
+     */
+    public int getRank(int sessionId, int playerId) {
+        LiveSession session = getSession(sessionId);
+        if (session == null) {
+            return -1;
+        }
+        synchronized (session) {
+            return session.ranking.getRank(playerId);
+        }
+    }
+
+    /**
+     * @return The session status, or null if the session is unknown
+     */
+    public String getStatus(int sessionId) {
+        LiveSession session = getSession(sessionId);
+        return session != null ? session.status : null;
+    }
+
+    /**
+     * @return The question schedule if this process has seen it, otherwise null
+     */
+    public QuestionSchedule getSchedule(int sessionId) {
+        LiveSession session = getSession(sessionId);
+        return session != null ? session.schedule : null;
+    }
+
+    /**
+     * @return The configured question count, or -1 if the session is unknown
+     */
+    public int getQuestionCount(int sessionId) {
+        LiveSession session = getSession(sessionId);
+        return session != null ? session.questionCount : -1;
+    }
+
+    /**
+     * @return The host's player ID, or -1 if the session is unknown
+     */
+    public int getHostId(int sessionId) {
+        LiveSession session = getSession(sessionId);
+        return session != null ? session.hostId : -1;
+    }
+
+    /**
+     * @return The ID of the player with this username in the session, or -1 if not in it
+     */
+    public int getPlayerId(int sessionId, String username) {
+        LiveSession session = getSession(sessionId);
+        if (session == null) {
+            return -1;
+        }
+        synchronized (session) {
+            for (LivePlayer player : session.players.values()) {
+                if (username.equals(player.username)) {
+                    return player.playerId;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return Number of sessions currently held in memory
+     */
+    public int getActiveSessionCount() {
+        return sessions.size();
+    }
+
+    // --- Events from other nodes ---
+
+    private void applyEvent(SessionEvent event) {
+        if (event.getType() == SessionEvent.Type.RESYNC) {
+            if (event.getSessionId() == -1) {
+                // On the event thread, so it's done before the screens get their own RESYNC
+                reloadSessions();
+            }
+            return;
+        }
+        LiveSession session = sessions.get(event.getSessionId());
+        if (session == null) {
+            return; // Not loaded here; it will be read from the database if needed
+        }
+        synchronized (session) {
+            switch (event.getType()) {
+                case PLAYER_JOINED -> session.addPlayer(event.getPlayerId(), event.getDetail());
+                case PLAYER_LEFT -> session.removePlayer(event.getPlayerId());
+                case STATUS_CHANGED -> session.status = event.getDetail();
+                case PLAYER_FINISHED -> {
+                    LivePlayer player = session.players.get(event.getPlayerId());
+                    if (player != null && !player.dirty) {
+                        player.finished = true;
+                        if (event.getDetail() != null) {
+                            player.score = Integer.parseInt(event.getDetail());
+                            session.rank(player);
+                        }
+                    }
+                }
+                case SCORES_CHANGED -> applyScores(session, event);
+                default -> {
+                    // QUESTIONS_CHANGED is not about a session
+                }
+            }
+        }
+    }
+
+    /**
+     * A batch of score updates from another machine's flush (or our own,
+     * echoed back). Stale entries (an older answer than the one we have) and
+     * players with unflushed local changes are left alone.
+     */
+    private static void applyScores(LiveSession session, SessionEvent event) {
+        String detail = event.getDetail();
+        if (detail == null) {
+            return;
+        }
+        try {
+            for (String entry : detail.split(",")) {
+                String[] fields = entry.split(":");
+                if (fields.length != 3) {
+                    LOG.warn("⚠️ Malformed score event: {}", event);
+                    return;
+                }
+                LivePlayer player = session.players.get(Integer.parseInt(fields[0]));
+                if (player == null || player.dirty) {
+                    continue;
+                }
+                int score = Integer.parseInt(fields[1]);
+                long answerTime = Long.parseLong(fields[2]);
+                if (answerTime >= player.lastAnswerTime) {
+                    player.score = score;
+                    player.lastAnswerTime = answerTime;
+                    session.rank(player);
+                }
+            }
+        } catch (NumberFormatException e) {
+            LOG.warn("⚠️ Malformed score event: {}", event);
+        }
+    }
+
+    /**
+     * Re-read every session held here from the database, after the event bus
+     * may have lost events. Players with unflushed changes keep their score.
+     */
+    private void reloadSessions() {
+        for (LiveSession session : sessions.values()) {
+            if (session.ready.isDone() && session.found) {
+                load(session, true);
+            }
+        }
+        LOG.info("🔄 Resynced {} sessions from the database", sessions.size());
+    }
+
+    // --- Persistence ---
+
+    /**
+     * @param refresh false on first load: merge with the events applied while
+     *                loading; true to make the session match the database
+     *                (status and roster)
+     * @return true if the session exists
+     */
+    private boolean load(LiveSession session, boolean refresh) {
+        String sessionSql = "SELECT host_id, status, question_count FROM game_sessions WHERE id = ?";
+        String playersSql = "SELECT p.id, p.username, sp.score, sp.is_finished " +
+                "FROM session_players sp " +
+                "JOIN players p ON sp.player_id = p.id " +
+                "WHERE sp.session_id = ? " +
+                "ORDER BY sp.joined_at";
+
+        Connection conn = CloudDatabaseConnection.getConnection();
+        if (conn == null)
+            return false;
+
+        try {
+            try (PreparedStatement stmt = conn.prepareStatement(sessionSql)) {
+                stmt.setInt(1, session.id);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (!rs.next()) {
+                        return false;
+                    }
+                    synchronized (session) {
+                        session.hostId = rs.getInt("host_id");
+                        if (refresh || session.status == null) {
+                            session.status = rs.getString("status");
+                        }
+                        session.questionCount = rs.getInt("question_count");
+                    }
+                }
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(playersSql)) {
+                stmt.setInt(1, session.id);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    synchronized (session) {
+                        // Events may already have been applied while we were loading:
+                        // merge instead of overwriting.
+                        Set<Integer> inDatabase = new HashSet<>();
+                        while (rs.next()) {
+                            inDatabase.add(rs.getInt("id"));
+                            LivePlayer player = session.players.computeIfAbsent(rs.getInt("id"),
+                                    id -> new LivePlayer(id, null));
+                            player.username = rs.getString("username");
+                            if (!player.dirty) {
+                                player.score = rs.getInt("score");
+                                player.finished = player.finished || rs.getBoolean("is_finished");
+                            }
+                            session.rank(player);
+                        }
+                        if (refresh) {
+                            for (Integer playerId : new ArrayList<>(session.players.keySet())) {
+                                if (!inDatabase.contains(playerId)) {
+                                    session.removePlayer(playerId); // Left while we were not listening
+                                }
+                            }
+                        }
+                        session.resetRoster();
+                    }
+                }
+            }
+            return true;
+
+        } catch (SQLException e) {
+            LOG.error("Error loading game session {}: {}", session.id, e.getMessage());
+            return false;
+        } finally {
+            CloudDatabaseConnection.closeConnection(conn);
+        }
+    }
+
+    /**
+     * Publish the scores changed since the last flush, then write every dirty
+     * player to session_players in a single batch.
+     */
+    public void flush() {
+        List<LivePlayer> dirtyPlayers = new ArrayList<>();
+        List<Integer> dirtySessionIds = new ArrayList<>();
+        Map<LivePlayer, int[]> snapshot = new HashMap<>();
+        List<SessionEvent> scoreEvents = new ArrayList<>();
+
+        for (LiveSession session : sessions.values()) {
+            synchronized (session) {
+                if (!session.dirty) {
+                    continue;
+                }
+                StringBuilder scores = new StringBuilder();
+                int scoreCount = 0;
+                for (LivePlayer player : session.players.values()) {
+                    if (player.dirty) {
+                        dirtyPlayers.add(player);
+                        dirtySessionIds.add(session.id);
+                        snapshot.put(player, new int[] { player.score, player.finished ? 1 : 0 });
+                        player.dirty = false;
+                    }
+                    if (player.scoreUnpublished) {
+                        if (scoreCount == MAX_SCORES_PER_EVENT) {
+                            scoreEvents.add(SessionEvent.scoresChanged(session.id, scores.toString()));
+                            scores.setLength(0);
+                            scoreCount = 0;
+                        }
+                        if (scoreCount > 0) {
+                            scores.append(',');
+                        }
+                        scores.append(player.playerId).append(':').append(player.score)
+                                .append(':').append(player.lastAnswerTime);
+                        scoreCount++;
+                        player.scoreUnpublished = false;
+                    }
+                }
+                if (scoreCount > 0) {
+                    scoreEvents.add(SessionEvent.scoresChanged(session.id, scores.toString()));
+                }
+                session.dirty = false;
+            }
+        }
+
+        // Other machines keep their live ranking current without a query
+        SessionEventBus eventBus = SessionEventBus.getDefault();
+        for (SessionEvent event : scoreEvents) {
+            eventBus.publish(event);
+        }
+
+        if (dirtyPlayers.isEmpty()) {
+            return;
+        }
+
+        // is_finished never goes back: GameSessionService sets it directly, and this
+        // batch may hold a snapshot taken just before
+        String sql = "UPDATE session_players SET score = ?, is_finished = (is_finished OR ?) "
+                + "WHERE session_id = ? AND player_id = ?";
+        Connection conn = CloudDatabaseConnection.getConnection();
+        if (conn == null) {
+            requeue(dirtyPlayers, dirtySessionIds);
+            return;
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            conn.setAutoCommit(false);
+            for (int i = 0; i < dirtyPlayers.size(); i++) {
+                LivePlayer player = dirtyPlayers.get(i);
+                int[] values = snapshot.get(player);
+                stmt.setInt(1, values[0]);
+                stmt.setBoolean(2, values[1] == 1);
+                stmt.setInt(3, dirtySessionIds.get(i));
+                stmt.setInt(4, player.playerId);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            conn.commit();
+
+        } catch (SQLException e) {
+            LOG.error("Error flushing session state: {}", e.getMessage());
+            try {
+                conn.rollback();
+            } catch (SQLException ex) {
+                LOG.error("Error rolling back session flush: {}", ex.getMessage());
+            }
+            requeue(dirtyPlayers, dirtySessionIds);
+        } finally {
+            CloudDatabaseConnection.closeConnection(conn);
+        }
+    }
+
+    /**
+     * Flush what is pending and stop the background writer.
+     */
+    public void shutdown() {
+        flusher.shutdown();
+        flush();
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            LOG.error("Unexpected error in session write-behind: {}", e.getMessage(), e);
+        }
+    }
+
+    private void requeue(List<LivePlayer> players, List<Integer> sessionIds) {
+        for (int i = 0; i < players.size(); i++) {
+            LiveSession session = sessions.get(sessionIds.get(i));
+            if (session != null) {
+                synchronized (session) {
+                    players.get(i).dirty = true;
+                    session.dirty = true;
+                }
+            }
+        }
+    }
+
+    private void evictIdleSessions() {
+        long cutoff = System.currentTimeMillis() - IDLE_EVICTION_MS;
+        sessions.values().removeIf(session -> {
+            synchronized (session) {
+                return !session.dirty && session.lastAccess < cutoff;
+            }
+        });
+    }
+
+    /**
+     * State of one session. Guarded by its own monitor.
+     */
+    private static final class LiveSession {
+        private final int id;
+        private final CompletableFuture<Void> ready = new CompletableFuture<>();
+        private boolean found; // Load result; written before ready completes, read after it
+        private final Map<Integer, LivePlayer> players = new LinkedHashMap<>(); // Join order
+        private final SessionRanking ranking = new SessionRanking();
+        private volatile String status;
+        private volatile int questionCount = 10;
+        private volatile int hostId = -1;
+        private volatile QuestionSchedule schedule;
+        private volatile long lastAccess = System.currentTimeMillis();
+        private boolean dirty;
+
+        // Roster changes after rosterBaseVersion, oldest first
+        private final ArrayDeque<RosterChange> rosterChanges = new ArrayDeque<>();
+        private long rosterBaseVersion;
+        private long rosterVersion;
+
+        private LiveSession(int id) {
+            this.id = id;
+            resetRoster();
+        }
+
+        private void addPlayer(int playerId, String username) {
+            if (!players.containsKey(playerId)) {
+                LivePlayer player = new LivePlayer(playerId, username);
+                players.put(playerId, player);
+                rank(player);
+                logRosterChange(username, true);
+            }
+        }
+
+        /**
+         * Move a player to their place in the ranking after a score change.
+         */
+        private void rank(LivePlayer player) {
+            ranking.put(player.playerId, player.username, player.score, player.lastAnswerTime);
+        }
+
+        private void removePlayer(int playerId) {
+            LivePlayer player = players.remove(playerId);
+            if (player != null) {
+                ranking.remove(playerId);
+                logRosterChange(player.username, false);
+            }
+        }
+
+        private void logRosterChange(String username, boolean added) {
+            rosterVersion = ROSTER_VERSIONS.incrementAndGet();
+            rosterChanges.addLast(new RosterChange(rosterVersion, username, added));
+            if (rosterChanges.size() > MAX_ROSTER_CHANGES) {
+                rosterBaseVersion = rosterChanges.removeFirst().version;
+            }
+        }
+
+        /**
+         * Start a new version history (after loading the roster from the
+         * database): readers of the old one get a full snapshot.
+         */
+        private void resetRoster() {
+            rosterChanges.clear();
+            rosterVersion = ROSTER_VERSIONS.incrementAndGet();
+            rosterBaseVersion = rosterVersion;
+        }
+    }
+
+    private static final class RosterChange {
+        private final long version;
+        private final String username;
+        private final boolean added;
+
+        private RosterChange(long version, String username, boolean added) {
+            this.version = version;
+            this.username = username;
+            this.added = added;
+        }
+    }
+
+    /**
+     * State of one player inside a session.
+     */
+    private static final class LivePlayer {
+        private final int playerId;
+        private String username;
+        private int score;
+        private long lastAnswerTime;
+        private boolean finished;
+        private boolean dirty;
+        private boolean scoreUnpublished; // Changed here since the last SCORES_CHANGED
+
+        // Answers scored by this process (see answer()); -1 until the first one,
+        // so questions skipped before it are charged from index 0
+        private int lastQuestion = -1;
+        private int streak;
+        private int correctAnswers;
+        private int wrongAnswers;
+        private int noAnswers;
+
+        private LivePlayer(int playerId, String username) {
+            this.playerId = playerId;
+            this.username = username;
+        }
+
+        /**
+         * Add one answer to the score and counts.
+         *
+         * @return Points earned
+         */
+        private int score(QuestionSchedule schedule, int questionIndex, boolean answered, boolean correct,
+                int timeTakenMillis, ScoringStrategy scoring) {
+            long limitNanos = schedule.getQuestionMillis() * 1_000_000;
+            int points = scoring.score(schedule.getQuestions().get(questionIndex), answered, correct,
+                    timeTakenMillis * 1_000_000L, limitNanos, streak);
+            if (!answered) {
+                noAnswers++;
+            } else if (correct) {
+                correctAnswers++;
+            } else {
+                wrongAnswers++;
+            }
+            streak = correct ? streak + 1 : 0;
+            score += points;
+            lastQuestion = questionIndex;
+            scoreUnpublished = true;
+            return points;
+        }
+
+        /**
+         * Count the questions between the last answer and {@code nextIndex} as not answered.
+         */
+        private void skip(QuestionSchedule schedule, int nextIndex, ScoringStrategy scoring) {
+            for (int i = lastQuestion + 1; i < nextIndex; i++) {
+                score(schedule, i, false, false, (int) schedule.getQuestionMillis(), scoring);
+                lastAnswerTime = schedule.getDeadline(i);
+            }
+        }
+    }
+}
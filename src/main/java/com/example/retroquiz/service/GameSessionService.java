@@ -1,30 +1,56 @@
 package com.example.retroquiz.service;
 
+import com.example.retroquiz.dao.PlayerDAO;
+import com.example.retroquiz.model.AnswerResult;
+import com.example.retroquiz.model.Question;
+import com.example.retroquiz.model.QuestionSchedule;
+import com.example.retroquiz.model.RosterDelta;
+import com.example.retroquiz.model.SessionEvent;
+import com.example.retroquiz.model.SessionJoin;
 import com.example.retroquiz.repository.CloudDatabaseConnection;
+import com.example.retroquiz.repository.DatabaseConfig;
+import com.example.retroquiz.util.AppExecutor;
+import com.example.retroquiz.util.Logger;
+import com.example.retroquiz.util.MetricsRegistry;
 
 import java.sql.*;
-import java.util.Random;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Service for managing game sessions (creating and joining).
  */
 public class GameSessionService {
 
-    /**
-     * Generate a unique 6-character session code.
-     * Format: Letters and numbers (e.g., "A3B7C9")
-     */
-    public String generateSessionCode() {
-        String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-        Random random = new Random();
-        StringBuilder code = new StringBuilder();
-
-        for (int i = 0; i < 6; i++) {
-            code.append(chars.charAt(random.nextInt(chars.length())));
-        }
-
-        return code.toString();
-    }
+    private static final Logger LOG = Logger.get(GameSessionService.class);
+
+    private final SessionEventBus eventBus = SessionEventBus.getDefault();
+    private final GameSessionEngine engine = GameSessionEngine.getInstance();
+    private final SessionCodeAllocator codeAllocator = SessionCodeAllocator.getInstance();
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private final PlayerDAO playerDAO = new PlayerDAO();
+    private final QuizService quizService = new QuizService();
+    private final ScoringStrategy scoring = ScoringStrategy.getDefault();
+
+    // SQLState of a unique constraint violation (PostgreSQL and H2)
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final int DUPLICATE_CODE = -2;
+
+    // Question schedule: time to get every player's quiz screen up before the
+    // first question, and how long each answer is shown before the next one
+    private static final long START_DELAY_MS = 3000;
+    private static final long REVEAL_MS = 2000;
+    // Database clock in epoch ms (PostgreSQL and H2)
+    private static final String NOW_MILLIS_SQL = "CAST(EXTRACT(EPOCH FROM CURRENT_TIMESTAMP) * 1000 AS BIGINT)";
+
+    // Answers are checked against the schedule on this process's view of the
+    // database clock, allowing ANSWER_GRACE_MS for the trip from the player
+    private static final long ANSWER_GRACE_MS = 1000;
+    private static final long CLOCK_RESYNC_MS = 10 * 60_000;
+    private static final ServerClock CLOCK = new ServerClock(GameSessionService::readDatabaseClock);
+    private static final AtomicBoolean CLOCK_SYNCING = new AtomicBoolean();
 
     /**
      * Create a new game session with a unique code.
@@ -35,118 +61,241 @@ public class GameSessionService {
      * @return The generated session code, or null if creation failed
      */
     public String createGameSession(String hostUsername, int questionCount, int timerDuration) {
-        // Ensure Schema is up to date
-        ensureSchema();
+        try (MetricsRegistry.Timer.Timing ignored = metrics.time("session.createGameSession")) {
+            // First, get or create player for the host
+            PlayerService playerService = new PlayerService();
+            com.example.retroquiz.model.Player hostPlayer = playerService.getPlayerByUsername(hostUsername);
 
-        // First, get or create player for the host
-        PlayerService playerService = new PlayerService();
-        com.example.retroquiz.model.Player hostPlayer = playerService.getPlayerByUsername(hostUsername);
-
-        int hostId;
-        if (hostPlayer == null) {
-            // Create new player if doesn't exist
-            hostPlayer = playerService.createPlayer(hostUsername);
+            int hostId;
             if (hostPlayer == null) {
-                System.err.println("Failed to create host player");
+                // Create new player if doesn't exist
+                hostPlayer = playerService.createPlayer(hostUsername);
+                if (hostPlayer == null) {
+                    LOG.error("Failed to create host player");
+                    return null;
+                }
+            }
+            hostId = hostPlayer.getId();
+
+            // Codes from the allocator are unique among live sessions; a clash is only
+            // possible with a code issued by the old random generator, so try another
+            String sessionCode = null;
+            int sessionId = DUPLICATE_CODE;
+            final int MAX_ATTEMPTS = 3;
+            for (int attempt = 0; attempt < MAX_ATTEMPTS && sessionId == DUPLICATE_CODE; attempt++) {
+                sessionCode = codeAllocator.allocate();
+                if (sessionCode == null) {
+                    LOG.error("Failed to allocate a session code");
+                    return null;
+                }
+                sessionId = insertSession(sessionCode, hostId, questionCount, timerDuration);
+            }
+
+            if (sessionId < 0) {
                 return null;
             }
-        }
-        hostId = hostPlayer.getId();
 
-        // Generate unique session code
-        String sessionCode = generateSessionCode();
-        int attempts = 0;
-        final int MAX_ATTEMPTS = 10;
+            LOG.info("✅ Game session created: Code={}, ID={}", sessionCode, sessionId);
+            engine.registerSession(sessionId, hostId, "WAITING", questionCount);
 
-        // Ensure code is unique
-        while (sessionCodeExists(sessionCode) && attempts < MAX_ATTEMPTS) {
-            sessionCode = generateSessionCode();
-            attempts++;
-        }
+            // Add host to session_players
+            if (addPlayerToSession(sessionId, hostId)) {
+                engine.playerJoined(sessionId, hostId, hostUsername);
+                eventBus.publish(SessionEvent.playerJoined(sessionId, hostId, hostUsername));
+            }
 
-        if (attempts >= MAX_ATTEMPTS) {
-            System.err.println("Failed to generate unique session code");
-            return null;
+            return sessionCode;
         }
+    }
 
-        // Create session in database
+    /**
+     * Insert the game_sessions row.
+     *
+     * @return Session ID, DUPLICATE_CODE if the code is taken, or -1 if the insert failed
+     */
+    private int insertSession(String sessionCode, int hostId, int questionCount, int timerDuration) {
         String sql = "INSERT INTO game_sessions (session_code, host_id, status, question_count, timer_duration, created_at) "
                 +
-                "VALUES (?, ?, 'WAITING', ?, ?, CURRENT_TIMESTAMP) RETURNING id";
+                "VALUES (?, ?, 'WAITING', ?, ?, CURRENT_TIMESTAMP)";
 
         Connection conn = CloudDatabaseConnection.getConnection();
         if (conn == null) {
-            return null;
+            return -1;
         }
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(sql, new String[] { "id" })) {
             stmt.setString(1, sessionCode);
             stmt.setInt(2, hostId);
             stmt.setInt(3, questionCount);
             stmt.setInt(4, timerDuration);
+            stmt.executeUpdate();
 
-            try (ResultSet rs = stmt.executeQuery()) {
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
                 if (rs.next()) {
-                    int sessionId = rs.getInt(1);
-                    System.out.println("✅ Game session created: Code=" + sessionCode + ", ID=" + sessionId);
-
-                    // Add host to session_players
-                    addPlayerToSession(sessionId, hostId);
-
-                    return sessionCode;
+                    return rs.getInt(1);
                 }
             }
 
         } catch (SQLException e) {
-            System.err.println("Error creating game session: " + e.getMessage());
-            e.printStackTrace();
+            if (UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                LOG.warn("Session code {} already in use, allocating another", sessionCode);
+                return DUPLICATE_CODE;
+            }
+            LOG.error("Error creating game session: {}", e.getMessage(), e);
         } finally {
+            // Released before addPlayerToSession borrows its own connection
             CloudDatabaseConnection.closeConnection(conn);
         }
 
-        return null;
+        return -1;
     }
 
     /**
-     * Check if a session code already exists.
+     * Join an existing game session using a session code.
+     * 
+     * @param sessionCode The session code to join
+     * @param username    Username of the player joining
+     * @return Session ID if successful, -1 if failed
+     */
+    public int joinGameSession(String sessionCode, String username) {
+        try (MetricsRegistry.Timer.Timing ignored = metrics.time("session.joinGameSession")) {
+            SessionJoin join = joinSession(sessionCode, username);
+            return join != null ? join.getSessionId() : -1;
+        }
+    }
+
+    /**
+     * Join an existing game session and get the lobby roster.
+     * 
+     * On PostgreSQL the whole join (resolve or create the player, check the
+     * session is WAITING, add to session_players, read the roster) is a single
+     * statement, so a join storm at game start costs one round-trip per player.
+     * Other databases take the step-by-step path.
+     * 
+     * @param sessionCode The session code to join
+     * @param username    Username of the player joining
+     * @return The join (session ID, player ID, roster), or null if it failed
      */
-    private boolean sessionCodeExists(String code) {
-        String sql = "SELECT COUNT(*) as count FROM game_sessions WHERE session_code = ?";
+    public SessionJoin joinSession(String sessionCode, String username) {
+        try (MetricsRegistry.Timer.Timing ignored = metrics.time("session.joinSession")) {
+            if (sessionCode == null || sessionCode.trim().isEmpty()) {
+                return null;
+            }
+            String code = sessionCode.toUpperCase().trim();
+
+            if (DatabaseConfig.get().isPostgres()) {
+                return joinInOneStatement(code, username);
+            }
+            return joinStepByStep(code, username);
+        }
+    }
+
+    private SessionJoin joinInOneStatement(String sessionCode, String username) {
+        // Every CTE sees the same snapshot: "p" finds the player either in
+        // new_player (just created) or in players (already existed), never both.
+        // The roster is read before our own insert, so that row is added from "joined".
+        String sql = "WITH s AS (" +
+                "  SELECT id, status, host_id, question_count FROM game_sessions WHERE session_code = ?" +
+                "), new_player AS (" +
+                "  INSERT INTO players (username, total_points, games_played, is_guest) " +
+                "  SELECT ?, 0, 0, FALSE " +
+                "  WHERE EXISTS (SELECT 1 FROM s WHERE status = 'WAITING') " +
+                "  AND NOT EXISTS (SELECT 1 FROM players WHERE username = ?) " +
+                "  ON CONFLICT DO NOTHING " +
+                "  RETURNING id, username" +
+                "), p AS (" +
+                "  SELECT id, username, TRUE AS created FROM new_player " +
+                "  UNION ALL " +
+                "  SELECT id, username, FALSE AS created FROM players WHERE username = ?" +
+                "), joined AS (" +
+                "  INSERT INTO session_players (session_id, player_id, score, joined_at) " +
+                "  SELECT s.id, p.id, 0, CURRENT_TIMESTAMP FROM s CROSS JOIN p WHERE s.status = 'WAITING' " +
+                "  ON CONFLICT DO NOTHING " +
+                "  RETURNING id, player_id" +
+                "), roster AS (" +
+                "  SELECT sp.id AS ord, sp.player_id, pl.username FROM session_players sp " +
+                "  JOIN players pl ON pl.id = sp.player_id " +
+                "  WHERE sp.session_id = (SELECT id FROM s) " +
+                "  UNION ALL " +
+                "  SELECT joined.id, p.id, p.username FROM joined JOIN p ON p.id = joined.player_id" +
+                ") " +
+                "SELECT s.id AS session_id, s.status, s.host_id, s.question_count, " +
+                "p.id AS player_id, p.created, roster.player_id AS member_id, roster.username AS member_name " +
+                "FROM s LEFT JOIN p ON TRUE LEFT JOIN roster ON TRUE " +
+                "ORDER BY roster.ord";
+
         Connection conn = CloudDatabaseConnection.getConnection();
         if (conn == null) {
-            return false;
+            return null;
         }
 
+        int sessionId = -1;
+        int playerId = -1;
+        int hostId = -1;
+        int questionCount = 10;
+        String status = null;
+        boolean created = false;
+        Map<Integer, String> roster = new LinkedHashMap<>();
+
         try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, code);
+            stmt.setString(1, sessionCode);
+            stmt.setString(2, username);
+            stmt.setString(3, username);
+            stmt.setString(4, username);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("count") > 0;
+                while (rs.next()) {
+                    sessionId = rs.getInt("session_id");
+                    status = rs.getString("status");
+                    hostId = rs.getInt("host_id");
+                    questionCount = rs.getInt("question_count");
+                    playerId = rs.getInt("player_id");
+                    if (rs.wasNull()) {
+                        playerId = -1;
+                    }
+                    created = rs.getBoolean("created");
+                    int memberId = rs.getInt("member_id");
+                    if (!rs.wasNull()) {
+                        roster.put(memberId, rs.getString("member_name"));
+                    }
                 }
             }
 
         } catch (SQLException e) {
-            System.err.println("Error checking session code: " + e.getMessage());
+            LOG.error("Error joining game session: {}", e.getMessage());
+            return null;
         } finally {
             CloudDatabaseConnection.closeConnection(conn);
         }
 
-        return false;
-    }
+        if (sessionId == -1) {
+            LOG.warn("Session code not found: {}", sessionCode);
+            return null;
+        }
 
-    /**
-     * Join an existing game session using a session code.
-     * 
-     * @param sessionCode The session code to join
-     * @param username    Username of the player joining
-     * @return Session ID if successful, -1 if failed
-     */
-    public int joinGameSession(String sessionCode, String username) {
-        if (sessionCode == null || sessionCode.trim().isEmpty()) {
-            return -1;
+        // Check if session is joinable
+        if (!"WAITING".equals(status)) {
+            LOG.warn("Session is not in WAITING status: {}", status);
+            return null;
+        }
+
+        if (playerId == -1 || !roster.containsKey(playerId)) {
+            // Someone created the same username concurrently; the slow path sees the committed row
+            return joinStepByStep(sessionCode, username);
+        }
+
+        if (created) {
+            LOG.debug("Created new player: {} (ID: {}, Guest: false)", username, playerId);
+            PlayerDAO.indexCreatedPlayer(new com.example.retroquiz.model.Player(playerId, username));
         }
 
+        LOG.debug("✅ Player '{}' joined session: {}", username, sessionCode);
+        engine.sessionJoined(sessionId, hostId, status, questionCount, roster);
+        eventBus.publish(SessionEvent.playerJoined(sessionId, playerId, username));
+        return new SessionJoin(sessionId, playerId, roster);
+    }
+
+    private SessionJoin joinStepByStep(String sessionCode, String username) {
         // Get or create player
         PlayerService playerService = new PlayerService();
         com.example.retroquiz.model.Player player = playerService.getPlayerByUsername(username);
@@ -155,8 +304,8 @@ public class GameSessionService {
         if (player == null) {
             player = playerService.createPlayer(username);
             if (player == null) {
-                System.err.println("Failed to create/retrieve player");
-                return -1;
+                LOG.error("Failed to create/retrieve player");
+                return null;
             }
         }
         playerId = player.getId();
@@ -165,45 +314,50 @@ public class GameSessionService {
         String sql = "SELECT id, status FROM game_sessions WHERE session_code = ?";
         Connection conn = CloudDatabaseConnection.getConnection();
         if (conn == null) {
-            return -1;
+            return null;
         }
 
+        int sessionId = -1;
+        String status = null;
         try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, sessionCode.toUpperCase().trim());
+            stmt.setString(1, sessionCode);
 
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    int sessionId = rs.getInt("id");
-                    String status = rs.getString("status");
-
-                    // Check if session is joinable
-                    if (!"WAITING".equals(status)) {
-                        System.err.println("Session is not in WAITING status: " + status);
-                        return -1;
-                    }
-
-                    // Add player to session
-                    if (addPlayerToSession(sessionId, playerId)) {
-                        System.out.println("✅ Player '" + username + "' joined session: " + sessionCode);
-                        return sessionId;
-                    } else {
-                        System.err.println("Failed to add player to session");
-                        return -1;
-                    }
-                } else {
-                    System.err.println("Session code not found: " + sessionCode);
-                    return -1;
+                    sessionId = rs.getInt("id");
+                    status = rs.getString("status");
                 }
             }
 
         } catch (SQLException e) {
-            System.err.println("Error joining game session: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error joining game session: {}", e.getMessage(), e);
+            return null;
         } finally {
+            // Released before addPlayerToSession borrows its own connection
             CloudDatabaseConnection.closeConnection(conn);
         }
 
-        return -1;
+        if (sessionId == -1) {
+            LOG.warn("Session code not found: {}", sessionCode);
+            return null;
+        }
+
+        // Check if session is joinable
+        if (!"WAITING".equals(status)) {
+            LOG.warn("Session is not in WAITING status: {}", status);
+            return null;
+        }
+
+        // Add player to session
+        if (addPlayerToSession(sessionId, playerId)) {
+            LOG.debug("✅ Player '{}' joined session: {}", username, sessionCode);
+            engine.playerJoined(sessionId, playerId, username);
+            eventBus.publish(SessionEvent.playerJoined(sessionId, playerId, username));
+            return new SessionJoin(sessionId, playerId, engine.getRoster(sessionId));
+        }
+
+        LOG.error("Failed to add player to session");
+        return null;
     }
 
     /**
@@ -229,7 +383,7 @@ public class GameSessionService {
                 try (ResultSet rs = checkStmt.executeQuery()) {
                     if (rs.next() && rs.getInt("count") > 0) {
                         // Player already in session
-                        System.out.println("Player already in session");
+                        LOG.debug("Player already in session");
                         return true;
                     }
                 }
@@ -238,7 +392,7 @@ public class GameSessionService {
             // Add player to session (UNIQUE constraint prevents duplicates)
             String insertSql = "INSERT INTO session_players (session_id, player_id, score, joined_at) " +
                     "VALUES (?, ?, 0, CURRENT_TIMESTAMP) " +
-                    "ON CONFLICT (session_id, player_id) DO NOTHING";
+                    "ON CONFLICT DO NOTHING";
 
             try (PreparedStatement insertStmt = conn.prepareStatement(insertSql)) {
                 insertStmt.setInt(1, sessionId);
@@ -251,7 +405,7 @@ public class GameSessionService {
             }
 
         } catch (SQLException e) {
-            System.err.println("Error adding player to session: " + e.getMessage());
+            LOG.error("Error adding player to session: {}", e.getMessage());
             return false;
         } finally {
             CloudDatabaseConnection.closeConnection(conn);
@@ -260,282 +414,632 @@ public class GameSessionService {
 
     /**
      * Get session ID from session code.
+     *
+     * Always read from the database: codes are recycled once a session is
+     * FINISHED, so a code remembered here could point at an old session.
      * 
      * @param sessionCode Session code
      * @return Session ID, or -1 if not found
      */
     public int getSessionId(String sessionCode) {
-        String sql = "SELECT id FROM game_sessions WHERE session_code = ?";
-        Connection conn = CloudDatabaseConnection.getConnection();
-        if (conn == null) {
-            return -1;
-        }
+        try (MetricsRegistry.Timer.Timing ignored = metrics.time("session.getSessionId")) {
+            String code = sessionCode.toUpperCase().trim();
+            String sql = "SELECT id FROM game_sessions WHERE session_code = ?";
+            Connection conn = CloudDatabaseConnection.getConnection();
+            if (conn == null) {
+                return -1;
+            }
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, sessionCode.toUpperCase().trim());
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, code);
 
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("id");
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        return rs.getInt("id");
+                    }
                 }
+
+            } catch (SQLException e) {
+                LOG.error("Error getting session ID: {}", e.getMessage());
+            } finally {
+                CloudDatabaseConnection.closeConnection(conn);
             }
 
-        } catch (SQLException e) {
-            System.err.println("Error getting session ID: " + e.getMessage());
-        } finally {
-            CloudDatabaseConnection.closeConnection(conn);
+            return -1;
         }
-
-        return -1;
     }
 
     /**
-     * Get list of usernames in a session.
+     * Get list of usernames in a session (served from the in-memory session state).
      */
     public java.util.List<String> getPlayersInSession(int sessionId) {
-        java.util.List<String> players = new java.util.ArrayList<>();
-        String sql = "SELECT u.username FROM session_players sp " +
-                "JOIN players u ON sp.player_id = u.id " +
-                "WHERE sp.session_id = ?";
+        try (MetricsRegistry.Timer.Timing ignored = metrics.time("session.getPlayersInSession")) {
+            return engine.getUsernames(sessionId);
+        }
+    }
 
-        Connection conn = CloudDatabaseConnection.getConnection();
-        if (conn == null)
-            return players;
+    /**
+     * Get the changes to a session's player list since the last call (served
+     * from the in-memory session state). A lobby that is already up to date
+     * gets an empty delta.
+     * 
+     * @param sessionId Session ID
+     * @param version   Version from the previous delta, or 0 the first time
+     * @return Players added / removed, and the version to pass next time
+     */
+    public RosterDelta getPlayersInSessionSince(int sessionId, long version) {
+        try (MetricsRegistry.Timer.Timing ignored = metrics.time("session.getPlayersInSessionSince")) {
+            return engine.getRosterSince(sessionId, version);
+        }
+    }
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, sessionId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    players.add(rs.getString("username"));
-                }
+    /**
+     * Leave a session from its lobby. Does nothing once the game has started.
+     */
+    public void leaveSession(int sessionId, int playerId) {
+        try (MetricsRegistry.Timer.Timing ignored = metrics.time("session.leaveSession")) {
+            String sql = "DELETE FROM session_players WHERE session_id = ? AND player_id = ? " +
+                    "AND EXISTS (SELECT 1 FROM game_sessions WHERE id = ? AND status = 'WAITING')";
+            String username = engine.getRoster(sessionId).get(playerId);
+
+            Connection conn = CloudDatabaseConnection.getConnection();
+            if (conn == null)
+                return;
+
+            boolean left = false;
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, sessionId);
+                stmt.setInt(2, playerId);
+                stmt.setInt(3, sessionId);
+                left = stmt.executeUpdate() > 0;
+            } catch (SQLException e) {
+                LOG.error("Error leaving session: {}", e.getMessage());
+            } finally {
+                CloudDatabaseConnection.closeConnection(conn);
             }
-        } catch (SQLException e) {
-            System.err.println("Error getting players in session: " + e.getMessage());
-        } finally {
-            CloudDatabaseConnection.closeConnection(conn);
+
+            if (left) {
+                LOG.debug("Player {} left session {}", playerId, sessionId);
+                engine.playerLeft(sessionId, playerId);
+                eventBus.publish(SessionEvent.playerLeft(sessionId, playerId, username));
+            }
+        }
+    }
+
+    /**
+     * Subscribe to the changes of a session (joins, status changes, finished
+     * players). Listeners run on a background thread.
+     * 
+     * @param sessionId Session ID
+     * @param listener  Callback for each event
+     * @return Subscription handle; close it when leaving the screen
+     */
+    public SessionEventBus.Subscription subscribe(int sessionId,
+            java.util.function.Consumer<SessionEvent> listener) {
+        try (MetricsRegistry.Timer.Timing ignored = metrics.time("session.subscribe")) {
+            return eventBus.subscribe(sessionId, listener);
+        }
+    }
+
+    /**
+     * Get a player's ID from their username, if they are in the session
+     * (served from the in-memory session state).
+     * 
+     * @return Player ID, or -1 if the player is not in the session
+     */
+    public int getPlayerIdInSession(int sessionId, String username) {
+        try (MetricsRegistry.Timer.Timing ignored = metrics.time("session.getPlayerIdInSession")) {
+            return engine.getPlayerId(sessionId, username);
         }
-        return players;
     }
 
     /**
      * Get the current status of a session.
      */
     public String getSessionStatus(int sessionId) {
-        String sql = "SELECT status FROM game_sessions WHERE id = ?";
-        Connection conn = CloudDatabaseConnection.getConnection();
-        if (conn == null)
-            return "ERROR";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, sessionId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getString("status");
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Error getting session status: " + e.getMessage());
-        } finally {
-            CloudDatabaseConnection.closeConnection(conn);
+        try (MetricsRegistry.Timer.Timing ignored = metrics.time("session.getSessionStatus")) {
+            String status = engine.getStatus(sessionId);
+            return status != null ? status : "UNKNOWN";
         }
-        return "UNKNOWN";
     }
 
     /**
      * Update the status of a session.
      */
     public void updateSessionStatus(int sessionId, String newStatus) {
-        String sql = "UPDATE game_sessions SET status = ? WHERE id = ?";
-        Connection conn = CloudDatabaseConnection.getConnection();
-        if (conn == null)
-            return;
+        try (MetricsRegistry.Timer.Timing ignored = metrics.time("session.updateSessionStatus")) {
+            if ("FINISHED".equals(newStatus)) {
+                finishSession(sessionId);
+                return;
+            }
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, newStatus);
-            stmt.setInt(2, sessionId);
-            stmt.executeUpdate();
-            System.out.println("Session " + sessionId + " status updated to: " + newStatus);
-        } catch (SQLException e) {
-            System.err.println("Error updating session status: " + e.getMessage());
-        } finally {
-            CloudDatabaseConnection.closeConnection(conn);
+            String sql = "UPDATE game_sessions SET status = ? WHERE id = ?";
+            Connection conn = CloudDatabaseConnection.getConnection();
+            if (conn == null)
+                return;
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, newStatus);
+                stmt.setInt(2, sessionId);
+                stmt.executeUpdate();
+                LOG.debug("Session {} status updated to: {}", sessionId, newStatus);
+                engine.setStatus(sessionId, newStatus);
+                eventBus.publish(SessionEvent.statusChanged(sessionId, newStatus));
+            } catch (SQLException e) {
+                LOG.error("Error updating session status: {}", e.getMessage());
+            } finally {
+                CloudDatabaseConnection.closeConnection(conn);
+            }
         }
     }
 
     /**
-     * Update a player's score in the session_players table.
+     * Start a game: draw its questions once, set when each one is asked, and
+     * set the session PLAYING. Every player plays from this schedule.
+     *
+     * The first question opens START_DELAY_MS after the start on the database
+     * clock, so every machine reads the same instant and the players' screens
+     * have time to load. Only a WAITING session can be started, once: the
+     * status check and the schedule are written in one conditional UPDATE, so
+     * a repeated start (or one from another machine) changes nothing and gets
+     * null. Players who did not start the game read the schedule with
+     * getQuestionSchedule once they see the PLAYING status.
+     *
+     * Callers check that the request comes from the host (GameServer does it
+     * per connection).
+     *
+     * @param sessionId Session ID
+     * @return The schedule, or null if the session is not WAITING (already
+     *         started or finished) or the database is unavailable
      */
-    public void updatePlayerSessionScore(int sessionId, int playerId, int score) {
-        String sql = "UPDATE session_players SET score = ? WHERE session_id = ? AND player_id = ?";
-        Connection conn = CloudDatabaseConnection.getConnection();
-        if (conn == null)
-            return;
+    public QuestionSchedule startGame(int sessionId) {
+        try (MetricsRegistry.Timer.Timing ignored = metrics.time("session.startGame")) {
+            if (engine.getSchedule(sessionId) != null) {
+                LOG.warn("⚠️ Session {} is already started", sessionId);
+                return null;
+            }
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, score);
-            stmt.setInt(2, sessionId);
-            stmt.setInt(3, playerId);
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            System.err.println("Error updating session score: " + e.getMessage());
-        } finally {
-            CloudDatabaseConnection.closeConnection(conn);
+            int count = getSessionQuestionCount(sessionId);
+            List<Question> questions = QuestionCache.getInstance().getRandom(null, count);
+            if (questions.isEmpty()) {
+                LOG.error("Cannot start session {}: no questions available", sessionId);
+                return null;
+            }
+            StringBuilder ids = new StringBuilder();
+            for (Question question : questions) {
+                if (ids.length() > 0) {
+                    ids.append(',');
+                }
+                ids.append(question.getId());
+            }
+
+            String startSql = "UPDATE game_sessions SET status = 'PLAYING', started_at = CURRENT_TIMESTAMP, " +
+                    "question_ids = ?, schedule_start_ms = " + NOW_MILLIS_SQL + " + ? " +
+                    "WHERE id = ? AND status = 'WAITING' AND schedule_start_ms IS NULL";
+            String readSql = "SELECT schedule_start_ms, timer_duration FROM game_sessions WHERE id = ?";
+
+            Connection conn = CloudDatabaseConnection.getConnection();
+            if (conn == null)
+                return null;
+
+            QuestionSchedule schedule = null;
+            boolean started = false;
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(startSql)) {
+                    stmt.setString(1, ids.toString());
+                    stmt.setLong(2, START_DELAY_MS);
+                    stmt.setInt(3, sessionId);
+                    started = stmt.executeUpdate() > 0;
+                }
+                if (started) {
+                    try (PreparedStatement stmt = conn.prepareStatement(readSql)) {
+                        stmt.setInt(1, sessionId);
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            if (rs.next()) {
+                                schedule = new QuestionSchedule(sessionId, questions, rs.getLong("schedule_start_ms"),
+                                        rs.getInt("timer_duration") * 1000L, REVEAL_MS);
+                            }
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                LOG.error("Error starting session {}: {}", sessionId, e.getMessage());
+                return null;
+            } finally {
+                CloudDatabaseConnection.closeConnection(conn);
+            }
+
+            if (!started) {
+                LOG.warn("⚠️ Session {} not started: it is no longer WAITING", sessionId);
+                return null;
+            }
+            if (schedule != null) {
+                LOG.info("🎮 Session {} started: {} questions", sessionId, questions.size());
+                engine.setSchedule(sessionId, schedule);
+                engine.setStatus(sessionId, "PLAYING");
+                eventBus.publish(SessionEvent.statusChanged(sessionId, "PLAYING"));
+            }
+            return schedule;
         }
     }
 
     /**
-     * Get the leaderboard for a session (players with scores).
+     * Get the question schedule of a started game.
+     *
+     * @param sessionId Session ID
+     * @return The schedule, or null if the game has not started (or one of its
+     *         questions has been deleted since)
      */
-    public java.util.List<com.example.retroquiz.model.Player> getSessionLeaderboard(int sessionId) {
-        java.util.List<com.example.retroquiz.model.Player> players = new java.util.ArrayList<>();
-        String sql = "SELECT p.id, p.username, sp.score " +
-                "FROM session_players sp " +
-                "JOIN players p ON sp.player_id = p.id " +
-                "WHERE sp.session_id = ? " +
-                "ORDER BY sp.score DESC";
+    public QuestionSchedule getQuestionSchedule(int sessionId) {
+        try (MetricsRegistry.Timer.Timing ignored = metrics.time("session.getQuestionSchedule")) {
+            QuestionSchedule known = engine.getSchedule(sessionId);
+            if (known != null) {
+                return known;
+            }
 
-        Connection conn = CloudDatabaseConnection.getConnection();
-        if (conn == null)
-            return players;
+            String sql = "SELECT question_ids, schedule_start_ms, timer_duration FROM game_sessions WHERE id = ?";
+            Connection conn = CloudDatabaseConnection.getConnection();
+            if (conn == null)
+                return null;
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, sessionId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    // Create Player object with ID and Username using the simple constructor
-                    com.example.retroquiz.model.Player player = new com.example.retroquiz.model.Player(
-                            rs.getInt("id"),
-                            rs.getString("username"));
-                    // Set the session score manually
-                    player.setCurrentScore(rs.getInt("score"));
-                    players.add(player);
+            String idList = null;
+            long startMillis = 0;
+            long questionMillis = 0;
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, sessionId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        idList = rs.getString("question_ids");
+                        startMillis = rs.getLong("schedule_start_ms");
+                        if (rs.wasNull()) {
+                            idList = null;
+                        }
+                        questionMillis = rs.getInt("timer_duration") * 1000L;
+                    }
                 }
+            } catch (SQLException e) {
+                LOG.error("Error loading question schedule: {}", e.getMessage());
+                return null;
+            } finally {
+                CloudDatabaseConnection.closeConnection(conn);
             }
-        } catch (SQLException e) {
-            System.err.println("Error getting session leaderboard: " + e.getMessage());
-        } finally {
-            CloudDatabaseConnection.closeConnection(conn);
+
+            if (idList == null || idList.isEmpty()) {
+                return null;
+            }
+            String[] parts = idList.split(",");
+            int[] ids = new int[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                ids[i] = Integer.parseInt(parts[i].trim());
+            }
+            List<Question> questions = QuestionCache.getInstance().getByIds(ids);
+            if (questions.size() != ids.length) {
+                LOG.warn("⚠️ Questions of session {} are no longer in the bank", sessionId);
+                return null;
+            }
+
+            QuestionSchedule schedule = new QuestionSchedule(sessionId, questions, startMillis, questionMillis,
+                    REVEAL_MS);
+            engine.setSchedule(sessionId, schedule);
+            return schedule;
         }
-        return players;
     }
 
     /**
-     * Get the number of questions configured for a session.
+     * Read the database clock, which question schedules are expressed in.
+     *
+     * @return Current database time in epoch ms, or -1 if the database is unavailable
      */
-    public int getSessionQuestionCount(int sessionId) {
-        String sql = "SELECT question_count FROM game_sessions WHERE id = ?";
+    public long getReferenceTimeMillis() {
+        return readDatabaseClock();
+    }
+
+    private static long readDatabaseClock() {
         Connection conn = CloudDatabaseConnection.getConnection();
         if (conn == null)
-            return 10; // Default fallback
+            return -1;
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, sessionId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("question_count");
-                }
-            }
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT " + NOW_MILLIS_SQL)) {
+            return rs.next() ? rs.getLong(1) : -1;
         } catch (SQLException e) {
-            System.err.println("Error getting question count: " + e.getMessage());
+            LOG.error("Error reading the database clock: {}", e.getMessage());
+            return -1;
         } finally {
             CloudDatabaseConnection.closeConnection(conn);
         }
-        return 10;
     }
 
     /**
-     * Check if all players in the session have finished answering all questions.
-     * Uses the `is_finished` flag in session_players table.
+     * The database clock, estimated locally (the first call syncs, later ones
+     * resync in the background every CLOCK_RESYNC_MS).
      */
-    public boolean areAllPlayersFinished(int sessionId) {
-        String sql = "SELECT COUNT(*) as active_count FROM session_players WHERE session_id = ? AND is_finished = FALSE";
-
-        Connection conn = CloudDatabaseConnection.getConnection();
-        if (conn == null)
-            return false; // Fail safe, don't block if DB down but safer to say not finished? Or true?
-                          // False to keep trying.
+    private static long referenceTimeMillis() {
+        if (!CLOCK.isSynced()) {
+            synchronized (CLOCK) {
+                if (!CLOCK.isSynced()) {
+                    CLOCK.sync();
+                }
+            }
+        } else if (CLOCK.getAgeMillis() > CLOCK_RESYNC_MS && CLOCK_SYNCING.compareAndSet(false, true)) {
+            AppExecutor.getInstance().run("session.clockSync", () -> {
+                try {
+                    CLOCK.sync();
+                } finally {
+                    CLOCK_SYNCING.set(false);
+                }
+            });
+        }
+        return CLOCK.currentTimeMillis();
+    }
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, sessionId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    int active = rs.getInt("active_count");
-                    return active == 0;
+    /**
+     * Mark a session FINISHED and recycle its code.
+     * Safe to call from several machines: only the one that clears the code
+     * hands it back to its allocator.
+     */
+    public void finishSession(int sessionId) {
+        try (MetricsRegistry.Timer.Timing ignored = metrics.time("session.finishSession")) {
+            String selectSql = "SELECT session_code FROM game_sessions WHERE id = ?";
+            String finishSql = "UPDATE game_sessions SET status = 'FINISHED', ended_at = CURRENT_TIMESTAMP, " +
+                    "session_code = NULL WHERE id = ? AND session_code = ?";
+
+            Connection conn = CloudDatabaseConnection.getConnection();
+            if (conn == null)
+                return;
+
+            String code = null;
+            boolean finished = false;
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(selectSql)) {
+                    stmt.setInt(1, sessionId);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (rs.next()) {
+                            code = rs.getString("session_code");
+                        }
+                    }
+                }
+                if (code != null) {
+                    try (PreparedStatement stmt = conn.prepareStatement(finishSql)) {
+                        stmt.setInt(1, sessionId);
+                        stmt.setString(2, code);
+                        finished = stmt.executeUpdate() > 0;
+                    }
                 }
+            } catch (SQLException e) {
+                LOG.error("Error finishing session: {}", e.getMessage());
+            } finally {
+                CloudDatabaseConnection.closeConnection(conn);
+            }
+
+            if (finished) {
+                codeAllocator.release(code);
+                engine.setStatus(sessionId, "FINISHED");
+                eventBus.publish(SessionEvent.statusChanged(sessionId, "FINISHED"));
+                LOG.info("Session {} finished, code {} released", sessionId, code);
             }
-        } catch (SQLException e) {
-            System.err.println("Error checking if all finished: " + e.getMessage());
-            // Fallback to legacy check if column missing?
-            // For now, let's assume our migration works.
-        } finally {
-            CloudDatabaseConnection.closeConnection(conn);
         }
-        return false;
     }
 
     /**
-     * Mark a player as finished in the session.
+     * Answer a question of a started game. The answer is checked and scored
+     * here, from the session's schedule: the player only reports what they
+     * chose and how long it took.
+     * - The question must be open on the database clock, give or take
+     *   ANSWER_GRACE_MS for the trip here.
+     * - The reported time is believed only down to ANSWER_GRACE_MS below the
+     *   time elapsed here, so a fast answer can't be claimed after the fact.
+     * - Each question counts once per player.
+     * The session score is updated in memory (session_players is written,
+     * and other machines are told, in the next write-behind batch) and the
+     * answer is queued for player_answers. Equal scores are ranked by the
+     * answer instant on the schedule: question start + answer time.
+     *
+     * @param questionIndex   Position of the question in the schedule
+     * @param selectedOption  'A' to 'D', or null if the time ran out
+     * @param timeTakenMillis Time from the question opening to the answer, as measured by the player
+     * @return The outcome, or null if the answer was rejected
      */
-    public void markPlayerFinished(int sessionId, int playerId) {
-        String sql = "UPDATE session_players SET is_finished = TRUE WHERE session_id = ? AND player_id = ?";
-        Connection conn = CloudDatabaseConnection.getConnection();
-        if (conn == null)
-            return;
+    public AnswerResult submitAnswer(int sessionId, int playerId, int questionIndex, Character selectedOption,
+            int timeTakenMillis) {
+        try (MetricsRegistry.Timer.Timing ignored = metrics.time("session.submitAnswer")) {
+            QuestionSchedule schedule = getQuestionSchedule(sessionId);
+            if (schedule == null || questionIndex < 0 || questionIndex >= schedule.getQuestions().size()
+                    || (selectedOption != null && (selectedOption < 'A' || selectedOption > 'D'))) {
+                LOG.warn("⚠️ Invalid answer to question {} of session {} rejected", questionIndex, sessionId);
+                return null;
+            }
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, sessionId);
-            stmt.setInt(2, playerId);
-            stmt.executeUpdate();
-            System.out.println("Player " + playerId + " marked as finished in session " + sessionId);
-        } catch (SQLException e) {
-            System.err.println("Error marking player finished: " + e.getMessage());
-        } finally {
-            CloudDatabaseConnection.closeConnection(conn);
+            long limit = schedule.getQuestionMillis();
+            long elapsed = referenceTimeMillis() - schedule.getQuestionStart(questionIndex);
+            if (elapsed < -ANSWER_GRACE_MS || elapsed > limit + ANSWER_GRACE_MS) {
+                LOG.debug("Answer of player {} to question {} of session {} outside its slot ({} ms), rejected",
+                        playerId, questionIndex, sessionId, elapsed);
+                return null;
+            }
+            long taken = limit;
+            if (selectedOption != null) {
+                taken = Math.max(elapsed - ANSWER_GRACE_MS, Math.min(timeTakenMillis, elapsed));
+                taken = Math.max(0, Math.min(taken, limit));
+            }
+
+            AnswerResult result = engine.answer(sessionId, playerId, schedule, questionIndex, selectedOption,
+                    (int) taken, scoring);
+            if (result == null) {
+                LOG.debug("Repeated answer of player {} to question {} of session {} rejected", playerId,
+                        questionIndex, sessionId);
+                return null;
+            }
+            int questionId = schedule.getQuestions().get(questionIndex).getId();
+            quizService.recordAnswer(sessionId, playerId, questionId, selectedOption, result.isCorrect(), (int) taken,
+                    result.getPoints());
+            return result;
         }
     }
 
     /**
-     * Ensure the database schema has the necessary columns.
-     * Specifically checks for 'is_finished' in 'session_players'.
+     * Get the leaderboard for a session (players with scores, best first).
      */
-    public void ensureSchema() {
-        Connection conn = CloudDatabaseConnection.getConnection();
-        if (conn == null) return;
-
-        try (Statement stmt = conn.createStatement()) {
-            // Attempt to add column, ignore if exists
-            // PostgreSQL specific syntax: ADD COLUMN IF NOT EXISTS
-            String sql = "ALTER TABLE session_players ADD COLUMN IF NOT EXISTS is_finished BOOLEAN DEFAULT FALSE";
-            stmt.execute(sql);
-            System.out.println("Schema verification: 'is_finished' column ensured in 'session_players'.");
-        } catch (SQLException e) {
-            System.err.println("Error ensuring schema: " + e.getMessage());
-        } finally {
-            CloudDatabaseConnection.closeConnection(conn);
+    public java.util.List<com.example.retroquiz.model.Player> getSessionLeaderboard(int sessionId) {
+        try (MetricsRegistry.Timer.Timing ignored = metrics.time("session.getSessionLeaderboard")) {
+            return engine.getLeaderboard(sessionId);
         }
     }
 
     /**
-     * Check if a player is the host of the session.
+     * Get the best players of a session from its live ranking (no query).
+     *
+     * @param limit How many players
+     * @return Up to {@code limit} players with their score and rank, best first
      */
-    public boolean isSessionHost(int sessionId, int playerId) {
-        String sql = "SELECT host_id FROM game_sessions WHERE id = ?";
+    public java.util.List<com.example.retroquiz.model.Player> getSessionTopPlayers(int sessionId, int limit) {
+        try (MetricsRegistry.Timer.Timing ignored = metrics.time("session.getSessionTopPlayers")) {
+            return engine.getTopPlayers(sessionId, limit);
+        }
+    }
+
+    /**
+     * Get a player's current position in a session (1 = leading).
+     *
+     * @return The rank, or -1 if the player is not in the session
+     */
+    public int getPlayerSessionRank(int sessionId, int playerId) {
+        try (MetricsRegistry.Timer.Timing ignored = metrics.time("session.getPlayerSessionRank")) {
+            return engine.getRank(sessionId, playerId);
+        }
+    }
+
+    /**
+     * Get the number of questions configured for a session.
+     */
+    public int getSessionQuestionCount(int sessionId) {
+        try (MetricsRegistry.Timer.Timing ignored = metrics.time("session.getSessionQuestionCount")) {
+            int count = engine.getQuestionCount(sessionId);
+            return count > 0 ? count : 10; // Default fallback
+        }
+    }
+
+    /**
+     * Check if all players in the session have finished answering all questions.
+     * Read from the database, where the last player to finish sets the session
+     * FINISHED (see finishPlayerAndCheckAll): the in-memory state only hears
+     * about other machines through events, which can be missed.
+     */
+    public boolean areAllPlayersFinished(int sessionId) {
+        try (MetricsRegistry.Timer.Timing ignored = metrics.time("session.areAllPlayersFinished")) {
+            String sql = "SELECT status FROM game_sessions WHERE id = ?";
+            Connection conn = CloudDatabaseConnection.getConnection();
+            if (conn == null)
+                return false;
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, sessionId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next() && "FINISHED".equals(rs.getString("status"));
+                }
+            } catch (SQLException e) {
+                LOG.error("Error checking if session {} is finished: {}", sessionId, e.getMessage());
+                return false;
+            } finally {
+                CloudDatabaseConnection.closeConnection(conn);
+            }
+        }
+    }
+
+    /**
+     * Mark a player as finished in the session, and add the game to their
+     * global totals (from the answers scored by submitAnswer, once per game).
+     * The final score travels with the event so other machines do not have to
+     * wait for the write-behind flush. The last player to finish ends the session.
+     */
+    public void markPlayerFinished(int sessionId, int playerId) {
+        try (MetricsRegistry.Timer.Timing ignored = metrics.time("session.markPlayerFinished")) {
+            com.example.retroquiz.model.Player game = engine.markFinished(sessionId, playerId, scoring);
+            Integer score = null;
+            if (game != null) {
+                LOG.debug("Player {} marked as finished in session {}", playerId, sessionId);
+                score = game.getCurrentScore();
+                eventBus.publish(SessionEvent.playerFinished(sessionId, playerId, score));
+                playerDAO.addGameResult(game);
+            }
+
+            if (finishPlayerAndCheckAll(sessionId, playerId, score)) {
+                finishSession(sessionId);
+            }
+        }
+    }
+
+    /**
+     * Write a player's is_finished now (not on the next flush) and count the
+     * players still playing, in one transaction. The session row is locked
+     * first, so when the last two players finish on different machines at the
+     * same moment the second one waits and sees the first one's write: exactly
+     * the last to finish gets true, whichever machine it is on.
+     *
+     * @param score Final session score, or null to keep the stored one
+     * @return true if no player of the session is still playing
+     */
+    private boolean finishPlayerAndCheckAll(int sessionId, int playerId, Integer score) {
+        String lockSql = "SELECT id FROM game_sessions WHERE id = ? FOR UPDATE";
+        String finishSql = "UPDATE session_players SET is_finished = TRUE, score = COALESCE(?, score) " +
+                "WHERE session_id = ? AND player_id = ?";
+        String countSql = "SELECT COUNT(*) AS playing FROM session_players " +
+                "WHERE session_id = ? AND is_finished = FALSE";
+
         Connection conn = CloudDatabaseConnection.getConnection();
         if (conn == null)
             return false;
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, sessionId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("host_id") == playerId;
+        try {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(lockSql)) {
+                stmt.setInt(1, sessionId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (!rs.next()) {
+                        conn.rollback();
+                        return false;
+                    }
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(finishSql)) {
+                if (score != null) {
+                    stmt.setInt(1, score);
+                } else {
+                    stmt.setNull(1, Types.INTEGER);
                 }
+                stmt.setInt(2, sessionId);
+                stmt.setInt(3, playerId);
+                stmt.executeUpdate();
             }
+            int playing;
+            try (PreparedStatement stmt = conn.prepareStatement(countSql)) {
+                stmt.setInt(1, sessionId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    playing = rs.next() ? rs.getInt("playing") : -1;
+                }
+            }
+            conn.commit();
+            return playing == 0;
+
         } catch (SQLException e) {
-            System.err.println("Error checking session host: " + e.getMessage());
+            LOG.error("Error marking player finished: {}", e.getMessage());
+            try {
+                conn.rollback();
+            } catch (SQLException ex) {
+                LOG.error("Error rolling back player finish: {}", ex.getMessage());
+            }
+            return false;
         } finally {
-            CloudDatabaseConnection.closeConnection(conn);
+            CloudDatabaseConnection.closeConnection(conn); // The pool restores auto-commit
+        }
+    }
+
+    /**
+     * Check if a player is the host of the session.
+     */
+    public boolean isSessionHost(int sessionId, int playerId) {
+        try (MetricsRegistry.Timer.Timing ignored = metrics.time("session.isSessionHost")) {
+            return engine.getHostId(sessionId) == playerId;
         }
-        return false;
     }
 }
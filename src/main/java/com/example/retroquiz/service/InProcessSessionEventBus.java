@@ -0,0 +1,104 @@
+package com.example.retroquiz.service;
+
+import com.example.retroquiz.model.SessionEvent;
+import com.example.retroquiz.util.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * SessionEventBus that only delivers events inside the current JVM.
+ *
+ * Used directly for tests and single-process setups, and as the local
+ * dispatcher of PostgresSessionEventBus.
+ */
+public class InProcessSessionEventBus implements SessionEventBus {
+
+    private static final Logger LOG = Logger.get(InProcessSessionEventBus.class);
+
+    private final Map<Integer, List<Consumer<SessionEvent>>> sessionListeners = new ConcurrentHashMap<>();
+    private final List<Consumer<SessionEvent>> globalListeners = new CopyOnWriteArrayList<>();
+
+    // A single thread keeps events of a session in publish order
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "session-events");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @Override
+    public void publish(SessionEvent event) {
+        dispatch(event);
+    }
+
+    @Override
+    public Subscription subscribe(int sessionId, Consumer<SessionEvent> listener) {
+        List<Consumer<SessionEvent>> listeners = sessionListeners.computeIfAbsent(sessionId,
+                id -> new CopyOnWriteArrayList<>());
+        listeners.add(listener);
+        return () -> {
+            listeners.remove(listener);
+            sessionListeners.computeIfPresent(sessionId, (id, list) -> list.isEmpty() ? null : list);
+        };
+    }
+
+    @Override
+    public Subscription subscribeAll(Consumer<SessionEvent> listener) {
+        globalListeners.add(listener);
+        return () -> globalListeners.remove(listener);
+    }
+
+    /**
+     * Hand an event to the local subscribers (asynchronously).
+     *
+     * @param event The event to deliver
+     */
+    protected void dispatch(SessionEvent event) {
+        dispatcher.execute(() -> deliver(event));
+    }
+
+    /**
+     * Tell every local subscriber that events may have been lost: global
+     * subscribers get RESYNC for session -1, session subscribers a RESYNC
+     * for their session. Queued behind the events already dispatched.
+     */
+    protected void resyncAll() {
+        dispatcher.execute(() -> {
+            SessionEvent everything = SessionEvent.resync(-1);
+            for (Consumer<SessionEvent> listener : globalListeners) {
+                notifyListener(listener, everything);
+            }
+            sessionListeners.forEach((sessionId, listeners) -> {
+                SessionEvent event = SessionEvent.resync(sessionId);
+                for (Consumer<SessionEvent> listener : listeners) {
+                    notifyListener(listener, event);
+                }
+            });
+        });
+    }
+
+    private void deliver(SessionEvent event) {
+        for (Consumer<SessionEvent> listener : globalListeners) {
+            notifyListener(listener, event);
+        }
+        List<Consumer<SessionEvent>> listeners = sessionListeners.get(event.getSessionId());
+        if (listeners != null) {
+            for (Consumer<SessionEvent> listener : listeners) {
+                notifyListener(listener, event);
+            }
+        }
+    }
+
+    private void notifyListener(Consumer<SessionEvent> listener, SessionEvent event) {
+        try {
+            listener.accept(event);
+        } catch (RuntimeException e) {
+            LOG.error("Session event listener failed: {}", e.getMessage(), e);
+        }
+    }
+}
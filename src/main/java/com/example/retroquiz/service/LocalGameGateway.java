@@ -0,0 +1,140 @@
+package com.example.retroquiz.service;
+
+import com.example.retroquiz.model.AnswerResult;
+import com.example.retroquiz.model.Player;
+import com.example.retroquiz.model.Question;
+import com.example.retroquiz.model.QuestionSchedule;
+import com.example.retroquiz.model.RosterDelta;
+import com.example.retroquiz.model.SessionEvent;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * GameGateway that calls the services in this process (and through them the
+ * database). Used by clients without a game server, and by the GameServer
+ * itself.
+ */
+public class LocalGameGateway implements GameGateway {
+
+    private final GameSessionService gameSessionService = new GameSessionService();
+    private final PlayerService playerService = new PlayerService();
+    private final QuizService quizService = new QuizService();
+
+    @Override
+    public String createGameSession(String hostUsername, int questionCount, int timerDuration) {
+        return gameSessionService.createGameSession(hostUsername, questionCount, timerDuration);
+    }
+
+    @Override
+    public int joinGameSession(String sessionCode, String username) {
+        return gameSessionService.joinGameSession(sessionCode, username);
+    }
+
+    @Override
+    public int getSessionId(String sessionCode) {
+        return gameSessionService.getSessionId(sessionCode);
+    }
+
+    @Override
+    public int getPlayerIdInSession(int sessionId, String username) {
+        return gameSessionService.getPlayerIdInSession(sessionId, username);
+    }
+
+    @Override
+    public boolean isSessionHost(int sessionId, int playerId) {
+        return gameSessionService.isSessionHost(sessionId, playerId);
+    }
+
+    @Override
+    public String getSessionStatus(int sessionId) {
+        return gameSessionService.getSessionStatus(sessionId);
+    }
+
+    @Override
+    public RosterDelta getPlayersInSessionSince(int sessionId, long version) {
+        return gameSessionService.getPlayersInSessionSince(sessionId, version);
+    }
+
+    @Override
+    public void leaveSession(int sessionId, int playerId) {
+        gameSessionService.leaveSession(sessionId, playerId);
+    }
+
+    @Override
+    public int getSessionQuestionCount(int sessionId) {
+        return gameSessionService.getSessionQuestionCount(sessionId);
+    }
+
+    @Override
+    public List<Player> getSessionLeaderboard(int sessionId) {
+        return gameSessionService.getSessionLeaderboard(sessionId);
+    }
+
+    @Override
+    public List<Player> getSessionTopPlayers(int sessionId, int limit) {
+        return gameSessionService.getSessionTopPlayers(sessionId, limit);
+    }
+
+    @Override
+    public int getPlayerSessionRank(int sessionId, int playerId) {
+        return gameSessionService.getPlayerSessionRank(sessionId, playerId);
+    }
+
+    @Override
+    public AnswerResult submitAnswer(int sessionId, int playerId, int questionIndex, Character selectedOption,
+            int timeTakenMillis) {
+        return gameSessionService.submitAnswer(sessionId, playerId, questionIndex, selectedOption, timeTakenMillis);
+    }
+
+    @Override
+    public void markPlayerFinished(int sessionId, int playerId) {
+        gameSessionService.markPlayerFinished(sessionId, playerId);
+    }
+
+    @Override
+    public boolean areAllPlayersFinished(int sessionId) {
+        return gameSessionService.areAllPlayersFinished(sessionId);
+    }
+
+    @Override
+    public QuestionSchedule startGame(int sessionId) {
+        return gameSessionService.startGame(sessionId);
+    }
+
+    @Override
+    public QuestionSchedule getQuestionSchedule(int sessionId) {
+        return gameSessionService.getQuestionSchedule(sessionId);
+    }
+
+    @Override
+    public long getServerTimeMillis() {
+        return gameSessionService.getReferenceTimeMillis();
+    }
+
+    @Override
+    public SessionEventBus.Subscription subscribe(int sessionId, Consumer<SessionEvent> listener) {
+        return gameSessionService.subscribe(sessionId, listener);
+    }
+
+    @Override
+    public Player getPlayerByUsername(String username) {
+        return playerService.getPlayerByUsername(username);
+    }
+
+    @Override
+    public Player createPlayer(String username, boolean isGuest) {
+        return playerService.createPlayer(username, isGuest);
+    }
+
+    @Override
+    public void recordSoloGame(Player player) {
+        playerService.updatePlayerStats(player);
+    }
+
+    @Override
+    public List<Question> loadRandomQuestions(int count) {
+        return quizService.loadRandomQuestions(count);
+    }
+
+}
@@ -2,8 +2,7 @@ package com.example.retroquiz.service;
 
 import com.example.retroquiz.dao.PlayerDAO;
 import com.example.retroquiz.model.*;
-import com.example.retroquiz.repository.*;
-import java.sql.*;
+import com.example.retroquiz.util.Logger;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -17,6 +16,8 @@ import java.util.List;
  */
 public class PlayerService {
 
+    private static final Logger LOG = Logger.get(PlayerService.class);
+
     private final PlayerDAO playerDAO = new PlayerDAO();
 
     /**
@@ -49,11 +50,9 @@ public class PlayerService {
      * @return The created Player object with database ID, or null if failed
      */
     public Player createPlayer(String username, boolean isGuest) {
-        // Ensure schema
-        ensureSchema();
         Player player = playerDAO.create(username, isGuest);
         if (player != null) {
-            System.out.println("Created new player: " + username + " (ID: " + player.getId() + ", Guest: " + isGuest + ")");
+            LOG.debug("Created new player: {} (ID: {}, Guest: {})", username, player.getId(), isGuest);
         }
         return player;
     }
@@ -71,7 +70,7 @@ public class PlayerService {
      */
     public void updatePlayerStats(Player player) {
         playerDAO.updateStats(player);
-        System.out.println("Updated stats for player: " + player.getUsername());
+        LOG.debug("Updated stats for player: {}", player.getUsername());
     }
 
     /**
@@ -92,34 +91,40 @@ public class PlayerService {
      */
     public List<Player> getTopPlayers(int limit) {
         List<Player> players = playerDAO.getTopPlayers(limit);
-        System.out.println("Loaded " + players.size() + " top players for leaderboard.");
+        LOG.debug("Loaded {} top players for leaderboard.", players.size());
         return players;
     }
 
     /**
-     * Ensure the database schema has the necessary columns.
+     * Get one page of the global leaderboard, each player carrying their rank.
+     * 
+     * @param cursor Where the previous page ended (LeaderboardCursor.START for the first)
+     * @param limit  Page size
+     * @return Up to {@code limit} players; empty once past the last one
      */
-    public void ensureSchema() {
-        Connection conn = CloudDatabaseConnection.getConnection();
-        if (conn == null)
-            return;
-
-        try (Statement stmt = conn.createStatement()) {
-            // Attempt to add column, ignore if exists
-            String sql = "ALTER TABLE players ADD COLUMN IF NOT EXISTS is_guest BOOLEAN DEFAULT FALSE";
-            stmt.execute(sql);
-
-            // Update existing players to have is_guest = FALSE if NULL
-            String updateSql = "UPDATE players SET is_guest = FALSE WHERE is_guest IS NULL";
-            int updated = stmt.executeUpdate(updateSql);
-            if (updated > 0) {
-                System.out.println("Updated " + updated + " existing players to set is_guest = FALSE");
-            }
-        } catch (SQLException e) {
-            System.err.println("Error ensuring schema: " + e.getMessage());
-        } finally {
-            CloudDatabaseConnection.closeConnection(conn);
-        }
+    public List<Player> getLeaderboardPage(LeaderboardCursor cursor, int limit) {
+        List<Player> players = playerDAO.getLeaderboardPage(cursor, limit);
+        LOG.debug("Loaded {} leaderboard rows after position {}.", players.size(), cursor.getPosition());
+        return players;
+    }
+
+    /**
+     * Get the players ranked around a player on the global leaderboard.
+     * 
+     * @param playerId Player ID
+     * @param radius   Number of players to show above and below
+     * @return Players around (and including) the given player
+     */
+    public List<Player> getPlayersAround(int playerId, int radius) {
+        return playerDAO.getPlayersAround(playerId, radius);
+    }
+
+    /**
+     * Force the next leaderboard read to reload from the database
+     * (picks up points earned on other machines).
+     */
+    public void refreshLeaderboard() {
+        PlayerDAO.invalidateLeaderboard();
     }
 
     /**
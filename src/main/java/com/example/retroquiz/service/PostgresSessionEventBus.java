@@ -0,0 +1,113 @@
+package com.example.retroquiz.service;
+
+import com.example.retroquiz.model.SessionEvent;
+import com.example.retroquiz.repository.CloudDatabaseConnection;
+import com.example.retroquiz.util.Logger;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * SessionEventBus backed by PostgreSQL LISTEN/NOTIFY.
+ *
+ * publish() sends a NOTIFY on a pooled connection; a background thread keeps
+ * one dedicated connection in LISTEN mode and hands every notification (ours
+ * and those of other players' machines) to the local subscribers. Waiting for
+ * notifications only reads the socket, so an idle session costs no queries.
+ *
+ * NOTIFYs sent while the listener is reconnecting are lost, so once it
+ * listens again every subscriber gets a RESYNC event and re-reads its
+ * sessions from the database.
+ */
+public class PostgresSessionEventBus extends InProcessSessionEventBus {
+
+    private static final Logger LOG = Logger.get(PostgresSessionEventBus.class);
+
+    private static final String CHANNEL = "retroquiz_session_events";
+    private static final int RECEIVE_TIMEOUT_MS = 1000;
+    private static final long RECONNECT_DELAY_MS = 2000;
+
+    private volatile boolean running = true;
+
+    public PostgresSessionEventBus() {
+        Thread listener = new Thread(this::listenLoop, "session-events-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void publish(SessionEvent event) {
+        Connection conn = CloudDatabaseConnection.getConnection();
+        if (conn == null) {
+            // No database: at least keep this process consistent
+            dispatch(event);
+            return;
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT pg_notify(?, ?)")) {
+            stmt.setString(1, CHANNEL);
+            stmt.setString(2, event.encode());
+            stmt.execute();
+        } catch (SQLException e) {
+            LOG.error("Error publishing session event: {}", e.getMessage());
+            dispatch(event);
+        } finally {
+            CloudDatabaseConnection.closeConnection(conn);
+        }
+    }
+
+    /**
+     * Stop the listener thread.
+     */
+    public void shutdown() {
+        running = false;
+    }
+
+    private void listenLoop() {
+        boolean missedEvents = false; // Set while not listening after a failure
+        while (running) {
+            try (Connection conn = CloudDatabaseConnection.openDedicatedConnection()) {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection pgConn = conn.unwrap(PGConnection.class);
+                if (missedEvents) {
+                    LOG.info("🔄 Session event listener reconnected, resyncing subscribers");
+                    resyncAll();
+                    missedEvents = false;
+                }
+
+                while (running) {
+                    PGNotification[] notifications = pgConn.getNotifications(RECEIVE_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        SessionEvent event = SessionEvent.decode(notification.getParameter());
+                        if (event != null) {
+                            dispatch(event);
+                        }
+                    }
+                }
+
+            } catch (SQLException e) {
+                LOG.warn("Session event listener disconnected: {}", e.getMessage());
+                missedEvents = true;
+                sleepBeforeReconnect();
+            }
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -1,18 +1,71 @@
 package com.example.retroquiz.service;
 
 import com.example.retroquiz.model.*;
+import com.example.retroquiz.util.Logger;
+import com.example.retroquiz.util.RandomSampler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
- * Hardcoded question bank for offline/demo mode.
+ * Question bank for offline/demo mode.
  * 
  * NO DATABASE REQUIRED!
  * This allows the quiz to run on any computer without SQL Server setup.
+ *
+ * Questions come from a question pack ({@link QuestionPack}) when one is
+ * found, otherwise from the 15 built-in sample questions. The pack is
+ * retroquiz.questions.pack, as a system property or environment variable
+ * (RETROQUIZ_QUESTIONS_PACK), or else questions.pack in the working directory.
+ * Create one from the questions table with QuestionPackTool.
  */
 public class QuestionBank {
 
+        private static final Logger LOG = Logger.get(QuestionBank.class);
+
+        private static final String DEFAULT_PACK = "questions.pack";
+
+        // Built once; draws sample from it instead of rebuilding and reshuffling
+        private static final List<Question> SAMPLE_QUESTIONS = buildSampleQuestions();
+
+        /**
+         * Draw offline questions: from the question pack if there is one,
+         * otherwise from the built-in sample questions.
+         *
+         * @param category Category filter, or null for any
+         * @param count    Number of questions wanted
+         * @return Up to {@code count} distinct questions in random order
+         */
+        public static List<Question> getOfflineQuestions(String category, int count) {
+                QuestionPack pack = getPack();
+                if (pack != null) {
+                        return pack.getRandom(category, null, count);
+                }
+                if (category == null) {
+                        return getHardcodedQuestions(count);
+                }
+                List<Question> matching = new ArrayList<>();
+                for (Question q : SAMPLE_QUESTIONS) {
+                        if (category.equals(q.getCategory())) {
+                                matching.add(q);
+                        }
+                }
+                return draw(matching, count);
+        }
+
+        /**
+         * @return The offline question pack, or null if there is none (or it is unreadable)
+         */
+        public static QuestionPack getPack() {
+                return PackHolder.PACK;
+        }
+
         /**
          * Get a list of hardcoded questions for demo/offline mode.
          * 
@@ -20,6 +73,28 @@ public class QuestionBank {
          * @return List of questions (shuffled)
          */
         public static List<Question> getHardcodedQuestions(int count) {
+                return draw(SAMPLE_QUESTIONS, count);
+        }
+
+        /**
+         * Get all hardcoded questions.
+         * 
+         * @return List of all questions
+         */
+        public static List<Question> getAllQuestions() {
+                return SAMPLE_QUESTIONS;
+        }
+
+        private static List<Question> draw(List<Question> from, int count) {
+                int[] picked = RandomSampler.sample(from.size(), count, ThreadLocalRandom.current());
+                List<Question> questions = new ArrayList<>(picked.length);
+                for (int position : picked) {
+                        questions.add(from.get(position));
+                }
+                return questions;
+        }
+
+        private static List<Question> buildSampleQuestions() {
                 List<Question> allQuestions = new ArrayList<>();
 
                 // Add 15 sample questions
@@ -102,19 +177,35 @@ public class QuestionBank {
                                 "Standard Query Language", "System Query Language",
                                 'A', "Database", "EASY"));
 
-                // Shuffle the questions
-                Collections.shuffle(allQuestions);
-
-                // Return requested number of questions
-                return allQuestions.subList(0, Math.min(count, allQuestions.size()));
+                return Collections.unmodifiableList(allQuestions);
         }
 
         /**
-         * Get all hardcoded questions.
-         * 
-         * @return List of all questions
+         * Opens the pack on first use (lazy holder idiom).
          */
-        public static List<Question> getAllQuestions() {
-                return getHardcodedQuestions(15);
+        private static final class PackHolder {
+                private static final QuestionPack PACK = openPack();
+
+                private static QuestionPack openPack() {
+                        String configured = System.getProperty("retroquiz.questions.pack");
+                        if (configured == null) {
+                                configured = System.getenv("RETROQUIZ_QUESTIONS_PACK");
+                        }
+                        Path file = Paths.get(configured != null && !configured.isBlank() ? configured.trim() : DEFAULT_PACK);
+                        if (configured == null && !Files.exists(file)) {
+                                return null;
+                        }
+                        try {
+                                long start = System.nanoTime();
+                                QuestionPack pack = QuestionPack.open(file);
+                                LOG.info("📦 Question pack {}: {} questions, {} categories (opened in {} ms)",
+                                                file, pack.size(), pack.getCategories().size(),
+                                                (System.nanoTime() - start) / 1_000_000);
+                                return pack;
+                        } catch (IOException e) {
+                                LOG.warn("⚠️ Could not open question pack {}: {}", file, e.getMessage());
+                                return null;
+                        }
+                }
         }
 }
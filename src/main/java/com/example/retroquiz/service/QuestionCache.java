@@ -0,0 +1,286 @@
+package com.example.retroquiz.service;
+
+import com.example.retroquiz.dao.QuestionDAO;
+import com.example.retroquiz.model.Question;
+import com.example.retroquiz.model.SessionEvent;
+import com.example.retroquiz.util.AppExecutor;
+import com.example.retroquiz.util.Logger;
+import com.example.retroquiz.util.RandomSampler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Read-through cache of the question bank.
+ *
+ * Questions only change when an admin edits them, so the whole table is
+ * loaded once and quiz starts, category lists and counts are answered from
+ * memory. QuizService updates the cache precisely on add / update / delete
+ * and announces the change with a QUESTIONS_CHANGED event so the caches of
+ * other machines reload just that question. Question writes must therefore go
+ * through QuizService / QuestionTransferService, never QuestionDAO directly.
+ *
+ * The cached state is an immutable snapshot swapped atomically on change, so
+ * readers never lock.
+ */
+public class QuestionCache {
+
+    private static final Logger LOG = Logger.get(QuestionCache.class);
+
+    private static final QuestionCache INSTANCE = new QuestionCache();
+
+    private final QuestionDAO questionDAO = new QuestionDAO();
+    private volatile Snapshot snapshot;
+
+    private QuestionCache() {
+        SessionEventBus.getDefault().subscribeAll(event -> {
+            if (event.getType() == SessionEvent.Type.QUESTIONS_CHANGED) {
+                if (event.getDetail() == null) {
+                    invalidateAll();
+                } else {
+                    reload(Integer.parseInt(event.getDetail()));
+                }
+            } else if (event.getType() == SessionEvent.Type.RESYNC && event.getSessionId() == -1) {
+                invalidateAll(); // A QUESTIONS_CHANGED may have been lost
+            }
+        });
+    }
+
+    public static QuestionCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Load the question bank in the background (call at startup).
+     */
+    public void warmUpAsync() {
+        AppExecutor.getInstance().run("cache.warmUp", this::getSnapshot);
+    }
+
+    // --- Reads ---
+
+    /**
+     * Draw random distinct questions.
+     *
+     * @param category Category filter, or null for any
+     * @param count    Number of questions wanted
+     * @return Up to {@code count} questions in random order (empty if the bank could not be loaded)
+     */
+    public List<Question> getRandom(String category, int count) {
+        return getRandom(category, null, count);
+    }
+
+    /**
+     * Draw random distinct questions of a category and / or difficulty.
+     *
+     * @param category   Category filter, or null for any
+     * @param difficulty Difficulty filter (EASY, MEDIUM, HARD), or null for any
+     * @param count      Number of questions wanted
+     * @return Up to {@code count} questions in random order (empty if the bank could not be loaded)
+     */
+    public List<Question> getRandom(String category, String difficulty, int count) {
+        Snapshot current = getSnapshot();
+        if (current == null) {
+            return new ArrayList<>();
+        }
+
+        int[] candidates = current.idsByFilter.get(Snapshot.key(category, difficulty));
+        if (candidates == null) {
+            return new ArrayList<>();
+        }
+
+        int[] ids = RandomSampler.sample(candidates, count, ThreadLocalRandom.current());
+        List<Question> questions = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            questions.add(current.byId.get(id));
+        }
+        return questions;
+    }
+
+    /**
+     * Look up questions by ID (those not in the cache are read from the database).
+     *
+     * @param ids Question IDs
+     * @return The questions found, in the same order as {@code ids}
+     */
+    public List<Question> getByIds(int[] ids) {
+        Snapshot current = getSnapshot();
+        if (current == null) {
+            return questionDAO.getByIds(ids);
+        }
+        List<Question> questions = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            Question question = current.byId.get(id);
+            if (question == null) {
+                return questionDAO.getByIds(ids); // Added on another machine since we loaded
+            }
+            questions.add(question);
+        }
+        return questions;
+    }
+
+    /**
+     * @return Every question ordered by ID
+     */
+    public List<Question> getAll() {
+        Snapshot current = getSnapshot();
+        return current == null ? new ArrayList<>() : new ArrayList<>(current.ordered);
+    }
+
+    public List<String> getCategories() {
+        Snapshot current = getSnapshot();
+        return current == null ? new ArrayList<>() : new ArrayList<>(current.categories);
+    }
+
+    /**
+     * @return Number of questions, or -1 if the bank could not be loaded
+     */
+    public int size() {
+        Snapshot current = getSnapshot();
+        return current == null ? -1 : current.ordered.size();
+    }
+
+    // --- Invalidation ---
+
+    /**
+     * Insert or replace one question.
+     */
+    public void put(Question question) {
+        synchronized (this) {
+            Snapshot current = snapshot;
+            if (current == null) {
+                return; // Not loaded yet: the next read loads it anyway
+            }
+            Map<Integer, Question> byId = new HashMap<>(current.byId);
+            byId.put(question.getId(), question);
+            snapshot = new Snapshot(byId);
+        }
+    }
+
+    /**
+     * Forget one question.
+     */
+    public void remove(int questionId) {
+        synchronized (this) {
+            Snapshot current = snapshot;
+            if (current == null || !current.byId.containsKey(questionId)) {
+                return;
+            }
+            Map<Integer, Question> byId = new HashMap<>(current.byId);
+            byId.remove(questionId);
+            snapshot = new Snapshot(byId);
+        }
+    }
+
+    /**
+     * Re-read one question from the database (after another machine changed it).
+     */
+    public void reload(int questionId) {
+        if (snapshot == null) {
+            return;
+        }
+        Question question = questionDAO.getById(questionId);
+        if (question != null) {
+            put(question);
+        } else {
+            remove(questionId);
+        }
+    }
+
+    /**
+     * Drop everything; the next read reloads the whole bank.
+     */
+    public void invalidateAll() {
+        synchronized (this) {
+            snapshot = null;
+        }
+    }
+
+    private Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                List<Question> all = questionDAO.getAll();
+                if (all.isEmpty()) {
+                    return null; // DB unavailable (or empty): try again next time
+                }
+                Map<Integer, Question> byId = new HashMap<>();
+                for (Question question : all) {
+                    byId.put(question.getId(), question);
+                }
+                snapshot = new Snapshot(byId);
+                LOG.info("✅ Question cache loaded with {} questions.", byId.size());
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Immutable view of the bank.
+     *
+     * idsByFilter holds the candidate IDs for every (category, difficulty)
+     * filter a quiz can ask for, either part possibly "any", so a draw is one
+     * map lookup plus the sample.
+     */
+    private static final class Snapshot {
+        private final Map<Integer, Question> byId;
+        private final List<Question> ordered;
+        private final Map<String, int[]> idsByFilter = new HashMap<>();
+        private final List<String> categories;
+
+        private Snapshot(Map<Integer, Question> byId) {
+            this.byId = Collections.unmodifiableMap(byId);
+
+            List<Question> sorted = new ArrayList<>(byId.values());
+            sorted.sort((a, b) -> Integer.compare(a.getId(), b.getId()));
+            this.ordered = Collections.unmodifiableList(sorted);
+
+            Map<String, List<Integer>> grouped = new HashMap<>();
+            TreeSet<String> names = new TreeSet<>();
+            for (Question question : sorted) {
+                String category = question.getCategory();
+                String difficulty = question.getDifficulty();
+                add(grouped, key(null, null), question);
+                if (category != null) {
+                    add(grouped, key(category, null), question);
+                    names.add(category);
+                }
+                if (difficulty != null) {
+                    add(grouped, key(null, difficulty), question);
+                }
+                if (category != null && difficulty != null) {
+                    add(grouped, key(category, difficulty), question);
+                }
+            }
+            grouped.forEach((key, ids) -> {
+                int[] array = new int[ids.size()];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = ids.get(i);
+                }
+                idsByFilter.put(key, array);
+            });
+            this.categories = List.copyOf(names);
+        }
+
+        private static void add(Map<String, List<Integer>> grouped, String key, Question question) {
+            grouped.computeIfAbsent(key, k -> new ArrayList<>()).add(question.getId());
+        }
+
+        /**
+         * Map key of a filter; null parts match any value. Difficulty is case-insensitive.
+         */
+        private static String key(String category, String difficulty) {
+            return (category == null ? "*" : "c:" + category) + "\u0000"
+                    + (difficulty == null ? "*" : difficulty.toUpperCase(Locale.ROOT));
+        }
+    }
+}
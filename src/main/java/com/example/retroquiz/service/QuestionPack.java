@@ -0,0 +1,359 @@
+package com.example.retroquiz.service;
+
+import com.example.retroquiz.model.Question;
+import com.example.retroquiz.util.RandomSampler;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A read-only question bank in a compact binary file (a "question pack"),
+ * for offline mode and cold starts.
+ *
+ * The file is memory-mapped: opening a pack reads the header and the two
+ * small indexes, nothing else. A Question object is only built when it is
+ * drawn, so a pack of 100k+ questions opens in about a millisecond and costs
+ * (almost) no heap. The OS pages the file in on demand and shares it between
+ * processes.
+ *
+ * FILE FORMAT (version 1, big-endian, every number is a 4-byte int):
+ * - Header (32 bytes): magic "RQPK", version, question count N, string count S,
+ *   string data offset, category index offset, difficulty index offset, file length
+ * - N fixed-width records (36 bytes) right after the header: id, question,
+ *   option A, B, C, D, category, difficulty (string numbers, -1 for null)
+ *   and the correct option (a char)
+ * - S + 1 string offsets right after the records (relative to the string data;
+ *   string i is the UTF-8 bytes between offsets i and i + 1), then the string data.
+ *   Each distinct string is stored once.
+ * - Category index, then difficulty index: group count, then per group the
+ *   key (string number), member count M and the M record numbers
+ *
+ * Write packs with {@link #write(List, Path)} (see QuestionPackTool to export
+ * the questions table). A pack is immutable and safe to share between threads.
+ */
+public final class QuestionPack {
+
+    private static final int MAGIC = 0x5251504B; // "RQPK"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int RECORD_BYTES = 36;
+    private static final int NONE = -1;
+
+    private final Path file;
+    private final ByteBuffer data;
+    private final int count;
+    private final int stringOffsets;
+    private final int stringData;
+    private final Map<String, Group> categories;
+    private final Map<String, Group> difficulties;
+
+    private QuestionPack(Path file, ByteBuffer data) throws IOException {
+        this.file = file;
+        this.data = data;
+        if (data.capacity() < HEADER_BYTES || data.getInt(0) != MAGIC) {
+            throw new IOException(file + " is not a question pack");
+        }
+        if (data.getInt(4) != VERSION) {
+            throw new IOException(file + ": unsupported question pack version " + data.getInt(4));
+        }
+        if (data.getInt(28) != data.capacity()) {
+            throw new IOException(file + " is truncated");
+        }
+        this.count = data.getInt(8);
+        this.stringOffsets = HEADER_BYTES + count * RECORD_BYTES;
+        this.stringData = data.getInt(16);
+        this.categories = readIndex(data.getInt(20));
+        this.difficulties = readIndex(data.getInt(24));
+    }
+
+    /**
+     * Map a pack file into memory.
+     *
+     * @throws IOException If the file cannot be read or is not a valid pack
+     */
+    public static QuestionPack open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(file + " is too large for a question pack");
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new QuestionPack(file, mapped);
+        }
+    }
+
+    // --- Reads ---
+
+    /**
+     * @return Number of questions in the pack
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Build the question stored in a record.
+     *
+     * @param index Record number, 0 to size() - 1
+     */
+    public Question get(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Question " + index + " of " + count);
+        }
+        int record = HEADER_BYTES + index * RECORD_BYTES;
+        return new Question(data.getInt(record),
+                string(data.getInt(record + 4)),
+                string(data.getInt(record + 8)),
+                string(data.getInt(record + 12)),
+                string(data.getInt(record + 16)),
+                string(data.getInt(record + 20)),
+                (char) data.getInt(record + 32),
+                string(data.getInt(record + 24)),
+                string(data.getInt(record + 28)));
+    }
+
+    /**
+     * Draw random distinct questions.
+     *
+     * @param category   Category filter, or null for any
+     * @param difficulty Difficulty filter, or null for any
+     * @param count      Number of questions wanted
+     * @return Up to {@code count} questions in random order
+     */
+    public List<Question> getRandom(String category, String difficulty, int count) {
+        if (category != null && difficulty != null) {
+            return getRandomMatching(category, difficulty, count);
+        }
+        Group group = null;
+        if (category != null) {
+            group = categories.get(category);
+        } else if (difficulty != null) {
+            group = difficulties.get(difficulty);
+        }
+        if (group == null && (category != null || difficulty != null)) {
+            return new ArrayList<>();
+        }
+
+        int candidates = group == null ? this.count : group.size;
+        int[] picked = RandomSampler.sample(candidates, count, ThreadLocalRandom.current());
+        List<Question> questions = new ArrayList<>(picked.length);
+        for (int position : picked) {
+            questions.add(get(group == null ? position : group.member(data, position)));
+        }
+        return questions;
+    }
+
+    /**
+     * @return Category names, sorted
+     */
+    public List<String> getCategories() {
+        return new ArrayList<>(categories.keySet());
+    }
+
+    /**
+     * @return Difficulty names, sorted
+     */
+    public List<String> getDifficulties() {
+        return new ArrayList<>(difficulties.keySet());
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    private List<Question> getRandomMatching(String category, String difficulty, int count) {
+        Group group = categories.get(category);
+        Group level = difficulties.get(difficulty);
+        if (group == null || level == null) {
+            return new ArrayList<>();
+        }
+        // Filter the category by the difficulty's string number, without building Questions
+        List<Integer> matching = new ArrayList<>();
+        for (int i = 0; i < group.size; i++) {
+            int index = group.member(data, i);
+            if (data.getInt(HEADER_BYTES + index * RECORD_BYTES + 28) == level.key) {
+                matching.add(index);
+            }
+        }
+        Collections.shuffle(matching, ThreadLocalRandom.current());
+        List<Question> questions = new ArrayList<>(Math.min(count, matching.size()));
+        for (int i = 0; i < count && i < matching.size(); i++) {
+            questions.add(get(matching.get(i)));
+        }
+        return questions;
+    }
+
+    private String string(int number) {
+        if (number == NONE) {
+            return null;
+        }
+        int start = data.getInt(stringOffsets + number * 4);
+        int end = data.getInt(stringOffsets + number * 4 + 4);
+        byte[] bytes = new byte[end - start];
+        data.get(stringData + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private Map<String, Group> readIndex(int offset) {
+        Map<String, Group> groups = new TreeMap<>();
+        int groupCount = data.getInt(offset);
+        int position = offset + 4;
+        for (int i = 0; i < groupCount; i++) {
+            int key = data.getInt(position);
+            int size = data.getInt(position + 4);
+            groups.put(string(key), new Group(key, position + 8, size));
+            position += 8 + size * 4;
+        }
+        return Collections.unmodifiableMap(groups);
+    }
+
+    /**
+     * The record numbers of one category or difficulty, as a slice of the file.
+     */
+    private static final class Group {
+        private final int key;
+        private final int start;
+        private final int size;
+
+        private Group(int key, int start, int size) {
+            this.key = key;
+            this.start = start;
+            this.size = size;
+        }
+
+        private int member(ByteBuffer data, int i) {
+            return data.getInt(start + i * 4);
+        }
+    }
+
+    // --- Writing ---
+
+    /**
+     * Write questions to a pack file, replacing it atomically.
+     *
+     * @param questions Questions to store, in record order
+     * @param file      Pack file to create
+     */
+    public static void write(List<Question> questions, Path file) throws IOException {
+        Map<String, Integer> numbers = new HashMap<>();
+        List<byte[]> strings = new ArrayList<>();
+        int[][] records = new int[questions.size()][];
+        Map<String, List<Integer>> byCategory = new TreeMap<>();
+        Map<String, List<Integer>> byDifficulty = new TreeMap<>();
+
+        for (int i = 0; i < questions.size(); i++) {
+            Question q = questions.get(i);
+            records[i] = new int[] {
+                    q.getId(),
+                    intern(q.getQuestion(), numbers, strings),
+                    intern(q.getOptionA(), numbers, strings),
+                    intern(q.getOptionB(), numbers, strings),
+                    intern(q.getOptionC(), numbers, strings),
+                    intern(q.getOptionD(), numbers, strings),
+                    intern(q.getCategory(), numbers, strings),
+                    intern(q.getDifficulty(), numbers, strings),
+                    q.getCorrectOption() };
+            if (q.getCategory() != null) {
+                byCategory.computeIfAbsent(q.getCategory(), k -> new ArrayList<>()).add(i);
+            }
+            if (q.getDifficulty() != null) {
+                byDifficulty.computeIfAbsent(q.getDifficulty(), k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        long stringBytes = 0;
+        for (byte[] s : strings) {
+            stringBytes += s.length;
+        }
+        long stringData = HEADER_BYTES + (long) records.length * RECORD_BYTES + (strings.size() + 1L) * 4;
+        long categoryIndex = stringData + stringBytes;
+        long difficultyIndex = categoryIndex + indexBytes(byCategory);
+        long length = difficultyIndex + indexBytes(byDifficulty);
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Too many questions for one pack (" + length + " bytes)");
+        }
+
+        Path parent = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(records.length);
+                out.writeInt(strings.size());
+                out.writeInt((int) stringData);
+                out.writeInt((int) categoryIndex);
+                out.writeInt((int) difficultyIndex);
+                out.writeInt((int) length);
+
+                for (int[] record : records) {
+                    for (int value : record) {
+                        out.writeInt(value);
+                    }
+                }
+
+                int offset = 0;
+                out.writeInt(offset);
+                for (byte[] s : strings) {
+                    offset += s.length;
+                    out.writeInt(offset);
+                }
+                for (byte[] s : strings) {
+                    out.write(s);
+                }
+
+                writeIndex(out, byCategory, numbers);
+                writeIndex(out, byDifficulty, numbers);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static int intern(String value, Map<String, Integer> numbers, List<byte[]> strings) {
+        if (value == null) {
+            return NONE;
+        }
+        return numbers.computeIfAbsent(value, v -> {
+            strings.add(v.getBytes(StandardCharsets.UTF_8));
+            return strings.size() - 1;
+        });
+    }
+
+    private static long indexBytes(Map<String, List<Integer>> groups) {
+        long bytes = 4;
+        for (List<Integer> members : groups.values()) {
+            bytes += 8 + members.size() * 4L;
+        }
+        return bytes;
+    }
+
+    private static void writeIndex(DataOutputStream out, Map<String, List<Integer>> groups,
+            Map<String, Integer> numbers) throws IOException {
+        out.writeInt(groups.size());
+        for (Map.Entry<String, List<Integer>> group : groups.entrySet()) {
+            out.writeInt(numbers.get(group.getKey()));
+            out.writeInt(group.getValue().size());
+            for (int member : group.getValue()) {
+                out.writeInt(member);
+            }
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.example.retroquiz.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams the rows of a question file, one at a time, so files of any size
+ * can be imported (see QuestionTransferService).
+ *
+ * Two formats:
+ * - CSV (RFC 4180): a header row, then one question per row; quoted fields
+ *   may contain commas, quotes ("") and line breaks
+ * - JSON: an array of flat objects, e.g. [{"question": "...", "optionA": "...", ...}]
+ *
+ * Each row is a map of field name to text value. Field names are normalized
+ * (lowercase, without "_", "-" and spaces) so "optionA", "option_a" and
+ * "OPTION A" are the same field.
+ */
+abstract class QuestionRowReader {
+
+    protected final Reader in;
+    private int peeked = -2; // -2: nothing peeked
+    private int line = 1;
+
+    protected QuestionRowReader(Reader in) {
+        this.in = in;
+    }
+
+    static QuestionRowReader csv(Reader in) {
+        return new Csv(in);
+    }
+
+    static QuestionRowReader json(Reader in) {
+        return new Json(in);
+    }
+
+    /**
+     * @return The next row, or null at the end of the file
+     * @throws IOException If the file cannot be read or is malformed
+     */
+    abstract Map<String, String> next() throws IOException;
+
+    /**
+     * @return Line of the file the reader is at (for error messages)
+     */
+    int getLine() {
+        return line;
+    }
+
+    static String normalizeField(String name) {
+        StringBuilder key = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c != '_' && c != '-' && !Character.isWhitespace(c) && c != '\uFEFF') {
+                key.append(Character.toLowerCase(c));
+            }
+        }
+        return key.toString();
+    }
+
+    protected int read() throws IOException {
+        int c;
+        if (peeked != -2) {
+            c = peeked;
+            peeked = -2;
+        } else {
+            c = in.read();
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    protected int peek() throws IOException {
+        if (peeked == -2) {
+            peeked = in.read();
+        }
+        return peeked;
+    }
+
+    protected IOException error(String message) {
+        return new IOException("Line " + line + ": " + message);
+    }
+
+    // --- CSV ---
+
+    private static final class Csv extends QuestionRowReader {
+        private List<String> header;
+
+        private Csv(Reader in) {
+            super(in);
+        }
+
+        @Override
+        Map<String, String> next() throws IOException {
+            if (header == null) {
+                List<String> names = readRecord();
+                if (names == null) {
+                    return null;
+                }
+                header = new ArrayList<>(names.size());
+                for (String name : names) {
+                    header.add(normalizeField(name));
+                }
+            }
+
+            List<String> values = readRecord();
+            if (values == null) {
+                return null;
+            }
+            Map<String, String> row = new HashMap<>();
+            for (int i = 0; i < header.size() && i < values.size(); i++) {
+                row.put(header.get(i), values.get(i));
+            }
+            return row;
+        }
+
+        /**
+         * @return The fields of the next non-empty record, or null at the end
+         */
+        private List<String> readRecord() throws IOException {
+            while (true) {
+                List<String> fields = new ArrayList<>();
+                StringBuilder field = new StringBuilder();
+                boolean quoted = false;
+                boolean any = false;
+                int c;
+                while (true) {
+                    c = read();
+                    if (c == -1) {
+                        if (quoted) {
+                            throw error("unterminated quoted field");
+                        }
+                        break;
+                    }
+                    any = true;
+                    if (quoted) {
+                        if (c == '"') {
+                            if (peek() == '"') {
+                                read();
+                                field.append('"');
+                            } else {
+                                quoted = false;
+                            }
+                        } else {
+                            field.append((char) c);
+                        }
+                    } else if (c == '"') {
+                        quoted = true;
+                    } else if (c == ',') {
+                        fields.add(field.toString());
+                        field.setLength(0);
+                    } else if (c == '\n') {
+                        break;
+                    } else if (c != '\r') {
+                        field.append((char) c);
+                    }
+                }
+                fields.add(field.toString());
+
+                if (!any) {
+                    return null; // End of file
+                }
+                if (fields.size() > 1 || !fields.get(0).isBlank()) {
+                    return fields;
+                }
+                if (c == -1) {
+                    return null;
+                }
+                // Empty line: skip it
+            }
+        }
+    }
+
+    // --- JSON ---
+
+    private static final class Json extends QuestionRowReader {
+        private boolean started;
+        private boolean finished;
+
+        private Json(Reader in) {
+            super(in);
+        }
+
+        @Override
+        Map<String, String> next() throws IOException {
+            if (finished) {
+                return null;
+            }
+            if (!started) {
+                started = true;
+                skipWhitespace();
+                if (peek() == '\uFEFF') {
+                    read();
+                    skipWhitespace();
+                }
+                expect('[');
+                skipWhitespace();
+                if (peek() == ']') {
+                    read();
+                    finished = true;
+                    return null;
+                }
+            } else {
+                skipWhitespace();
+                int c = read();
+                if (c == ']') {
+                    finished = true;
+                    return null;
+                }
+                if (c != ',') {
+                    throw error("expected ',' or ']' between questions");
+                }
+                skipWhitespace();
+            }
+            return readObject();
+        }
+
+        private Map<String, String> readObject() throws IOException {
+            expect('{');
+            Map<String, String> row = new HashMap<>();
+            skipWhitespace();
+            if (peek() == '}') {
+                read();
+                return row;
+            }
+            while (true) {
+                skipWhitespace();
+                expect('"');
+                String name = readString();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                row.put(normalizeField(name), readValue());
+                skipWhitespace();
+                int c = read();
+                if (c == '}') {
+                    return row;
+                }
+                if (c != ',') {
+                    throw error("expected ',' or '}' in question object");
+                }
+            }
+        }
+
+        /**
+         * @return The value as text (numbers and booleans as written), null for null
+         */
+        private String readValue() throws IOException {
+            int c = peek();
+            if (c == '"') {
+                read();
+                return readString();
+            }
+            if (c == '{' || c == '[') {
+                throw error("nested objects and arrays are not supported");
+            }
+            StringBuilder literal = new StringBuilder();
+            while ((c = peek()) != -1 && c != ',' && c != '}' && c != ']' && !Character.isWhitespace(c)) {
+                literal.append((char) read());
+            }
+            String value = literal.toString();
+            if (value.isEmpty()) {
+                throw error("missing value");
+            }
+            return value.equals("null") ? null : value;
+        }
+
+        private String readString() throws IOException {
+            StringBuilder value = new StringBuilder();
+            while (true) {
+                int c = read();
+                if (c == -1) {
+                    throw error("unterminated string");
+                }
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append((char) c);
+                    continue;
+                }
+                int escaped = read();
+                switch (escaped) {
+                    case '"', '\\', '/' -> value.append((char) escaped);
+                    case 'b' -> value.append('\b');
+                    case 'f' -> value.append('\f');
+                    case 'n' -> value.append('\n');
+                    case 'r' -> value.append('\r');
+                    case 't' -> value.append('\t');
+                    case 'u' -> {
+                        char[] hex = new char[4];
+                        for (int i = 0; i < 4; i++) {
+                            int h = read();
+                            if (h == -1) {
+                                throw error("unterminated string");
+                            }
+                            hex[i] = (char) h;
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(new String(hex), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("invalid escape \\u" + new String(hex));
+                        }
+                    }
+                    default -> throw error("invalid escape in string");
+                }
+            }
+        }
+
+        private void skipWhitespace() throws IOException {
+            while (peek() != -1 && Character.isWhitespace(peek())) {
+                read();
+            }
+        }
+
+        private void expect(char expected) throws IOException {
+            int c = read();
+            if (c != expected) {
+                throw error("expected '" + expected + "' but found "
+                        + (c == -1 ? "end of file" : "'" + (char) c + "'"));
+            }
+        }
+    }
+}
@@ -0,0 +1,469 @@
+package com.example.retroquiz.service;
+
+import com.example.retroquiz.dao.QuestionDAO;
+import com.example.retroquiz.model.Question;
+import com.example.retroquiz.model.SessionEvent;
+import com.example.retroquiz.repository.CloudDatabaseConnection;
+import com.example.retroquiz.util.Logger;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk import and export of questions as CSV or JSON files (chosen by the
+ * file extension, see {@link QuestionRowReader} for the formats).
+ *
+ * IMPORT streams the file row by row: each row is validated, questions
+ * already in the bank or earlier in the file (same text, ignoring case and
+ * spacing) are skipped, and the rest are inserted BATCH_SIZE rows per
+ * statement batch, all in one transaction. Any database error rolls back the
+ * whole import; invalid rows are only skipped and reported.
+ *
+ * EXPORT streams the questions table straight to the file, a few hundred
+ * rows at a time, and never holds the whole table in memory.
+ *
+ * Both are blocking: run them in the background. Progress is reported to a
+ * listener, from the worker thread, at most every PROGRESS_INTERVAL_MS.
+ */
+public class QuestionTransferService {
+
+    private static final Logger LOG = Logger.get(QuestionTransferService.class);
+
+    public static final int BATCH_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 20;
+    private static final long PROGRESS_INTERVAL_MS = 100;
+
+    private static final String[] FIELDS = {
+            "id", "question", "optionA", "optionB", "optionC", "optionD", "correct_option", "category", "difficulty" };
+    private static final Set<String> DIFFICULTIES = Set.of("EASY", "MEDIUM", "HARD");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final QuestionDAO questionDAO = new QuestionDAO();
+    private final QuestionCache questionCache = QuestionCache.getInstance();
+
+    /**
+     * Receives progress while a transfer runs.
+     */
+    public interface ProgressListener {
+        /**
+         * @param fraction Done so far, 0 to 1, or -1 if unknown
+         * @param message  Short status text for the UI
+         */
+        void onProgress(double fraction, String message);
+    }
+
+    // --- Import ---
+
+    /**
+     * Import the questions of a CSV or JSON file.
+     *
+     * @param file     .csv or .json file
+     * @param listener Progress listener (may be null)
+     * @return What was imported; see ImportResult.isCommitted()
+     * @throws IOException If the file cannot be read or is malformed (nothing is imported)
+     */
+    public ImportResult importQuestions(Path file, ProgressListener listener) throws IOException {
+        Format format = Format.of(file);
+        long fileSize = Files.size(file);
+        ImportResult result = new ImportResult();
+
+        Set<String> known = new HashSet<>();
+        if (!questionDAO.forEach(q -> known.add(normalizeText(q.getQuestion())))) {
+            result.failure = "Could not read the existing questions";
+            return result;
+        }
+
+        Connection conn = CloudDatabaseConnection.getConnection();
+        if (conn == null) {
+            result.failure = "Database unavailable";
+            return result;
+        }
+
+        try (CountingInputStream counter = new CountingInputStream(Files.newInputStream(file));
+                BufferedReader in = new BufferedReader(new InputStreamReader(counter, StandardCharsets.UTF_8))) {
+            conn.setAutoCommit(false);
+            QuestionRowReader reader = format == Format.CSV ? QuestionRowReader.csv(in) : QuestionRowReader.json(in);
+            List<Question> batch = new ArrayList<>(BATCH_SIZE);
+            long lastReport = 0;
+
+            Map<String, String> row;
+            while ((row = reader.next()) != null) {
+                result.rowsRead++;
+                Question question = toQuestion(row, result);
+                if (question != null) {
+                    if (known.add(normalizeText(question.getQuestion()))) {
+                        batch.add(question);
+                    } else {
+                        result.duplicates++;
+                    }
+                }
+                if (batch.size() == BATCH_SIZE) {
+                    questionDAO.insertBatch(batch, conn);
+                    result.imported += batch.size();
+                    batch.clear();
+                }
+
+                long now = System.nanoTime();
+                if (listener != null && now - lastReport > TimeUnit.MILLISECONDS.toNanos(PROGRESS_INTERVAL_MS)) {
+                    lastReport = now;
+                    listener.onProgress(fileSize == 0 ? -1 : (double) counter.count / fileSize, result.describe());
+                }
+            }
+            if (!batch.isEmpty()) {
+                questionDAO.insertBatch(batch, conn);
+                result.imported += batch.size();
+            }
+            conn.commit();
+            result.committed = true;
+
+        } catch (SQLException e) {
+            LOG.error("Error importing questions from {}: {}", file, e.getMessage());
+            rollback(conn);
+            result.failure = "Database error, nothing imported: " + e.getMessage();
+        } catch (IOException | RuntimeException e) {
+            rollback(conn);
+            throw e;
+        } finally {
+            CloudDatabaseConnection.closeConnection(conn); // The pool restores auto-commit
+        }
+
+        if (result.committed) {
+            if (result.imported > 0) {
+                questionCache.invalidateAll();
+                SessionEventBus.getDefault().publish(SessionEvent.questionsChanged(-1)); // Everything changed
+            }
+            LOG.info("📥 Imported {} from {}", result.describe(), file);
+        } else {
+            result.imported = 0;
+        }
+        if (listener != null) {
+            listener.onProgress(1, result.describe());
+        }
+        return result;
+    }
+
+    /**
+     * Validate one row.
+     *
+     * @return The question (ID 0), or null if the row is invalid (recorded in result)
+     */
+    private Question toQuestion(Map<String, String> row, ImportResult result) {
+        String question = text(row, "question");
+        String optionA = text(row, "optiona");
+        String optionB = text(row, "optionb");
+        String optionC = text(row, "optionc");
+        String optionD = text(row, "optiond");
+        String correct = firstText(row, "correctoption", "correct", "answer");
+        String category = text(row, "category");
+        String difficulty = text(row, "difficulty");
+
+        String problem = null;
+        if (question == null) {
+            problem = "question is missing";
+        } else if (question.length() > 500) {
+            problem = "question is longer than 500 characters";
+        } else if (optionA == null || optionB == null || optionC == null || optionD == null) {
+            problem = "optionA to optionD are required";
+        } else if (optionA.length() > 200 || optionB.length() > 200 || optionC.length() > 200
+                || optionD.length() > 200) {
+            problem = "options are limited to 200 characters";
+        } else if (correct == null || correct.length() != 1 || "ABCD".indexOf(Character.toUpperCase(correct.charAt(0))) < 0) {
+            problem = "correct_option must be A, B, C or D";
+        } else if (category != null && category.length() > 50) {
+            problem = "category is longer than 50 characters";
+        } else if (difficulty != null && !DIFFICULTIES.contains(difficulty.toUpperCase(Locale.ROOT))) {
+            problem = "difficulty must be EASY, MEDIUM or HARD";
+        }
+        if (problem != null) {
+            result.invalid++;
+            if (result.errors.size() < MAX_REPORTED_ERRORS) {
+                result.errors.add("Row " + result.rowsRead + ": " + problem);
+            }
+            return null;
+        }
+
+        return new Question(0, question, optionA, optionB, optionC, optionD, correct.charAt(0), category,
+                difficulty == null ? "MEDIUM" : difficulty.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * @return The trimmed value, or null if missing or blank
+     */
+    private static String text(Map<String, String> row, String field) {
+        String value = row.get(field);
+        if (value == null) {
+            return null;
+        }
+        value = value.strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String firstText(Map<String, String> row, String... fields) {
+        for (String field : fields) {
+            String value = text(row, field);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Question text as compared for duplicates: lowercase, single spaces, trimmed.
+     */
+    static String normalizeText(String text) {
+        return WHITESPACE.matcher(text.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private static void rollback(Connection conn) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            LOG.error("Error rolling back question import: {}", e.getMessage());
+        }
+    }
+
+    // --- Export ---
+
+    /**
+     * Write every question to a CSV or JSON file (replaced atomically).
+     *
+     * @param file     .csv or .json file
+     * @param listener Progress listener (may be null)
+     * @return Number of questions written
+     * @throws IOException If the file cannot be written or the questions cannot be read
+     */
+    public int exportQuestions(Path file, ProgressListener listener) throws IOException {
+        Format format = Format.of(file);
+        int total = questionDAO.getCount();
+        int[] written = { 0 };
+        long[] lastReport = { 0 };
+
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                out.write(format == Format.CSV ? String.join(",", FIELDS) + "\r\n" : "[");
+                boolean complete = questionDAO.forEach(q -> {
+                    try {
+                        if (format == Format.CSV) {
+                            writeCsv(out, q);
+                        } else {
+                            writeJson(out, q, written[0] == 0);
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    written[0]++;
+                    long now = System.nanoTime();
+                    if (listener != null && now - lastReport[0] > TimeUnit.MILLISECONDS.toNanos(PROGRESS_INTERVAL_MS)) {
+                        lastReport[0] = now;
+                        listener.onProgress(total > 0 ? Math.min(1.0, (double) written[0] / total) : -1,
+                                written[0] + " questions exported");
+                    }
+                });
+                if (!complete) {
+                    throw new IOException("Could not read the questions table");
+                }
+                if (format == Format.JSON) {
+                    out.write(written[0] == 0 ? "]\n" : "\n]\n");
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        LOG.info("📤 Exported {} questions to {}", written[0], file);
+        if (listener != null) {
+            listener.onProgress(1, written[0] + " questions exported");
+        }
+        return written[0];
+    }
+
+    static void writeCsv(Writer out, Question q) throws IOException {
+        String[] values = { String.valueOf(q.getId()), q.getQuestion(), q.getOptionA(), q.getOptionB(),
+                q.getOptionC(), q.getOptionD(), String.valueOf(q.getCorrectOption()), q.getCategory(),
+                q.getDifficulty() };
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            String value = values[i] == null ? "" : values[i];
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0
+                    || value.indexOf('\r') >= 0) {
+                out.write('"');
+                out.write(value.replace("\"", "\"\""));
+                out.write('"');
+            } else {
+                out.write(value);
+            }
+        }
+        out.write("\r\n");
+    }
+
+    static void writeJson(Writer out, Question q, boolean first) throws IOException {
+        String[] values = { null, q.getQuestion(), q.getOptionA(), q.getOptionB(), q.getOptionC(), q.getOptionD(),
+                String.valueOf(q.getCorrectOption()), q.getCategory(), q.getDifficulty() };
+        out.write(first ? "\n  {\"id\": " : ",\n  {\"id\": ");
+        out.write(String.valueOf(q.getId()));
+        for (int i = 1; i < FIELDS.length; i++) {
+            out.write(", \"");
+            out.write(FIELDS[i]);
+            out.write("\": ");
+            writeJsonString(out, values[i]);
+        }
+        out.write('}');
+    }
+
+    private static void writeJsonString(Writer out, String value) throws IOException {
+        if (value == null) {
+            out.write("null");
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.write("\\\"");
+                case '\\' -> out.write("\\\\");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                case '\t' -> out.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+                }
+            }
+        }
+        out.write('"');
+    }
+
+    // --- Types ---
+
+    private enum Format {
+        CSV, JSON;
+
+        static Format of(Path file) throws IOException {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) {
+                return CSV;
+            }
+            if (name.endsWith(".json")) {
+                return JSON;
+            }
+            throw new IOException("Unsupported file type (use .csv or .json): " + file.getFileName());
+        }
+    }
+
+    /**
+     * Outcome of an import.
+     */
+    public static final class ImportResult {
+        private long rowsRead;
+        private long imported;
+        private long duplicates;
+        private long invalid;
+        private boolean committed;
+        private String failure;
+        private final List<String> errors = new ArrayList<>();
+
+        public long getRowsRead() {
+            return rowsRead;
+        }
+
+        /**
+         * @return Questions added to the bank (0 unless committed)
+         */
+        public long getImported() {
+            return imported;
+        }
+
+        public long getDuplicates() {
+            return duplicates;
+        }
+
+        public long getInvalid() {
+            return invalid;
+        }
+
+        /**
+         * @return true if the import transaction committed
+         */
+        public boolean isCommitted() {
+            return committed;
+        }
+
+        /**
+         * @return Why nothing was imported, or null
+         */
+        public String getFailure() {
+            return failure;
+        }
+
+        /**
+         * @return The first invalid rows, with the reason
+         */
+        public List<String> getErrors() {
+            return Collections.unmodifiableList(errors);
+        }
+
+        public String describe() {
+            return rowsRead + " rows read: " + imported + " new, " + duplicates + " duplicates, " + invalid
+                    + " invalid";
+        }
+    }
+
+    /**
+     * Counts the bytes read from a file, for progress.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
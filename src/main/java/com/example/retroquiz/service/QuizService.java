@@ -2,8 +2,11 @@ package com.example.retroquiz.service;
 
 import com.example.retroquiz.dao.PlayerAnswerDAO;
 import com.example.retroquiz.dao.QuestionDAO;
+import com.example.retroquiz.model.PlayerAnswer;
 import com.example.retroquiz.model.Question;
+import com.example.retroquiz.model.SessionEvent;
 import com.example.retroquiz.repository.CloudDatabaseConnection;
+import com.example.retroquiz.util.Logger;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -13,35 +16,40 @@ import java.util.List;
  * Service class for managing quiz questions and game logic.
  * 
  * This service handles:
- * - Loading questions from database
+ * - Loading questions (from the in-memory QuestionCache, filled from the database)
  * - Randomizing question order
  * - Validating answers
  * - Recording player answers
  */
 public class QuizService {
 
+    private static final Logger LOG = Logger.get(QuizService.class);
+
     private final QuestionDAO questionDAO = new QuestionDAO();
     private final PlayerAnswerDAO playerAnswerDAO = new PlayerAnswerDAO();
+    private final AnswerRecorder answerRecorder = AnswerRecorder.getInstance();
+    private final ScoringStrategy scoring = ScoringStrategy.getDefault();
+    private final QuestionCache questionCache = QuestionCache.getInstance();
 
     /**
      * Load a specified number of random questions from the database.
      * Questions will not repeat within the same quiz session.
      * 
-     * FALLBACK: If database is unavailable, uses hardcoded questions.
+     * FALLBACK: If database is unavailable, uses offline questions (question pack or hardcoded).
      * 
      * @param count Number of questions to load
      * @return List of random questions
      */
     public List<Question> loadRandomQuestions(int count) {
-        List<Question> questions = questionDAO.getRandom(count);
+        List<Question> questions = questionCache.getRandom(null, count);
 
-        // If no questions loaded from database (or DB unavailable), use hardcoded
+        // If no questions loaded from database (or DB unavailable), use offline questions
         if (questions.isEmpty()) {
-            System.out.println("⚠️ No questions in database or DB unavailable. Using hardcoded questions (OFFLINE MODE).");
-            return QuestionBank.getHardcodedQuestions(count);
+            LOG.warn("⚠️ No questions in database or DB unavailable. Using offline questions (OFFLINE MODE).");
+            return QuestionBank.getOfflineQuestions(null, count);
         }
 
-        System.out.println("✅ Loaded " + questions.size() + " questions from database.");
+        LOG.debug("✅ Loaded {} questions from the question cache.", questions.size());
         return questions;
     }
 
@@ -53,11 +61,24 @@ public class QuizService {
      * @return List of questions from the category
      */
     public List<Question> loadQuestionsByCategory(String category, int count) {
-        return questionDAO.getByCategory(category, count);
+        return questionCache.getRandom(category, count);
     }
 
     /**
-     * Calculate points based on answer correctness.
+     * Load random questions of a category and / or difficulty.
+     * 
+     * @param category   The category name, or null for any
+     * @param difficulty EASY, MEDIUM or HARD, or null for any
+     * @param count      Maximum number of questions to load
+     * @return List of matching questions in random order
+     */
+    public List<Question> loadQuestions(String category, String difficulty, int count) {
+        return questionCache.getRandom(category, difficulty, count);
+    }
+
+    /**
+     * Calculate points based on answer correctness with the classic rules
+     * (ScoringStrategy.fixed()); games use scoreAnswer().
      * 
      * SCORING RULES:
      * - Correct answer: +10 points
@@ -69,28 +90,47 @@ public class QuizService {
      * @return Points earned/lost
      */
     public int calculatePoints(boolean isCorrect, boolean wasAnswered) {
-        if (!wasAnswered) {
-            return -15; // No answer penalty
-        }
-        return isCorrect ? 10 : -5;
+        return ScoringStrategy.fixed().score(null, wasAnswered, isCorrect, 0, 0, 0);
+    }
+
+    /**
+     * Score an answer with the configured ScoringStrategy (RETROQUIZ_SCORING).
+     * Allocation-free, safe to call on the JavaFX thread.
+     *
+     * @param question      The question answered
+     * @param answered      false if the time ran out
+     * @param correct       Whether the answer was correct
+     * @param responseNanos Time taken to answer, in ns
+     * @param limitNanos    Time allowed, in ns
+     * @param streak        Correct answers in a row before this one
+     * @return Points earned/lost
+     */
+    public int scoreAnswer(Question question, boolean answered, boolean correct, long responseNanos,
+            long limitNanos, int streak) {
+        return scoring.score(question, answered, correct, responseNanos, limitNanos, streak);
     }
 
     /**
      * Record a player's answer to a question in the database.
      * This is used for analytics and game history.
      * 
-     * @param sessionId      Current game session ID
-     * @param playerId       Player ID
-     * @param questionId     Question ID
-     * @param selectedOption Selected option ('A', 'B', 'C', 'D', or null)
-     * @param isCorrect      Whether the answer was correct
-     * @param timeTaken      Time taken to answer (seconds)
-     * @param pointsEarned   Points earned for this answer
+     * The answer is queued and inserted in a batch by the AnswerRecorder.
+     * This never touches the database, but waits (briefly) for room when the
+     * queue is full, so don't call it from the JavaFX thread.
+     * 
+     * @param sessionId       Current game session ID
+     * @param playerId        Player ID
+     * @param questionId      Question ID
+     * @param selectedOption  Selected option ('A', 'B', 'C', 'D', or null)
+     * @param isCorrect       Whether the answer was correct
+     * @param timeTakenMillis Time taken to answer (ms)
+     * @param pointsEarned    Points earned for this answer
      */
     public void recordAnswer(int sessionId, int playerId, int questionId,
             Character selectedOption, boolean isCorrect,
-            int timeTaken, int pointsEarned) {
-        playerAnswerDAO.create(sessionId, playerId, questionId, selectedOption, isCorrect, timeTaken, pointsEarned);
+            int timeTakenMillis, int pointsEarned) {
+        answerRecorder.record(new PlayerAnswer(sessionId, playerId, questionId, selectedOption, isCorrect,
+                timeTakenMillis, pointsEarned));
     }
 
     /**
@@ -100,7 +140,8 @@ public class QuizService {
      * @return Total question count
      */
     public int getTotalQuestionCount() {
-        return questionDAO.getCount();
+        int size = questionCache.size();
+        return size >= 0 ? size : 0;
     }
 
     /**
@@ -109,7 +150,7 @@ public class QuizService {
      * @return List of unique category names
      */
     public List<String> getCategories() {
-        return questionDAO.getAllCategories();
+        return questionCache.getCategories();
     }
 
     /**
@@ -128,7 +169,15 @@ public class QuizService {
     public boolean addQuestion(String question, String optionA, String optionB,
             String optionC, String optionD, char correctOption,
             String category, String difficulty) {
-        return questionDAO.create(question, optionA, optionB, optionC, optionD, correctOption, category, difficulty);
+        int id = questionDAO.insert(question, optionA, optionB, optionC, optionD, correctOption, category,
+                difficulty);
+        if (id <= 0) {
+            return false;
+        }
+        questionCache.put(new Question(id, question, optionA, optionB, optionC, optionD, correctOption, category,
+                difficulty));
+        SessionEventBus.getDefault().publish(SessionEvent.questionsChanged(id));
+        return true;
     }
 
     // --- Admin CRUD Operations for Questions ---
@@ -139,7 +188,7 @@ public class QuizService {
      * @return List of all questions
      */
     public List<Question> getAllQuestions() {
-        return questionDAO.getAll();
+        return questionCache.getAll();
     }
 
     /**
@@ -159,7 +208,14 @@ public class QuizService {
     public boolean updateQuestion(int id, String question, String optionA, String optionB,
             String optionC, String optionD, char correctOption,
             String category, String difficulty) {
-        return questionDAO.update(id, question, optionA, optionB, optionC, optionD, correctOption, category, difficulty);
+        if (!questionDAO.update(id, question, optionA, optionB, optionC, optionD, correctOption, category,
+                difficulty)) {
+            return false;
+        }
+        questionCache.put(new Question(id, question, optionA, optionB, optionC, optionD, correctOption, category,
+                difficulty));
+        SessionEventBus.getDefault().publish(SessionEvent.questionsChanged(id));
+        return true;
     }
 
     /**
@@ -190,6 +246,8 @@ public class QuizService {
 
                 if (rowsAffected > 0) {
                     conn.commit();
+                    questionCache.remove(id);
+                    SessionEventBus.getDefault().publish(SessionEvent.questionsChanged(id));
                     return true;
                 } else {
                     conn.rollback();
@@ -201,16 +259,16 @@ public class QuizService {
             try {
                 conn.rollback();
             } catch (SQLException ex) {
-                System.err.println("Error rolling back transaction: " + ex.getMessage());
+                LOG.error("Error rolling back transaction: {}", ex.getMessage());
             }
-            System.err.println("Error deleting question: " + e.getMessage());
+            LOG.error("Error deleting question: {}", e.getMessage());
             return false;
         } finally {
             try {
                 conn.setAutoCommit(true);
                 CloudDatabaseConnection.closeConnection(conn);
             } catch (SQLException e) {
-                System.err.println("Error resetting auto-commit: " + e.getMessage());
+                LOG.error("Error resetting auto-commit: {}", e.getMessage());
             }
         }
     }
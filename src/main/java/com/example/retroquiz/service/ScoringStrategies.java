@@ -0,0 +1,160 @@
+package com.example.retroquiz.service;
+
+import com.example.retroquiz.model.Question;
+import com.example.retroquiz.util.Logger;
+
+/**
+ * Built-in ScoringStrategy implementations and the shared instance.
+ */
+final class ScoringStrategies {
+
+    private static final Logger LOG = Logger.get(ScoringStrategies.class);
+
+    static final ScoringStrategy FIXED = new Fixed(10, -5, -15);
+    static final ScoringStrategy LINEAR_DECAY = new LinearDecay(1000, 500, -250, -750);
+
+    /** Streak bonus: +STREAK_STEP tenths per answer in the streak, up to MAX_STREAK answers */
+    private static final int STREAK_STEP = 1;
+    private static final int MAX_STREAK = 5;
+
+    private static volatile ScoringStrategy defaultStrategy;
+
+    private ScoringStrategies() {
+    }
+
+    static ScoringStrategy getDefault() {
+        ScoringStrategy strategy = defaultStrategy;
+        if (strategy == null) {
+            synchronized (ScoringStrategies.class) {
+                strategy = defaultStrategy;
+                if (strategy == null) {
+                    String spec = System.getProperty("retroquiz.scoring");
+                    if (spec == null) {
+                        spec = System.getenv("RETROQUIZ_SCORING");
+                    }
+                    strategy = FIXED;
+                    if (spec != null && !spec.isBlank()) {
+                        try {
+                            strategy = parse(spec);
+                            LOG.info("🎯 Scoring: {}", spec.trim());
+                        } catch (IllegalArgumentException e) {
+                            LOG.warn("⚠️ {}, using fixed scoring", e.getMessage());
+                        }
+                    }
+                    defaultStrategy = strategy;
+                }
+            }
+        }
+        return strategy;
+    }
+
+    static ScoringStrategy parse(String spec) {
+        String[] parts = spec.trim().toLowerCase().split("\\s*\\+\\s*");
+        ScoringStrategy strategy = switch (parts[0]) {
+            case "fixed" -> FIXED;
+            case "decay" -> LINEAR_DECAY;
+            default -> throw new IllegalArgumentException("Unknown scoring strategy: " + spec);
+        };
+        for (int i = 1; i < parts.length; i++) {
+            strategy = switch (parts[i]) {
+                case "streak" -> strategy.withStreakBonus();
+                case "difficulty" -> strategy.withDifficultyWeights();
+                default -> throw new IllegalArgumentException("Unknown scoring option: " + parts[i]);
+            };
+        }
+        return strategy;
+    }
+
+    static ScoringStrategy withStreakBonus(ScoringStrategy base) {
+        return (question, answered, correct, responseNanos, limitNanos, streak) -> {
+            int points = base.score(question, answered, correct, responseNanos, limitNanos, streak);
+            if (points <= 0 || streak <= 0) {
+                return points;
+            }
+            return points * (10 + STREAK_STEP * Math.min(streak, MAX_STREAK)) / 10;
+        };
+    }
+
+    static ScoringStrategy withDifficultyWeights(ScoringStrategy base) {
+        return (question, answered, correct, responseNanos, limitNanos, streak) -> {
+            int points = base.score(question, answered, correct, responseNanos, limitNanos, streak);
+            if (points <= 0) {
+                return points;
+            }
+            return points * difficultyWeight(question) / 2;
+        };
+    }
+
+    /**
+     * @return Weight of the question in halves (EASY 2, MEDIUM 3, HARD 4)
+     */
+    private static int difficultyWeight(Question question) {
+        String difficulty = question == null ? null : question.getDifficulty();
+        if (difficulty == null) {
+            return 3;
+        }
+        return switch (difficulty) {
+            case "EASY" -> 2;
+            case "HARD" -> 4;
+            default -> 3;
+        };
+    }
+
+    /**
+     * Same points whatever the response time.
+     */
+    private static final class Fixed implements ScoringStrategy {
+        private final int correctPoints;
+        private final int wrongPoints;
+        private final int noAnswerPoints;
+
+        private Fixed(int correctPoints, int wrongPoints, int noAnswerPoints) {
+            this.correctPoints = correctPoints;
+            this.wrongPoints = wrongPoints;
+            this.noAnswerPoints = noAnswerPoints;
+        }
+
+        @Override
+        public int score(Question question, boolean answered, boolean correct, long responseNanos,
+                long limitNanos, int streak) {
+            if (!answered) {
+                return noAnswerPoints;
+            }
+            return correct ? correctPoints : wrongPoints;
+        }
+    }
+
+    /**
+     * Correct answers score from maxPoints (instant) down to minPoints (at the deadline).
+     */
+    private static final class LinearDecay implements ScoringStrategy {
+        private final int maxPoints;
+        private final int minPoints;
+        private final int wrongPoints;
+        private final int noAnswerPoints;
+
+        private LinearDecay(int maxPoints, int minPoints, int wrongPoints, int noAnswerPoints) {
+            this.maxPoints = maxPoints;
+            this.minPoints = minPoints;
+            this.wrongPoints = wrongPoints;
+            this.noAnswerPoints = noAnswerPoints;
+        }
+
+        @Override
+        public int score(Question question, boolean answered, boolean correct, long responseNanos,
+                long limitNanos, int streak) {
+            if (!answered) {
+                return noAnswerPoints;
+            }
+            if (!correct) {
+                return wrongPoints;
+            }
+            if (limitNanos <= 0) {
+                return maxPoints;
+            }
+            long remaining = limitNanos - Math.max(0, Math.min(responseNanos, limitNanos));
+            // (max - min) * remaining stays far below Long.MAX_VALUE for any realistic limit
+            return minPoints + (int) ((maxPoints - minPoints) * remaining / limitNanos);
+        }
+    }
+}
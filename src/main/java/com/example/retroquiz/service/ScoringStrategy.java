@@ -0,0 +1,100 @@
+package com.example.retroquiz.service;
+
+import com.example.retroquiz.model.Question;
+
+/**
+ * Turns one answer into points.
+ *
+ * score() is called once per answer, so implementations keep no per-call
+ * state and allocate nothing: everything they need is passed in as
+ * primitives (response times in nanoseconds) and the question itself.
+ * Strategies are combined by wrapping, e.g.
+ * {@code ScoringStrategy.linearDecay().withStreakBonus().withDifficultyWeights()}.
+ *
+ * The strategy is chosen with the system property "retroquiz.scoring" or the
+ * RETROQUIZ_SCORING environment variable (see getDefault()). Session answers
+ * are scored where they are checked: by the game server, or by each player's
+ * machine when playing without one, in which case every machine in a game
+ * must use the same setting.
+ */
+@FunctionalInterface
+public interface ScoringStrategy {
+
+    /**
+     * Score one answer.
+     *
+     * @param question      The question answered (may be null when the strategy does not need it)
+     * @param answered      false if the time ran out
+     * @param correct       Whether the answer was correct (ignored when not answered)
+     * @param responseNanos Time from the question opening to the answer, in ns
+     * @param limitNanos    Time allowed for the question, in ns
+     * @param streak        Correct answers in a row just before this one
+     * @return Points earned (negative for a penalty)
+     */
+    int score(Question question, boolean answered, boolean correct, long responseNanos, long limitNanos,
+            int streak);
+
+    /**
+     * Multiply the points of a correct answer by 1.1, 1.2, ... for each
+     * correct answer in a row before it (at most x1.5). Penalties are unchanged.
+     *
+     * @return The wrapped strategy
+     */
+    default ScoringStrategy withStreakBonus() {
+        return ScoringStrategies.withStreakBonus(this);
+    }
+
+    /**
+     * Weight the points of a correct answer by the question's difficulty:
+     * EASY x1, MEDIUM x1.5, HARD x2 (unknown counts as MEDIUM). Penalties are unchanged.
+     *
+     * @return The wrapped strategy
+     */
+    default ScoringStrategy withDifficultyWeights() {
+        return ScoringStrategies.withDifficultyWeights(this);
+    }
+
+    /**
+     * The classic rules: correct +10, wrong -5, no answer -15, however long
+     * the answer took.
+     *
+     * @return Fixed scoring
+     */
+    static ScoringStrategy fixed() {
+        return ScoringStrategies.FIXED;
+    }
+
+    /**
+     * Faster correct answers score more: 1000 points for an instant answer
+     * down to 500 at the deadline, linear in the response time (about one
+     * point per 30 ms on a 15 s question, so equal scores become rare).
+     * Wrong -250, no answer -750: the classic rules at 50x scale.
+     *
+     * @return Linear time-decay scoring
+     */
+    static ScoringStrategy linearDecay() {
+        return ScoringStrategies.LINEAR_DECAY;
+    }
+
+    /**
+     * Parse a strategy name: "fixed" or "decay", optionally followed by
+     * "+streak" and / or "+difficulty" (e.g. "decay+streak+difficulty").
+     *
+     * @param spec The strategy name
+     * @return The strategy
+     * @throws IllegalArgumentException if the name is not recognised
+     */
+    static ScoringStrategy parse(String spec) {
+        return ScoringStrategies.parse(spec);
+    }
+
+    /**
+     * Get the configured strategy ("retroquiz.scoring" / RETROQUIZ_SCORING,
+     * "fixed" when unset or invalid).
+     *
+     * @return The shared strategy
+     */
+    static ScoringStrategy getDefault() {
+        return ScoringStrategies.getDefault();
+    }
+}
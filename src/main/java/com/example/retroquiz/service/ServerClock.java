@@ -0,0 +1,135 @@
+package com.example.retroquiz.service;
+
+import com.example.retroquiz.util.Logger;
+
+import java.util.function.LongSupplier;
+
+/**
+ * This machine's estimate of the game's reference clock (the database clock),
+ * which QuestionSchedule times are expressed in.
+ *
+ * sync() asks the reference clock for the time a few times, NTP-style, and
+ * keeps the sample with the shortest round trip: the reference time is taken
+ * to be halfway through it, which is off by at most half the round trip.
+ * After that the clock runs on System.nanoTime(), so it is monotonic and is
+ * not affected when the wall clock of this machine is adjusted.
+ */
+public class ServerClock {
+
+    private static final Logger LOG = Logger.get(ServerClock.class);
+
+    private static final int SAMPLES = 5;
+
+    private final LongSupplier source;
+    private volatile Anchor anchor;
+
+    /**
+     * @param source Reads the reference clock (epoch ms), or returns a
+     *               negative value if it is unavailable
+     */
+    public ServerClock(LongSupplier source) {
+        this.source = source;
+    }
+
+    /**
+     * Measure the offset to the reference clock. Blocks for SAMPLES round trips.
+     *
+     * @return false if the reference clock could not be read (the local wall
+     *         clock is used until a sync succeeds)
+     */
+    public boolean sync() {
+        Anchor best = null;
+        for (int i = 0; i < SAMPLES; i++) {
+            long sent = System.nanoTime();
+            long referenceMillis = source.getAsLong();
+            long received = System.nanoTime();
+            if (referenceMillis < 0) {
+                continue;
+            }
+            long roundTrip = received - sent;
+            if (best == null || roundTrip < best.roundTripNanos) {
+                best = new Anchor(referenceMillis, sent + roundTrip / 2, roundTrip,
+                        System.currentTimeMillis() - roundTrip / 2_000_000);
+            }
+        }
+        if (best == null) {
+            LOG.warn("⚠️ Could not read the reference clock, using the local clock");
+            return false;
+        }
+        anchor = best;
+        LOG.debug("Clock synced: offset {} ms, round trip {} ms", getOffsetMillis(),
+                best.roundTripNanos / 1_000_000.0);
+        return true;
+    }
+
+    /**
+     * @return true once a sync has succeeded
+     */
+    public boolean isSynced() {
+        return anchor != null;
+    }
+
+    /**
+     * @return Milliseconds since the last successful sync, or Long.MAX_VALUE if never synced
+     */
+    public long getAgeMillis() {
+        Anchor current = anchor;
+        return current == null ? Long.MAX_VALUE : (System.nanoTime() - current.nanos) / 1_000_000;
+    }
+
+    /**
+     * @return Current time on the reference clock (epoch ms)
+     */
+    public long currentTimeMillis() {
+        Anchor current = anchor;
+        if (current == null) {
+            return System.currentTimeMillis();
+        }
+        return current.referenceMillis + (System.nanoTime() - current.nanos) / 1_000_000;
+    }
+
+    /**
+     * @param referenceMillis An instant on the reference clock (epoch ms)
+     * @return Nanoseconds elapsed since that instant (negative if it is still ahead)
+     */
+    public long nanosSince(long referenceMillis) {
+        Anchor current = anchor;
+        if (current == null) {
+            return (System.currentTimeMillis() - referenceMillis) * 1_000_000;
+        }
+        return (current.referenceMillis - referenceMillis) * 1_000_000 + (System.nanoTime() - current.nanos);
+    }
+
+    /**
+     * @return Reference clock minus local wall clock, in ms (0 if never synced)
+     */
+    public long getOffsetMillis() {
+        Anchor current = anchor;
+        return current == null ? 0 : current.referenceMillis - current.wallMillis;
+    }
+
+    /**
+     * @return Worst-case error of currentTimeMillis(), in ms (half the best round trip)
+     */
+    public long getUncertaintyMillis() {
+        Anchor current = anchor;
+        return current == null ? Long.MAX_VALUE : current.roundTripNanos / 2_000_000;
+    }
+
+    /**
+     * One clock reading: the reference time at a System.nanoTime() instant.
+     */
+    private static final class Anchor {
+        private final long referenceMillis;
+        private final long nanos;
+        private final long roundTripNanos;
+        private final long wallMillis; // Local wall clock at the same instant, for getOffsetMillis()
+
+        private Anchor(long referenceMillis, long nanos, long roundTripNanos, long wallMillis) {
+            this.referenceMillis = referenceMillis;
+            this.nanos = nanos;
+            this.roundTripNanos = roundTripNanos;
+            this.wallMillis = wallMillis;
+        }
+    }
+}
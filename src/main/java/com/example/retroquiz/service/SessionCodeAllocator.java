@@ -0,0 +1,163 @@
+package com.example.retroquiz.service;
+
+import com.example.retroquiz.repository.CloudDatabaseConnection;
+import com.example.retroquiz.util.Logger;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+
+/**
+ * Issues 6-character session codes (e.g. "A3B7C9") that are unique without
+ * checking the database first.
+ *
+ * HOW IT WORKS:
+ * - Every code comes from a counter that never repeats a value. The counter
+ * is shared by all app instances through the session_code_seq sequence, which
+ * hands out blocks of BLOCK_SIZE values, so a database round-trip is needed
+ * once per BLOCK_SIZE sessions.
+ * - The counter value is shuffled by a 4-round Feistel permutation over the
+ * 36^6 possible codes, so consecutive sessions get unrelated-looking codes
+ * but two counter values can never give the same code.
+ * - When a session is FINISHED its code is released and, after a quarantine
+ * (so players still holding the old code cannot walk into a new game), handed
+ * out again before any new counter value.
+ *
+ * Codes are not secret: anyone with the source can follow the permutation.
+ * They only have to be short, unique and easy to type.
+ */
+public class SessionCodeAllocator {
+
+    private static final Logger LOG = Logger.get(SessionCodeAllocator.class);
+
+    private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final int HALF_SPACE = 36 * 36 * 36; // 3 characters
+    private static final long CODE_SPACE = (long) HALF_SPACE * HALF_SPACE; // 2,176,782,336 codes
+
+    // Must match INCREMENT BY of session_code_seq (SchemaMigrator)
+    private static final int BLOCK_SIZE = 50;
+    private static final long RECYCLE_QUARANTINE_MS = 15 * 60_000;
+
+    private static final long[] ROUND_KEYS = {
+            0x5DEECE66DL, 0x2545F4914F6CDD1DL, 0x9E3779B97F4A7C15L, 0x7F4A7C159E3779B9L
+    };
+
+    private static final SessionCodeAllocator INSTANCE = new SessionCodeAllocator();
+
+    private static final class ReleasedCode {
+        private final String code;
+        private final long releasedAt;
+
+        private ReleasedCode(String code, long releasedAt) {
+            this.code = code;
+            this.releasedAt = releasedAt;
+        }
+    }
+
+    // Guarded by this
+    private long next;
+    private long blockEnd;
+    private final ArrayDeque<ReleasedCode> released = new ArrayDeque<>();
+
+    private SessionCodeAllocator() {
+    }
+
+    public static SessionCodeAllocator getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get a code no other live session has.
+     *
+     * @return The code, or null if a new block could not be reserved
+     */
+    public synchronized String allocate() {
+        ReleasedCode oldest = released.peekFirst();
+        if (oldest != null && System.currentTimeMillis() - oldest.releasedAt >= RECYCLE_QUARANTINE_MS) {
+            released.pollFirst();
+            return oldest.code;
+        }
+
+        if (next >= blockEnd && !reserveBlock()) {
+            return null;
+        }
+        return codeFor(next++);
+    }
+
+    /**
+     * Give back the code of a FINISHED session so it can be reused.
+     * Only the instance that cleared the code in game_sessions may release it.
+     */
+    public synchronized void release(String code) {
+        if (code != null) {
+            released.addLast(new ReleasedCode(code, System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * @return Number of released codes waiting to be reused
+     */
+    public synchronized int getReleasedCount() {
+        return released.size();
+    }
+
+    /**
+     * Code for a counter value. Distinct values below 36^6 always give
+     * distinct codes; above that the codes start over.
+     */
+    public static String codeFor(long counter) {
+        long index = Math.floorMod(counter, CODE_SPACE);
+        int left = (int) (index / HALF_SPACE);
+        int right = (int) (index % HALF_SPACE);
+
+        // Feistel rounds on the two 3-character halves: a bijection on 36^6
+        for (long key : ROUND_KEYS) {
+            int mixed = (left + round(right, key)) % HALF_SPACE;
+            left = right;
+            right = mixed;
+        }
+
+        char[] code = new char[6];
+        encode(left, code, 0);
+        encode(right, code, 3);
+        return new String(code);
+    }
+
+    private static int round(int half, long key) {
+        long h = (half + 1L) * 0x9E3779B97F4A7C15L ^ key;
+        h ^= h >>> 32;
+        h *= 0xD6E8FEB86659FD93L;
+        h ^= h >>> 32;
+        return (int) Math.floorMod(h, (long) HALF_SPACE);
+    }
+
+    private static void encode(int half, char[] code, int offset) {
+        for (int i = offset + 2; i >= offset; i--) {
+            code[i] = ALPHABET.charAt(half % 36);
+            half /= 36;
+        }
+    }
+
+    private boolean reserveBlock() {
+        Connection conn = CloudDatabaseConnection.getConnection();
+        if (conn == null) {
+            return false;
+        }
+
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT nextval('session_code_seq')")) {
+            if (rs.next()) {
+                next = rs.getLong(1);
+                blockEnd = next + BLOCK_SIZE;
+                return true;
+            }
+        } catch (SQLException e) {
+            LOG.error("Error reserving session codes: {}", e.getMessage());
+        } finally {
+            CloudDatabaseConnection.closeConnection(conn);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.retroquiz.service;
+
+import com.example.retroquiz.model.SessionEvent;
+
+import java.util.function.Consumer;
+
+/**
+ * Publish / subscribe channel for game session changes.
+ *
+ * Replaces the 2-second database polling in the lobby and waiting screens:
+ * GameSessionService publishes an event after each change and the controllers
+ * react to it, so nothing is queried while a session is idle.
+ */
+public interface SessionEventBus {
+
+    /**
+     * Handle returned by subscribe(); close it to stop receiving events.
+     */
+    interface Subscription extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Publish an event to every subscriber of its session (on every node).
+     *
+     * @param event The event to publish
+     */
+    void publish(SessionEvent event);
+
+    /**
+     * Receive the events of one session.
+     * Listeners are called on a background thread, never the JavaFX thread.
+     *
+     * @param sessionId Session ID
+     * @param listener  Callback for each event
+     * @return Subscription handle
+     */
+    Subscription subscribe(int sessionId, Consumer<SessionEvent> listener);
+
+    /**
+     * Receive the events of every session.
+     *
+     * @param listener Callback for each event
+     * @return Subscription handle
+     */
+    Subscription subscribeAll(Consumer<SessionEvent> listener);
+
+    /**
+     * Get the shared bus.
+     * Uses PostgreSQL LISTEN/NOTIFY unless the system property
+     * "retroquiz.events" is set to "local" or the configured database is not
+     * PostgreSQL (embedded mode).
+     *
+     * @return The shared event bus
+     */
+    static SessionEventBus getDefault() {
+        return SessionEventBuses.getDefault();
+    }
+
+    /**
+     * Replace the shared bus (e.g. with an InProcessSessionEventBus in tests).
+     *
+     * @param bus The bus to use from now on
+     */
+    static void setDefault(SessionEventBus bus) {
+        SessionEventBuses.setDefault(bus);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.retroquiz.service;
+
+import com.example.retroquiz.repository.DatabaseConfig;
+
+/**
+ * Holder for the shared SessionEventBus instance.
+ */
+final class SessionEventBuses {
+
+    private static volatile SessionEventBus defaultBus;
+
+    private SessionEventBuses() {
+    }
+
+    static SessionEventBus getDefault() {
+        SessionEventBus bus = defaultBus;
+        if (bus == null) {
+            synchronized (SessionEventBuses.class) {
+                bus = defaultBus;
+                if (bus == null) {
+                    // LISTEN/NOTIFY needs a real PostgreSQL server
+                    if ("local".equalsIgnoreCase(System.getProperty("retroquiz.events"))
+                            || !DatabaseConfig.get().isPostgres()) {
+                        bus = new InProcessSessionEventBus();
+                    } else {
+                        bus = new PostgresSessionEventBus();
+                    }
+                    defaultBus = bus;
+                }
+            }
+        }
+        return bus;
+    }
+
+    static void setDefault(SessionEventBus bus) {
+        synchronized (SessionEventBuses.class) {
+            defaultBus = bus;
+        }
+    }
+}
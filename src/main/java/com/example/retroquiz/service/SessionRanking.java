@@ -0,0 +1,106 @@
+package com.example.retroquiz.service;
+
+import com.example.retroquiz.model.Player;
+import com.example.retroquiz.util.OrderStatisticTree;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Live ranking of one game session.
+ *
+ * Players are kept sorted the way Player.compareByScore ranks them (score
+ * descending, then earlier last answer first, then player ID), so a score
+ * change costs O(log n) and the top N or one player's rank can be read after
+ * every question without sorting or querying anything.
+ *
+ * Not thread-safe: GameSessionEngine calls it under the session's lock.
+ */
+public class SessionRanking {
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingInt((Entry e) -> e.score).reversed()
+            .thenComparingLong(e -> e.lastAnswerTime)
+            .thenComparingInt(e -> e.playerId);
+
+    private final OrderStatisticTree<Entry> tree = new OrderStatisticTree<>(ORDER);
+    private final Map<Integer, Entry> byPlayer = new HashMap<>();
+
+    /**
+     * Add a player or move them to their new position.
+     */
+    public void put(int playerId, String username, int score, long lastAnswerTime) {
+        Entry entry = new Entry(playerId, username, score, lastAnswerTime);
+        Entry previous = byPlayer.put(playerId, entry);
+        if (previous != null) {
+            tree.remove(previous);
+        }
+        tree.add(entry);
+    }
+
+    public void remove(int playerId) {
+        Entry entry = byPlayer.remove(playerId);
+        if (entry != null) {
+            tree.remove(entry);
+        }
+    }
+
+    /**
+     * @return The player's position, 1 = leading, or -1 if not in the session
+     */
+    public int getRank(int playerId) {
+        Entry entry = byPlayer.get(playerId);
+        return entry == null ? -1 : tree.indexOf(entry) + 1;
+    }
+
+    /**
+     * @return The best {@code limit} players, with their rank and session score set
+     */
+    public List<Player> getTop(int limit) {
+        return toPlayers(tree.range(0, limit));
+    }
+
+    /**
+     * @return Every player in rank order, with their rank and session score set
+     */
+    public List<Player> getAll() {
+        return toPlayers(tree.range(0, tree.size()));
+    }
+
+    public int size() {
+        return tree.size();
+    }
+
+    private static List<Player> toPlayers(List<Entry> entries) {
+        List<Player> players = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            Player player = new Player(entry.playerId, entry.username);
+            player.setCurrentScore(entry.score);
+            player.setLastAnswerTime(entry.lastAnswerTime);
+            player.setRank(i + 1);
+            players.add(player);
+        }
+        return players;
+    }
+
+    /**
+     * Immutable: a score change replaces the entry, so the tree never sees a key change.
+     */
+    private static final class Entry {
+        private final int playerId;
+        private final String username;
+        private final int score;
+        private final long lastAnswerTime;
+
+        private Entry(int playerId, String username, int score, long lastAnswerTime) {
+            this.playerId = playerId;
+            this.username = username;
+            this.score = score;
+            this.lastAnswerTime = lastAnswerTime;
+        }
+    }
+}
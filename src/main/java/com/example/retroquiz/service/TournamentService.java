@@ -3,6 +3,7 @@
 package com.example.retroquiz.service;
 
 import com.example.retroquiz.repository.*;
+import com.example.retroquiz.util.Logger;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -14,6 +15,8 @@ import java.sql.SQLException;
  */
 public class TournamentService {
 
+    private static final Logger LOG = Logger.get(TournamentService.class);
+
     private static final String HARDCODED_TOURNAMENT_CODE = "QZ1984";
 
     /**
@@ -47,7 +50,7 @@ public class TournamentService {
             return false; // User not found or is not an admin
 
         } catch (SQLException e) {
-            System.err.println("SQL Error during admin authentication: " + e.getMessage());
+            LOG.error("SQL Error during admin authentication: {}", e.getMessage());
             return false;
         } finally {
             CloudDatabaseConnection.closeConnection(conn);
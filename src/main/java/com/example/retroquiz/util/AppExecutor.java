@@ -0,0 +1,123 @@
+package com.example.retroquiz.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The executor for the app's background work: blocking database calls from
+ * controllers (through {@link FxTasks}) and one-off service tasks.
+ *
+ * Never use CompletableFuture.supplyAsync / runAsync without an executor:
+ * they run on the common ForkJoinPool, which has one thread per core and
+ * stalls as soon as a few tasks block on JDBC.
+ *
+ * On a JVM with virtual threads every task gets its own virtual thread
+ * ("app-task-N"), so blocked tasks cost almost nothing. Otherwise tasks run
+ * on a bounded pool of FALLBACK_THREADS daemon platform threads; more than
+ * that wait in a queue (executor.queue.wait shows how long).
+ *
+ * Every task is timed under its name. A task whose future is cancelled before
+ * it starts does not run; one that is already running is not interrupted
+ * (an interrupt can break a pooled database connection), its result is
+ * dropped instead.
+ */
+public final class AppExecutor {
+
+    private static final Logger LOG = Logger.get(AppExecutor.class);
+
+    private static final int FALLBACK_THREADS = 16;
+
+    private static final AppExecutor INSTANCE = new AppExecutor();
+
+    private final ExecutorService executor;
+    private final boolean virtual;
+    private final AtomicInteger active = new AtomicInteger();
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private final MetricsRegistry.Timer queueWait = metrics.timer("executor.queue.wait");
+
+    private AppExecutor() {
+        virtual = VirtualThreads.isAvailable();
+        if (virtual) {
+            executor = VirtualThreads.newThreadPerTaskExecutor("app-task");
+        } else {
+            AtomicInteger counter = new AtomicInteger();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(FALLBACK_THREADS, FALLBACK_THREADS,
+                    60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                        Thread t = new Thread(r, "app-task-" + counter.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    });
+            pool.allowCoreThreadTimeOut(true); // No idle threads when there is nothing to do
+            executor = pool;
+            metrics.gauge("executor.queued", () -> pool.getQueue().size());
+        }
+        metrics.gauge("executor.active", active::get);
+        LOG.debug("Background tasks run on {}", virtual ? "virtual threads" : FALLBACK_THREADS + " platform threads");
+    }
+
+    public static AppExecutor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Run work in the background.
+     *
+     * @param name Metric name the task is timed under (e.g. "ui.lobby.join")
+     * @param work The work; may block
+     * @return Completes with the result, or exceptionally with what the work threw
+     */
+    public <T> CompletableFuture<T> supply(String name, Supplier<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        MetricsRegistry.Timer timer = metrics.timer(name);
+        long submitted = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                queueWait.record(System.nanoTime() - submitted);
+                if (result.isDone()) {
+                    return; // Cancelled before it started
+                }
+                active.incrementAndGet();
+                try (MetricsRegistry.Timer.Timing ignored = timer.start()) {
+                    result.complete(work.get());
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                } finally {
+                    active.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * Run work in the background; see {@link #supply(String, Supplier)}.
+     */
+    public CompletableFuture<Void> run(String name, Runnable work) {
+        return supply(name, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * @return true if tasks run on virtual threads
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * @return Tasks running right now
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+}
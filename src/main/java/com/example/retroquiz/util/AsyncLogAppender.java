@@ -0,0 +1,241 @@
+package com.example.retroquiz.util;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes log messages to the console from a background thread.
+ *
+ * Callers only put the message on a fixed-size ring (an array-backed queue)
+ * and return; the "log-writer" thread formats the messages and writes them
+ * in batches, one print per batch, so the contended System.out / System.err
+ * locks are only taken by one thread. WARN and ERROR go to System.err, the
+ * rest to System.out.
+ *
+ * When the ring is full, DEBUG / INFO / TRACE messages are dropped (and
+ * counted, with a warning once there is room again) so that a burst of log
+ * lines never stalls the caller; WARN and ERROR wait for room instead.
+ * At JVM shutdown the ring is flushed and later messages are written directly.
+ */
+final class AsyncLogAppender {
+
+    private static final int CAPACITY = 8192;
+    private static final int BATCH_SIZE = 256;
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss.SSS")
+            .withZone(ZoneId.systemDefault());
+
+    private static final AsyncLogAppender INSTANCE = new AsyncLogAppender();
+
+    /**
+     * One call to the logger, formatted later by the writer thread.
+     */
+    static final class LogEvent {
+        private final long time;
+        private final Logger.Level level;
+        private final String logger;
+        private final String thread;
+        private final String pattern;
+        private final Object[] args;
+
+        LogEvent(long time, Logger.Level level, String logger, String thread, String pattern, Object[] args) {
+            this.time = time;
+            this.level = level;
+            this.logger = logger;
+            this.thread = thread;
+            this.pattern = pattern;
+            this.args = args;
+        }
+
+        private boolean isSevere() {
+            return level == Logger.Level.ERROR || level == Logger.Level.WARN;
+        }
+    }
+
+    private final ArrayBlockingQueue<LogEvent> ring = new ArrayBlockingQueue<>(CAPACITY);
+    private final LongAdder dropped = new LongAdder();
+    private long droppedReported; // Writer thread only
+
+    // Flush bookkeeping: events accepted vs. events written (guarded by this for wait/notify)
+    private final AtomicLong accepted = new AtomicLong();
+    private long written;
+
+    private volatile boolean direct;
+
+    private AsyncLogAppender() {
+        Thread writer = new Thread(this::writeLoop, "log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            flush(2000);
+            direct = true;
+        }, "log-flush"));
+    }
+
+    static AsyncLogAppender getInstance() {
+        return INSTANCE;
+    }
+
+    void append(LogEvent event) {
+        if (direct) {
+            synchronized (this) {
+                write(List.of(event));
+            }
+            return;
+        }
+
+        if (ring.offer(event)) {
+            accepted.incrementAndGet();
+            return;
+        }
+        if (!event.isSevere()) {
+            dropped.increment();
+            return;
+        }
+        try {
+            ring.put(event);
+            accepted.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Wait until everything accepted so far is written, or the timeout is over.
+     */
+    void flush(long timeoutMillis) {
+        long target = accepted.get();
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (this) {
+            while (written < target) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return;
+                }
+                try {
+                    wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    int getQueuedCount() {
+        return ring.size();
+    }
+
+    private void writeLoop() {
+        List<LogEvent> batch = new ArrayList<>(BATCH_SIZE);
+        while (true) {
+            try {
+                batch.add(ring.take());
+            } catch (InterruptedException e) {
+                // Not expected: the writer is a daemon and is never interrupted
+                continue;
+            }
+            ring.drainTo(batch, BATCH_SIZE - 1);
+
+            synchronized (this) {
+                write(batch);
+                written += batch.size();
+                notifyAll();
+            }
+            batch.clear();
+        }
+    }
+
+    private void write(List<LogEvent> batch) {
+        StringBuilder out = new StringBuilder();
+        StringBuilder err = new StringBuilder();
+
+        long droppedNow = dropped.sum();
+        if (droppedNow > droppedReported) {
+            err.append(TIME_FORMAT.format(Instant.now())).append(" WARN  [log-writer] AsyncLogAppender - ⚠️ ")
+                    .append(droppedNow - droppedReported).append(" log messages dropped (queue full)")
+                    .append(System.lineSeparator());
+            droppedReported = droppedNow;
+        }
+
+        for (LogEvent event : batch) {
+            format(event, event.isSevere() ? err : out);
+        }
+
+        if (out.length() > 0) {
+            System.out.print(out);
+            System.out.flush();
+        }
+        if (err.length() > 0) {
+            System.err.print(err);
+            System.err.flush();
+        }
+    }
+
+    /**
+     * "12:04:31.207 INFO  [main] GameSessionService - message"
+     */
+    private static void format(LogEvent event, StringBuilder line) {
+        line.append(TIME_FORMAT.format(Instant.ofEpochMilli(event.time))).append(' ');
+        String level = event.level.name();
+        line.append(level);
+        for (int i = level.length(); i < 6; i++) {
+            line.append(' ');
+        }
+        line.append('[').append(event.thread).append("] ").append(event.logger).append(" - ");
+
+        Throwable thrown = formatMessage(event.pattern, event.args, line);
+        line.append(System.lineSeparator());
+        if (thrown != null) {
+            StringWriter trace = new StringWriter();
+            thrown.printStackTrace(new PrintWriter(trace));
+            line.append(trace);
+        }
+    }
+
+    /**
+     * Replace each {} with the next argument.
+     *
+     * @return A Throwable given after the last used argument, to print with its stack trace
+     */
+    private static Throwable formatMessage(String pattern, Object[] args, StringBuilder line) {
+        if (args == null || args.length == 0) {
+            line.append(pattern);
+            return null;
+        }
+
+        int used = 0;
+        int start = 0;
+        int placeholder;
+        while (used < args.length && (placeholder = pattern.indexOf("{}", start)) >= 0) {
+            line.append(pattern, start, placeholder);
+            line.append(argumentText(args[used++]));
+            start = placeholder + 2;
+        }
+        line.append(pattern, start, pattern.length());
+
+        Object last = args[args.length - 1];
+        return used < args.length && last instanceof Throwable ? (Throwable) last : null;
+    }
+
+    private static String argumentText(Object arg) {
+        try {
+            return String.valueOf(arg);
+        } catch (RuntimeException e) {
+            return "[" + arg.getClass().getSimpleName() + ".toString() failed]";
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.retroquiz.util;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking work (database calls) off the JavaFX Application Thread.
+ *
+ * THE PATTERN for controllers:
+ * FxTasks.run("leaderboard.load", () -> playerService.getTopPlayers(10), this::showLeaderboard);
+ *
+ * The work runs on the {@link AppExecutor} and must not touch the UI. The
+ * callback runs on the FX thread with the result. If the work throws, the
+ * error is logged and handed to the optional failure callback, also on the
+ * FX thread. Screens that can be left while a task runs start it through
+ * their {@link TaskGroup} instead: its callbacks are dropped once the screen
+ * is gone.
+ *
+ * Every task is timed: ui.[name] for the work, fx.[name] for the callback.
+ */
+public final class FxTasks {
+
+    private static final Logger LOG = Logger.get(FxTasks.class);
+
+    private FxTasks() {
+    }
+
+    /**
+     * Run work in the background, then its callback on the FX thread.
+     *
+     * @param name      Task name for metrics and logs (e.g. "lobby.join")
+     * @param work      Blocking work; must not touch the UI
+     * @param onSuccess Called on the FX thread with the result (may be null)
+     * @return Completes with the result of the work
+     */
+    public static <T> CompletableFuture<T> run(String name, Supplier<T> work, Consumer<? super T> onSuccess) {
+        return run(name, work, onSuccess, null);
+    }
+
+    /**
+     * Run work in the background, then one of the callbacks on the FX thread.
+     *
+     * @param onFailure Called on the FX thread if the work throws (may be null)
+     */
+    public static <T> CompletableFuture<T> run(String name, Supplier<T> work, Consumer<? super T> onSuccess,
+            Consumer<? super Throwable> onFailure) {
+        return run(null, name, work, onSuccess, onFailure);
+    }
+
+    static <T> CompletableFuture<T> run(TaskGroup group, String name, Supplier<T> work,
+            Consumer<? super T> onSuccess, Consumer<? super Throwable> onFailure) {
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        CompletableFuture<T> result = AppExecutor.getInstance().supply("ui." + name, work);
+        if (group != null) {
+            group.track(result);
+        }
+        result.whenComplete((value, error) -> {
+            if (error instanceof CancellationException) {
+                LOG.debug("UI task {} cancelled", name);
+                return;
+            }
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+                LOG.error("UI task {} failed: {}", name, cause.getMessage(), cause);
+                if (onFailure != null) {
+                    Platform.runLater(() -> {
+                        if (group == null || !group.isCancelled()) {
+                            onFailure.accept(cause);
+                        }
+                    });
+                }
+            } else if (onSuccess != null) {
+                Platform.runLater(metrics.timed("fx." + name, () -> {
+                    if (group == null || !group.isCancelled()) {
+                        onSuccess.accept(value);
+                    }
+                }));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Run work the UI does not wait for (e.g. saving statistics).
+     */
+    public static CompletableFuture<Void> run(String name, Runnable work) {
+        return run(name, () -> {
+            work.run();
+            return null;
+        }, null, null);
+    }
+}
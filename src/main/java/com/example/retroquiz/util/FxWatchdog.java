@@ -0,0 +1,124 @@
+package com.example.retroquiz.util;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detects stalls of the JavaFX Application Thread.
+ *
+ * The "fx-watchdog" thread keeps one ping in the FX event queue at a time
+ * and records how long each ping waited (fx.queue.delay). A ping that waits
+ * longer than the stall threshold means the FX thread is stuck in one long
+ * task, usually blocking I/O that belongs in {@link FxTasks}: the FX thread's
+ * stack is logged (WARN) once per stall, while the stall is still going on,
+ * so it shows the offending code. Stalls are counted in fx.stalls.
+ *
+ * Threshold: retroquiz.fx.stall.ms, as a system property or environment
+ * variable (RETROQUIZ_FX_STALL_MS), default 500 ms.
+ */
+public final class FxWatchdog {
+
+    private static final Logger LOG = Logger.get(FxWatchdog.class);
+
+    private static final long PING_INTERVAL_MS = 250;
+    private static final long CHECK_INTERVAL_MS = 50;
+    private static final long DEFAULT_STALL_MS = 500;
+
+    private static FxWatchdog instance; // Guarded by FxWatchdog.class
+
+    private final Thread fxThread;
+    private final long stallNanos;
+    private final MetricsRegistry.Timer queueDelay = MetricsRegistry.getInstance().timer("fx.queue.delay");
+    private final MetricsRegistry.Counter stalls = MetricsRegistry.getInstance().counter("fx.stalls");
+
+    private volatile long pingPostedAt; // nanoTime, 0 when no ping is waiting
+    private volatile long lastDelayNanos;
+    // Watchdog thread only
+    private long lastPingAt;
+    private boolean stallReported;
+
+    private FxWatchdog(Thread fxThread, long stallMillis) {
+        this.fxThread = fxThread;
+        this.stallNanos = TimeUnit.MILLISECONDS.toNanos(stallMillis);
+    }
+
+    /**
+     * Start watching. Call once, on the FX thread (e.g. from Application.start).
+     */
+    public static synchronized void start() {
+        if (instance != null) {
+            return;
+        }
+        if (!Platform.isFxApplicationThread()) {
+            throw new IllegalStateException("FxWatchdog.start() must be called on the JavaFX thread");
+        }
+
+        instance = new FxWatchdog(Thread.currentThread(), stallThresholdMillis());
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "fx-watchdog");
+            t.setDaemon(true);
+            return t;
+        });
+        timer.scheduleWithFixedDelay(instance::check, CHECK_INTERVAL_MS, CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void check() {
+        long now = System.nanoTime();
+        long posted = pingPostedAt;
+
+        if (posted != 0) {
+            if (!stallReported && now - posted > stallNanos) {
+                stallReported = true;
+                stalls.increment();
+                StallTrace trace = new StallTrace(fxThread.getName());
+                trace.setStackTrace(fxThread.getStackTrace());
+                LOG.warn("⚠️ JavaFX thread stalled for {} ms (threshold {} ms), it is running:",
+                        TimeUnit.NANOSECONDS.toMillis(now - posted), TimeUnit.NANOSECONDS.toMillis(stallNanos), trace);
+            }
+            return;
+        }
+
+        if (stallReported) {
+            stallReported = false;
+            LOG.warn("JavaFX thread stall over after {} ms", TimeUnit.NANOSECONDS.toMillis(lastDelayNanos));
+        }
+
+        if (now - lastPingAt >= TimeUnit.MILLISECONDS.toNanos(PING_INTERVAL_MS)) {
+            lastPingAt = now;
+            pingPostedAt = now;
+            Platform.runLater(() -> {
+                long delay = System.nanoTime() - now;
+                queueDelay.record(delay);
+                lastDelayNanos = delay;
+                pingPostedAt = 0;
+            });
+        }
+    }
+
+    private static long stallThresholdMillis() {
+        String value = System.getProperty("retroquiz.fx.stall.ms");
+        if (value == null) {
+            value = System.getenv("RETROQUIZ_FX_STALL_MS");
+        }
+        if (value != null && !value.isBlank()) {
+            try {
+                return Math.max(1, Long.parseLong(value.trim()));
+            } catch (NumberFormatException e) {
+                LOG.warn("⚠️ Invalid retroquiz.fx.stall.ms: {}", value);
+            }
+        }
+        return DEFAULT_STALL_MS;
+    }
+
+    /**
+     * Carries the stack of the stalled FX thread into the log.
+     */
+    private static final class StallTrace extends Throwable {
+        private StallTrace(String threadName) {
+            super("Stack of " + threadName);
+        }
+    }
+}
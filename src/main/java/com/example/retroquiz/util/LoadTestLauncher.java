@@ -0,0 +1,338 @@
+package com.example.retroquiz.util;
+
+import com.example.retroquiz.model.Player;
+import com.example.retroquiz.model.Question;
+import com.example.retroquiz.model.QuestionSchedule;
+import com.example.retroquiz.repository.CloudDatabaseConnection;
+import com.example.retroquiz.service.AnswerRecorder;
+import com.example.retroquiz.net.GameClient;
+import com.example.retroquiz.service.GameGateway;
+import com.example.retroquiz.service.GameSessionEngine;
+import com.example.retroquiz.service.LocalGameGateway;
+import com.example.retroquiz.service.ServerClock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Headless load generator: plays whole multiplayer games with bot players.
+ *
+ * Each session has one host bot and N player bots, each on its own (virtual
+ * when available) thread. Bots go through the same service calls as the UI:
+ * create / join the session, start it, fetch its question schedule, submit
+ * answers (checked and scored by the back end) and mark themselves finished.
+ * Bots answer each question a think time after it opens on the schedule, so a
+ * game lasts about questions x (timer + 2 s). Every call is timed and the run
+ * ends with throughput, p50/p99/p99.9 latency and error counts per operation.
+ *
+ * Bots are created as guest players ("lt-<run>-...") so they stay off the
+ * global leaderboard.
+ *
+ * With --server the bots play through a GameClient against a running
+ * GameServer instead of calling the services (and the database) directly.
+ *
+ * USAGE:
+ * mvn -q compile exec:java -Dexec.mainClass=com.example.retroquiz.util.LoadTestLauncher \
+ * -Dexec.args="--sessions 50 --players 20 --questions 10 --think-ms 500 --accuracy 0.7"
+ *
+ * Options:
+ * --sessions   Number of concurrent sessions (default 10)
+ * --players    Player bots per session, host not included (default 10)
+ * --questions  Questions per game (default 10)
+ * --think-ms   Mean think time before each answer (default 500)
+ * --timer      Seconds per question (default 15; keep it above 1.5 x think time)
+ * --accuracy   Probability of a correct answer, 0..1 (default 0.7)
+ * --ramp-ms    Spread session starts over this many ms (default 1000)
+ * --server     host:port of a GameServer (default: play in this process)
+ */
+public class LoadTestLauncher {
+
+    private int sessions = 10;
+    private int playersPerSession = 10;
+    private int questions = 10;
+    private long thinkMs = 500;
+    private int timerSeconds = 15;
+    private double accuracy = 0.7;
+    private long rampMs = 1000;
+    private String server;
+
+    private final String runId = Long.toString(System.currentTimeMillis() % 1_000_000_000L, 36);
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+    private final AtomicLong finishedPlayers = new AtomicLong();
+    private final AtomicLong answersRecorded = new AtomicLong();
+
+    private GameGateway gateway;
+    private ServerClock clock;
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadTestLauncher launcher = new LoadTestLauncher();
+        if (!launcher.parseArgs(args)) {
+            return;
+        }
+        launcher.run();
+    }
+
+    private boolean parseArgs(String[] args) {
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--sessions" -> sessions = Integer.parseInt(value);
+                    case "--players" -> playersPerSession = Integer.parseInt(value);
+                    case "--questions" -> questions = Integer.parseInt(value);
+                    case "--think-ms" -> thinkMs = Long.parseLong(value);
+                    case "--timer" -> timerSeconds = Integer.parseInt(value);
+                    case "--accuracy" -> accuracy = Double.parseDouble(value);
+                    case "--ramp-ms" -> rampMs = Long.parseLong(value);
+                    case "--server" -> server = value;
+                    default -> {
+                        System.err.println("Unknown option: " + args[i]);
+                        return false;
+                    }
+                }
+                i++;
+            }
+        } catch (NumberFormatException | NullPointerException e) {
+            System.err.println("Invalid option value: " + e.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    private void run() throws InterruptedException {
+        gateway = server != null ? GameClient.forAddress(server) : new LocalGameGateway();
+        clock = new ServerClock(gateway::getServerTimeMillis);
+        clock.sync();
+        int totalBots = sessions * (playersPerSession + 1);
+        System.out.println("🚀 Load test " + runId + ": " + sessions + " sessions x " + (playersPerSession + 1)
+                + " bots, " + questions + " questions of " + timerSeconds + " s, think " + thinkMs + " ms, accuracy "
+                + accuracy
+                + (VirtualThreads.isAvailable() ? " (virtual threads)" : " (platform threads)")
+                + (server != null ? " via server " + server : ""));
+
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("load-bot");
+        CountDownLatch done = new CountDownLatch(sessions);
+        long start = System.nanoTime();
+
+        for (int s = 0; s < sessions; s++) {
+            int sessionIndex = s;
+            long delay = sessions > 1 ? rampMs * s / (sessions - 1) : 0;
+            executor.execute(() -> {
+                try {
+                    sleep(delay);
+                    runSession(executor, sessionIndex);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        // Progress until every session has finished
+        while (!done.await(5, TimeUnit.SECONDS)) {
+            System.out.printf("... %d/%d bots finished, %d answers recorded%n",
+                    finishedPlayers.get(), totalBots, answersRecorded.get());
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        executor.shutdown();
+
+        // Include the write-behind work in the run (the server does its own)
+        if (server == null) {
+            GameSessionEngine.getInstance().flush();
+            AnswerRecorder.getInstance().shutdown();
+        }
+
+        printReport(elapsedNanos);
+        CloudDatabaseConnection.shutdown();
+    }
+
+    /**
+     * One game: the host creates the session, the player bots join, the host
+     * starts it and everyone (host included) plays.
+     */
+    private void runSession(ExecutorService executor, int sessionIndex) {
+        String hostName = "lt-" + runId + "-s" + sessionIndex + "-host";
+        Player host = timed("createPlayer", () -> gateway.createPlayer(hostName, true), p -> p != null);
+        if (host == null) {
+            return;
+        }
+
+        String code = timed("createGameSession",
+                () -> gateway.createGameSession(hostName, questions, timerSeconds), c -> c != null);
+        if (code == null) {
+            return;
+        }
+        int sessionId = timed("getSessionId", () -> gateway.getSessionId(code), id -> id > 0);
+        if (sessionId <= 0) {
+            return;
+        }
+
+        CountDownLatch joined = new CountDownLatch(playersPerSession);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(playersPerSession);
+
+        for (int p = 0; p < playersPerSession; p++) {
+            String username = "lt-" + runId + "-s" + sessionIndex + "-p" + p;
+            executor.execute(() -> {
+                boolean counted = false;
+                try {
+                    Player player = timed("createPlayer", () -> gateway.createPlayer(username, true),
+                            created -> created != null);
+                    int joinedId = player == null ? -1
+                            : timed("joinGameSession", () -> gateway.joinGameSession(code, username),
+                                    id -> id == sessionId);
+                    joined.countDown();
+                    counted = true;
+                    if (joinedId != sessionId) {
+                        return;
+                    }
+                    started.await();
+                    play(sessionId, player.getId());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    if (!counted) {
+                        joined.countDown(); // Don't leave the host waiting for a bot that failed
+                    }
+                    finished.countDown();
+                }
+            });
+        }
+
+        try {
+            joined.await();
+            timed("startGame", () -> gateway.startGame(sessionId), schedule -> schedule != null);
+            started.countDown();
+
+            play(sessionId, host.getId());
+            finished.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * One bot's game: answer every question a think time after it opens, then finish.
+     */
+    private void play(int sessionId, int playerId) {
+        QuestionSchedule schedule = timed("getQuestionSchedule", () -> gateway.getQuestionSchedule(sessionId),
+                s -> s != null && !s.getQuestions().isEmpty());
+        if (schedule == null) {
+            return;
+        }
+        List<Question> questionList = schedule.getQuestions();
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < questionList.size(); i++) {
+            Question question = questionList.get(i);
+            // Think time uniformly spread around the mean
+            long think = thinkMs > 0 ? random.nextLong(thinkMs / 2, thinkMs * 3 / 2 + 1) : 0;
+            sleep(schedule.getQuestionStart(i) + think - clock.currentTimeMillis());
+
+            boolean correct = random.nextDouble() < accuracy;
+            char selected = correct ? question.getCorrectOption() : wrongAnswer(question.getCorrectOption());
+            int index = i;
+            timed("submitAnswer", () -> gateway.submitAnswer(sessionId, playerId, index, selected, (int) think),
+                    result -> result != null);
+            answersRecorded.incrementAndGet();
+        }
+
+        timed("markPlayerFinished", () -> {
+            gateway.markPlayerFinished(sessionId, playerId);
+            return Boolean.TRUE;
+        }, ok -> true);
+        finishedPlayers.incrementAndGet();
+    }
+
+    private static char wrongAnswer(char correct) {
+        char[] options = { 'A', 'B', 'C', 'D' };
+        char answer;
+        do {
+            answer = options[ThreadLocalRandom.current().nextInt(options.length)];
+        } while (answer == correct);
+        return answer;
+    }
+
+    /**
+     * Run and time one operation. Exceptions and results rejected by
+     * {@code success} are counted as errors.
+     */
+    private <T> T timed(String operation, Supplier<T> call, Predicate<T> success) {
+        long start = System.nanoTime();
+        T result = null;
+        boolean ok;
+        try {
+            result = call.get();
+            ok = success.test(result);
+        } catch (RuntimeException e) {
+            ok = false;
+        }
+        latencies.computeIfAbsent(operation, k -> new LatencyHistogram()).record(System.nanoTime() - start);
+        if (!ok) {
+            errors.computeIfAbsent(operation, k -> new AtomicLong()).incrementAndGet();
+        }
+        return result;
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void printReport(long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        AnswerRecorder recorder = AnswerRecorder.getInstance();
+
+        // The report is program output, not logging: keep log lines out of it
+        Logger.flush();
+        System.out.println();
+        System.out.printf("=== Load test %s: %.1f s, %d bots finished, %d answers ===%n",
+                runId, seconds, finishedPlayers.get(), answersRecorded.get());
+        System.out.printf("%-26s %9s %9s %9s %9s %9s %9s %7s%n",
+                "operation", "count", "ops/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+
+        List<String> operations = new ArrayList<>(latencies.keySet());
+        operations.sort(null);
+        for (String operation : operations) {
+            LatencyHistogram histogram = latencies.get(operation);
+            AtomicLong errorCount = errors.get(operation);
+            System.out.printf("%-26s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %7d%n",
+                    operation,
+                    histogram.getCount(),
+                    histogram.getCount() / seconds,
+                    millis(histogram.getPercentileNanos(50)),
+                    millis(histogram.getPercentileNanos(99)),
+                    millis(histogram.getPercentileNanos(99.9)),
+                    millis(histogram.getMaxNanos()),
+                    errorCount == null ? 0 : errorCount.get());
+        }
+
+        if (server != null) {
+            return; // The answers were written by the server
+        }
+        System.out.printf("Answer writer: %d written, %d dropped, %d batches, avg %.1f ms per batch%n",
+                recorder.getWrittenCount(), recorder.getDroppedCount(), recorder.getFlushCount(),
+                recorder.getAverageFlushMillis());
+        System.out.printf("Answer queue: peak depth %d; connection pool: max %d%n",
+                recorder.getMaxQueueDepth(), CloudDatabaseConnection.getPool().getMaxSize());
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,296 @@
+package com.example.retroquiz.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lightweight logging: levels, per-package configuration and {} messages.
+ *
+ * USAGE:
+ * private static final Logger LOG = Logger.get(PlayerDAO.class);
+ * LOG.info("Loaded {} questions", count);
+ * LOG.error("Error creating player: {}", e.getMessage());
+ * LOG.error("Unexpected error", e); // a Throwable left over is printed with its stack trace
+ *
+ * A disabled call costs a level check: the message is only built (on the
+ * log writer thread, see {@link AsyncLogAppender}) when the level is enabled.
+ * Build expensive arguments behind isDebugEnabled().
+ *
+ * LEVELS are set per logger name prefix (package or class), the longest
+ * matching prefix wins. Each setting is looked up in this order:
+ * 1. System property  (-Dretroquiz.log.level=DEBUG,
+ *                      -Dretroquiz.log.level.com.example.retroquiz.dao=TRACE)
+ * 2. Environment      (RETROQUIZ_LOG_LEVEL=DEBUG, default level only)
+ * 3. Logging.properties on the classpath (log.level=INFO,
+ *                      log.level.com.example.retroquiz.service=DEBUG)
+ * 4. Built-in default: INFO
+ */
+public final class Logger {
+
+    public enum Level {
+        // Most severe first: a logger set to a level logs it and everything above
+        OFF, ERROR, WARN, INFO, DEBUG, TRACE;
+
+        static Level parse(String name) {
+            try {
+                return valueOf(name.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+
+    private static final String ROOT = "";
+    private static final Level DEFAULT_LEVEL = Level.INFO;
+
+    // Name prefix -> level; ROOT holds the default
+    private static final Map<String, Level> LEVELS = new ConcurrentHashMap<>();
+    private static final Map<String, Logger> LOGGERS = new ConcurrentHashMap<>();
+
+    static {
+        loadLevels();
+    }
+
+    private final String name;
+    private final String shortName;
+    private volatile Level level;
+
+    private Logger(String name) {
+        this.name = name;
+        this.shortName = name.substring(name.lastIndexOf('.') + 1);
+        this.level = resolve(name);
+    }
+
+    /**
+     * Get the logger of a class (one per class, keep it in a static final field).
+     */
+    public static Logger get(Class<?> type) {
+        return get(type.getName());
+    }
+
+    public static Logger get(String name) {
+        return LOGGERS.computeIfAbsent(name, Logger::new);
+    }
+
+    /**
+     * Change the level of a package or class (and everything below it) at run time.
+     *
+     * @param prefix Logger name prefix, or "" for the default level
+     */
+    public static void setLevel(String prefix, Level level) {
+        LEVELS.put(prefix, level);
+        for (Logger logger : LOGGERS.values()) {
+            logger.level = resolve(logger.name);
+        }
+    }
+
+    /**
+     * Wait (at most a second) until every message logged so far is written.
+     * Call before printing to System.out directly, so the output is not
+     * interleaved with log lines still in the queue.
+     */
+    public static void flush() {
+        AsyncLogAppender.getInstance().flush(1000);
+    }
+
+    /**
+     * @return Messages dropped because the log queue was full
+     */
+    public static long getDroppedCount() {
+        return AsyncLogAppender.getInstance().getDroppedCount();
+    }
+
+    /**
+     * @return Messages waiting to be written
+     */
+    public static int getQueuedCount() {
+        return AsyncLogAppender.getInstance().getQueuedCount();
+    }
+
+    // --- Level checks ---
+
+    public boolean isEnabled(Level level) {
+        return level != Level.OFF && level.ordinal() <= this.level.ordinal();
+    }
+
+    public boolean isDebugEnabled() {
+        return isEnabled(Level.DEBUG);
+    }
+
+    public boolean isTraceEnabled() {
+        return isEnabled(Level.TRACE);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // --- Logging (fixed-arity overloads: no varargs array when disabled) ---
+
+    public void error(String message) {
+        log(Level.ERROR, message, null);
+    }
+
+    public void error(String pattern, Object arg) {
+        if (isEnabled(Level.ERROR)) {
+            log(Level.ERROR, pattern, new Object[] { arg });
+        }
+    }
+
+    public void error(String pattern, Object arg1, Object arg2) {
+        if (isEnabled(Level.ERROR)) {
+            log(Level.ERROR, pattern, new Object[] { arg1, arg2 });
+        }
+    }
+
+    public void error(String pattern, Object... args) {
+        log(Level.ERROR, pattern, args);
+    }
+
+    public void warn(String message) {
+        log(Level.WARN, message, null);
+    }
+
+    public void warn(String pattern, Object arg) {
+        if (isEnabled(Level.WARN)) {
+            log(Level.WARN, pattern, new Object[] { arg });
+        }
+    }
+
+    public void warn(String pattern, Object arg1, Object arg2) {
+        if (isEnabled(Level.WARN)) {
+            log(Level.WARN, pattern, new Object[] { arg1, arg2 });
+        }
+    }
+
+    public void warn(String pattern, Object... args) {
+        log(Level.WARN, pattern, args);
+    }
+
+    public void info(String message) {
+        log(Level.INFO, message, null);
+    }
+
+    public void info(String pattern, Object arg) {
+        if (isEnabled(Level.INFO)) {
+            log(Level.INFO, pattern, new Object[] { arg });
+        }
+    }
+
+    public void info(String pattern, Object arg1, Object arg2) {
+        if (isEnabled(Level.INFO)) {
+            log(Level.INFO, pattern, new Object[] { arg1, arg2 });
+        }
+    }
+
+    public void info(String pattern, Object... args) {
+        log(Level.INFO, pattern, args);
+    }
+
+    public void debug(String message) {
+        log(Level.DEBUG, message, null);
+    }
+
+    public void debug(String pattern, Object arg) {
+        if (isEnabled(Level.DEBUG)) {
+            log(Level.DEBUG, pattern, new Object[] { arg });
+        }
+    }
+
+    public void debug(String pattern, Object arg1, Object arg2) {
+        if (isEnabled(Level.DEBUG)) {
+            log(Level.DEBUG, pattern, new Object[] { arg1, arg2 });
+        }
+    }
+
+    public void debug(String pattern, Object... args) {
+        log(Level.DEBUG, pattern, args);
+    }
+
+    public void trace(String message) {
+        log(Level.TRACE, message, null);
+    }
+
+    public void trace(String pattern, Object arg) {
+        if (isEnabled(Level.TRACE)) {
+            log(Level.TRACE, pattern, new Object[] { arg });
+        }
+    }
+
+    public void trace(String pattern, Object arg1, Object arg2) {
+        if (isEnabled(Level.TRACE)) {
+            log(Level.TRACE, pattern, new Object[] { arg1, arg2 });
+        }
+    }
+
+    public void trace(String pattern, Object... args) {
+        log(Level.TRACE, pattern, args);
+    }
+
+    private void log(Level level, String pattern, Object[] args) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        AsyncLogAppender.getInstance().append(new AsyncLogAppender.LogEvent(System.currentTimeMillis(),
+                level, shortName, Thread.currentThread().getName(), pattern, args));
+    }
+
+    // --- Configuration ---
+
+    private static Level resolve(String name) {
+        String prefix = name;
+        while (true) {
+            Level level = LEVELS.get(prefix);
+            if (level != null) {
+                return level;
+            }
+            if (prefix.isEmpty()) {
+                return DEFAULT_LEVEL;
+            }
+            int dot = prefix.lastIndexOf('.');
+            prefix = dot > 0 ? prefix.substring(0, dot) : ROOT;
+        }
+    }
+
+    private static void loadLevels() {
+        Properties file = new Properties();
+        try (InputStream in = Logger.class.getResourceAsStream("/Logging.properties")) {
+            if (in != null) {
+                file.load(in);
+            }
+        } catch (IOException e) {
+            // Logging is not up yet
+            System.err.println("⚠️ Could not read Logging.properties: " + e.getMessage());
+        }
+
+        // Lowest precedence first, each source overrides the previous one
+        file.stringPropertyNames().forEach(key -> addLevel(key, "log.level", file.getProperty(key)));
+        String env = System.getenv("RETROQUIZ_LOG_LEVEL");
+        if (env != null) {
+            addLevel("log.level", "log.level", env);
+        }
+        Properties system = System.getProperties();
+        system.stringPropertyNames().forEach(key -> addLevel(key, "retroquiz.log.level", system.getProperty(key)));
+    }
+
+    private static void addLevel(String key, String base, String value) {
+        String prefix;
+        if (key.equals(base)) {
+            prefix = ROOT;
+        } else if (key.startsWith(base + ".")) {
+            prefix = key.substring(base.length() + 1);
+        } else {
+            return;
+        }
+
+        Level level = value == null || value.isBlank() ? null : Level.parse(value);
+        if (level != null) {
+            LEVELS.put(prefix, level);
+        } else {
+            System.err.println("⚠️ Invalid log level for " + key + ": " + value);
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package com.example.retroquiz.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * In-process metrics: counters, gauges and latency timers.
+ *
+ * Metrics are created on first use and live for the whole process. Recording
+ * is lock-free and cheap enough for hot paths (a timer sample is two
+ * System.nanoTime() calls and a few atomic increments).
+ *
+ * WHAT IS MEASURED (names):
+ * - db.[Class].[method]  every SQL statement, by the DAO / service method that ran it
+ * - db.pool.acquire      time to get a pooled connection; db.pool.* gauges
+ * - session.[method]     every GameSessionService call
+ * - fx.*                 JavaFX thread tasks, FX event queue delay and stalls (FxWatchdog)
+ * - ui.*                 controller work run in the background (FxTasks)
+ * - executor.*           background tasks waiting / running (AppExecutor)
+ * - log.queue, log.dropped  log messages waiting to be written / dropped (Logger)
+ *
+ * Timers report percentiles and throughput over the last complete
+ * WINDOW_SECONDS window (so the dashboard shows live numbers), plus a
+ * count since start. A snapshot of every metric is appended to a CSV file
+ * every retroquiz.metrics.interval seconds (default 60) when
+ * retroquiz.metrics.file is set, as a system property
+ * (-Dretroquiz.metrics.file=metrics.csv) or environment variable
+ * (RETROQUIZ_METRICS_FILE=metrics.csv).
+ */
+public final class MetricsRegistry {
+
+    private static final Logger LOG = Logger.get(MetricsRegistry.class);
+
+    public static final int WINDOW_SECONDS = 10;
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(WINDOW_SECONDS);
+
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    private MetricsRegistry() {
+        // Registered here: Logger cannot depend on MetricsRegistry, which logs through it
+        gauge("log.queue", Logger::getQueuedCount);
+        gauge("log.dropped", Logger::getDroppedCount);
+
+        String file = setting("retroquiz.metrics.file");
+        if (file != null) {
+            long interval = 60;
+            String intervalSetting = setting("retroquiz.metrics.interval");
+            if (intervalSetting != null) {
+                try {
+                    interval = Long.parseLong(intervalSetting);
+                } catch (NumberFormatException e) {
+                    LOG.warn("⚠️ Invalid retroquiz.metrics.interval: {}", intervalSetting);
+                }
+            }
+            startDump(Paths.get(file), Math.max(1, interval));
+        }
+    }
+
+    /**
+     * System property, else environment variable (retroquiz.metrics.file -> RETROQUIZ_METRICS_FILE).
+     */
+    private static String setting(String key) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = System.getenv(key.toUpperCase().replace('.', '_'));
+        }
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    // --- Registration ---
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, k -> new Counter());
+    }
+
+    public Timer timer(String name) {
+        return timers.computeIfAbsent(name, k -> new Timer());
+    }
+
+    /**
+     * Register (or replace) a gauge: a value read when a snapshot is taken.
+     */
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    // --- Recording shortcuts ---
+
+    /**
+     * Start timing; close the result to record. Use with try-with-resources.
+     */
+    public Timer.Timing time(String name) {
+        return timer(name).start();
+    }
+
+    /**
+     * Run and time a call.
+     */
+    public <T> T time(String name, Supplier<T> call) {
+        try (Timer.Timing ignored = time(name)) {
+            return call.get();
+        }
+    }
+
+    /**
+     * Wrap a task so that each run of it is timed (e.g. for Platform.runLater).
+     */
+    public Runnable timed(String name, Runnable task) {
+        Timer timer = timer(name);
+        return () -> {
+            try (Timer.Timing ignored = timer.start()) {
+                task.run();
+            }
+        };
+    }
+
+    // --- Reading ---
+
+    /**
+     * @return Every timer, sorted by name
+     */
+    public List<TimerSnapshot> getTimerSnapshots() {
+        List<TimerSnapshot> snapshots = new ArrayList<>();
+        for (Map.Entry<String, Timer> entry : new TreeMap<>(timers).entrySet()) {
+            snapshots.add(entry.getValue().snapshot(entry.getKey()));
+        }
+        return snapshots;
+    }
+
+    /**
+     * @return Current value of every counter and gauge, sorted by name
+     */
+    public Map<String, Long> getValues() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.get()));
+        gauges.forEach((name, gauge) -> {
+            try {
+                values.put(name, gauge.getAsLong());
+            } catch (RuntimeException e) {
+                values.put(name, -1L);
+            }
+        });
+        return values;
+    }
+
+    /**
+     * @return Current value of a counter or gauge, or -1 if there is none
+     */
+    public long getValue(String name) {
+        LongSupplier gauge = gauges.get(name);
+        if (gauge != null) {
+            return gauge.getAsLong();
+        }
+        Counter counter = counters.get(name);
+        return counter != null ? counter.get() : -1;
+    }
+
+    /**
+     * Clear every counter and timer (gauges are live values and are kept).
+     */
+    public void reset() {
+        counters.values().forEach(Counter::reset);
+        timers.values().forEach(Timer::reset);
+    }
+
+    // --- File dump ---
+
+    private void startDump(Path file, long intervalSeconds) {
+        ScheduledExecutorService dumper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics-dump");
+            t.setDaemon(true);
+            return t;
+        });
+        dumper.scheduleAtFixedRate(() -> dump(file), intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        // Short runs (load tests) still get one snapshot
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> dump(file), "metrics-final-dump"));
+        LOG.info("📈 Metrics written to {} every {} s", file.toAbsolutePath(), intervalSeconds);
+    }
+
+    /**
+     * Append one line per metric to a CSV file:
+     * time,name,count,rate_per_s,p50_ms,p99_ms,p999_ms,max_ms (counters and gauges only fill count).
+     */
+    public void dump(Path file) {
+        String now = Instant.now().toString();
+        StringBuilder out = new StringBuilder();
+        for (TimerSnapshot timer : getTimerSnapshots()) {
+            out.append(String.format(Locale.ROOT, "%s,%s,%d,%.2f,%.3f,%.3f,%.3f,%.3f%n",
+                    now, timer.getName(), timer.getTotalCount(), timer.getRatePerSecond(),
+                    timer.getP50Millis(), timer.getP99Millis(), timer.getP999Millis(), timer.getMaxMillis()));
+        }
+        getValues().forEach((name, value) -> out.append(now).append(',').append(name).append(',')
+                .append(value).append(",,,,,").append(System.lineSeparator()));
+
+        try {
+            boolean header = !Files.exists(file);
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (header) {
+                    writer.write("time,name,count,rate_per_s,p50_ms,p99_ms,p999_ms,max_ms" + System.lineSeparator());
+                }
+                writer.write(out.toString());
+            }
+        } catch (IOException e) {
+            LOG.warn("⚠️ Could not write metrics to {}: {}", file, e.getMessage());
+        }
+    }
+
+    // --- Metric types ---
+
+    /**
+     * A count that only goes up (until reset).
+     */
+    public static final class Counter {
+        private final LongAdder value = new LongAdder();
+
+        public void increment() {
+            value.increment();
+        }
+
+        public void add(long amount) {
+            value.add(amount);
+        }
+
+        public long get() {
+            return value.sum();
+        }
+
+        private void reset() {
+            value.reset();
+        }
+    }
+
+    /**
+     * Latency distribution and throughput of an operation.
+     *
+     * Samples go to a histogram for the current window; when the window is
+     * over it becomes the "last window" that is reported. Rotation is not
+     * atomic with concurrent record() calls: a sample may land in the
+     * neighbouring window, which is fine for monitoring.
+     */
+    public static final class Timer {
+        private final LongAdder totalCount = new LongAdder();
+        private volatile LatencyHistogram current = new LatencyHistogram();
+        private volatile LatencyHistogram last = new LatencyHistogram();
+        private volatile long windowStart = System.nanoTime();
+
+        public Timing start() {
+            return new Timing(this, System.nanoTime());
+        }
+
+        public void record(long nanos) {
+            rotate(System.nanoTime());
+            current.record(nanos);
+            totalCount.increment();
+        }
+
+        private void rotate(long now) {
+            if (now - windowStart < WINDOW_NANOS) {
+                return;
+            }
+            synchronized (this) {
+                long elapsed = now - windowStart;
+                if (elapsed < WINDOW_NANOS) {
+                    return;
+                }
+                LatencyHistogram recycled = last;
+                recycled.reset();
+                if (elapsed < 2 * WINDOW_NANOS) {
+                    last = current;
+                    current = recycled;
+                } else {
+                    // Idle for more than a window: nothing recent to report
+                    current.reset();
+                }
+                windowStart = now - elapsed % WINDOW_NANOS;
+            }
+        }
+
+        private TimerSnapshot snapshot(String name) {
+            long now = System.nanoTime();
+            rotate(now);
+            LatencyHistogram window = last;
+            double seconds = WINDOW_SECONDS;
+            if (window.getCount() == 0) {
+                // No complete window yet (or nothing in it): report the current one
+                window = current;
+                seconds = Math.max(1.0, (now - windowStart) / 1_000_000_000.0);
+            }
+            return new TimerSnapshot(name, totalCount.sum(), window.getCount() / seconds,
+                    window.getPercentileNanos(50), window.getPercentileNanos(99),
+                    window.getPercentileNanos(99.9), window.getMaxNanos());
+        }
+
+        private synchronized void reset() {
+            totalCount.reset();
+            current.reset();
+            last.reset();
+            windowStart = System.nanoTime();
+        }
+
+        /**
+         * A running measurement; close() records it.
+         */
+        public static final class Timing implements AutoCloseable {
+            private final Timer timer;
+            private final long start;
+
+            private Timing(Timer timer, long start) {
+                this.timer = timer;
+                this.start = start;
+            }
+
+            @Override
+            public void close() {
+                timer.record(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * A timer's numbers at one point in time. Percentiles and rate cover the
+     * last complete window, or the current one before the first window is over.
+     */
+    public static final class TimerSnapshot {
+        private final String name;
+        private final long totalCount;
+        private final double ratePerSecond;
+        private final long p50Nanos;
+        private final long p99Nanos;
+        private final long p999Nanos;
+        private final long maxNanos;
+
+        private TimerSnapshot(String name, long totalCount, double ratePerSecond,
+                long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+            this.name = name;
+            this.totalCount = totalCount;
+            this.ratePerSecond = ratePerSecond;
+            this.p50Nanos = p50Nanos;
+            this.p99Nanos = p99Nanos;
+            this.p999Nanos = p999Nanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getTotalCount() {
+            return totalCount;
+        }
+
+        public double getRatePerSecond() {
+            return ratePerSecond;
+        }
+
+        public double getP50Millis() {
+            return p50Nanos / 1_000_000.0;
+        }
+
+        public double getP99Millis() {
+            return p99Nanos / 1_000_000.0;
+        }
+
+        public double getP999Millis() {
+            return p999Nanos / 1_000_000.0;
+        }
+
+        public double getMaxMillis() {
+            return maxNanos / 1_000_000.0;
+        }
+    }
+}
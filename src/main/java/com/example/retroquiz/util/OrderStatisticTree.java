@@ -0,0 +1,251 @@
+package com.example.retroquiz.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Sorted collection with rank queries (a treap whose nodes know their
+ * subtree size).
+ *
+ * add, remove, rank and get(index) are O(log n); reading k consecutive
+ * elements from any position is O(log n + k). Elements that compare equal are
+ * treated as the same element, so the comparator must include a tie-break
+ * (e.g. on an ID).
+ *
+ * Not thread-safe: callers synchronize.
+ *
+ * @param <T> Element type
+ */
+public class OrderStatisticTree<T> {
+
+    private static final class Node<T> {
+        private T value;
+        private final int priority;
+        private int size = 1;
+        private Node<T> left;
+        private Node<T> right;
+
+        private Node(T value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+    }
+
+    private final Comparator<? super T> comparator;
+    private final Random random = new Random();
+    private Node<T> root;
+
+    public OrderStatisticTree(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    /**
+     * Add an element, replacing an equal one if present.
+     */
+    public void add(T value) {
+        root = insert(root, value);
+    }
+
+    /**
+     * Remove the element equal to {@code value}.
+     *
+     * @return true if an element was removed
+     */
+    public boolean remove(T value) {
+        int before = size(root);
+        root = delete(root, value);
+        return size(root) < before;
+    }
+
+    /**
+     * Number of elements strictly before {@code probe} in sort order.
+     * {@code probe} does not have to be in the tree.
+     */
+    public int countBefore(T probe) {
+        int count = 0;
+        Node<T> node = root;
+        while (node != null) {
+            if (comparator.compare(node.value, probe) < 0) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Zero-based position of {@code value}, or -1 if it is not in the tree.
+     */
+    public int indexOf(T value) {
+        int index = 0;
+        Node<T> node = root;
+        while (node != null) {
+            int cmp = comparator.compare(value, node.value);
+            if (cmp == 0) {
+                return index + size(node.left);
+            }
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                index += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Element at a zero-based position.
+     */
+    public T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+        }
+        Node<T> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.value;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Up to {@code count} consecutive elements starting at position {@code from}.
+     */
+    public List<T> range(int from, int count) {
+        List<T> result = new ArrayList<>(Math.max(0, Math.min(count, size() - from)));
+        if (from < 0 || from >= size() || count <= 0) {
+            return result;
+        }
+
+        // Stack holds the ancestors that come after the current position
+        Deque<Node<T>> stack = new ArrayDeque<>();
+        Node<T> node = root;
+        int index = from;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                stack.push(node);
+                node = node.left;
+            } else if (index == leftSize) {
+                stack.push(node);
+                break;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+
+        while (result.size() < count && !stack.isEmpty()) {
+            Node<T> next = stack.pop();
+            result.add(next.value);
+            for (Node<T> n = next.right; n != null; n = n.left) {
+                stack.push(n);
+            }
+        }
+        return result;
+    }
+
+    private Node<T> insert(Node<T> node, T value) {
+        if (node == null) {
+            return new Node<>(value, random.nextInt());
+        }
+        int cmp = comparator.compare(value, node.value);
+        if (cmp == 0) {
+            node.value = value;
+            return node;
+        }
+        if (cmp < 0) {
+            node.left = insert(node.left, value);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, value);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<T> delete(Node<T> node, T value) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = comparator.compare(value, node.value);
+        if (cmp < 0) {
+            node.left = delete(node.left, value);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, value);
+        } else {
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static <T> int size(Node<T> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static <T> void update(Node<T> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+}
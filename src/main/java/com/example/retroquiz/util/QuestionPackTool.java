@@ -0,0 +1,91 @@
+package com.example.retroquiz.util;
+
+import com.example.retroquiz.dao.QuestionDAO;
+import com.example.retroquiz.model.Question;
+import com.example.retroquiz.repository.CloudDatabaseConnection;
+import com.example.retroquiz.service.QuestionPack;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Exports the questions table to a question pack for offline mode
+ * (see {@link QuestionPack} and QuestionBank), or describes an existing pack.
+ *
+ * USAGE:
+ * mvn -q compile exec:java -Dexec.mainClass=com.example.retroquiz.util.QuestionPackTool \
+ * -Dexec.args="--out questions.pack"
+ *
+ * Options:
+ * --out   Pack file to write from the database (default questions.pack)
+ * --info  Pack file to describe instead of exporting
+ */
+public class QuestionPackTool {
+
+    private String out = "questions.pack";
+    private String info;
+
+    public static void main(String[] args) throws IOException {
+        QuestionPackTool tool = new QuestionPackTool();
+        if (!tool.parseArgs(args)) {
+            return;
+        }
+        if (tool.info != null) {
+            tool.describe(Paths.get(tool.info));
+        } else {
+            tool.export(Paths.get(tool.out));
+        }
+        Logger.flush();
+    }
+
+    private boolean parseArgs(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            if (value == null) {
+                System.err.println("Missing value for " + args[i]);
+                return false;
+            }
+            switch (args[i]) {
+                case "--out" -> out = value;
+                case "--info" -> info = value;
+                default -> {
+                    System.err.println("Unknown option: " + args[i]);
+                    return false;
+                }
+            }
+            i++;
+        }
+        return true;
+    }
+
+    private void export(Path file) throws IOException {
+        long start = System.nanoTime();
+        List<Question> questions = new QuestionDAO().getAll();
+        CloudDatabaseConnection.shutdown();
+        if (questions.isEmpty()) {
+            System.err.println("❌ No questions loaded from the database, nothing written.");
+            return;
+        }
+
+        QuestionPack.write(questions, file);
+        System.out.println("✅ Wrote " + questions.size() + " questions to " + file + " (" + Files.size(file)
+                + " bytes) in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    private void describe(Path file) throws IOException {
+        long start = System.nanoTime();
+        QuestionPack pack = QuestionPack.open(file);
+        long openMicros = (System.nanoTime() - start) / 1_000;
+
+        System.out.println("📦 " + file + ": " + pack.size() + " questions, " + Files.size(file)
+                + " bytes, opened in " + openMicros + " µs");
+        System.out.println("Categories: " + pack.getCategories());
+        System.out.println("Difficulties: " + pack.getDifficulties());
+        for (Question q : pack.getRandom(null, null, 3)) {
+            System.out.println("  " + q);
+        }
+    }
+}
@@ -25,6 +25,8 @@ import java.util.List;
  */
 public class QuizTestLauncher extends Application {
 
+    private static final Logger LOG = Logger.get(QuizTestLauncher.class);
+
     @Override
     public void start(Stage primaryStage) throws Exception {
         // STEP 1: Create or load test players
@@ -37,18 +39,18 @@ public class QuizTestLauncher extends Application {
 
             // Create new player if doesn't exist
             if (testPlayer == null) {
-                System.out.println("Creating new test player in database...");
+                LOG.info("Creating new test player in database...");
                 testPlayer = playerService.createPlayer("TestPlayer");
             }
         } catch (Exception e) {
-            System.out.println("⚠️ Database connection failed. Running in OFFLINE MODE.");
-            System.out.println("Creating temporary test player (data won't be saved)...");
+            LOG.warn("⚠️ Database connection failed. Running in OFFLINE MODE.");
+            LOG.info("Creating temporary test player (data won't be saved)...");
         }
 
         // If database failed, create a temporary player for testing
         if (testPlayer == null) {
             testPlayer = new Player(1, "TestPlayer (Offline)");
-            System.out.println("✅ Temporary player created: " + testPlayer.getUsername());
+            LOG.info("✅ Temporary player created: {}", testPlayer.getUsername());
         }
 
         // For multiplayer testing, add more players:
@@ -80,9 +82,9 @@ public class QuizTestLauncher extends Application {
         primaryStage.setScene(scene);
         primaryStage.show();
 
-        System.out.println("Quiz test launcher started successfully!");
-        System.out.println("Player: " + testPlayer.getUsername());
-        System.out.println("Press any answer button to test the quiz.");
+        LOG.info("Quiz test launcher started successfully!");
+        LOG.info("Player: {}", testPlayer.getUsername());
+        LOG.info("Press any answer button to test the quiz.");
     }
 
     /**
@@ -0,0 +1,59 @@
+package com.example.retroquiz.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Random sampling without "ORDER BY RANDOM()": draws distinct elements in time
+ * proportional to the number drawn, not to the number of candidates. Used by
+ * QuestionCache, QuestionPack and QuestionBank to pick quiz questions.
+ */
+public final class RandomSampler {
+
+    private RandomSampler() {
+    }
+
+    /**
+     * Pick {@code count} distinct elements of {@code ids} in O(count) time and
+     * space, leaving the input untouched.
+     *
+     * @param ids    Candidate IDs
+     * @param count  Number of IDs wanted
+     * @param random Random source
+     * @return The sampled IDs in random order
+     */
+    public static int[] sample(int[] ids, int count, Random random) {
+        int[] picked = sample(ids.length, count, random);
+        for (int i = 0; i < picked.length; i++) {
+            picked[i] = ids[picked[i]];
+        }
+        return picked;
+    }
+
+    /**
+     * Pick {@code count} distinct positions in [0, n) in O(count) time and space.
+     *
+     * This is a partial Fisher-Yates shuffle over a virtual array of 0..n-1:
+     * only the swapped positions are remembered, in a small map.
+     *
+     * @param n      Number of candidates
+     * @param count  Number of positions wanted
+     * @param random Random source
+     * @return The sampled positions in random order
+     */
+    public static int[] sample(int n, int count, Random random) {
+        int k = Math.min(Math.max(count, 0), n);
+        int[] result = new int[k];
+        Map<Integer, Integer> swapped = new HashMap<>(k * 2);
+
+        for (int i = 0; i < k; i++) {
+            int j = i + random.nextInt(n - i);
+            int atI = swapped.getOrDefault(i, i);
+            int atJ = swapped.getOrDefault(j, j);
+            result[i] = atJ;
+            swapped.put(j, atI);
+        }
+        return result;
+    }
+}
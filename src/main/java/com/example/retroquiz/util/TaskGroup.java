@@ -0,0 +1,112 @@
+package com.example.retroquiz.util;
+
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Node;
+import javafx.stage.Window;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * The background tasks of one screen, cancelled together when the screen is left.
+ *
+ * USAGE (in a controller):
+ * private final TaskGroup tasks = new TaskGroup();
+ * initialize(): tasks.bindTo(someNode);
+ * tasks.run("leaderboard.load", () -> playerService.getTopPlayers(10), this::showLeaderboard);
+ *
+ * After cancel(), tasks that have not started are skipped and no FX callback
+ * of the group runs any more, so a late result cannot update (or navigate
+ * away from) a screen the user already left. Running tasks finish in the
+ * background (see {@link AppExecutor}).
+ *
+ * Only use a group for work that may be abandoned (loads, lookups).
+ * Writes that must happen whatever the user does next (saving a score,
+ * leaving a session) go through {@link FxTasks} directly.
+ */
+public final class TaskGroup {
+
+    private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+    /**
+     * Cancel the group when the screen holding this node goes away: when its
+     * scene is replaced in (or removed from) its window. Call on the FX thread,
+     * e.g. from initialize().
+     */
+    public TaskGroup bindTo(Node node) {
+        ChangeListener<Window> windowListener = (obs, oldWindow, newWindow) -> {
+            if (oldWindow != null && newWindow == null) {
+                cancel();
+            }
+        };
+        node.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (oldScene != null) {
+                oldScene.windowProperty().removeListener(windowListener);
+            }
+            if (newScene != null) {
+                newScene.windowProperty().addListener(windowListener);
+            }
+        });
+        if (node.getScene() != null) {
+            node.getScene().windowProperty().addListener(windowListener);
+        }
+        return this;
+    }
+
+    /**
+     * {@link FxTasks#run(String, Supplier, Consumer)} as part of this group.
+     */
+    public <T> CompletableFuture<T> run(String name, Supplier<T> work, Consumer<? super T> onSuccess) {
+        return FxTasks.run(this, name, work, onSuccess, null);
+    }
+
+    /**
+     * {@link FxTasks#run(String, Supplier, Consumer, Consumer)} as part of this group.
+     */
+    public <T> CompletableFuture<T> run(String name, Supplier<T> work, Consumer<? super T> onSuccess,
+            Consumer<? super Throwable> onFailure) {
+        return FxTasks.run(this, name, work, onSuccess, onFailure);
+    }
+
+    /**
+     * Background work without a callback, as part of this group.
+     */
+    public CompletableFuture<Void> run(String name, Runnable work) {
+        return FxTasks.run(this, name, () -> {
+            work.run();
+            return null;
+        }, null, null);
+    }
+
+    /**
+     * Cancel every task of the group, and any task added later.
+     */
+    public void cancel() {
+        cancelled = true;
+        for (CompletableFuture<?> task : pending) {
+            task.cancel(false);
+        }
+        pending.clear();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    <T> CompletableFuture<T> track(CompletableFuture<T> task) {
+        if (cancelled) {
+            task.cancel(false);
+            return task;
+        }
+        pending.add(task);
+        task.whenComplete((result, error) -> pending.remove(task));
+        if (cancelled) {
+            task.cancel(false); // cancel() ran while we were adding it
+        }
+        return task;
+    }
+}
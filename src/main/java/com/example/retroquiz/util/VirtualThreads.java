@@ -0,0 +1,77 @@
+package com.example.retroquiz.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread-per-task executors that use virtual threads when the JVM has them.
+ *
+ * The project compiles for Java 17, so the Java 21 API (Thread.ofVirtual(),
+ * Executors.newThreadPerTaskExecutor) is looked up by reflection. Virtual
+ * threads are named namePrefix-1, namePrefix-2, ... like the fallback threads.
+ * On older JVMs the fallback is a cached pool of named daemon platform
+ * threads, which works the same way but costs a real thread per running task.
+ */
+public final class VirtualThreads {
+
+    private static final Logger LOG = Logger.get(VirtualThreads.class);
+
+    private static final Method OF_VIRTUAL = find(Thread.class, "ofVirtual");
+    private static final Method BUILDER_NAME = find("java.lang.Thread$Builder", "name", String.class, long.class);
+    private static final Method BUILDER_FACTORY = find("java.lang.Thread$Builder", "factory");
+    private static final Method NEW_EXECUTOR = find(Executors.class, "newThreadPerTaskExecutor", ThreadFactory.class);
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return true if tasks will run on virtual threads
+     */
+    public static boolean isAvailable() {
+        return OF_VIRTUAL != null && BUILDER_NAME != null && BUILDER_FACTORY != null && NEW_EXECUTOR != null;
+    }
+
+    /**
+     * Create an executor that starts a new thread for every task.
+     *
+     * @param namePrefix Thread name prefix
+     * @return The executor; shut it down when done
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        if (isAvailable()) {
+            try {
+                Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), namePrefix + "-", 1L);
+                ThreadFactory factory = (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+                return (ExecutorService) NEW_EXECUTOR.invoke(null, factory);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                LOG.warn("⚠️ Virtual threads unavailable, using platform threads: {}", e.getMessage());
+            }
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, namePrefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static Method find(String className, String name, Class<?>... parameterTypes) {
+        try {
+            return find(Class.forName(className), name, parameterTypes);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static Method find(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
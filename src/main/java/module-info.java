@@ -10,6 +10,8 @@ module com.example.retroquiz {
     // You likely also need this for loading FXML and initialization:
     requires java.base;
     requires com.microsoft.sqlserver.jdbc;
+    requires org.postgresql.jdbc;
+    requires com.h2database;
 
     opens com.example.retroquiz to javafx.fxml;
     opens com.example.retroquiz.controller to javafx.fxml;
@@ -17,6 +19,7 @@ module com.example.retroquiz {
     exports com.example.retroquiz;
     exports com.example.retroquiz.controller;
     exports com.example.retroquiz.model;
+    exports com.example.retroquiz.net;
     exports com.example.retroquiz.service;
     exports com.example.retroquiz.repository;
     exports com.example.retroquiz.util;
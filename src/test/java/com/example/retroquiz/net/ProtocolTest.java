@@ -0,0 +1,162 @@
+package com.example.retroquiz.net;
+
+import com.example.retroquiz.model.AnswerResult;
+import com.example.retroquiz.model.Player;
+import com.example.retroquiz.model.Question;
+import com.example.retroquiz.model.QuestionSchedule;
+import com.example.retroquiz.model.RosterDelta;
+import com.example.retroquiz.model.SessionEvent;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProtocolTest {
+
+    /**
+     * Check the frame header and return a reader over the payload, as the
+     * event loops do.
+     */
+    private static Protocol.In payload(Protocol.Out out, byte type, int requestId) {
+        ByteBuffer frame = out.frame();
+        assertEquals(frame.remaining() - 4, frame.getInt(), "length prefix");
+        assertEquals(type, frame.get());
+        assertEquals(requestId, frame.getInt());
+        return new Protocol.In(frame.slice());
+    }
+
+    @Test
+    void primitivesAndStringsRoundTrip() {
+        Protocol.Out out = new Protocol.Out(Protocol.RESULT, 42)
+                .putInt(-7).putLong(Long.MIN_VALUE).putBoolean(true).putBoolean(false)
+                .putString(null).putString("").putString("Café ☕ 日本")
+                .putStrings(List.of("a", "b,c"));
+
+        Protocol.In in = payload(out, Protocol.RESULT, 42);
+        assertEquals(-7, in.getInt());
+        assertEquals(Long.MIN_VALUE, in.getLong());
+        assertTrue(in.getBoolean());
+        assertFalse(in.getBoolean());
+        assertNull(in.getString());
+        assertEquals("", in.getString());
+        assertEquals("Café ☕ 日本", in.getString());
+        assertEquals(List.of("a", "b,c"), in.getStrings());
+    }
+
+    @Test
+    void frameGrowsPastItsInitialBuffer() {
+        String big = "x".repeat(10_000);
+        Protocol.In in = payload(new Protocol.Out(Protocol.RESULT, 1).putString(big).putInt(9), Protocol.RESULT, 1);
+        assertEquals(big, in.getString());
+        assertEquals(9, in.getInt());
+    }
+
+    @Test
+    void modelObjectsRoundTrip() {
+        Player player = new Player(3, "ada", 120, 4, 10, 2, 1);
+        player.setCurrentScore(55);
+        player.setRank(2);
+        Question question = new Question(9, "Q?", "a", "b", "c", "d", 'C', "Science", "HARD");
+        QuestionSchedule schedule = new QuestionSchedule(5, List.of(question), 1_000L, 15_000L, 2_000L);
+
+        Protocol.Out out = new Protocol.Out(Protocol.RESULT, 2)
+                .putPlayer(player).putPlayer(null)
+                .putSchedule(schedule).putSchedule(null)
+                .putAnswerResult(new AnswerResult(true, 'B', 80, 200)).putAnswerResult(null)
+                .putRosterDelta(new RosterDelta(17L, false, List.of("ada"), List.of("bob")))
+                .putEvent(SessionEvent.playerJoined(5, 3, "ada"));
+
+        Protocol.In in = payload(out, Protocol.RESULT, 2);
+
+        Player p = in.getPlayer();
+        assertEquals(3, p.getId());
+        assertEquals("ada", p.getUsername());
+        assertEquals(120, p.getTotalPoints());
+        assertEquals(4, p.getGamesPlayed());
+        assertEquals(10, p.getCorrectAnswers());
+        assertEquals(2, p.getWrongAnswers());
+        assertEquals(1, p.getNoAnswers());
+        assertEquals(55, p.getCurrentScore());
+        assertEquals(2, p.getRank());
+        assertNull(in.getPlayer());
+
+        QuestionSchedule s = in.getSchedule();
+        assertEquals(5, s.getSessionId());
+        assertEquals(1_000L, s.getStartMillis());
+        assertEquals(15_000L, s.getQuestionMillis());
+        assertEquals(2_000L, s.getRevealMillis());
+        Question q = s.getQuestions().get(0);
+        assertEquals(9, q.getId());
+        assertEquals("Q?", q.getQuestion());
+        assertEquals("d", q.getOptionD());
+        assertEquals('C', q.getCorrectOption());
+        assertEquals("Science", q.getCategory());
+        assertEquals("HARD", q.getDifficulty());
+        assertNull(in.getSchedule());
+
+        AnswerResult r = in.getAnswerResult();
+        assertTrue(r.isCorrect());
+        assertEquals('B', r.getCorrectOption());
+        assertEquals(80, r.getPoints());
+        assertEquals(200, r.getScore());
+        assertNull(in.getAnswerResult());
+
+        RosterDelta d = in.getRosterDelta();
+        assertEquals(17L, d.getVersion());
+        assertFalse(d.isFull());
+        assertEquals(List.of("ada"), d.getAdded());
+        assertEquals(List.of("bob"), d.getRemoved());
+
+        SessionEvent e = in.getEvent();
+        assertEquals(SessionEvent.Type.PLAYER_JOINED, e.getType());
+        assertEquals(5, e.getSessionId());
+        assertEquals(3, e.getPlayerId());
+        assertEquals("ada", e.getDetail());
+    }
+
+    @Test
+    void truncatedPayloadIsRejected() {
+        ByteBuffer frame = new Protocol.Out(Protocol.RESULT, 1).putString("hello").frame();
+        frame.position(4 + Protocol.HEADER_BYTES);
+        ByteBuffer cut = frame.slice().limit(6); // Length + 2 of the 5 bytes
+        assertThrows(BufferUnderflowException.class, () -> new Protocol.In(cut).getString());
+    }
+
+    @Test
+    void untrustedLengthsAreCheckedBeforeAllocating() {
+        ByteBuffer hugeString = ByteBuffer.allocate(8).putInt(Integer.MAX_VALUE).putInt(0).flip();
+        assertThrows(BufferUnderflowException.class, () -> new Protocol.In(hugeString).getString());
+
+        ByteBuffer hugeList = ByteBuffer.allocate(8).putInt(Integer.MAX_VALUE).putInt(0).flip();
+        assertThrows(BufferUnderflowException.class, () -> new Protocol.In(hugeList).getPlayers());
+
+        ByteBuffer negativeList = ByteBuffer.allocate(8).putInt(-5).putInt(0).flip();
+        assertThrows(BufferUnderflowException.class, () -> new Protocol.In(negativeList).getStrings());
+    }
+
+    @Test
+    void seatPacksSessionAndPlayer() {
+        long seat = Protocol.seat(123_456, 789);
+        assertEquals(123_456, Protocol.seatSession(seat));
+        assertEquals(789, Protocol.seatPlayer(seat));
+
+        long edge = Protocol.seat(Integer.MAX_VALUE, -1);
+        assertEquals(Integer.MAX_VALUE, Protocol.seatSession(edge));
+        assertEquals(-1, Protocol.seatPlayer(edge));
+    }
+
+    @Test
+    void operationNames() {
+        assertEquals("submitAnswer", Protocol.name(Protocol.SUBMIT_ANSWER));
+        assertEquals("resumeSeats", Protocol.name(Protocol.RESUME_SEATS));
+        assertEquals("op8", Protocol.name((byte) 8)); // Retired UPDATE_SESSION_STATUS
+        assertEquals("op-3", Protocol.name((byte) -3));
+    }
+}
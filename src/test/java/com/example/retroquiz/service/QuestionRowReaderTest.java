@@ -0,0 +1,175 @@
+package com.example.retroquiz.service;
+
+import com.example.retroquiz.model.Question;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuestionRowReaderTest {
+
+    private static final String HEADER = "id,question,optionA,optionB,optionC,optionD,correct_option,category,difficulty\r\n";
+
+    private static List<Map<String, String>> readAll(QuestionRowReader reader) throws IOException {
+        List<Map<String, String>> rows = new ArrayList<>();
+        Map<String, String> row;
+        while ((row = reader.next()) != null) {
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static List<Map<String, String>> csv(String text) throws IOException {
+        return readAll(QuestionRowReader.csv(new StringReader(text)));
+    }
+
+    private static List<Map<String, String>> json(String text) throws IOException {
+        return readAll(QuestionRowReader.json(new StringReader(text)));
+    }
+
+    // --- CSV ---
+
+    @Test
+    void csvQuotedFieldsKeepCommasQuotesAndLineBreaks() throws IOException {
+        List<Map<String, String>> rows = csv("question,optionA\r\n"
+                + "\"Who said \"\"hi\"\", then left?\",\"line one\nline two\"\r\n"
+                + "plain,\"\"\n");
+
+        assertEquals(2, rows.size());
+        assertEquals("Who said \"hi\", then left?", rows.get(0).get("question"));
+        assertEquals("line one\nline two", rows.get(0).get("optiona"));
+        assertEquals("plain", rows.get(1).get("question"));
+        assertEquals("", rows.get(1).get("optiona"));
+    }
+
+    @Test
+    void csvHeaderNamesAreNormalized() throws IOException {
+        List<Map<String, String>> rows = csv("\uFEFFQuestion,Option_A,option-b,OPTION C\nq,a,b,c\n");
+
+        Map<String, String> row = rows.get(0);
+        assertEquals("q", row.get("question"));
+        assertEquals("a", row.get("optiona"));
+        assertEquals("b", row.get("optionb"));
+        assertEquals("c", row.get("optionc"));
+    }
+
+    @Test
+    void csvSkipsBlankLinesAndToleratesMissingOrExtraFields() throws IOException {
+        List<Map<String, String>> rows = csv("question,optionA\n\n  \nq1\n\nq2,a2,extra\n");
+
+        assertEquals(2, rows.size());
+        assertEquals("q1", rows.get(0).get("question"));
+        assertNull(rows.get(0).get("optiona"));
+        assertEquals("a2", rows.get(1).get("optiona"));
+        assertEquals(2, rows.get(1).size());
+    }
+
+    @Test
+    void csvWithoutTrailingNewlineOrRows() throws IOException {
+        assertEquals("last", csv("question\nlast").get(0).get("question"));
+        assertTrue(csv("question\n").isEmpty());
+        assertTrue(csv("").isEmpty());
+    }
+
+    @Test
+    void csvUnterminatedQuoteIsAnErrorWithItsLine() {
+        IOException e = assertThrows(IOException.class, () -> csv("question\nok\n\"never closed\n\n"));
+        assertTrue(e.getMessage().contains("unterminated"), e.getMessage());
+        assertTrue(e.getMessage().startsWith("Line 5"), e.getMessage());
+    }
+
+    // --- JSON ---
+
+    @Test
+    void jsonReadsFlatObjectsAndEscapes() throws IOException {
+        List<Map<String, String>> rows = json("\uFEFF [ {\"question\": \"Tab\\there \\\"quoted\\\" \\\\ \\/ \\u00e9\","
+                + " \"option_a\": \"x\\ny\", \"id\": 12, \"flag\": true, \"category\": null},\n"
+                + "{} ]");
+
+        assertEquals(2, rows.size());
+        Map<String, String> row = rows.get(0);
+        assertEquals("Tab\there \"quoted\" \\ / é", row.get("question"));
+        assertEquals("x\ny", row.get("optiona"));
+        assertEquals("12", row.get("id"));
+        assertEquals("true", row.get("flag"));
+        assertTrue(row.containsKey("category"));
+        assertNull(row.get("category"));
+        assertTrue(rows.get(1).isEmpty());
+    }
+
+    @Test
+    void jsonEmptyArray() throws IOException {
+        assertTrue(json("  [ ]  ").isEmpty());
+    }
+
+    @Test
+    void jsonMalformedInputIsRejected() {
+        assertMalformed("{\"question\": \"q\"}", "expected '['");
+        assertMalformed("[{\"question\": \"q\"} {\"question\": \"r\"}]", "expected ',' or ']'");
+        assertMalformed("[{\"question\": \"q\" \"optionA\": \"a\"}]", "expected ',' or '}'");
+        assertMalformed("[{\"question\": \"unterminated}]", "unterminated string");
+        assertMalformed("[{\"question\": \"\\q\"}]", "invalid escape");
+        assertMalformed("[{\"question\": \"\\u12G4\"}]", "invalid escape");
+        assertMalformed("[{\"question\": {\"nested\": 1}}]", "nested");
+        assertMalformed("[{\"question\": }]", "missing value");
+        assertMalformed("[{\"question\": \"q\"}", "expected ',' or ']'");
+    }
+
+    private static void assertMalformed(String text, String message) {
+        IOException e = assertThrows(IOException.class, () -> json(text), text);
+        assertTrue(e.getMessage().contains(message), text + " -> " + e.getMessage());
+    }
+
+    // --- Export and import agree ---
+
+    private static final Question TRICKY = new Question(7, "Comma, \"quote\"\nand newline\ttab \\ é",
+            "a,1", "\"b\"", "c\r\nc", "", 'D', "Math", "HARD");
+
+    @Test
+    void csvExportReadsBack() throws IOException {
+        StringWriter out = new StringWriter();
+        out.write(HEADER);
+        QuestionTransferService.writeCsv(out, TRICKY);
+
+        assertReadBack(csv(out.toString()).get(0));
+    }
+
+    @Test
+    void jsonExportReadsBack() throws IOException {
+        StringWriter out = new StringWriter();
+        out.write("[");
+        QuestionTransferService.writeJson(out, TRICKY, true);
+        QuestionTransferService.writeJson(out, TRICKY, false);
+        out.write("\n]\n");
+
+        List<Map<String, String>> rows = json(out.toString());
+        assertEquals(2, rows.size());
+        assertReadBack(rows.get(1));
+    }
+
+    private static void assertReadBack(Map<String, String> row) {
+        assertEquals("7", row.get("id"));
+        assertEquals(TRICKY.getQuestion(), row.get("question"));
+        assertEquals("a,1", row.get("optiona"));
+        assertEquals("\"b\"", row.get("optionb"));
+        assertEquals("c\r\nc", row.get("optionc"));
+        assertEquals("", row.get("optiond"));
+        assertEquals("D", row.get("correctoption"));
+        assertEquals("Math", row.get("category"));
+        assertEquals("HARD", row.get("difficulty"));
+    }
+
+    @Test
+    void duplicateTextIsComparedNormalized() {
+        assertEquals("what is 2 + 2?", QuestionTransferService.normalizeText("  What   is 2\t+ 2?\n"));
+    }
+}
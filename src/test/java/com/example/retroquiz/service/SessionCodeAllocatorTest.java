@@ -0,0 +1,68 @@
+package com.example.retroquiz.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionCodeAllocatorTest {
+
+    private static final long CODE_SPACE = 36L * 36 * 36 * 36 * 36 * 36;
+
+    @Test
+    void codesAreSixUppercaseLettersOrDigits() {
+        for (long counter = 0; counter < 10_000; counter++) {
+            String code = SessionCodeAllocator.codeFor(counter);
+            assertTrue(code.matches("[A-Z0-9]{6}"), code);
+        }
+    }
+
+    @Test
+    void consecutiveCountersGiveDistinctCodes() {
+        Set<String> seen = new HashSet<>();
+        for (long counter = 1; counter <= 500_000; counter++) {
+            assertTrue(seen.add(SessionCodeAllocator.codeFor(counter)), "duplicate code at " + counter);
+        }
+    }
+
+    /**
+     * Counter blocks of different instances land far apart in the counter
+     * space; codes must stay unique across them, up to the end of the space.
+     */
+    @Test
+    void distantCounterBlocksGiveDistinctCodes() {
+        Set<String> seen = new HashSet<>();
+        long[] blockStarts = { 0, 1_000_000, 987_654_321, CODE_SPACE / 2, CODE_SPACE - 50_000 };
+        for (long start : blockStarts) {
+            for (long counter = start; counter < start + 50_000; counter++) {
+                seen.add(SessionCodeAllocator.codeFor(counter));
+            }
+        }
+        assertEquals(blockStarts.length * 50_000, seen.size());
+    }
+
+    @Test
+    void permutationIsDeterministicAndWrapsAtTheCodeSpace() {
+        assertEquals(SessionCodeAllocator.codeFor(12_345), SessionCodeAllocator.codeFor(12_345));
+        assertEquals(SessionCodeAllocator.codeFor(7), SessionCodeAllocator.codeFor(CODE_SPACE + 7));
+        assertEquals(SessionCodeAllocator.codeFor(CODE_SPACE - 1), SessionCodeAllocator.codeFor(-1));
+    }
+
+    @Test
+    void consecutiveCodesLookUnrelated() {
+        int sharedPrefixes = 0;
+        for (long counter = 0; counter < 1_000; counter++) {
+            String a = SessionCodeAllocator.codeFor(counter);
+            String b = SessionCodeAllocator.codeFor(counter + 1);
+            assertNotEquals(a, b);
+            if (a.regionMatches(0, b, 0, 3)) {
+                sharedPrefixes++;
+            }
+        }
+        assertTrue(sharedPrefixes < 10, sharedPrefixes + " neighbours share their first half");
+    }
+}
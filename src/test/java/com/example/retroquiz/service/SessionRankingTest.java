@@ -0,0 +1,104 @@
+package com.example.retroquiz.service;
+
+import com.example.retroquiz.model.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SessionRankingTest {
+
+    @Test
+    void ordersByScoreThenEarlierAnswerThenPlayerId() {
+        SessionRanking ranking = new SessionRanking();
+        ranking.put(1, "slow", 100, 5_000);
+        ranking.put(2, "fast", 100, 3_000);
+        ranking.put(3, "best", 150, 9_000);
+        ranking.put(5, "tieB", 50, 1_000);
+        ranking.put(4, "tieA", 50, 1_000);
+
+        assertEquals(List.of("best", "fast", "slow", "tieA", "tieB"), usernames(ranking.getAll()));
+        assertEquals(1, ranking.getRank(3));
+        assertEquals(3, ranking.getRank(1));
+        assertEquals(4, ranking.getRank(4));
+        assertEquals(-1, ranking.getRank(99));
+    }
+
+    @Test
+    void scoreChangeMovesThePlayerWithoutDuplicating() {
+        SessionRanking ranking = new SessionRanking();
+        ranking.put(1, "ada", 10, 100);
+        ranking.put(2, "bob", 20, 100);
+        ranking.put(1, "ada", 30, 200);
+
+        assertEquals(2, ranking.size());
+        assertEquals(1, ranking.getRank(1));
+        assertEquals(2, ranking.getRank(2));
+
+        List<Player> top = ranking.getTop(1);
+        assertEquals(1, top.size());
+        assertEquals("ada", top.get(0).getUsername());
+        assertEquals(30, top.get(0).getCurrentScore());
+        assertEquals(1, top.get(0).getRank());
+    }
+
+    @Test
+    void removedPlayersLeaveTheRanking() {
+        SessionRanking ranking = new SessionRanking();
+        ranking.put(1, "ada", 10, 0);
+        ranking.put(2, "bob", 20, 0);
+        ranking.remove(2);
+        ranking.remove(7); // Unknown: ignored
+
+        assertEquals(1, ranking.size());
+        assertEquals(-1, ranking.getRank(2));
+        assertEquals(1, ranking.getRank(1));
+    }
+
+    /**
+     * After many random updates the ranks must match a full sort with
+     * Player.compareByScore (ties broken by player ID).
+     */
+    @Test
+    void agreesWithAFullSort() {
+        Random random = new Random(7);
+        SessionRanking ranking = new SessionRanking();
+        Player[] players = new Player[200];
+        for (int i = 0; i < 5_000; i++) {
+            int id = random.nextInt(players.length);
+            Player player = new Player(id, "p" + id);
+            player.setCurrentScore(random.nextInt(50) * 10); // Plenty of ties
+            player.setLastAnswerTime(random.nextInt(20));
+            players[id] = player;
+            ranking.put(id, player.getUsername(), player.getCurrentScore(), player.getLastAnswerTime());
+        }
+
+        List<Player> expected = new ArrayList<>();
+        for (Player player : players) {
+            if (player != null) {
+                expected.add(player);
+            }
+        }
+        Comparator<Player> byScore = Player::compareByScore;
+        expected.sort(byScore.thenComparingInt(Player::getId));
+
+        List<Player> actual = ranking.getAll();
+        assertEquals(usernames(expected), usernames(actual));
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(i + 1, actual.get(i).getRank());
+            assertEquals(i + 1, ranking.getRank(expected.get(i).getId()));
+        }
+    }
+
+    private static List<String> usernames(List<Player> players) {
+        List<String> names = new ArrayList<>();
+        for (Player player : players) {
+            names.add(player.getUsername());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.retroquiz.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderStatisticTreeTest {
+
+    @Test
+    void emptyTree() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        assertEquals(0, tree.size());
+        assertEquals(-1, tree.indexOf(1));
+        assertEquals(0, tree.countBefore(1));
+        assertTrue(tree.range(0, 10).isEmpty());
+        assertFalse(tree.remove(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(0));
+    }
+
+    @Test
+    void equalElementReplacesInsteadOfDuplicating() {
+        // Compares on the key only, like the ranking entries compare on their sort fields
+        OrderStatisticTree<int[]> tree = new OrderStatisticTree<>(Comparator.comparingInt(pair -> pair[0]));
+        tree.add(new int[] { 1, 100 });
+        tree.add(new int[] { 1, 200 });
+
+        assertEquals(1, tree.size());
+        assertEquals(200, tree.get(0)[1]);
+    }
+
+    @Test
+    void rangeClampsToTheTree() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        for (int i = 0; i < 10; i++) {
+            tree.add(i * 10);
+        }
+        assertEquals(List.of(70, 80, 90), tree.range(7, 100));
+        assertTrue(tree.range(10, 1).isEmpty());
+        assertTrue(tree.range(-1, 3).isEmpty());
+        assertTrue(tree.range(3, 0).isEmpty());
+        assertEquals(3, tree.countBefore(25)); // Not in the tree: 0, 10, 20 come before
+    }
+
+    /**
+     * Random adds and removes checked against a TreeSet after every step:
+     * sizes, positions, rank counts and ranges must always agree.
+     */
+    @Test
+    void matchesASortedSetUnderRandomChanges() {
+        Random random = new Random(20240917);
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.reverseOrder());
+        TreeSet<Integer> expected = new TreeSet<>(Comparator.reverseOrder());
+
+        for (int step = 0; step < 5_000; step++) {
+            int value = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), tree.remove(value));
+            } else {
+                expected.add(value);
+                tree.add(value);
+            }
+            assertEquals(expected.size(), tree.size());
+
+            if (step % 50 == 0) {
+                assertSameOrder(expected, tree, random);
+            }
+        }
+        assertSameOrder(expected, tree, random);
+    }
+
+    private static void assertSameOrder(TreeSet<Integer> expected, OrderStatisticTree<Integer> tree, Random random) {
+        List<Integer> sorted = new ArrayList<>(expected);
+        assertEquals(sorted, tree.range(0, tree.size()));
+        for (int i = 0; i < sorted.size(); i++) {
+            int value = sorted.get(i);
+            assertEquals(value, tree.get(i));
+            assertEquals(i, tree.indexOf(value));
+            assertEquals(i, tree.countBefore(value));
+        }
+        if (!sorted.isEmpty()) {
+            int from = random.nextInt(sorted.size());
+            int count = random.nextInt(20);
+            assertEquals(sorted.subList(from, Math.min(sorted.size(), from + count)), tree.range(from, count));
+        }
+        int missing = 1_000 + random.nextInt(100); // Sorts before every element (reverse order)
+        assertEquals(-1, tree.indexOf(missing));
+        assertEquals(0, tree.countBefore(missing));
+    }
+}